@@ -16,11 +16,13 @@
 package com.zekke.webapp.config;
 
 import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.sql.DataSource;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -29,6 +31,7 @@ import org.springframework.core.io.ResourceLoader;
 import org.springframework.orm.hibernate4.HibernateExceptionTranslator;
 import org.springframework.orm.hibernate4.HibernateTransactionManager;
 import org.springframework.orm.hibernate4.LocalSessionFactoryBean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import com.zekke.webapp.data.Path;
@@ -42,6 +45,7 @@ import com.zekke.webapp.data.Place;
  * @since version 1.0
  */
 @Configuration
+@EnableScheduling
 @EnableTransactionManagement
 @ComponentScan(basePackages = {
         "com.zekke.webapp.data.dao.impl",
@@ -91,4 +95,16 @@ public class BeanConfig {
     public HibernateExceptionTranslator hibernateExceptionTranslator() {
         return new HibernateExceptionTranslator();
     }
+
+    /**
+     * Creates a new ForkJoinPool for the route finder batches.
+     *
+     * @param parallelism the number of threads or 0 to use one per available
+     * processor.
+     * @return a ForkJoinPool.
+     */
+    @Bean
+    public ForkJoinPool routeFinderForkJoinPool(@Value("${routeFinder.batch.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DistanceMatrix represents the optimal route distances from many places of
+ * origin to many places of destination. {@code distances.get(i).get(j)} is
+ * the distance from {@code sources.get(i)} to {@code targets.get(j)} or
+ * {@code null} if any of them wasn't found or there's no route between them.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public class DistanceMatrix implements Serializable {
+
+    private static final long serialVersionUID = 8316017372064982261L;
+
+    private List<Place> sources = new ArrayList<>(0);
+    private List<Place> targets = new ArrayList<>(0);
+    private List<List<Double>> distances = new ArrayList<>(0);
+
+    // Getters & Setters ///////////////////////////////////////////////////////
+
+    public List<Place> getSources() {
+        return sources;
+    }
+
+    public void setSources(List<Place> sources) {
+        this.sources = sources;
+    }
+
+    public List<Place> getTargets() {
+        return targets;
+    }
+
+    public void setTargets(List<Place> targets) {
+        this.targets = targets;
+    }
+
+    public List<List<Double>> getDistances() {
+        return distances;
+    }
+
+    public void setDistances(List<List<Double>> distances) {
+        this.distances = distances;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(sources, targets, distances);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (getClass() != obj.getClass()) return false;
+
+        final DistanceMatrix other = (DistanceMatrix)obj;
+        if ((sources == null) ? (other.sources != null) : !sources.equals(other.sources)) return false;
+        if ((targets == null) ? (other.targets != null) : !targets.equals(other.targets)) return false;
+        if ((distances == null) ? (other.distances != null) : !distances.equals(other.distances)) return false;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new StringBuilder().append("DistanceMatrix{sources=").append(sources)
+                .append(", targets=").append(targets)
+                .append(", distances=").append(distances).append('}').toString();
+    }
+}
\ No newline at end of file
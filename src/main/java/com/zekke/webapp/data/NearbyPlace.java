@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * NearbyPlace represents a place near a geographic point: the place and the
+ * great-circle distance from the point to the place.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public class NearbyPlace implements Serializable {
+
+    private static final long serialVersionUID = 6402165273914028150L;
+
+    private Place place;
+    private Double distance;
+
+    // Getters & Setters ///////////////////////////////////////////////////////
+
+    public Place getPlace() {
+        return place;
+    }
+
+    public void setPlace(Place place) {
+        this.place = place;
+    }
+
+    public Double getDistance() {
+        return distance;
+    }
+
+    public void setDistance(Double distance) {
+        this.distance = distance;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(place, distance);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (getClass() != obj.getClass()) return false;
+
+        final NearbyPlace other = (NearbyPlace)obj;
+        if ((place == null) ? (other.place != null) : !place.equals(other.place)) return false;
+        if ((distance == null) ? (other.distance != null) : !distance.equals(other.distance)) return false;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new StringBuilder().append("NearbyPlace{place=").append(place)
+                .append(", distance=").append(distance).append('}').toString();
+    }
+}
\ No newline at end of file
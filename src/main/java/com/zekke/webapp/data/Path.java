@@ -30,6 +30,7 @@ import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 
 /**
  * Path represents a road where people can walk on.
@@ -56,6 +57,7 @@ public class Path extends SerializableIdSupport<Long> implements Serializable {
     private Place fromPlace;
     private Place toPlace;
     private Double distance;
+    private Long version;
 
     // Getters & Setters ///////////////////////////////////////////////////////
 
@@ -96,6 +98,16 @@ public class Path extends SerializableIdSupport<Long> implements Serializable {
         this.distance = distance;
     }
 
+    @Version
+    @Column(name = "version", nullable = false)
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     ////////////////////////////////////////////////////////////////////////////
 
     /**
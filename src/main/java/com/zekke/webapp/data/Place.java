@@ -36,9 +36,12 @@ import javax.persistence.NamedQuery;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 
 import org.codehaus.jackson.annotate.JsonIgnore;
 
+import com.zekke.webapp.util.Strings;
+
 /**
  * Place represents a place of interest or a transition place in a map.
  *
@@ -57,7 +60,7 @@ import org.codehaus.jackson.annotate.JsonIgnore;
     ),
     @NamedQuery(
             name = "Place.readLikeName",
-            query = "from Place p where p.name like '%' || :name || '%' order by p.name"
+            query = "from Place p where p.searchName like '%' || :name || '%' order by p.name"
     )
 })
 @NamedNativeQueries({
@@ -67,27 +70,42 @@ import org.codehaus.jackson.annotate.JsonIgnore;
             + "from ("
             + "select "
             + "p.name, "
-            + "(DEGREES(ACOS((SIN(RADIANS(p.latitude)) * SIN(RADIANS(:latitude)) + COS(RADIANS(p.latitude)) * COS(RADIANS(:latitude)) * COS(RADIANS(p.longitude-(:longitude))))))*60*1.1515*1.609344*1000) as distance "
+            + "p.search_name, "
+            + "(DEGREES(ACOS(LEAST(1, p.sin_latitude * :sinLatitude + p.cos_latitude * :cosLatitude * COS(p.longitude_radians - :longitudeRadians))))*60*1.1515*1.609344*1000) as distance "
             + "from place p "
+            + "where p.latitude between :minLatitude and :maxLatitude "
+            + "and p.longitude between :minLongitude and :maxLongitude"
             + ") as pd "
-            + "where pd.name like '%' || :name || '%' and pd.distance <= :radius order by pd.distance"
+            + "where pd.search_name like '%' || :name || '%' and pd.distance <= :radius order by pd.distance"
     ),
     @NamedNativeQuery(
             name = "Place.readByPosition",
             query = "select "
             + "pd.id, "
             + "pd.name, "
+            + "pd.search_name, "
             + "pd.latitude, "
-            + "pd.longitude "
+            + "pd.longitude, "
+            + "pd.sin_latitude, "
+            + "pd.cos_latitude, "
+            + "pd.longitude_radians, "
+            + "pd.version "
             + "from ("
             + "select p.id, "
             + "p.name, "
+            + "p.search_name, "
             + "p.latitude, "
             + "p.longitude, "
-            + "(DEGREES(ACOS((SIN(RADIANS(p.latitude)) * SIN(RADIANS(:latitude)) + COS(RADIANS(p.latitude)) * COS(RADIANS(:latitude)) * COS(RADIANS(p.longitude-(:longitude))))))*60*1.1515*1.609344*1000) as distance "
-            + "from place p"
+            + "p.sin_latitude, "
+            + "p.cos_latitude, "
+            + "p.longitude_radians, "
+            + "p.version, "
+            + "(DEGREES(ACOS(LEAST(1, p.sin_latitude * :sinLatitude + p.cos_latitude * :cosLatitude * COS(p.longitude_radians - :longitudeRadians))))*60*1.1515*1.609344*1000) as distance "
+            + "from place p "
+            + "where p.latitude between :minLatitude and :maxLatitude "
+            + "and p.longitude between :minLongitude and :maxLongitude"
             + ") as pd "
-            + "where pd.distance <= 30 order by pd.distance",
+            + "where pd.distance <= :radius order by pd.distance",
             resultClass = Place.class
     )
 })
@@ -97,7 +115,9 @@ public class Place extends SerializableIdSupport<Long> implements Serializable {
     private static final long serialVersionUID = -3178624604142829172L;
 
     private String name;
+    private String searchName;
     private GeoPoint position;
+    private Long version;
     private List<Path> incomingPaths = new ArrayList<>(0);
     private List<Path> outgoingPaths = new ArrayList<>(0);
 
@@ -118,6 +138,17 @@ public class Place extends SerializableIdSupport<Long> implements Serializable {
 
     public void setName(String name) {
         this.name = name;
+        this.searchName = Strings.toSearchKey(name);
+    }
+
+    @JsonIgnore
+    @Column(name = "search_name", length = 100, nullable = false)
+    public String getSearchName() {
+        return searchName;
+    }
+
+    public void setSearchName(String searchName) {
+        this.searchName = searchName;
     }
 
     @Embedded
@@ -133,6 +164,57 @@ public class Place extends SerializableIdSupport<Long> implements Serializable {
         this.position = position;
     }
 
+    // The version grows with every update so the graph service can tell an
+    // edited row apart. Triggers bump it for updates made outside Hibernate.
+
+    @JsonIgnore
+    @Version
+    @Column(name = "version", nullable = false)
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    // The trigonometric columns are derived from the position so the native
+    // distance queries don't compute them for every row. Whatever is read
+    // from the database is ignored and rewritten on save.
+
+    @JsonIgnore
+    @Column(name = "sin_latitude", nullable = false, precision = 22, scale = 0)
+    public Double getSinLatitude() {
+        return position != null && position.getLatitude() != null
+                ? StrictMath.sin(Math.toRadians(position.getLatitude()))
+                : null;
+    }
+
+    private void setSinLatitude(Double sinLatitude) {
+    }
+
+    @JsonIgnore
+    @Column(name = "cos_latitude", nullable = false, precision = 22, scale = 0)
+    public Double getCosLatitude() {
+        return position != null && position.getLatitude() != null
+                ? StrictMath.cos(Math.toRadians(position.getLatitude()))
+                : null;
+    }
+
+    private void setCosLatitude(Double cosLatitude) {
+    }
+
+    @JsonIgnore
+    @Column(name = "longitude_radians", nullable = false, precision = 22, scale = 0)
+    public Double getLongitudeRadians() {
+        return position != null && position.getLongitude() != null
+                ? Math.toRadians(position.getLongitude())
+                : null;
+    }
+
+    private void setLongitudeRadians(Double longitudeRadians) {
+    }
+
     @JsonIgnore
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "toPlace")
     public List<Path> getIncomingPaths() {
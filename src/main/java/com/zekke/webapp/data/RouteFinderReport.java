@@ -0,0 +1,166 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * RouteFinderReport represents the statistics of a route finder at some
+ * point: the searches it ran, the nodes they settled, the counters of its
+ * route cache and the memory of its precomputed tables.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public class RouteFinderReport implements Serializable {
+
+    private static final long serialVersionUID = -1297468234617150872L;
+
+    private Long searchCount;
+    private Long settledNodeCount;
+    private Long cacheHitCount;
+    private Long cacheMissCount;
+    private Long cacheEvictionCount;
+    private Long cacheInvalidationCount;
+    private Integer cacheSize;
+    private Integer cacheMaxSize;
+    private Long precomputedSize;
+
+    // Getters & Setters ///////////////////////////////////////////////////////
+
+    public Long getSearchCount() {
+        return searchCount;
+    }
+
+    public void setSearchCount(Long searchCount) {
+        this.searchCount = searchCount;
+    }
+
+    public Long getSettledNodeCount() {
+        return settledNodeCount;
+    }
+
+    public void setSettledNodeCount(Long settledNodeCount) {
+        this.settledNodeCount = settledNodeCount;
+    }
+
+    public Long getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    public void setCacheHitCount(Long cacheHitCount) {
+        this.cacheHitCount = cacheHitCount;
+    }
+
+    public Long getCacheMissCount() {
+        return cacheMissCount;
+    }
+
+    public void setCacheMissCount(Long cacheMissCount) {
+        this.cacheMissCount = cacheMissCount;
+    }
+
+    public Long getCacheEvictionCount() {
+        return cacheEvictionCount;
+    }
+
+    public void setCacheEvictionCount(Long cacheEvictionCount) {
+        this.cacheEvictionCount = cacheEvictionCount;
+    }
+
+    public Long getCacheInvalidationCount() {
+        return cacheInvalidationCount;
+    }
+
+    public void setCacheInvalidationCount(Long cacheInvalidationCount) {
+        this.cacheInvalidationCount = cacheInvalidationCount;
+    }
+
+    public Integer getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(Integer cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public Integer getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(Integer cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public Long getPrecomputedSize() {
+        return precomputedSize;
+    }
+
+    public void setPrecomputedSize(Long precomputedSize) {
+        this.precomputedSize = precomputedSize;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(searchCount, settledNodeCount, cacheHitCount, cacheMissCount, cacheEvictionCount,
+                cacheInvalidationCount, cacheSize, cacheMaxSize, precomputedSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (getClass() != obj.getClass()) return false;
+
+        final RouteFinderReport other = (RouteFinderReport)obj;
+        if (!Objects.equals(searchCount, other.searchCount)) return false;
+        if (!Objects.equals(settledNodeCount, other.settledNodeCount)) return false;
+        if (!Objects.equals(cacheHitCount, other.cacheHitCount)) return false;
+        if (!Objects.equals(cacheMissCount, other.cacheMissCount)) return false;
+        if (!Objects.equals(cacheEvictionCount, other.cacheEvictionCount)) return false;
+        if (!Objects.equals(cacheInvalidationCount, other.cacheInvalidationCount)) return false;
+        if (!Objects.equals(cacheSize, other.cacheSize)) return false;
+        if (!Objects.equals(cacheMaxSize, other.cacheMaxSize)) return false;
+        if (!Objects.equals(precomputedSize, other.precomputedSize)) return false;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new StringBuilder().append("RouteFinderReport{searchCount=").append(searchCount)
+                .append(", settledNodeCount=").append(settledNodeCount)
+                .append(", cacheHitCount=").append(cacheHitCount)
+                .append(", cacheMissCount=").append(cacheMissCount)
+                .append(", cacheEvictionCount=").append(cacheEvictionCount)
+                .append(", cacheInvalidationCount=").append(cacheInvalidationCount)
+                .append(", cacheSize=").append(cacheSize)
+                .append(", cacheMaxSize=").append(cacheMaxSize)
+                .append(", precomputedSize=").append(precomputedSize).append('}').toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * RouteQuery represents a request for the optimal route between two
+ * geographic positions.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public class RouteQuery implements Serializable {
+
+    private static final long serialVersionUID = -1526208745139851340L;
+
+    @NotNull(message = "{route.root.required}")
+    private GeoPoint root;
+
+    @NotNull(message = "{route.target.required}")
+    private GeoPoint target;
+
+    // Getters & Setters ///////////////////////////////////////////////////////
+
+    public GeoPoint getRoot() {
+        return root;
+    }
+
+    public void setRoot(GeoPoint root) {
+        this.root = root;
+    }
+
+    public GeoPoint getTarget() {
+        return target;
+    }
+
+    public void setTarget(GeoPoint target) {
+        this.target = target;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(root, target);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (getClass() != obj.getClass()) return false;
+
+        final RouteQuery other = (RouteQuery)obj;
+        if ((root == null) ? (other.root != null) : !root.equals(other.root)) return false;
+        if ((target == null) ? (other.target != null) : !target.equals(other.target)) return false;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new StringBuilder().append("RouteQuery{root=").append(root)
+                .append(", target=").append(target).append('}').toString();
+    }
+}
\ No newline at end of file
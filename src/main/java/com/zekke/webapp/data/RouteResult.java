@@ -0,0 +1,88 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * RouteResult represents the answer to a {@link RouteQuery} within a batch:
+ * the optimal route, {@code null} if there's none, or the error that
+ * prevented finding it.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public class RouteResult implements Serializable {
+
+    private static final long serialVersionUID = 6733508130325791752L;
+
+    private Route route;
+    private String error;
+
+    // Getters & Setters ///////////////////////////////////////////////////////
+
+    public Route getRoute() {
+        return route;
+    }
+
+    public void setRoute(Route route) {
+        this.route = route;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(route, error);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (getClass() != obj.getClass()) return false;
+
+        final RouteResult other = (RouteResult)obj;
+        if ((route == null) ? (other.route != null) : !route.equals(other.route)) return false;
+        if ((error == null) ? (other.error != null) : !error.equals(other.error)) return false;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new StringBuilder().append("RouteResult{route=").append(route)
+                .append(", error=").append(error).append('}').toString();
+    }
+}
\ No newline at end of file
@@ -44,6 +44,42 @@ public interface GenericDao<T extends Serializable, ID extends Serializable> {
      */
     List<T> readList();
 
+    /**
+     * Retrieves the list of entities of type 'T' with an id greater than the
+     * given id from the underlying data source, ordered by id.
+     *
+     * @param id the id of type 'ID'.
+     * @return a list of entities of type 'T'.
+     */
+    List<T> readListAfterId(ID id);
+
+    /**
+     * Retrieves the number of entities of type 'T' in the underlying data
+     * source.
+     *
+     * @return the number of entities of type 'T'.
+     */
+    Long readCount();
+
+    /**
+     * Retrieves the greatest id of the entities of type 'T' in the underlying
+     * data source.
+     *
+     * @return the greatest id of type 'ID' or {@code null} if there are no
+     * entities.
+     */
+    ID readMaxId();
+
+    /**
+     * Retrieves the sum of the versions of the entities of type 'T' in the
+     * underlying data source. Versions grow with every update, so the sum
+     * changes when any entity is edited.
+     *
+     * @return the sum of the versions or {@code null} if there are no
+     * entities.
+     */
+    Long readVersionSum();
+
     /**
      * Inserts an entity of type 'T' into the underlying data source.
      *
@@ -37,7 +37,8 @@ public interface PlaceDao extends GenericDao<Place, Long> {
     List<Place> readByConnection(Long placeId);
 
     /**
-     * Retrieves the list of places with a name like the given name.
+     * Retrieves the list of places with a name like the given name, ignoring
+     * case and accents.
      *
      * @param name a name.
      * @return a list of places.
@@ -46,7 +47,8 @@ public interface PlaceDao extends GenericDao<Place, Long> {
 
     /**
      * Retrieves the list of places' names that are in the radius of the given
-     * geographic point with the name like the given name.
+     * geographic point with the name like the given name, ignoring case and
+     * accents.
      *
      * @param name a name.
      * @param center a geographic point.
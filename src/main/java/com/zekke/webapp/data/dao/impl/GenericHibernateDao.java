@@ -16,10 +16,14 @@
 package com.zekke.webapp.data.dao.impl;
 
 import java.io.Serializable;
+import java.util.List;
 
 import javax.inject.Inject;
 
 import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
 
 import org.jodah.typetools.TypeResolver;
 
@@ -64,6 +68,57 @@ public abstract class GenericHibernateDao<E extends Serializable, ID extends Ser
         return (E) getSessionFactory().getCurrentSession().get(getEntityType(), id);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<E> readListAfterId(ID id) {
+        LOG.debug("Read list of {} after --> id={}", getEntityType().getSimpleName(), id);
+        return getSessionFactory().getCurrentSession()
+                .createCriteria(getEntityType())
+                .add(Restrictions.gt("id", id))
+                .addOrder(Order.asc("id"))
+                .list();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long readCount() {
+        LOG.debug("Read count of {}", getEntityType().getSimpleName());
+        return (Long) getSessionFactory().getCurrentSession()
+                .createCriteria(getEntityType())
+                .setProjection(Projections.rowCount())
+                .uniqueResult();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ID readMaxId() {
+        LOG.debug("Read max id of {}", getEntityType().getSimpleName());
+        return (ID) getSessionFactory().getCurrentSession()
+                .createCriteria(getEntityType())
+                .setProjection(Projections.max("id"))
+                .uniqueResult();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long readVersionSum() {
+        LOG.debug("Read version sum of {}", getEntityType().getSimpleName());
+        return (Long) getSessionFactory().getCurrentSession()
+                .createCriteria(getEntityType())
+                .setProjection(Projections.sum("version"))
+                .uniqueResult();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -19,12 +19,16 @@ import java.util.List;
 
 import javax.inject.Named;
 
+import org.hibernate.Query;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.zekke.webapp.data.GeoPoint;
 import com.zekke.webapp.data.Place;
 import com.zekke.webapp.data.dao.PlaceDao;
+import com.zekke.webapp.util.GeoUtils;
+import com.zekke.webapp.util.Strings;
 
 /**
  * Hibernate implementation of PlaceDAO interface.
@@ -72,7 +76,7 @@ public class PlaceHibernateDao extends GenericHibernateDao<Place, Long> implemen
         LOG.debug("Read list of places like --> name={}", name);
         return getSessionFactory().getCurrentSession()
                 .getNamedQuery("Place.readLikeName")
-                .setString("name", name)
+                .setString("name", Strings.toSearchKey(name))
                 .list();
     }
 
@@ -83,13 +87,11 @@ public class PlaceHibernateDao extends GenericHibernateDao<Place, Long> implemen
     @SuppressWarnings("unchecked")
     public List<String> readNamesInAreaLikeName(String name, GeoPoint center, Double radius) {
         LOG.debug("Read list of names in area center={}, radius={}, like --> name={}", name, center, radius);
-        return getSessionFactory().getCurrentSession()
+        Query query = getSessionFactory().getCurrentSession()
                 .getNamedQuery("Place.readNamesInAreaLikeName")
-                .setString("name", name)
-                .setDouble("radius", radius)
-                .setProperties(center)
-                .setMaxResults(10)
-                .list();
+                .setString("name", Strings.toSearchKey(name))
+                .setMaxResults(10);
+        return setArea(query, center, radius).list();
     }
 
     /**
@@ -98,10 +100,49 @@ public class PlaceHibernateDao extends GenericHibernateDao<Place, Long> implemen
     @Override
     public Place readByPosition(GeoPoint position) {
         LOG.debug("Read place by --> position={}", position);
-        return (Place) getSessionFactory().getCurrentSession()
+        Query query = getSessionFactory().getCurrentSession()
                 .getNamedQuery("Place.readByPosition")
-                .setMaxResults(1)
-                .setProperties(position)
-                .uniqueResult();
+                .setMaxResults(1);
+        return (Place) setArea(query, position, GeoUtils.PLACE_RADIUS).uniqueResult();
+    }
+
+    /**
+     * Sets the parameters of a distance query: the radius, the trigonometric
+     * values of the center matching the stored columns of the places and the
+     * bounding box of the circle, which lets the database range scan the
+     * position indexes before computing any distance.
+     *
+     * @param query a native distance query.
+     * @param center the center of the area.
+     * @param radius the radius of the area in meters.
+     * @return the same query.
+     */
+    private Query setArea(Query query, GeoPoint center, double radius) {
+        double latitude = Math.toRadians(center.getLatitude());
+        double angularRadius = radius / GeoUtils.EARTH_RADIUS;
+        double deltaLatitude = Math.toDegrees(angularRadius);
+        double minLongitude = -180;
+        double maxLongitude = 180;
+        double sinDeltaLongitude = Math.sin(angularRadius) / Math.cos(latitude);
+
+        // Near the poles or across the antimeridian every longitude is kept
+        if (sinDeltaLongitude < 1) {
+            double deltaLongitude = Math.toDegrees(Math.asin(sinDeltaLongitude));
+
+            if (center.getLongitude() - deltaLongitude >= -180 && center.getLongitude() + deltaLongitude <= 180) {
+                minLongitude = center.getLongitude() - deltaLongitude;
+                maxLongitude = center.getLongitude() + deltaLongitude;
+            }
+        }
+
+        return query
+                .setDouble("radius", radius)
+                .setDouble("sinLatitude", StrictMath.sin(latitude))
+                .setDouble("cosLatitude", StrictMath.cos(latitude))
+                .setDouble("longitudeRadians", Math.toRadians(center.getLongitude()))
+                .setDouble("minLatitude", center.getLatitude() - deltaLatitude)
+                .setDouble("maxLatitude", center.getLatitude() + deltaLatitude)
+                .setDouble("minLongitude", minLongitude)
+                .setDouble("maxLongitude", maxLongitude);
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.Arrays;
+
+/**
+ * AStarSearch runs the A* algorithm over a {@link Graph} guided by a
+ * {@link DistanceEstimator}, by default a {@link GreatCircleEstimator}. The
+ * estimates never overestimate, so the first time the target is settled its
+ * distance is optimal. A node is reopened if a shorter distance to it is found
+ * after it was settled, which only happens when the estimates are not
+ * consistent. Nodes whose estimate is infinite are never queued. Instances are
+ * not thread safe.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class AStarSearch implements ShortestPathTree {
+
+    private final Graph graph;
+    private final DistanceEstimator estimator;
+    private final double[] distances;
+    private final int[] parents;
+    private final IndexedMinHeap queue;
+    private final int[] touched;
+    private int touchedCount;
+    private int settledCount;
+
+    /**
+     * Constructs a new search over the given graph.
+     *
+     * @param graph a Graph.
+     */
+    public AStarSearch(Graph graph) {
+        this(graph, new GreatCircleEstimator(graph));
+    }
+
+    /**
+     * Constructs a new search over the given graph guided by the given
+     * estimator.
+     *
+     * @param graph a Graph.
+     * @param estimator a DistanceEstimator for the graph.
+     */
+    public AStarSearch(Graph graph, DistanceEstimator estimator) {
+        this.graph = graph;
+        this.estimator = estimator;
+        int nodeCount = graph.getNodeCount();
+        distances = new double[nodeCount];
+        parents = new int[nodeCount];
+        queue = new IndexedMinHeap(nodeCount);
+        touched = new int[nodeCount];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+    }
+
+    /**
+     * Finds the shortest path from the given source to the given target.
+     *
+     * @param source the source node.
+     * @param target the target node.
+     * @return {@code true} if the target was reached; otherwise
+     * {@code false}.
+     */
+    public boolean search(int source, int target) {
+        reset();
+        touch(source, 0.0, -1);
+        queue.offer(source, estimator.estimate(source, target));
+
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            settledCount++;
+
+            if (u == target) {
+                return true;
+            }
+
+            double dU = distances[u];
+
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int v = graph.edgeTarget(e);
+                double dV = dU + graph.edgeWeight(e);
+
+                if (dV < distances[v]) {
+                    double estimate = estimator.estimate(v, target);
+
+                    if (estimate != Double.POSITIVE_INFINITY) {
+                        touch(v, dV, u);
+                        queue.offer(v, dV + estimate);
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDistance(int node) {
+        return distances[node];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    /**
+     * Gets the number of nodes settled (expanded) in the last search,
+     * counting reopened nodes once per expansion.
+     *
+     * @return the number of settled nodes.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Updates the distance and parent of the given node remembering it for
+     * the next reset.
+     *
+     * @param node a node.
+     * @param distance the new distance.
+     * @param parent the new parent.
+     */
+    private void touch(int node, double distance, int parent) {
+        if (distances[node] == Double.POSITIVE_INFINITY) {
+            touched[touchedCount++] = node;
+        }
+
+        distances[node] = distance;
+        parents[node] = parent;
+    }
+
+    /**
+     * Resets the state of the nodes touched by the last search.
+     */
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int node = touched[i];
+            distances[node] = Double.POSITIVE_INFINITY;
+            parents[node] = -1;
+        }
+
+        touchedCount = 0;
+        settledCount = 0;
+        queue.clear();
+    }
+}
\ No newline at end of file
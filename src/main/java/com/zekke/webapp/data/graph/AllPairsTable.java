@@ -0,0 +1,245 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AllPairsTable keeps the shortest distance and the next hop between every
+ * pair of nodes of a {@link Graph}, computed with one Dijkstra search per
+ * source spread over several threads. The tables take n&sup2; doubles and
+ * n&sup2; ints, so they are only meant for small graphs; once built, the
+ * shortest path between two nodes is found walking the next hops. Tables are
+ * indexed by int, so graphs can have up to {@link #MAX_NODE_COUNT} nodes.
+ * Instances are immutable.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class AllPairsTable {
+
+    /** The maximum number of nodes, the largest whose square fits an int. */
+    public static final int MAX_NODE_COUNT = 46340;
+
+    private final Graph graph;
+    private final double[] distances;
+    private final int[] nextHops;
+
+    /**
+     * Constructs a new AllPairsTable.
+     *
+     * @param graph the graph.
+     * @param distances the distance between every pair of nodes, source-major.
+     * @param nextHops the next hop between every pair of nodes, source-major.
+     */
+    private AllPairsTable(Graph graph, double[] distances, int[] nextHops) {
+        this.graph = graph;
+        this.distances = distances;
+        this.nextHops = nextHops;
+    }
+
+    /**
+     * Computes the tables of the given graph.
+     *
+     * @param graph a Graph.
+     * @param threadCount the number of threads running searches.
+     * @return a new AllPairsTable.
+     * @throws IllegalArgumentException if the graph has more than
+     * {@link #MAX_NODE_COUNT} nodes.
+     */
+    public static AllPairsTable build(final Graph graph, int threadCount) {
+        final int nodeCount = graph.getNodeCount();
+        long size = (long) nodeCount * nodeCount;
+
+        if (size > (long) MAX_NODE_COUNT * MAX_NODE_COUNT) {
+            throw new IllegalArgumentException("All pairs tables hold up to " + MAX_NODE_COUNT
+                    + " nodes but the graph has " + nodeCount);
+        }
+
+        final double[] distances = new double[(int) size];
+        final int[] nextHops = new int[(int) size];
+        final AtomicInteger nextSource = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threadCount));
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < Math.max(1, threadCount); i++) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    DijkstraSearch search = new DijkstraSearch(graph);
+                    int source;
+
+                    while ((source = nextSource.getAndIncrement()) < nodeCount) {
+                        search.search(source, -1);
+                        fillRow(search, source, distances, nextHops);
+                    }
+
+                    return null;
+                }
+            });
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing all pairs shortest paths", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Couldn't compute all pairs shortest paths", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new AllPairsTable(graph, distances, nextHops);
+    }
+
+    /**
+     * Gets the graph of this table.
+     *
+     * @return the graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the shortest distance between two nodes.
+     *
+     * @param source the source node.
+     * @param target the target node.
+     * @return the distance or {@link Double#POSITIVE_INFINITY} if the target
+     * is unreachable.
+     */
+    public double getDistance(int source, int target) {
+        return distances[source * graph.getNodeCount() + target];
+    }
+
+    /**
+     * Gets the node that follows the given source in the shortest path to the
+     * given target.
+     *
+     * @param source the source node.
+     * @param target the target node.
+     * @return the next node, the target itself if it's adjacent or -1 if the
+     * target is the source or is unreachable.
+     */
+    public int getNextHop(int source, int target) {
+        return nextHops[source * graph.getNodeCount() + target];
+    }
+
+    /**
+     * Gets the shortest path between two nodes walking the next hops.
+     *
+     * @param source the source node.
+     * @param target the target node.
+     * @return the nodes from the source to the target or an empty array if the
+     * target is unreachable.
+     */
+    public int[] getPath(int source, int target) {
+        if (source != target && getNextHop(source, target) == -1) {
+            return new int[0];
+        }
+
+        int length = 1;
+
+        for (int node = source; node != target; node = getNextHop(node, target)) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        int i = 0;
+
+        for (int node = source; node != target; node = getNextHop(node, target)) {
+            path[i++] = node;
+        }
+
+        path[i] = target;
+        return path;
+    }
+
+    /**
+     * Gets the memory used by the tables.
+     *
+     * @return the size of the tables in bytes.
+     */
+    public long getTableSize() {
+        return 8L * distances.length + 4L * nextHops.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "AllPairsTable{nodeCount=" + graph.getNodeCount() + ", tableSize=" + getTableSize() + '}';
+    }
+
+    /**
+     * Copies the distances of a full search and derives the next hop of every
+     * node from its parents.
+     *
+     * @param search a search that settled every node reachable from the
+     * source.
+     * @param source the source node.
+     * @param distances the distance table.
+     * @param nextHops the next hop table.
+     */
+    private static void fillRow(DijkstraSearch search, int source, double[] distances, int[] nextHops) {
+        int nodeCount = search.getGraph().getNodeCount();
+        int offset = source * nodeCount;
+
+        for (int node = 0; node < nodeCount; node++) {
+            distances[offset + node] = search.getDistance(node);
+            nextHops[offset + node] = -2;
+        }
+
+        nextHops[offset + source] = -1;
+
+        for (int node = 0; node < nodeCount; node++) {
+            if (nextHops[offset + node] != -2) {
+                continue;
+            } else if (search.getDistance(node) == Double.POSITIVE_INFINITY) {
+                nextHops[offset + node] = -1;
+                continue;
+            }
+
+            // Walks up until a node whose next hop is known, then writes it
+            // down the same chain
+            int top = node;
+
+            while (search.getParent(top) != source && nextHops[offset + search.getParent(top)] == -2) {
+                top = search.getParent(top);
+            }
+
+            int hop = search.getParent(top) == source ? top : nextHops[offset + search.getParent(top)];
+
+            for (int chain = node; chain != top; chain = search.getParent(chain)) {
+                nextHops[offset + chain] = hop;
+            }
+
+            nextHops[offset + top] = hop;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.zekke.webapp.util.Strings;
+
+/**
+ * AutocompleteIndex is a prefix tree (trie) of the place names of a
+ * {@link Graph} that suggests the names starting with what has been typed so
+ * far. Names are matched by their search keys, without case nor accents, as
+ * given by {@link Strings#toSearchKey(String)}, and every trie node keeps
+ * its best completions already sorted, shorter names first and then
+ * alphabetically, so a lookup only walks the prefix and copies the
+ * suggestions of the node it ends in.
+ * <p>
+ * The trie is flattened in arrays: the children of every node are stored in
+ * compressed sparse row layout sorted by their character, so a child is found
+ * by binary search, and the completions of every node are stored the same way
+ * as indexes of the distinct names.
+ * <p>
+ * The same trie serves typo tolerant lookups: a Levenshtein automaton for the
+ * text, simulated one dynamic programming row per character, walks the trie
+ * depth first and leaves the branches where every state is already farther
+ * than the allowed edits. The names below a trie node whose prefix is within
+ * the allowed edits of the text are matches, ranked by their distance and then
+ * in suggestion order. A budget of visited trie nodes bounds the work of
+ * short, ambiguous texts.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class AutocompleteIndex {
+
+    /**
+     * Maximum number of completions kept by every node.
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final Graph graph;
+    private final String[] names;
+    private final int[] childOffsets;
+    private final char[] childLabels;
+    private final int[] children;
+    private final int[] completionOffsets;
+    private final int[] completions;
+    private final int[] nameNodeOffsets;
+    private final int[] nameNodes;
+
+    /**
+     * Constructs a new AutocompleteIndex.
+     *
+     * @param graph the indexed graph.
+     * @param names the distinct names in suggestion order.
+     * @param childOffsets the first child of every trie node plus a trailing
+     * children count.
+     * @param childLabels the character of every child.
+     * @param children the trie node of every child.
+     * @param completionOffsets the first completion of every trie node plus a
+     * trailing completions count.
+     * @param completions the name of every completion.
+     * @param nameNodeOffsets the first graph node of every name plus a
+     * trailing graph nodes count.
+     * @param nameNodes the graph nodes of every name.
+     */
+    private AutocompleteIndex(Graph graph, String[] names, int[] childOffsets, char[] childLabels, int[] children,
+            int[] completionOffsets, int[] completions, int[] nameNodeOffsets, int[] nameNodes) {
+        this.graph = graph;
+        this.names = names;
+        this.childOffsets = childOffsets;
+        this.childLabels = childLabels;
+        this.children = children;
+        this.completionOffsets = completionOffsets;
+        this.completions = completions;
+        this.nameNodeOffsets = nameNodeOffsets;
+        this.nameNodes = nameNodes;
+    }
+
+    /**
+     * Builds the autocomplete index of the place names of the given graph.
+     *
+     * @param graph a graph.
+     * @return a new AutocompleteIndex.
+     */
+    public static AutocompleteIndex build(Graph graph) {
+        TreeSet<String> distinctNames = new TreeSet<>();
+
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            distinctNames.add(graph.getPlaceName(node));
+        }
+
+        String[] names = distinctNames.toArray(new String[distinctNames.size()]);
+        Arrays.sort(names, new Comparator<String>() {
+
+            @Override
+            public int compare(String name, String other) {
+                int result = Integer.compare(name.length(), other.length());
+                return result != 0 ? result : name.compareTo(other);
+            }
+        });
+
+        // Names are inserted in suggestion order, so the first names to reach
+        // a trie node are its best completions
+        TrieNode root = new TrieNode();
+        int trieNodeCount = 1;
+
+        for (int i = 0; i < names.length; i++) {
+            String key = Strings.toSearchKey(names[i]);
+            TrieNode trieNode = root;
+            trieNode.addCompletion(i);
+
+            for (int j = 0; j < key.length(); j++) {
+                TrieNode child = trieNode.children.get(key.charAt(j));
+
+                if (child == null) {
+                    child = new TrieNode();
+                    trieNode.children.put(key.charAt(j), child);
+                    trieNodeCount++;
+                }
+
+                trieNode = child;
+                trieNode.addCompletion(i);
+            }
+        }
+
+        // Trie nodes are numbered breadth first, so the children of every
+        // node get consecutive numbers
+        List<TrieNode> trieNodes = new ArrayList<>(trieNodeCount);
+        Deque<TrieNode> queue = new ArrayDeque<>();
+        queue.add(root);
+
+        while (!queue.isEmpty()) {
+            TrieNode trieNode = queue.poll();
+            trieNodes.add(trieNode);
+            queue.addAll(trieNode.children.values());
+        }
+
+        int[] childOffsets = new int[trieNodeCount + 1];
+        char[] childLabels = new char[trieNodeCount - 1];
+        int[] children = new int[trieNodeCount - 1];
+        int[] completionOffsets = new int[trieNodeCount + 1];
+        int completionCount = 0;
+
+        for (TrieNode trieNode : trieNodes) {
+            completionCount += trieNode.completions.size();
+        }
+
+        int[] completions = new int[completionCount];
+        int nextChild = 1;
+
+        for (int i = 0; i < trieNodeCount; i++) {
+            TrieNode trieNode = trieNodes.get(i);
+            childOffsets[i + 1] = childOffsets[i] + trieNode.children.size();
+
+            for (Map.Entry<Character, TrieNode> child : trieNode.children.entrySet()) {
+                childLabels[nextChild - 1] = child.getKey();
+                children[nextChild - 1] = nextChild;
+                nextChild++;
+            }
+
+            completionOffsets[i + 1] = completionOffsets[i] + trieNode.completions.size();
+
+            for (int j = 0; j < trieNode.completions.size(); j++) {
+                completions[completionOffsets[i] + j] = trieNode.completions.get(j);
+            }
+        }
+
+        // Graph nodes are grouped by name, the same way as the completions
+        Map<String, Integer> nameIndexes = new HashMap<>(names.length * 2);
+
+        for (int i = 0; i < names.length; i++) {
+            nameIndexes.put(names[i], i);
+        }
+
+        int nodeCount = graph.getNodeCount();
+        int[] nodeNames = new int[nodeCount];
+        int[] nameNodeOffsets = new int[names.length + 1];
+
+        for (int node = 0; node < nodeCount; node++) {
+            nodeNames[node] = nameIndexes.get(graph.getPlaceName(node));
+            nameNodeOffsets[nodeNames[node] + 1]++;
+        }
+
+        for (int i = 0; i < names.length; i++) {
+            nameNodeOffsets[i + 1] += nameNodeOffsets[i];
+        }
+
+        int[] nameNodes = new int[nodeCount];
+        int[] next = Arrays.copyOf(nameNodeOffsets, names.length);
+
+        for (int node = 0; node < nodeCount; node++) {
+            nameNodes[next[nodeNames[node]]++] = node;
+        }
+
+        return new AutocompleteIndex(graph, names, childOffsets, childLabels, children, completionOffsets,
+                completions, nameNodeOffsets, nameNodes);
+    }
+
+    /**
+     * Gets the graph this index was built from.
+     *
+     * @return a Graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Suggests the names starting with the given prefix, ignoring case and
+     * accents.
+     *
+     * @param prefix a prefix.
+     * @param count the maximum number of names, up to
+     * {@link #MAX_SUGGESTIONS}.
+     * @return the names, shorter names first and then alphabetically.
+     */
+    public List<String> suggest(String prefix, int count) {
+        String key = Strings.toSearchKey(prefix);
+        int trieNode = 0;
+
+        for (int i = 0; i < key.length() && trieNode != -1; i++) {
+            trieNode = findChild(trieNode, key.charAt(i));
+        }
+
+        if (trieNode == -1) {
+            return new ArrayList<>(0);
+        }
+
+        int from = completionOffsets[trieNode];
+        int to = Math.min(completionOffsets[trieNode + 1], from + Math.max(count, 0));
+        List<String> suggestions = new ArrayList<>(to - from);
+
+        for (int i = from; i < to; i++) {
+            suggestions.add(names[completions[i]]);
+        }
+
+        return suggestions;
+    }
+
+    /**
+     * Finds the graph nodes whose names start with a prefix within the given
+     * number of edits (insertions, deletions or substitutions) of the given
+     * text, ignoring case and accents.
+     *
+     * @param text a text, possibly misspelled.
+     * @param maxEdits the maximum number of edits.
+     * @param count the maximum number of names, up to
+     * {@link #MAX_SUGGESTIONS}.
+     * @param maxVisitedNodes the maximum number of trie nodes to visit.
+     * @return the graph nodes of the names found, nearest names first and then
+     * in suggestion order.
+     */
+    public int[] findSimilar(String text, int maxEdits, int count, int maxVisitedNodes) {
+        String key = Strings.toSearchKey(text);
+        int[] firstRow = new int[key.length() + 1];
+
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+
+        SimilarNames similarNames = new SimilarNames(key, maxEdits, maxVisitedNodes);
+        findSimilar(0, firstRow, similarNames);
+        long[] ranked = similarNames.rank();
+        int nameCount = Math.min(ranked.length, Math.max(count, 0));
+        int nodeCount = 0;
+
+        for (int i = 0; i < nameCount; i++) {
+            int name = (int) ranked[i];
+            nodeCount += nameNodeOffsets[name + 1] - nameNodeOffsets[name];
+        }
+
+        int[] found = new int[nodeCount];
+        int foundCount = 0;
+
+        for (int i = 0; i < nameCount; i++) {
+            int name = (int) ranked[i];
+
+            for (int j = nameNodeOffsets[name]; j < nameNodeOffsets[name + 1]; j++) {
+                found[foundCount++] = nameNodes[j];
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Visits a trie node with the row of edit distances between every prefix
+     * of the key and the prefix of the trie node. The last distance of the
+     * row is the distance between the whole key and the prefix of the trie
+     * node, the lowest one bounds the distance of every longer prefix.
+     *
+     * @param trieNode a trie node.
+     * @param row the edit distances of the trie node.
+     * @param similarNames the search state and the names found so far.
+     */
+    private void findSimilar(int trieNode, int[] row, SimilarNames similarNames) {
+        if (similarNames.budget <= 0) {
+            return;
+        }
+
+        similarNames.budget--;
+        String key = similarNames.key;
+        int maxEdits = similarNames.maxEdits;
+        int distance = row[key.length()];
+
+        // Only the first completions matter, any name missing here has that
+        // many nearer or better ranked names
+        if (distance <= maxEdits) {
+            for (int i = completionOffsets[trieNode]; i < completionOffsets[trieNode + 1]; i++) {
+                similarNames.add(completions[i], distance);
+            }
+        }
+
+        int minDistance = Integer.MAX_VALUE;
+
+        for (int value : row) {
+            minDistance = Math.min(minDistance, value);
+        }
+
+        if (minDistance > maxEdits) {
+            return;
+        }
+
+        for (int child = childOffsets[trieNode]; child < childOffsets[trieNode + 1]; child++) {
+            char label = childLabels[child];
+            int[] nextRow = new int[row.length];
+            nextRow[0] = row[0] + 1;
+
+            for (int i = 1; i < row.length; i++) {
+                int substitution = row[i - 1] + (key.charAt(i - 1) == label ? 0 : 1);
+                nextRow[i] = Math.min(substitution, Math.min(row[i] + 1, nextRow[i - 1] + 1));
+            }
+
+            findSimilar(children[child], nextRow, similarNames);
+        }
+    }
+
+    /**
+     * Finds the child of a trie node by its character.
+     *
+     * @param trieNode a trie node.
+     * @param label a character.
+     * @return the child or -1 if there's none.
+     */
+    private int findChild(int trieNode, char label) {
+        int index = Arrays.binarySearch(childLabels, childOffsets[trieNode], childOffsets[trieNode + 1], label);
+        return index >= 0 ? children[index] : -1;
+    }
+
+    /**
+     * SimilarNames holds the state of a similar names search and the names it
+     * finds. Only the names of the visited trie nodes are kept, so a search
+     * allocates in proportion to what it visits instead of to the number of
+     * names.
+     */
+    private static final class SimilarNames {
+
+        private final String key;
+        private final int maxEdits;
+        private int budget;
+        private long[] matches = new long[MAX_SUGGESTIONS];
+        private int matchCount;
+
+        /**
+         * Constructs a new SimilarNames.
+         *
+         * @param key the search key of the text.
+         * @param maxEdits the maximum number of edits.
+         * @param budget the number of trie nodes that can be visited.
+         */
+        SimilarNames(String key, int maxEdits, int budget) {
+            this.key = key;
+            this.maxEdits = maxEdits;
+            this.budget = budget;
+        }
+
+        /**
+         * Adds a name found at the given distance. The same name may be added
+         * again from other trie nodes.
+         *
+         * @param name the index of a name.
+         * @param distance the edit distance of one of its prefixes.
+         */
+        void add(int name, int distance) {
+            if (matchCount == matches.length) {
+                matches = Arrays.copyOf(matches, matchCount * 2);
+            }
+
+            matches[matchCount++] = ((long) name << 32) | distance;
+        }
+
+        /**
+         * Ranks the names found by their least distance and then by index,
+         * which is the suggestion order.
+         *
+         * @return the names found, each one once, as the distance in the high
+         * bits and the index of the name in the low bits, in rank order.
+         */
+        long[] rank() {
+            // Sorted by name and then by distance the first entry of every name has its least distance
+            Arrays.sort(matches, 0, matchCount);
+            long[] ranked = new long[matchCount];
+            int rankedCount = 0;
+
+            for (int i = 0; i < matchCount; i++) {
+                int name = (int) (matches[i] >>> 32);
+
+                if (i == 0 || (int) (matches[i - 1] >>> 32) != name) {
+                    ranked[rankedCount++] = ((long) (int) matches[i] << 32) | name;
+                }
+            }
+
+            Arrays.sort(ranked, 0, rankedCount);
+            return Arrays.copyOf(ranked, rankedCount);
+        }
+    }
+
+    /**
+     * TrieNode is a node of the trie while it's being built.
+     */
+    private static final class TrieNode {
+
+        private final Map<Character, TrieNode> children = new TreeMap<>();
+        private final List<Integer> completions = new ArrayList<>(1);
+
+        /**
+         * Adds a completion if the node doesn't have all of them yet.
+         *
+         * @param name the index of a name.
+         */
+        void addCompletion(int name) {
+            if (completions.size() < MAX_SUGGESTIONS) {
+                completions.add(name);
+            }
+        }
+    }
+}
\ No newline at end of file
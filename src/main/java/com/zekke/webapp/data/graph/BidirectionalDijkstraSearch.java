@@ -0,0 +1,324 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * BidirectionalDijkstraSearch runs the Dijkstra's algorithm from the source
+ * over the outgoing edges of a {@link Graph} and from the target over its
+ * incoming edges at the same time. The search stops as soon as the sum of the
+ * smallest keys of both queues reaches the shortest distance seen between the
+ * two frontiers, so on long routes it settles roughly half the nodes of a
+ * single Dijkstra search. Like {@link DijkstraSearch}, the state is reused
+ * between searches and instances are not thread safe.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class BidirectionalDijkstraSearch {
+
+    private final Graph graph;
+    private final double[] forwardDistances;
+    private final int[] forwardParents;
+    private final BitSet forwardSettled;
+    private final IndexedMinHeap forwardQueue;
+    private final double[] backwardDistances;
+    private final int[] backwardParents;
+    private final double[] backwardParentWeights;
+    private final BitSet backwardSettled;
+    private final IndexedMinHeap backwardQueue;
+    private final int[] touched;
+    private int touchedCount;
+    private int settledCount;
+    private double bestDistance;
+    private int meetingFrom;
+    private int meetingTo;
+    private double meetingWeight;
+
+    /**
+     * Constructs a new search over the given graph.
+     *
+     * @param graph a Graph.
+     */
+    public BidirectionalDijkstraSearch(Graph graph) {
+        this.graph = graph;
+        int nodeCount = graph.getNodeCount();
+        forwardDistances = new double[nodeCount];
+        forwardParents = new int[nodeCount];
+        forwardSettled = new BitSet(nodeCount);
+        forwardQueue = new IndexedMinHeap(nodeCount);
+        backwardDistances = new double[nodeCount];
+        backwardParents = new int[nodeCount];
+        backwardParentWeights = new double[nodeCount];
+        backwardSettled = new BitSet(nodeCount);
+        backwardQueue = new IndexedMinHeap(nodeCount);
+        touched = new int[nodeCount];
+        Arrays.fill(forwardDistances, Double.POSITIVE_INFINITY);
+        Arrays.fill(backwardDistances, Double.POSITIVE_INFINITY);
+        Arrays.fill(forwardParents, -1);
+        Arrays.fill(backwardParents, -1);
+    }
+
+    /**
+     * Finds the shortest path from the given source to the given target.
+     *
+     * @param source the source node.
+     * @param target the target node.
+     * @return {@code true} if the target is reachable from the source;
+     * otherwise {@code false}.
+     */
+    public boolean search(int source, int target) {
+        reset();
+        touchForward(source, 0.0, -1);
+        touchBackward(target, 0.0, -1, 0.0);
+
+        if (source == target) {
+            bestDistance = 0.0;
+            meetingTo = target;
+            return true;
+        }
+
+        forwardQueue.offer(source, 0.0);
+        backwardQueue.offer(target, 0.0);
+
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            double forwardKey = forwardQueue.getKey(forwardQueue.peek());
+            double backwardKey = backwardQueue.getKey(backwardQueue.peek());
+
+            // No path through the unsettled nodes can be shorter than the
+            // best one already joining both frontiers
+            if (forwardKey + backwardKey >= bestDistance) {
+                break;
+            }
+
+            if (forwardQueue.size() <= backwardQueue.size()) {
+                expandForward();
+            } else {
+                expandBackward();
+            }
+        }
+
+        return meetingTo != -1;
+    }
+
+    /**
+     * Gets the distance of the path found in the last search. The weights of
+     * the path are added from the source to the target, so the distance is the
+     * same one a forward search would compute for the same path.
+     *
+     * @return the distance of the path or {@link Double#POSITIVE_INFINITY} if
+     * the target was not reached.
+     */
+    public double getDistance() {
+        if (meetingTo == -1) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double distance = meetingFrom != -1 ? forwardDistances[meetingFrom] + meetingWeight : 0.0;
+
+        for (int node = meetingTo; backwardParents[node] != -1; node = backwardParents[node]) {
+            distance += backwardParentWeights[node];
+        }
+
+        return distance;
+    }
+
+    /**
+     * Gets the nodes of the path found in the last search.
+     *
+     * @return the nodes from the source to the target or an empty array if the
+     * target was not reached.
+     */
+    public int[] getPath() {
+        if (meetingTo == -1) {
+            return new int[0];
+        }
+
+        int forwardLength = 0;
+
+        for (int node = meetingFrom; node != -1; node = forwardParents[node]) {
+            forwardLength++;
+        }
+
+        int backwardLength = 0;
+
+        for (int node = meetingTo; node != -1; node = backwardParents[node]) {
+            backwardLength++;
+        }
+
+        int[] path = new int[forwardLength + backwardLength];
+        int i = forwardLength;
+
+        for (int node = meetingFrom; node != -1; node = forwardParents[node]) {
+            path[--i] = node;
+        }
+
+        i = forwardLength;
+
+        for (int node = meetingTo; node != -1; node = backwardParents[node]) {
+            path[i++] = node;
+        }
+
+        return path;
+    }
+
+    /**
+     * Gets the number of nodes settled by both directions in the last search.
+     *
+     * @return the number of settled nodes.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Settles the closest node of the forward queue relaxing its outgoing
+     * edges.
+     */
+    private void expandForward() {
+        int u = forwardQueue.poll();
+        forwardSettled.set(u);
+        settledCount++;
+        double dU = forwardDistances[u];
+
+        for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+            int v = graph.edgeTarget(e);
+            double weight = graph.edgeWeight(e);
+            double dV = dU + weight;
+
+            if (!forwardSettled.get(v) && dV < forwardDistances[v]) {
+                touchForward(v, dV, u);
+                forwardQueue.offer(v, dV);
+            }
+
+            if (backwardDistances[v] != Double.POSITIVE_INFINITY) {
+                meet(u, v, weight, dV + backwardDistances[v]);
+            }
+        }
+    }
+
+    /**
+     * Settles the closest node of the backward queue relaxing its incoming
+     * edges.
+     */
+    private void expandBackward() {
+        int u = backwardQueue.poll();
+        backwardSettled.set(u);
+        settledCount++;
+        double dU = backwardDistances[u];
+
+        for (int e = graph.firstIncomingEdge(u); e < graph.endIncomingEdge(u); e++) {
+            int v = graph.incomingEdgeSource(e);
+            double weight = graph.incomingEdgeWeight(e);
+            double dV = dU + weight;
+
+            if (!backwardSettled.get(v) && dV < backwardDistances[v]) {
+                touchBackward(v, dV, u, weight);
+                backwardQueue.offer(v, dV);
+            }
+
+            if (forwardDistances[v] != Double.POSITIVE_INFINITY) {
+                meet(v, u, weight, forwardDistances[v] + dV);
+            }
+        }
+    }
+
+    /**
+     * Remembers the given edge joining both frontiers if it gives the shortest
+     * path so far.
+     *
+     * @param from a node reached by the forward search.
+     * @param to a node reached by the backward search.
+     * @param weight the weight of the edge.
+     * @param distance the distance of the path through the edge.
+     */
+    private void meet(int from, int to, double weight, double distance) {
+        if (distance < bestDistance) {
+            bestDistance = distance;
+            meetingFrom = from;
+            meetingTo = to;
+            meetingWeight = weight;
+        }
+    }
+
+    /**
+     * Updates the forward distance and parent of the given node remembering
+     * it for the next reset.
+     *
+     * @param node a node.
+     * @param distance the new distance.
+     * @param parent the new parent.
+     */
+    private void touchForward(int node, double distance, int parent) {
+        touch(node);
+        forwardDistances[node] = distance;
+        forwardParents[node] = parent;
+    }
+
+    /**
+     * Updates the backward distance and parent of the given node remembering
+     * it for the next reset.
+     *
+     * @param node a node.
+     * @param distance the new distance.
+     * @param parent the next node towards the target.
+     * @param parentWeight the weight of the edge to the parent.
+     */
+    private void touchBackward(int node, double distance, int parent, double parentWeight) {
+        touch(node);
+        backwardDistances[node] = distance;
+        backwardParents[node] = parent;
+        backwardParentWeights[node] = parentWeight;
+    }
+
+    /**
+     * Remembers the given node for the next reset.
+     *
+     * @param node a node.
+     */
+    private void touch(int node) {
+        if (forwardDistances[node] == Double.POSITIVE_INFINITY
+                && backwardDistances[node] == Double.POSITIVE_INFINITY) {
+            touched[touchedCount++] = node;
+        }
+    }
+
+    /**
+     * Resets the state of the nodes touched by the last search.
+     */
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int node = touched[i];
+            forwardDistances[node] = Double.POSITIVE_INFINITY;
+            backwardDistances[node] = Double.POSITIVE_INFINITY;
+            forwardParents[node] = -1;
+            backwardParents[node] = -1;
+        }
+
+        touchedCount = 0;
+        settledCount = 0;
+        bestDistance = Double.POSITIVE_INFINITY;
+        meetingFrom = -1;
+        meetingTo = -1;
+        meetingWeight = 0.0;
+        forwardSettled.clear();
+        backwardSettled.clear();
+        forwardQueue.clear();
+        backwardQueue.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,414 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * ConnectedComponents keeps the strongly and weakly connected component of
+ * every node of a {@link Graph} so that unreachable targets are detected in
+ * constant time without searching. Strong components are numbered by
+ * Tarjan's algorithm, which completes a component after every component it
+ * reaches, so an edge between two different strong components always goes
+ * from a higher number to a lower one. A target whose weak component differs
+ * from the root's one, or whose strong component number is higher than the
+ * root's one, can't be reached. Every other pair is answered by the
+ * reachability of the condensation, the directed acyclic graph of the strong
+ * components, kept as a bit set per strong component. The bit sets take a
+ * quadratic space so graphs with more than
+ * {@link #MAX_REACHABILITY_COMPONENTS} strong components go without them and
+ * only get the first two checks, see {@link #isComplete()}. Instances are
+ * immutable; build new components when the graph changes or
+ * {@link #update(ConnectedComponents, Graph)} them when it's derived from the
+ * previous one.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class ConnectedComponents {
+
+    /** Maximum number of strong components to keep their reachability. */
+    public static final int MAX_REACHABILITY_COMPONENTS = 8192;
+
+    private final Graph graph;
+    private final int[] strongComponents;
+    private final int[] weakComponents;
+    private final int strongComponentCount;
+    private final int weakComponentCount;
+    private final long[] reachability;
+    private final int reachabilityWords;
+
+    /**
+     * Constructs a new ConnectedComponents.
+     *
+     * @param graph the graph.
+     * @param strongComponents the strong component of every node.
+     * @param strongComponentCount the number of strong components.
+     * @param weakComponents the weak component of every node.
+     * @param weakComponentCount the number of weak components.
+     * @param reachability the strong components reachable from every strong
+     * component, {@code null} if it wasn't found.
+     */
+    private ConnectedComponents(Graph graph, int[] strongComponents, int strongComponentCount, int[] weakComponents,
+            int weakComponentCount, long[] reachability) {
+        this.graph = graph;
+        this.strongComponents = strongComponents;
+        this.strongComponentCount = strongComponentCount;
+        this.weakComponents = weakComponents;
+        this.weakComponentCount = weakComponentCount;
+        this.reachability = reachability;
+        this.reachabilityWords = (strongComponentCount + 63) >>> 6;
+    }
+
+    /**
+     * Finds the connected components of the given graph in linear time.
+     *
+     * @param graph a Graph.
+     * @return new ConnectedComponents.
+     */
+    public static ConnectedComponents build(Graph graph) {
+        int nodeCount = graph.getNodeCount();
+        int[] strongComponents = new int[nodeCount];
+        int strongComponentCount = findStrongComponents(graph, strongComponents);
+        int[] weakComponents = new int[nodeCount];
+        int weakComponentCount = findWeakComponents(graph, weakComponents);
+        long[] reachability = strongComponentCount <= MAX_REACHABILITY_COMPONENTS
+                ? findReachability(graph, strongComponents, strongComponentCount)
+                : null;
+        return new ConnectedComponents(graph, strongComponents, strongComponentCount, weakComponents,
+                weakComponentCount, reachability);
+    }
+
+    /**
+     * Gets the connected components of the given graph reusing the given
+     * previous ones when the graph was derived from theirs without changes
+     * that could split or merge components: same nodes, no removed edges and
+     * added edges only inside a strong component. The route finder services
+     * call it for every new graph, so paths added to the data source between
+     * places already connected both ways keep the components.
+     *
+     * @param previous the components of a previous graph, may be
+     * {@code null}.
+     * @param graph a Graph.
+     * @return the ConnectedComponents of the graph.
+     */
+    public static ConnectedComponents update(ConnectedComponents previous, Graph graph) {
+        if (previous == null || !graph.isDerivedWithSameNodes(previous.graph)) {
+            return build(graph);
+        }
+
+        for (EdgeChange change : graph.getChanges()) {
+            if (change.getNewDistance() == Double.POSITIVE_INFINITY) {
+                return build(graph);
+            }
+
+            if (change.getOldDistance() == Double.POSITIVE_INFINITY) {
+                int u = graph.indexOf(change.getFromPlaceId());
+                int v = graph.indexOf(change.getToPlaceId());
+
+                if (previous.strongComponents[u] != previous.strongComponents[v]) {
+                    return build(graph);
+                }
+            }
+        }
+
+        return new ConnectedComponents(graph, previous.strongComponents, previous.strongComponentCount,
+                previous.weakComponents, previous.weakComponentCount, previous.reachability);
+    }
+
+    /**
+     * Numbers the strong components with an iterative version of Tarjan's
+     * algorithm so deep graphs don't overflow the call stack.
+     *
+     * @param graph the graph.
+     * @param components the strong component of every node (output).
+     * @return the number of strong components.
+     */
+    private static int findStrongComponents(Graph graph, int[] components) {
+        int nodeCount = graph.getNodeCount();
+        int[] indexes = new int[nodeCount];
+        int[] lowLinks = new int[nodeCount];
+        int[] stack = new int[nodeCount];
+        int[] callNodes = new int[nodeCount];
+        int[] callEdges = new int[nodeCount];
+        BitSet onStack = new BitSet(nodeCount);
+        int stackSize = 0;
+        int nextIndex = 0;
+        int componentCount = 0;
+        Arrays.fill(indexes, -1);
+
+        for (int source = 0; source < nodeCount; source++) {
+            if (indexes[source] != -1) {
+                continue;
+            }
+
+            indexes[source] = lowLinks[source] = nextIndex++;
+            stack[stackSize++] = source;
+            onStack.set(source);
+            callNodes[0] = source;
+            callEdges[0] = graph.firstEdge(source);
+            int depth = 1;
+
+            while (depth > 0) {
+                int u = callNodes[depth - 1];
+                int e = callEdges[depth - 1];
+
+                if (e < graph.endEdge(u)) {
+                    callEdges[depth - 1]++;
+                    int v = graph.edgeTarget(e);
+
+                    if (indexes[v] == -1) {
+                        indexes[v] = lowLinks[v] = nextIndex++;
+                        stack[stackSize++] = v;
+                        onStack.set(v);
+                        callNodes[depth] = v;
+                        callEdges[depth] = graph.firstEdge(v);
+                        depth++;
+                    } else if (onStack.get(v)) {
+                        lowLinks[u] = Math.min(lowLinks[u], indexes[v]);
+                    }
+                } else {
+                    depth--;
+
+                    if (lowLinks[u] == indexes[u]) {
+                        int w;
+
+                        do {
+                            w = stack[--stackSize];
+                            onStack.clear(w);
+                            components[w] = componentCount;
+                        } while (w != u);
+
+                        componentCount++;
+                    }
+
+                    if (depth > 0) {
+                        int parent = callNodes[depth - 1];
+                        lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[u]);
+                    }
+                }
+            }
+        }
+
+        return componentCount;
+    }
+
+    /**
+     * Numbers the weak components following both outgoing and incoming
+     * edges.
+     *
+     * @param graph the graph.
+     * @param components the weak component of every node (output).
+     * @return the number of weak components.
+     */
+    private static int findWeakComponents(Graph graph, int[] components) {
+        int nodeCount = graph.getNodeCount();
+        int[] stack = new int[nodeCount];
+        int componentCount = 0;
+        Arrays.fill(components, -1);
+
+        for (int source = 0; source < nodeCount; source++) {
+            if (components[source] != -1) {
+                continue;
+            }
+
+            int stackSize = 0;
+            components[source] = componentCount;
+            stack[stackSize++] = source;
+
+            while (stackSize > 0) {
+                int u = stack[--stackSize];
+
+                for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                    int v = graph.edgeTarget(e);
+
+                    if (components[v] == -1) {
+                        components[v] = componentCount;
+                        stack[stackSize++] = v;
+                    }
+                }
+
+                for (int e = graph.firstIncomingEdge(u); e < graph.endIncomingEdge(u); e++) {
+                    int v = graph.incomingEdgeSource(e);
+
+                    if (components[v] == -1) {
+                        components[v] = componentCount;
+                        stack[stackSize++] = v;
+                    }
+                }
+            }
+
+            componentCount++;
+        }
+
+        return componentCount;
+    }
+
+    /**
+     * Finds the strong components reachable from every strong component.
+     * Components are visited in increasing number, which is a reverse
+     * topological order of the condensation, so the components reached by an
+     * edge are complete when their bits are merged.
+     *
+     * @param graph the graph.
+     * @param components the strong component of every node.
+     * @param componentCount the number of strong components.
+     * @return a bit set of {@code (componentCount + 63) / 64} words per
+     * strong component.
+     */
+    private static long[] findReachability(Graph graph, int[] components, int componentCount) {
+        int nodeCount = graph.getNodeCount();
+        int words = (componentCount + 63) >>> 6;
+        long[] reachability = new long[componentCount * words];
+
+        // Nodes are grouped by component with a counting sort
+        int[] nodeOffsets = new int[componentCount + 1];
+
+        for (int node = 0; node < nodeCount; node++) {
+            nodeOffsets[components[node] + 1]++;
+        }
+
+        for (int c = 0; c < componentCount; c++) {
+            nodeOffsets[c + 1] += nodeOffsets[c];
+        }
+
+        int[] nodes = new int[nodeCount];
+        int[] next = Arrays.copyOf(nodeOffsets, componentCount);
+
+        for (int node = 0; node < nodeCount; node++) {
+            nodes[next[components[node]]++] = node;
+        }
+
+        int[] lastMerged = new int[componentCount];
+        Arrays.fill(lastMerged, -1);
+
+        for (int c = 0; c < componentCount; c++) {
+            int base = c * words;
+            reachability[base + (c >>> 6)] |= 1L << c;
+
+            for (int i = nodeOffsets[c]; i < nodeOffsets[c + 1]; i++) {
+                int u = nodes[i];
+
+                for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                    int d = components[graph.edgeTarget(e)];
+
+                    if (d != c && lastMerged[d] != c) {
+                        lastMerged[d] = c;
+                        int other = d * words;
+
+                        for (int w = 0; w < words; w++) {
+                            reachability[base + w] |= reachability[other + w];
+                        }
+                    }
+                }
+            }
+        }
+
+        return reachability;
+    }
+
+    /**
+     * Gets the graph the components were found in.
+     *
+     * @return a Graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the strong component of the given node.
+     *
+     * @param node a node.
+     * @return the strong component number.
+     */
+    public int getStrongComponent(int node) {
+        return strongComponents[node];
+    }
+
+    /**
+     * Gets the weak component of the given node.
+     *
+     * @param node a node.
+     * @return the weak component number.
+     */
+    public int getWeakComponent(int node) {
+        return weakComponents[node];
+    }
+
+    /**
+     * Gets the number of strong components.
+     *
+     * @return the number of strong components.
+     */
+    public int getStrongComponentCount() {
+        return strongComponentCount;
+    }
+
+    /**
+     * Gets the number of weak components.
+     *
+     * @return the number of weak components.
+     */
+    public int getWeakComponentCount() {
+        return weakComponentCount;
+    }
+
+    /**
+     * Checks if the reachability between every pair of nodes is known, that
+     * is, if {@link #isUnreachable(int, int)} is exact.
+     *
+     * @return {@code true} if the graph has at most
+     * {@link #MAX_REACHABILITY_COMPONENTS} strong components; otherwise
+     * {@code false}.
+     */
+    public boolean isComplete() {
+        return reachability != null;
+    }
+
+    /**
+     * Checks in constant time that the given target can't be reached from the
+     * given root. A {@code false} result guarantees that the target is
+     * reachable when the components are {@link #isComplete() complete} or both
+     * nodes are in the same strong component.
+     *
+     * @param root the root node.
+     * @param target the target node.
+     * @return {@code true} if the target is unreachable; otherwise
+     * {@code false}.
+     */
+    public boolean isUnreachable(int root, int target) {
+        int rootComponent = strongComponents[root];
+        int targetComponent = strongComponents[target];
+
+        if (weakComponents[root] != weakComponents[target] || rootComponent < targetComponent) {
+            return true;
+        }
+
+        return reachability != null
+                && (reachability[rootComponent * reachabilityWords + (targetComponent >>> 6)] & (1L << targetComponent)) == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ConnectedComponents{strongComponentCount=" + strongComponentCount
+                + ", weakComponentCount=" + weakComponentCount + ", complete=" + isComplete() + '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,588 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * ContractionHierarchy is the result of contracting every node of a
+ * {@link Graph} in order of importance. Contracting a node adds a shortcut
+ * edge between each pair of its remaining neighbors whose shortest path goes
+ * through it, so a shortest path can always be found going only upwards in
+ * the node order from both the source and the target (see
+ * {@link ContractionHierarchySearch}).
+ * <p>
+ * Every edge, original or shortcut, has an id. The upward edges of a node are
+ * its outgoing edges to higher ranked nodes and its downward edges are its
+ * incoming edges from higher ranked nodes, both indexed as CSR. A shortcut
+ * remembers the two edges it replaces, so it can be unpacked back into the
+ * original edges. Instances are immutable.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class ContractionHierarchy {
+
+    /** Maximum number of nodes a witness search may settle. */
+    private static final int WITNESS_SEARCH_LIMIT = 500;
+
+    private final Graph graph;
+    private final int[] ranks;
+    private final int edgeCount;
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+    private final double[] edgeWeights;
+    private final int[] firstChildren;
+    private final int[] secondChildren;
+    private final int[] upwardOffsets;
+    private final int[] upwardEdges;
+    private final int[] downwardOffsets;
+    private final int[] downwardEdges;
+
+    /**
+     * Constructs a new hierarchy from the state left by a {@link Contractor}.
+     *
+     * @param graph the contracted graph.
+     * @param contractor the contractor that contracted every node.
+     */
+    private ContractionHierarchy(Graph graph, Contractor contractor) {
+        this.graph = graph;
+        ranks = contractor.ranks;
+        edgeCount = contractor.edgeCount;
+        edgeSources = Arrays.copyOf(contractor.edgeSources, edgeCount);
+        edgeTargets = Arrays.copyOf(contractor.edgeTargets, edgeCount);
+        edgeWeights = Arrays.copyOf(contractor.edgeWeights, edgeCount);
+        firstChildren = Arrays.copyOf(contractor.firstChildren, edgeCount);
+        secondChildren = Arrays.copyOf(contractor.secondChildren, edgeCount);
+
+        int nodeCount = graph.getNodeCount();
+        upwardOffsets = new int[nodeCount + 1];
+        downwardOffsets = new int[nodeCount + 1];
+
+        for (int e = 0; e < edgeCount; e++) {
+            if (ranks[edgeSources[e]] < ranks[edgeTargets[e]]) {
+                upwardOffsets[edgeSources[e] + 1]++;
+            } else if (ranks[edgeSources[e]] > ranks[edgeTargets[e]]) {
+                downwardOffsets[edgeTargets[e] + 1]++;
+            }
+        }
+
+        for (int node = 0; node < nodeCount; node++) {
+            upwardOffsets[node + 1] += upwardOffsets[node];
+            downwardOffsets[node + 1] += downwardOffsets[node];
+        }
+
+        upwardEdges = new int[upwardOffsets[nodeCount]];
+        downwardEdges = new int[downwardOffsets[nodeCount]];
+        int[] nextUpward = Arrays.copyOf(upwardOffsets, nodeCount);
+        int[] nextDownward = Arrays.copyOf(downwardOffsets, nodeCount);
+
+        for (int e = 0; e < edgeCount; e++) {
+            if (ranks[edgeSources[e]] < ranks[edgeTargets[e]]) {
+                upwardEdges[nextUpward[edgeSources[e]]++] = e;
+            } else if (ranks[edgeSources[e]] > ranks[edgeTargets[e]]) {
+                downwardEdges[nextDownward[edgeTargets[e]]++] = e;
+            }
+        }
+    }
+
+    /**
+     * Contracts every node of the given graph.
+     *
+     * @param graph a Graph.
+     * @return a new ContractionHierarchy.
+     */
+    public static ContractionHierarchy build(Graph graph) {
+        Contractor contractor = new Contractor(graph);
+        contractor.contractAll();
+        return new ContractionHierarchy(graph, contractor);
+    }
+
+    /**
+     * Gets the contracted graph.
+     *
+     * @return the graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the rank of the given node, that is, the order in which it was
+     * contracted.
+     *
+     * @param node a node.
+     * @return the rank of the node.
+     */
+    public int getRank(int node) {
+        return ranks[node];
+    }
+
+    /**
+     * Gets the number of shortcuts added by the contraction.
+     *
+     * @return the number of shortcuts.
+     */
+    public int getShortcutCount() {
+        return edgeCount - graph.getEdgeCount();
+    }
+
+    /**
+     * Gets the first upward edge of the given node.
+     *
+     * @param node a node.
+     * @return the first index (inclusive) to pass to {@link #upwardEdge(int)}.
+     */
+    public int firstUpwardEdge(int node) {
+        return upwardOffsets[node];
+    }
+
+    /**
+     * Gets the end of the upward edges of the given node.
+     *
+     * @param node a node.
+     * @return the last index (exclusive) to pass to {@link #upwardEdge(int)}.
+     */
+    public int endUpwardEdge(int node) {
+        return upwardOffsets[node + 1];
+    }
+
+    /**
+     * Gets an upward edge.
+     *
+     * @param index an index between {@link #firstUpwardEdge(int)} and
+     * {@link #endUpwardEdge(int)}.
+     * @return the edge id.
+     */
+    public int upwardEdge(int index) {
+        return upwardEdges[index];
+    }
+
+    /**
+     * Gets the first downward edge of the given node.
+     *
+     * @param node a node.
+     * @return the first index (inclusive) to pass to
+     * {@link #downwardEdge(int)}.
+     */
+    public int firstDownwardEdge(int node) {
+        return downwardOffsets[node];
+    }
+
+    /**
+     * Gets the end of the downward edges of the given node.
+     *
+     * @param node a node.
+     * @return the last index (exclusive) to pass to {@link #downwardEdge(int)}.
+     */
+    public int endDownwardEdge(int node) {
+        return downwardOffsets[node + 1];
+    }
+
+    /**
+     * Gets a downward edge.
+     *
+     * @param index an index between {@link #firstDownwardEdge(int)} and
+     * {@link #endDownwardEdge(int)}.
+     * @return the edge id.
+     */
+    public int downwardEdge(int index) {
+        return downwardEdges[index];
+    }
+
+    /**
+     * Gets the node where the given edge starts.
+     *
+     * @param edge an edge id.
+     * @return a node.
+     */
+    public int edgeSource(int edge) {
+        return edgeSources[edge];
+    }
+
+    /**
+     * Gets the node where the given edge ends.
+     *
+     * @param edge an edge id.
+     * @return a node.
+     */
+    public int edgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    /**
+     * Gets the weight of the given edge.
+     *
+     * @param edge an edge id.
+     * @return the weight of the edge.
+     */
+    public double edgeWeight(int edge) {
+        return edgeWeights[edge];
+    }
+
+    /**
+     * Checks that the given edge is a shortcut.
+     *
+     * @param edge an edge id.
+     * @return {@code true} if the edge is a shortcut; {@code false} if it's
+     * an edge of the original graph.
+     */
+    public boolean isShortcut(int edge) {
+        return firstChildren[edge] != -1;
+    }
+
+    /**
+     * Gets the first of the two edges replaced by the given shortcut.
+     *
+     * @param shortcut a shortcut id.
+     * @return the edge from the source of the shortcut to the contracted
+     * node.
+     */
+    public int firstChild(int shortcut) {
+        return firstChildren[shortcut];
+    }
+
+    /**
+     * Gets the second of the two edges replaced by the given shortcut.
+     *
+     * @param shortcut a shortcut id.
+     * @return the edge from the contracted node to the target of the
+     * shortcut.
+     */
+    public int secondChild(int shortcut) {
+        return secondChildren[shortcut];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ContractionHierarchy{nodeCount=" + graph.getNodeCount() + ", shortcutCount=" + getShortcutCount() + '}';
+    }
+
+    /**
+     * Contractor keeps the mutable state of the contraction. Nodes are
+     * contracted in order of their edge difference (shortcuts added minus
+     * edges removed) plus the number of their neighbors already contracted;
+     * priorities are updated lazily when a node reaches the top of the queue.
+     */
+    private static final class Contractor {
+
+        private final Graph graph;
+        private final int[] ranks;
+        private final BitSet contracted;
+        private final int[] contractedNeighbors;
+        private final int[][] outgoing;
+        private final int[] outgoingCounts;
+        private final int[][] incoming;
+        private final int[] incomingCounts;
+        private int edgeCount;
+        private int[] edgeSources;
+        private int[] edgeTargets;
+        private double[] edgeWeights;
+        private int[] firstChildren;
+        private int[] secondChildren;
+
+        // Neighbors of the node being contracted, keeping the lightest edge
+        // to each of them
+        private final int[] neighborIndexes;
+        private final int[] sourceEdges;
+        private int sourceCount;
+        private final int[] targetEdges;
+        private int targetCount;
+
+        // Witness search state
+        private final double[] witnessDistances;
+        private final int[] witnessTouched;
+        private int witnessTouchedCount;
+        private final IndexedMinHeap witnessQueue;
+
+        /**
+         * Constructs a new Contractor with the edges of the given graph.
+         *
+         * @param graph a Graph.
+         */
+        Contractor(Graph graph) {
+            this.graph = graph;
+            int nodeCount = graph.getNodeCount();
+            ranks = new int[nodeCount];
+            contracted = new BitSet(nodeCount);
+            contractedNeighbors = new int[nodeCount];
+            outgoing = new int[nodeCount][];
+            outgoingCounts = new int[nodeCount];
+            incoming = new int[nodeCount][];
+            incomingCounts = new int[nodeCount];
+            neighborIndexes = new int[nodeCount];
+            sourceEdges = new int[nodeCount];
+            targetEdges = new int[nodeCount];
+            witnessDistances = new double[nodeCount];
+            witnessTouched = new int[nodeCount];
+            witnessQueue = new IndexedMinHeap(nodeCount);
+            Arrays.fill(neighborIndexes, -1);
+            Arrays.fill(witnessDistances, Double.POSITIVE_INFINITY);
+
+            int capacity = Math.max(16, graph.getEdgeCount() * 2);
+            edgeSources = new int[capacity];
+            edgeTargets = new int[capacity];
+            edgeWeights = new double[capacity];
+            firstChildren = new int[capacity];
+            secondChildren = new int[capacity];
+
+            for (int node = 0; node < nodeCount; node++) {
+                outgoing[node] = new int[Math.max(4, graph.endEdge(node) - graph.firstEdge(node))];
+                incoming[node] = new int[Math.max(4, graph.endIncomingEdge(node) - graph.firstIncomingEdge(node))];
+            }
+
+            for (int node = 0; node < nodeCount; node++) {
+                for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                    if (graph.edgeTarget(e) != node) {
+                        addEdge(node, graph.edgeTarget(e), graph.edgeWeight(e), -1, -1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Contracts every node giving each one its rank.
+         */
+        void contractAll() {
+            int nodeCount = graph.getNodeCount();
+            IndexedMinHeap queue = new IndexedMinHeap(nodeCount);
+
+            for (int node = 0; node < nodeCount; node++) {
+                queue.offer(node, priority(node));
+            }
+
+            int rank = 0;
+
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                double priority = priority(node);
+
+                if (!queue.isEmpty() && priority > queue.getKey(queue.peek())) {
+                    queue.offer(node, priority);
+                    continue;
+                }
+
+                contract(node, false);
+                contracted.set(node);
+                ranks[node] = rank++;
+
+                for (int i = 0; i < outgoingCounts[node]; i++) {
+                    contractedNeighbors[edgeTargets[outgoing[node][i]]]++;
+                }
+
+                for (int i = 0; i < incomingCounts[node]; i++) {
+                    contractedNeighbors[edgeSources[incoming[node][i]]]++;
+                }
+            }
+        }
+
+        /**
+         * Computes the contraction priority of the given node.
+         *
+         * @param node a node.
+         * @return the priority, lower is contracted first.
+         */
+        private double priority(int node) {
+            int shortcuts = contract(node, true);
+            return shortcuts - sourceCount - targetCount + contractedNeighbors[node];
+        }
+
+        /**
+         * Adds the shortcuts needed to contract the given node.
+         *
+         * @param node a node.
+         * @param simulate if {@code true} only counts the shortcuts.
+         * @return the number of shortcuts.
+         */
+        private int contract(int node, boolean simulate) {
+            collectNeighbors(node);
+            int shortcuts = 0;
+
+            for (int i = 0; i < sourceCount; i++) {
+                int inEdge = sourceEdges[i];
+                int source = edgeSources[inEdge];
+                double maxDistance = 0.0;
+
+                for (int j = 0; j < targetCount; j++) {
+                    int target = edgeTargets[targetEdges[j]];
+
+                    if (target != source) {
+                        maxDistance = Math.max(maxDistance, edgeWeights[inEdge] + edgeWeights[targetEdges[j]]);
+                    }
+                }
+
+                witnessSearch(source, node, maxDistance);
+
+                for (int j = 0; j < targetCount; j++) {
+                    int outEdge = targetEdges[j];
+                    int target = edgeTargets[outEdge];
+                    double distance = edgeWeights[inEdge] + edgeWeights[outEdge];
+
+                    if (target != source && witnessDistances[target] > distance) {
+                        shortcuts++;
+
+                        if (!simulate) {
+                            addEdge(source, target, distance, inEdge, outEdge);
+                        }
+                    }
+                }
+            }
+
+            return shortcuts;
+        }
+
+        /**
+         * Collects the lightest incoming edge from and outgoing edge to every
+         * uncontracted neighbor of the given node.
+         *
+         * @param node a node.
+         */
+        private void collectNeighbors(int node) {
+            sourceCount = 0;
+
+            for (int i = 0; i < incomingCounts[node]; i++) {
+                int e = incoming[node][i];
+                int source = edgeSources[e];
+
+                if (!contracted.get(source)) {
+                    if (neighborIndexes[source] == -1) {
+                        neighborIndexes[source] = sourceCount;
+                        sourceEdges[sourceCount++] = e;
+                    } else if (edgeWeights[e] < edgeWeights[sourceEdges[neighborIndexes[source]]]) {
+                        sourceEdges[neighborIndexes[source]] = e;
+                    }
+                }
+            }
+
+            for (int i = 0; i < sourceCount; i++) {
+                neighborIndexes[edgeSources[sourceEdges[i]]] = -1;
+            }
+
+            targetCount = 0;
+
+            for (int i = 0; i < outgoingCounts[node]; i++) {
+                int e = outgoing[node][i];
+                int target = edgeTargets[e];
+
+                if (!contracted.get(target)) {
+                    if (neighborIndexes[target] == -1) {
+                        neighborIndexes[target] = targetCount;
+                        targetEdges[targetCount++] = e;
+                    } else if (edgeWeights[e] < edgeWeights[targetEdges[neighborIndexes[target]]]) {
+                        targetEdges[neighborIndexes[target]] = e;
+                    }
+                }
+            }
+
+            for (int i = 0; i < targetCount; i++) {
+                neighborIndexes[edgeTargets[targetEdges[i]]] = -1;
+            }
+        }
+
+        /**
+         * Runs a Dijkstra search over the uncontracted nodes avoiding the
+         * given node, up to the given distance or until
+         * {@link #WITNESS_SEARCH_LIMIT} nodes are settled.
+         *
+         * @param source the source node.
+         * @param avoid the node being contracted.
+         * @param maxDistance the maximum distance of interest.
+         */
+        private void witnessSearch(int source, int avoid, double maxDistance) {
+            for (int i = 0; i < witnessTouchedCount; i++) {
+                witnessDistances[witnessTouched[i]] = Double.POSITIVE_INFINITY;
+            }
+
+            witnessTouchedCount = 0;
+            witnessQueue.clear();
+            witnessDistances[source] = 0.0;
+            witnessTouched[witnessTouchedCount++] = source;
+            witnessQueue.offer(source, 0.0);
+            int settled = 0;
+
+            while (!witnessQueue.isEmpty() && settled < WITNESS_SEARCH_LIMIT) {
+                int u = witnessQueue.poll();
+                double dU = witnessDistances[u];
+                settled++;
+
+                if (dU > maxDistance) {
+                    break;
+                }
+
+                for (int i = 0; i < outgoingCounts[u]; i++) {
+                    int e = outgoing[u][i];
+                    int v = edgeTargets[e];
+
+                    if (v != avoid && !contracted.get(v)) {
+                        double dV = dU + edgeWeights[e];
+
+                        if (dV < witnessDistances[v]) {
+                            if (witnessDistances[v] == Double.POSITIVE_INFINITY) {
+                                witnessTouched[witnessTouchedCount++] = v;
+                            }
+
+                            witnessDistances[v] = dV;
+                            witnessQueue.offer(v, dV);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds an edge.
+         *
+         * @param source the source node.
+         * @param target the target node.
+         * @param weight the weight.
+         * @param firstChild the first replaced edge or -1.
+         * @param secondChild the second replaced edge or -1.
+         */
+        private void addEdge(int source, int target, double weight, int firstChild, int secondChild) {
+            if (edgeCount == edgeSources.length) {
+                int capacity = edgeCount * 2;
+                edgeSources = Arrays.copyOf(edgeSources, capacity);
+                edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+                edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+                firstChildren = Arrays.copyOf(firstChildren, capacity);
+                secondChildren = Arrays.copyOf(secondChildren, capacity);
+            }
+
+            int edge = edgeCount++;
+            edgeSources[edge] = source;
+            edgeTargets[edge] = target;
+            edgeWeights[edge] = weight;
+            firstChildren[edge] = firstChild;
+            secondChildren[edge] = secondChild;
+
+            if (outgoingCounts[source] == outgoing[source].length) {
+                outgoing[source] = Arrays.copyOf(outgoing[source], outgoingCounts[source] * 2);
+            }
+
+            outgoing[source][outgoingCounts[source]++] = edge;
+
+            if (incomingCounts[target] == incoming[target].length) {
+                incoming[target] = Arrays.copyOf(incoming[target], incomingCounts[target] * 2);
+            }
+
+            incoming[target][incomingCounts[target]++] = edge;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.Arrays;
+
+/**
+ * ContractionHierarchySearch finds shortest paths over a
+ * {@link ContractionHierarchy}. It runs a Dijkstra search from the source
+ * over the upward edges and another one from the target over the downward
+ * edges; the shortest path goes through the node that minimizes the sum of
+ * both distances. Every direction stops once its smallest key reaches the best
+ * distance found. The shortcuts of the path are unpacked back into the edges
+ * of the original {@link Graph}. The state is reused between searches and
+ * instances are not thread safe.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class ContractionHierarchySearch {
+
+    private final ContractionHierarchy hierarchy;
+    private final double[] forwardDistances;
+    private final int[] forwardParentEdges;
+    private final IndexedMinHeap forwardQueue;
+    private final double[] backwardDistances;
+    private final int[] backwardParentEdges;
+    private final IndexedMinHeap backwardQueue;
+    private final int[] touched;
+    private int touchedCount;
+    private int settledCount;
+    private double bestDistance;
+    private int meetingNode;
+    private int[] unpackStack;
+    private int[] pathEdges;
+    private int pathEdgeCount;
+
+    /**
+     * Constructs a new search over the given hierarchy.
+     *
+     * @param hierarchy a ContractionHierarchy.
+     */
+    public ContractionHierarchySearch(ContractionHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+        int nodeCount = hierarchy.getGraph().getNodeCount();
+        forwardDistances = new double[nodeCount];
+        forwardParentEdges = new int[nodeCount];
+        forwardQueue = new IndexedMinHeap(nodeCount);
+        backwardDistances = new double[nodeCount];
+        backwardParentEdges = new int[nodeCount];
+        backwardQueue = new IndexedMinHeap(nodeCount);
+        touched = new int[nodeCount];
+        unpackStack = new int[16];
+        pathEdges = new int[16];
+        Arrays.fill(forwardDistances, Double.POSITIVE_INFINITY);
+        Arrays.fill(backwardDistances, Double.POSITIVE_INFINITY);
+        Arrays.fill(forwardParentEdges, -1);
+        Arrays.fill(backwardParentEdges, -1);
+    }
+
+    /**
+     * Finds the shortest path from the given source to the given target.
+     *
+     * @param source the source node.
+     * @param target the target node.
+     * @return {@code true} if the target is reachable from the source;
+     * otherwise {@code false}.
+     */
+    public boolean search(int source, int target) {
+        reset();
+        touchForward(source, 0.0, -1);
+        touchBackward(target, 0.0, -1);
+        forwardQueue.offer(source, 0.0);
+        backwardQueue.offer(target, 0.0);
+
+        while (!forwardQueue.isEmpty() || !backwardQueue.isEmpty()) {
+            if (!forwardQueue.isEmpty() && forwardQueue.getKey(forwardQueue.peek()) >= bestDistance) {
+                forwardQueue.clear();
+            }
+
+            if (!backwardQueue.isEmpty() && backwardQueue.getKey(backwardQueue.peek()) >= bestDistance) {
+                backwardQueue.clear();
+            }
+
+            if (!forwardQueue.isEmpty()
+                    && (backwardQueue.isEmpty() || forwardQueue.size() <= backwardQueue.size())) {
+                expandForward();
+            } else if (!backwardQueue.isEmpty()) {
+                expandBackward();
+            }
+        }
+
+        return meetingNode != -1;
+    }
+
+    /**
+     * Gets the edges of the path found in the last search with every shortcut
+     * unpacked.
+     *
+     * @return the original (non shortcut) edges of the hierarchy from the
+     * source to the target or an empty array if the target was not reached
+     * or is the source.
+     */
+    public int[] getPathEdges() {
+        pathEdgeCount = 0;
+
+        if (meetingNode == -1) {
+            return new int[0];
+        }
+
+        // The forward half is walked backwards from the meeting node, so its
+        // edges are collected first and unpacked in reverse order
+        int forwardCount = 0;
+
+        for (int node = meetingNode; forwardParentEdges[node] != -1;
+                node = hierarchy.edgeSource(forwardParentEdges[node])) {
+            forwardCount++;
+        }
+
+        int[] forwardEdges = new int[forwardCount];
+
+        for (int node = meetingNode, i = forwardCount; forwardParentEdges[node] != -1;
+                node = hierarchy.edgeSource(forwardParentEdges[node])) {
+            forwardEdges[--i] = forwardParentEdges[node];
+        }
+
+        for (int edge : forwardEdges) {
+            unpack(edge);
+        }
+
+        for (int node = meetingNode; backwardParentEdges[node] != -1;
+                node = hierarchy.edgeTarget(backwardParentEdges[node])) {
+            unpack(backwardParentEdges[node]);
+        }
+
+        return Arrays.copyOf(pathEdges, pathEdgeCount);
+    }
+
+    /**
+     * Gets the nodes of the path found in the last search.
+     *
+     * @return the nodes from the source to the target or an empty array if the
+     * target was not reached.
+     */
+    public int[] getPath() {
+        if (meetingNode == -1) {
+            return new int[0];
+        }
+
+        int[] edges = getPathEdges();
+
+        if (edges.length == 0) {
+            return new int[] {meetingNode};
+        }
+
+        int[] path = new int[edges.length + 1];
+        path[0] = hierarchy.edgeSource(edges[0]);
+
+        for (int i = 0; i < edges.length; i++) {
+            path[i + 1] = hierarchy.edgeTarget(edges[i]);
+        }
+
+        return path;
+    }
+
+    /**
+     * Gets the distance of the path found in the last search. The weights of
+     * the original edges are added from the source to the target, so the
+     * distance is the same one a forward search would compute for the same
+     * path.
+     *
+     * @return the distance of the path or {@link Double#POSITIVE_INFINITY} if
+     * the target was not reached.
+     */
+    public double getDistance() {
+        if (meetingNode == -1) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double distance = 0.0;
+
+        for (int edge : getPathEdges()) {
+            distance += hierarchy.edgeWeight(edge);
+        }
+
+        return distance;
+    }
+
+    /**
+     * Gets the number of nodes settled by both directions in the last search.
+     *
+     * @return the number of settled nodes.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Appends the original edges of the given edge to {@link #pathEdges}.
+     *
+     * @param edge an edge id.
+     */
+    private void unpack(int edge) {
+        int top = 0;
+        unpackStack[top++] = edge;
+
+        while (top > 0) {
+            int e = unpackStack[--top];
+
+            if (hierarchy.isShortcut(e)) {
+                if (top + 2 > unpackStack.length) {
+                    unpackStack = Arrays.copyOf(unpackStack, unpackStack.length * 2);
+                }
+
+                unpackStack[top++] = hierarchy.secondChild(e);
+                unpackStack[top++] = hierarchy.firstChild(e);
+            } else {
+                if (pathEdgeCount == pathEdges.length) {
+                    pathEdges = Arrays.copyOf(pathEdges, pathEdgeCount * 2);
+                }
+
+                pathEdges[pathEdgeCount++] = e;
+            }
+        }
+    }
+
+    /**
+     * Settles the closest node of the forward queue relaxing its upward edges.
+     */
+    private void expandForward() {
+        int u = forwardQueue.poll();
+        settledCount++;
+        double dU = forwardDistances[u];
+        meet(u, dU + backwardDistances[u]);
+
+        for (int i = hierarchy.firstUpwardEdge(u); i < hierarchy.endUpwardEdge(u); i++) {
+            int e = hierarchy.upwardEdge(i);
+            int v = hierarchy.edgeTarget(e);
+            double dV = dU + hierarchy.edgeWeight(e);
+
+            if (dV < forwardDistances[v]) {
+                touchForward(v, dV, e);
+                forwardQueue.offer(v, dV);
+            }
+        }
+    }
+
+    /**
+     * Settles the closest node of the backward queue relaxing its downward
+     * edges.
+     */
+    private void expandBackward() {
+        int u = backwardQueue.poll();
+        settledCount++;
+        double dU = backwardDistances[u];
+        meet(u, forwardDistances[u] + dU);
+
+        for (int i = hierarchy.firstDownwardEdge(u); i < hierarchy.endDownwardEdge(u); i++) {
+            int e = hierarchy.downwardEdge(i);
+            int v = hierarchy.edgeSource(e);
+            double dV = dU + hierarchy.edgeWeight(e);
+
+            if (dV < backwardDistances[v]) {
+                touchBackward(v, dV, e);
+                backwardQueue.offer(v, dV);
+            }
+        }
+    }
+
+    /**
+     * Remembers the given node if the path through it is the shortest so far.
+     *
+     * @param node a node reached by both directions.
+     * @param distance the distance of the path through the node.
+     */
+    private void meet(int node, double distance) {
+        if (distance < bestDistance) {
+            bestDistance = distance;
+            meetingNode = node;
+        }
+    }
+
+    /**
+     * Updates the forward distance and parent edge of the given node
+     * remembering it for the next reset.
+     *
+     * @param node a node.
+     * @param distance the new distance.
+     * @param parentEdge the edge to the node.
+     */
+    private void touchForward(int node, double distance, int parentEdge) {
+        touch(node);
+        forwardDistances[node] = distance;
+        forwardParentEdges[node] = parentEdge;
+    }
+
+    /**
+     * Updates the backward distance and parent edge of the given node
+     * remembering it for the next reset.
+     *
+     * @param node a node.
+     * @param distance the new distance.
+     * @param parentEdge the edge from the node.
+     */
+    private void touchBackward(int node, double distance, int parentEdge) {
+        touch(node);
+        backwardDistances[node] = distance;
+        backwardParentEdges[node] = parentEdge;
+    }
+
+    /**
+     * Remembers the given node for the next reset.
+     *
+     * @param node a node.
+     */
+    private void touch(int node) {
+        if (forwardDistances[node] == Double.POSITIVE_INFINITY
+                && backwardDistances[node] == Double.POSITIVE_INFINITY) {
+            touched[touchedCount++] = node;
+        }
+    }
+
+    /**
+     * Resets the state of the nodes touched by the last search.
+     */
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int node = touched[i];
+            forwardDistances[node] = Double.POSITIVE_INFINITY;
+            backwardDistances[node] = Double.POSITIVE_INFINITY;
+            forwardParentEdges[node] = -1;
+            backwardParentEdges[node] = -1;
+        }
+
+        touchedCount = 0;
+        settledCount = 0;
+        bestDistance = Double.POSITIVE_INFINITY;
+        meetingNode = -1;
+        forwardQueue.clear();
+        backwardQueue.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * DijkstraSearch runs the Dijkstra's algorithm over a {@link Graph} using an
+ * {@link IndexedMinHeap} with decrease-key and a visited bitset. The search
+ * state is kept between searches and only the nodes touched by the previous
+ * search are reset, so an instance can be reused for many searches over the
+ * same graph. Instances are not thread safe.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class DijkstraSearch implements ShortestPathTree {
+
+    private final Graph graph;
+    private final double[] distances;
+    private final int[] parents;
+    private final BitSet settled;
+    private final BitSet pending;
+    private final IndexedMinHeap queue;
+    private final int[] touched;
+    private final int[] settledNodes;
+    private int touchedCount;
+    private int settledCount;
+
+    /**
+     * Constructs a new search over the given graph.
+     *
+     * @param graph a Graph.
+     */
+    public DijkstraSearch(Graph graph) {
+        this.graph = graph;
+        int nodeCount = graph.getNodeCount();
+        distances = new double[nodeCount];
+        parents = new int[nodeCount];
+        settled = new BitSet(nodeCount);
+        pending = new BitSet(nodeCount);
+        queue = new IndexedMinHeap(nodeCount);
+        touched = new int[nodeCount];
+        settledNodes = new int[nodeCount];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+    }
+
+    /**
+     * Finds the shortest distances from the given source until the given
+     * target is settled.
+     *
+     * @param source the source node.
+     * @param target the target node or -1 to settle every reachable node.
+     * @return {@code true} if the target was reached (always {@code true} when
+     * the target is -1); otherwise {@code false}.
+     */
+    public boolean search(int source, int target) {
+        reset();
+        touch(source, 0.0, -1);
+        queue.offer(source, 0.0);
+
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            settle(u);
+
+            if (u == target) {
+                return true;
+            }
+
+            relax(u);
+        }
+
+        return target == -1;
+    }
+
+    /**
+     * Finds the shortest distances from the given source until all the given
+     * targets are settled.
+     *
+     * @param source the source node.
+     * @param targets the target nodes, -1 elements are ignored.
+     * @return the number of distinct targets reached.
+     */
+    public int search(int source, int[] targets) {
+        for (int target : targets) {
+            if (target != -1) {
+                pending.set(target);
+            }
+        }
+
+        int pendingCount = pending.cardinality();
+        int reached = 0;
+        reset();
+        touch(source, 0.0, -1);
+        queue.offer(source, 0.0);
+
+        while (!queue.isEmpty() && reached < pendingCount) {
+            int u = queue.poll();
+            settle(u);
+
+            if (pending.get(u)) {
+                reached++;
+            }
+
+            relax(u);
+        }
+
+        for (int target : targets) {
+            if (target != -1) {
+                pending.clear(target);
+            }
+        }
+
+        return reached;
+    }
+
+    /**
+     * Finds the shortest distances from the given source settling only the
+     * nodes within the given distance. Edges leading beyond the distance are
+     * never queued, so the cost of the search depends on the size of the
+     * reached area and not on the size of the graph. It's not an overload of
+     * {@link #search(int, int)} so a whole number of meters is never taken
+     * for a target node.
+     *
+     * @param source the source node.
+     * @param maxDistance the maximum distance from the source.
+     * @return the number of settled nodes, see {@link #getSettledNode(int)}.
+     */
+    public int searchWithin(int source, double maxDistance) {
+        reset();
+        touch(source, 0.0, -1);
+        queue.offer(source, 0.0);
+
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            settle(u);
+            relax(u, maxDistance);
+        }
+
+        return settledCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDistance(int node) {
+        return distances[node];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    /**
+     * Checks that the given node was settled in the last search, which means
+     * its distance is final.
+     *
+     * @param node a node.
+     * @return {@code true} if the node was settled; otherwise {@code false}.
+     */
+    public boolean isSettled(int node) {
+        return settled.get(node);
+    }
+
+    /**
+     * Gets the number of nodes settled in the last search.
+     *
+     * @return the number of settled nodes.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Gets the settled node in the given position of the settle order of the
+     * last search. Nodes are settled by increasing distance.
+     *
+     * @param i a position less than {@link #getSettledCount()}.
+     * @return a settled node.
+     */
+    public int getSettledNode(int i) {
+        return settledNodes[i];
+    }
+
+    /**
+     * Marks the given node as settled.
+     *
+     * @param u the node with the minimum distance in the queue.
+     */
+    private void settle(int u) {
+        settled.set(u);
+        settledNodes[settledCount++] = u;
+    }
+
+    /**
+     * Relaxes the outgoing edges of the given settled node.
+     *
+     * @param u a settled node.
+     */
+    private void relax(int u) {
+        relax(u, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Relaxes the outgoing edges of the given settled node that don't lead
+     * beyond the given distance.
+     *
+     * @param u a settled node.
+     * @param maxDistance the maximum distance from the source.
+     */
+    private void relax(int u, double maxDistance) {
+        double dU = distances[u];
+
+        for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+            int v = graph.edgeTarget(e);
+
+            if (!settled.get(v)) {
+                double dV = dU + graph.edgeWeight(e);
+
+                if (dV <= maxDistance && dV < distances[v]) {
+                    touch(v, dV, u);
+                    queue.offer(v, dV);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the distance and parent of the given node remembering it for
+     * the next reset.
+     *
+     * @param node a node.
+     * @param distance the new distance.
+     * @param parent the new parent.
+     */
+    private void touch(int node, double distance, int parent) {
+        if (distances[node] == Double.POSITIVE_INFINITY) {
+            touched[touchedCount++] = node;
+        }
+
+        distances[node] = distance;
+        parents[node] = parent;
+    }
+
+    /**
+     * Resets the state of the nodes touched by the last search.
+     */
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int node = touched[i];
+            distances[node] = Double.POSITIVE_INFINITY;
+            parents[node] = -1;
+        }
+
+        touchedCount = 0;
+        settledCount = 0;
+        settled.clear();
+        queue.clear();
+    }
+}
\ No newline at end of file
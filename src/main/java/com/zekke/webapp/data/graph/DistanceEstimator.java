@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+/**
+ * Estimates the distance between two nodes of a {@link Graph} for the A*
+ * algorithm. Estimates must never overestimate the actual distance.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public interface DistanceEstimator {
+
+    /**
+     * Estimates the distance from the given node to the given target.
+     *
+     * @param node a node.
+     * @param target the target node.
+     * @return a lower bound of the distance or
+     * {@link Double#POSITIVE_INFINITY} if the target is known to be
+     * unreachable from the node.
+     */
+    double estimate(int node, int target);
+}
\ No newline at end of file
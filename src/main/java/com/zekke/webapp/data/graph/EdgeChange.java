@@ -0,0 +1,107 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+/**
+ * EdgeChange records how the distance between two places changed from a
+ * {@link Graph} to the graph derived from it with a {@link GraphDelta}. An
+ * added edge has an infinite old distance and a removed edge an infinite new
+ * distance. Data derived from the old graph uses it to tell what's still
+ * valid.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class EdgeChange {
+
+    private final long fromPlaceId;
+    private final long toPlaceId;
+    private final double oldDistance;
+    private final double newDistance;
+
+    /**
+     * Constructs a new EdgeChange.
+     *
+     * @param fromPlaceId the id of the place where the edge starts.
+     * @param toPlaceId the id of the place where the edge ends.
+     * @param oldDistance the distance before the change.
+     * @param newDistance the distance after the change.
+     */
+    EdgeChange(long fromPlaceId, long toPlaceId, double oldDistance, double newDistance) {
+        this.fromPlaceId = fromPlaceId;
+        this.toPlaceId = toPlaceId;
+        this.oldDistance = oldDistance;
+        this.newDistance = newDistance;
+    }
+
+    /**
+     * Gets the id of the place where the edge starts.
+     *
+     * @return a place id.
+     */
+    public long getFromPlaceId() {
+        return fromPlaceId;
+    }
+
+    /**
+     * Gets the id of the place where the edge ends.
+     *
+     * @return a place id.
+     */
+    public long getToPlaceId() {
+        return toPlaceId;
+    }
+
+    /**
+     * Gets the distance before the change.
+     *
+     * @return the distance or {@link Double#POSITIVE_INFINITY} if the edge was
+     * added.
+     */
+    public double getOldDistance() {
+        return oldDistance;
+    }
+
+    /**
+     * Gets the distance after the change.
+     *
+     * @return the distance or {@link Double#POSITIVE_INFINITY} if the edge was
+     * removed.
+     */
+    public double getNewDistance() {
+        return newDistance;
+    }
+
+    /**
+     * Checks that the edge got shorter or was added, which may shorten routes
+     * that don't use it yet.
+     *
+     * @return {@code true} if the new distance is less than the old one;
+     * otherwise {@code false}.
+     */
+    public boolean isShortening() {
+        return newDistance < oldDistance;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "EdgeChange{fromPlaceId=" + fromPlaceId + ", toPlaceId=" + toPlaceId
+                + ", oldDistance=" + oldDistance + ", newDistance=" + newDistance + '}';
+    }
+}
\ No newline at end of file
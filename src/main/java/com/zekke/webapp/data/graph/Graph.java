@@ -0,0 +1,842 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+import com.zekke.webapp.util.GeoUtils;
+
+/**
+ * Graph is an immutable in-memory snapshot of the places (nodes) and paths
+ * (edges) of a map. Nodes are identified by a dense index from 0 to
+ * {@link #getNodeCount()} - 1 and the outgoing edges of every node are stored
+ * in compressed sparse row (CSR) layout: the edges of node {@code u} are the
+ * indexes from {@link #firstEdge(int)} (inclusive) to {@link #endEdge(int)}
+ * (exclusive). The incoming edges of every node are indexed the same way in a
+ * second, reverse CSR, so searches can also run backwards from a target.
+ * <p>
+ * Places and edges are kept in NIO buffers of primitives: heap buffers
+ * wrapping arrays for graphs built from entities, or views of a memory-mapped
+ * file for graphs read with {@link GraphFile#read(java.io.File)}, which keep no
+ * per-node data on the heap at all. The place entities a graph is built from
+ * are not kept, a new {@link Place} is created only when one is asked for.
+ * <p>
+ * Every graph gets a version greater than the versions of the graphs built
+ * before it, so data derived from a graph can tell when it's stale. A graph
+ * derived from another one with {@link #apply(GraphDelta)} also knows the
+ * version it was derived from and the edges that changed, so derived data can
+ * be kept when the changes don't affect it.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class Graph {
+
+    private static final AtomicLong LAST_VERSION = new AtomicLong();
+
+    private final long version;
+    private final long baseVersion;
+    private final List<EdgeChange> changes;
+    private final boolean nodesChanged;
+    private final int nodeCount;
+    private final int edgeCount;
+    private final PlaceTable placeTable;
+    private final IntBuffer edgeOffsets;
+    private final IntBuffer edgeTargets;
+    private final DoubleBuffer edgeWeights;
+    private final IntBuffer incomingEdgeOffsets;
+    private final IntBuffer incomingEdgeSources;
+    private final DoubleBuffer incomingEdgeWeights;
+    private final double distanceLowerBoundFactor;
+    private volatile SpatialIndex spatialIndex;
+    private volatile TrigramIndex trigramIndex;
+    private volatile AutocompleteIndex autocompleteIndex;
+
+    /**
+     * Constructs a new graph from its CSR buffers.
+     *
+     * @param baseVersion the version of the graph this one was derived from
+     * or 0.
+     * @param changes the edges changed from the base graph.
+     * @param nodesChanged whether the nodes differ from the base graph.
+     * @param placeTable the places of every node.
+     * @param edgeOffsets the first edge of every node plus a trailing edge
+     * count.
+     * @param edgeTargets the target node of every edge.
+     * @param edgeWeights the weight of every edge.
+     * @param incomingEdgeOffsets the first incoming edge of every node plus a
+     * trailing edge count.
+     * @param incomingEdgeSources the source node of every incoming edge.
+     * @param incomingEdgeWeights the weight of every incoming edge.
+     * @param distanceLowerBoundFactor the distance lower bound factor or NaN to
+     * compute it.
+     */
+    private Graph(long baseVersion, List<EdgeChange> changes, boolean nodesChanged,
+            PlaceTable placeTable, IntBuffer edgeOffsets, IntBuffer edgeTargets, DoubleBuffer edgeWeights,
+            IntBuffer incomingEdgeOffsets, IntBuffer incomingEdgeSources, DoubleBuffer incomingEdgeWeights,
+            double distanceLowerBoundFactor) {
+        this.version = LAST_VERSION.incrementAndGet();
+        this.baseVersion = baseVersion;
+        this.changes = changes;
+        this.nodesChanged = nodesChanged;
+        this.nodeCount = placeTable.size();
+        this.edgeCount = edgeTargets.capacity();
+        this.placeTable = placeTable;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeTargets = edgeTargets;
+        this.edgeWeights = edgeWeights;
+        this.incomingEdgeOffsets = incomingEdgeOffsets;
+        this.incomingEdgeSources = incomingEdgeSources;
+        this.incomingEdgeWeights = incomingEdgeWeights;
+        this.distanceLowerBoundFactor = Double.isNaN(distanceLowerBoundFactor)
+                ? computeDistanceLowerBoundFactor()
+                : distanceLowerBoundFactor;
+    }
+
+    /**
+     * Creates a graph over the given buffers, usually views of a mapped
+     * graph file.
+     *
+     * @param placeTable the places of every node.
+     * @param edgeOffsets the first edge of every node plus a trailing edge
+     * count.
+     * @param edgeTargets the target node of every edge.
+     * @param edgeWeights the weight of every edge.
+     * @param incomingEdgeOffsets the first incoming edge of every node plus a
+     * trailing edge count.
+     * @param incomingEdgeSources the source node of every incoming edge.
+     * @param incomingEdgeWeights the weight of every incoming edge.
+     * @param distanceLowerBoundFactor the distance lower bound factor.
+     * @return a new Graph.
+     */
+    static Graph wrap(PlaceTable placeTable, IntBuffer edgeOffsets, IntBuffer edgeTargets, DoubleBuffer edgeWeights,
+            IntBuffer incomingEdgeOffsets, IntBuffer incomingEdgeSources, DoubleBuffer incomingEdgeWeights,
+            double distanceLowerBoundFactor) {
+        return new Graph(0, Collections.<EdgeChange>emptyList(), false, placeTable, edgeOffsets, edgeTargets,
+                edgeWeights, incomingEdgeOffsets, incomingEdgeSources, incomingEdgeWeights,
+                distanceLowerBoundFactor);
+    }
+
+    /**
+     * Builds a new graph from the given places and paths. Paths whose places
+     * are not in the given list of places are ignored.
+     *
+     * @param places a list of places.
+     * @param paths a list of paths between the given places.
+     * @return a new Graph.
+     */
+    public static Graph build(List<Place> places, List<Path> paths) {
+        Place[] nodes = places.toArray(new Place[places.size()]);
+        Map<Long, Integer> nodesByPlaceId = indexPlaces(nodes);
+        int[] from = new int[paths.size()];
+        int[] to = new int[paths.size()];
+        double[] distances = new double[paths.size()];
+        int edgeCount = 0;
+
+        for (Path path : paths) {
+            Integer u = nodesByPlaceId.get(path.getFromPlace().getId());
+            Integer v = nodesByPlaceId.get(path.getToPlace().getId());
+
+            if (u != null && v != null) {
+                from[edgeCount] = u;
+                to[edgeCount] = v;
+                distances[edgeCount] = path.getDistance();
+                edgeCount++;
+            }
+        }
+
+        return create(0, Collections.<EdgeChange>emptyList(), false, PlaceTable.pack(nodes), from, to, distances,
+                edgeCount);
+    }
+
+    /**
+     * Derives a new graph from this one applying the given changes. The
+     * places and paths are not read again and no place is created: when no
+     * place is added or removed the place table is shared and, if the changes
+     * only re-weight existing edges, so are the CSR offsets and adjacent
+     * nodes, only the weights are copied and patched. Otherwise the place
+     * table is copied buffer to buffer and the kept edges are copied in a
+     * single pass over the CSR arrays. Kept nodes keep their relative order
+     * and added places get the last nodes, so when no place is added or
+     * removed every node keeps its index.
+     * Changes to paths whose places are not in the new graph are ignored.
+     * The graph service derives its graphs this way for the rows added to the
+     * data source and for the changes callers give it.
+     *
+     * @param delta the changes.
+     * @return a new Graph whose base version is the version of this one.
+     * @throws IllegalArgumentException if an added place is already in this
+     * graph and is not removed by the same delta.
+     */
+    public Graph apply(GraphDelta delta) {
+        Set<Long> removedPlaceIds = delta.getRemovedPlaceIds();
+        List<Place> addedPlaces = delta.getAddedPlaces();
+        int[] newNodes = new int[getNodeCount()];
+        int keptCount = 0;
+
+        for (Long placeId : removedPlaceIds) {
+            int node = indexOf(placeId);
+
+            if (node != -1) {
+                newNodes[node] = -1;
+            }
+        }
+
+        for (int node = 0; node < getNodeCount(); node++) {
+            if (newNodes[node] != -1) {
+                newNodes[node] = keptCount++;
+            }
+        }
+
+        for (Place place : addedPlaces) {
+            int node = indexOf(place.getId());
+
+            if (node != -1 && newNodes[node] != -1) {
+                throw new IllegalArgumentException("Place " + place.getId() + " is already in the graph");
+            }
+        }
+
+        boolean nodesChanged = keptCount != getNodeCount() || !addedPlaces.isEmpty();
+        PlaceTable newPlaceTable = nodesChanged ? placeTable.apply(newNodes, keptCount, addedPlaces) : placeTable;
+
+        // New distances by (source, target) in the new graph, infinite to remove
+        Map<Long, Double> changedDistances = new HashMap<>();
+        List<Path> changedPaths = delta.getChangedPaths();
+
+        for (int i = 0; i < changedPaths.size(); i++) {
+            Path path = changedPaths.get(i);
+            Long fromPlaceId = path.getFromPlace().getId();
+            Long toPlaceId = path.getToPlace().getId();
+            int u = fromPlaceId != null ? newPlaceTable.indexOf(fromPlaceId) : -1;
+            int v = toPlaceId != null ? newPlaceTable.indexOf(toPlaceId) : -1;
+
+            if (u != -1 && v != -1) {
+                changedDistances.put(edgeKey(u, v), delta.getChangedDistance(i));
+            }
+        }
+
+        if (!nodesChanged) {
+            Graph patched = patchWeights(changedDistances);
+
+            if (patched != null) {
+                return patched;
+            }
+        }
+
+        int maxEdgeCount = getEdgeCount() + changedDistances.size();
+        int[] from = new int[maxEdgeCount];
+        int[] to = new int[maxEdgeCount];
+        double[] distances = new double[maxEdgeCount];
+        int edgeCount = 0;
+        List<EdgeChange> edgeChanges = new ArrayList<>();
+        Set<Long> appliedKeys = new HashSet<>();
+
+        for (int u = 0; u < getNodeCount(); u++) {
+            for (int e = firstEdge(u); e < endEdge(u); e++) {
+                int v = edgeTarget(e);
+
+                if (newNodes[u] == -1 || newNodes[v] == -1) {
+                    edgeChanges.add(new EdgeChange(getPlaceId(u), getPlaceId(v), edgeWeight(e),
+                            Double.POSITIVE_INFINITY));
+                    continue;
+                }
+
+                Long key = edgeKey(newNodes[u], newNodes[v]);
+                Double distance = changedDistances.get(key);
+
+                if (distance == null) {
+                    from[edgeCount] = newNodes[u];
+                    to[edgeCount] = newNodes[v];
+                    distances[edgeCount] = edgeWeight(e);
+                    edgeCount++;
+                } else if (appliedKeys.add(key)) {
+                    // Parallel edges collapse into the changed one
+                    edgeChanges.add(new EdgeChange(getPlaceId(u), getPlaceId(v), edgeWeight(findEdge(u, v)),
+                            distance));
+
+                    if (distance != Double.POSITIVE_INFINITY) {
+                        from[edgeCount] = newNodes[u];
+                        to[edgeCount] = newNodes[v];
+                        distances[edgeCount] = distance;
+                        edgeCount++;
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<Long, Double> entry : changedDistances.entrySet()) {
+            if (!appliedKeys.contains(entry.getKey()) && entry.getValue() != Double.POSITIVE_INFINITY) {
+                int u = (int) (entry.getKey() >>> 32);
+                int v = (int) (long) entry.getKey();
+                edgeChanges.add(new EdgeChange(newPlaceTable.getId(u), newPlaceTable.getId(v),
+                        Double.POSITIVE_INFINITY, entry.getValue()));
+                from[edgeCount] = u;
+                to[edgeCount] = v;
+                distances[edgeCount] = entry.getValue();
+                edgeCount++;
+            }
+        }
+
+        return create(version, Collections.unmodifiableList(edgeChanges), nodesChanged, newPlaceTable, from, to,
+                distances, edgeCount);
+    }
+
+    /**
+     * Derives a new graph from this one with the same nodes and edges where
+     * only the weights of the given edges change. The places, the CSR offsets
+     * and the adjacent nodes are shared with this graph, so a mapped graph
+     * stays mapped; only the weights are copied and patched.
+     *
+     * @param changedDistances the new distances by (source, target) key.
+     * @return a new Graph whose base version is the version of this one or
+     * {@code null} if an edge is added, removed or has parallel edges, so the
+     * CSR arrays must be rebuilt.
+     */
+    private Graph patchWeights(Map<Long, Double> changedDistances) {
+        double[] weights = new double[edgeCount];
+        double[] incomingWeights = new double[edgeCount];
+        DoubleBuffer source = edgeWeights.duplicate();
+        source.clear();
+        source.get(weights);
+        source = incomingEdgeWeights.duplicate();
+        source.clear();
+        source.get(incomingWeights);
+        List<EdgeChange> edgeChanges = new ArrayList<>(changedDistances.size());
+
+        for (Map.Entry<Long, Double> entry : changedDistances.entrySet()) {
+            int u = (int) (entry.getKey() >>> 32);
+            int v = (int) (long) entry.getKey();
+            double distance = entry.getValue();
+            int edge = -1;
+            int incomingEdge = -1;
+
+            for (int e = firstEdge(u); e < endEdge(u); e++) {
+                if (edgeTarget(e) == v) {
+                    if (edge != -1) {
+                        return null;
+                    }
+
+                    edge = e;
+                }
+            }
+
+            for (int e = firstIncomingEdge(v); e < endIncomingEdge(v) && incomingEdge == -1; e++) {
+                if (incomingEdgeSource(e) == u) {
+                    incomingEdge = e;
+                }
+            }
+
+            if (edge == -1 || distance == Double.POSITIVE_INFINITY) {
+                return null;
+            }
+
+            edgeChanges.add(new EdgeChange(getPlaceId(u), getPlaceId(v), weights[edge], distance));
+            weights[edge] = distance;
+            incomingWeights[incomingEdge] = distance;
+        }
+
+        return new Graph(version, Collections.unmodifiableList(edgeChanges), false, placeTable, edgeOffsets,
+                edgeTargets, DoubleBuffer.wrap(weights), incomingEdgeOffsets, incomingEdgeSources,
+                DoubleBuffer.wrap(incomingWeights), Double.NaN);
+    }
+
+    /**
+     * Creates a new graph from the given edge lists.
+     *
+     * @param baseVersion the version of the graph the new one is derived from
+     * or 0.
+     * @param changes the edges changed from the base graph.
+     * @param nodesChanged whether the nodes differ from the base graph.
+     * @param placeTable the places of every node.
+     * @param from the source node of every edge.
+     * @param to the target node of every edge.
+     * @param distances the weight of every edge.
+     * @param edgeCount the number of edges.
+     * @return a new Graph.
+     */
+    private static Graph create(long baseVersion, List<EdgeChange> changes, boolean nodesChanged,
+            PlaceTable placeTable, int[] from, int[] to, double[] distances, int edgeCount) {
+        int nodeCount = placeTable.size();
+
+        // Outgoing edges are sorted by their source node and incoming edges by
+        // their target node
+        int[] edgeOffsets = countEdges(from, edgeCount, nodeCount);
+        int[] edgeTargets = new int[edgeCount];
+        double[] edgeWeights = new double[edgeCount];
+        fillEdges(edgeOffsets, from, to, distances, edgeCount, edgeTargets, edgeWeights);
+
+        int[] incomingEdgeOffsets = countEdges(to, edgeCount, nodeCount);
+        int[] incomingEdgeSources = new int[edgeCount];
+        double[] incomingEdgeWeights = new double[edgeCount];
+        fillEdges(incomingEdgeOffsets, to, from, distances, edgeCount, incomingEdgeSources, incomingEdgeWeights);
+
+        return new Graph(baseVersion, changes, nodesChanged, placeTable, IntBuffer.wrap(edgeOffsets),
+                IntBuffer.wrap(edgeTargets), DoubleBuffer.wrap(edgeWeights), IntBuffer.wrap(incomingEdgeOffsets),
+                IntBuffer.wrap(incomingEdgeSources), DoubleBuffer.wrap(incomingEdgeWeights), Double.NaN);
+    }
+
+    /**
+     * Maps the id of every place to its node.
+     *
+     * @param nodes the places indexed by node.
+     * @return the node of every place id.
+     */
+    private static Map<Long, Integer> indexPlaces(Place[] nodes) {
+        Map<Long, Integer> nodesByPlaceId = new HashMap<>(nodes.length * 2);
+
+        for (int node = 0; node < nodes.length; node++) {
+            nodesByPlaceId.put(nodes[node].getId(), node);
+        }
+
+        return nodesByPlaceId;
+    }
+
+    /**
+     * Packs the given nodes into a single key.
+     *
+     * @param u the source node.
+     * @param v the target node.
+     * @return the key.
+     */
+    private static Long edgeKey(int u, int v) {
+        return ((long) u << 32) | (v & 0xffffffffL);
+    }
+
+    /**
+     * Counts the edges of every node and turns the counts into CSR offsets.
+     *
+     * @param nodes the node every edge belongs to.
+     * @param edgeCount the number of edges.
+     * @param nodeCount the number of nodes.
+     * @return the CSR offsets.
+     */
+    private static int[] countEdges(int[] nodes, int edgeCount, int nodeCount) {
+        int[] offsets = new int[nodeCount + 1];
+
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[nodes[i] + 1]++;
+        }
+
+        for (int node = 0; node < nodeCount; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+
+        return offsets;
+    }
+
+    /**
+     * Places every edge in the CSR slot of the node it belongs to (counting
+     * sort).
+     *
+     * @param offsets the CSR offsets.
+     * @param nodes the node every edge belongs to.
+     * @param adjacentNodes the node at the other end of every edge.
+     * @param distances the weight of every edge.
+     * @param edgeCount the number of edges.
+     * @param csrNodes where to put the adjacent nodes.
+     * @param csrWeights where to put the weights.
+     */
+    private static void fillEdges(int[] offsets, int[] nodes, int[] adjacentNodes, double[] distances, int edgeCount,
+            int[] csrNodes, double[] csrWeights) {
+        int[] next = new int[offsets.length - 1];
+        System.arraycopy(offsets, 0, next, 0, next.length);
+
+        for (int i = 0; i < edgeCount; i++) {
+            int edge = next[nodes[i]]++;
+            csrNodes[edge] = adjacentNodes[i];
+            csrWeights[edge] = distances[i];
+        }
+    }
+
+    /**
+     * Finds the largest factor, not greater than 1, such that the weight of
+     * every edge is at least the great-circle distance between its nodes
+     * multiplied by that factor.
+     *
+     * @return the factor.
+     */
+    private double computeDistanceLowerBoundFactor() {
+        double factor = 1.0;
+
+        for (int u = 0; u < getNodeCount(); u++) {
+            for (int e = firstEdge(u); e < endEdge(u); e++) {
+                double greatCircleDistance = distance(u, edgeTarget(e));
+
+                if (greatCircleDistance > 0) {
+                    factor = Math.min(factor, edgeWeight(e) / greatCircleDistance);
+                }
+            }
+        }
+
+        return Math.max(factor, 0.0);
+    }
+
+    /**
+     * Gets the version of this graph.
+     *
+     * @return the version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the version of the graph this one was derived from.
+     *
+     * @return the base version or 0 if this graph was built from scratch.
+     */
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    /**
+     * Gets the edges that changed from the base graph, including the edges
+     * of removed places.
+     *
+     * @return an unmodifiable list of changes, empty if this graph was built
+     * from scratch.
+     */
+    public List<EdgeChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Checks that places were added or removed from the base graph, in which
+     * case node indexes of the base graph are not valid in this one.
+     *
+     * @return {@code true} if the nodes changed; otherwise {@code false}.
+     */
+    public boolean hasNodeChanges() {
+        return nodesChanged;
+    }
+
+    /**
+     * Checks that this graph was derived from the given one with the same
+     * nodes, so data indexed by node of the given graph is still aligned
+     * with this one.
+     *
+     * @param base a Graph.
+     * @return {@code true} if this graph was derived from the given one
+     * without adding or removing places; otherwise {@code false}.
+     */
+    public boolean isDerivedWithSameNodes(Graph base) {
+        return base != null && baseVersion == base.version && !nodesChanged;
+    }
+
+    /**
+     * Gets the number of nodes in this graph.
+     *
+     * @return the number of nodes.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the number of edges in this graph.
+     *
+     * @return the number of edges.
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Finds the node of the given place id.
+     *
+     * @param placeId the id of a place.
+     * @return the node of the place if it's in this graph; otherwise -1.
+     */
+    public int indexOf(Long placeId) {
+        return placeId != null ? placeTable.indexOf(placeId) : -1;
+    }
+
+    /**
+     * Gets the id of the place of the given node without creating the place.
+     *
+     * @param node a node.
+     * @return a place id.
+     */
+    public long getPlaceId(int node) {
+        return placeTable.getId(node);
+    }
+
+    /**
+     * Gets the name of the place of the given node without creating the
+     * place.
+     *
+     * @param node a node.
+     * @return a name.
+     */
+    public String getPlaceName(int node) {
+        return placeTable.getName(node);
+    }
+
+    /**
+     * Creates the place of the given node. Places are created on every call,
+     * so they should only be asked for when they're going to be sent to a
+     * client.
+     *
+     * @param node a node.
+     * @return a new Place.
+     */
+    public Place getPlace(int node) {
+        Place place = new Place();
+        place.setId(placeTable.getId(node));
+        place.setName(placeTable.getName(node));
+        GeoPoint position = new GeoPoint();
+        position.setLatitude(placeTable.getLatitude(node));
+        position.setLongitude(placeTable.getLongitude(node));
+        place.setPosition(position);
+        return place;
+    }
+
+    /**
+     * Gets the latitude of the given node.
+     *
+     * @param node a node.
+     * @return the latitude in degrees.
+     */
+    public double getLatitude(int node) {
+        return placeTable.getLatitude(node);
+    }
+
+    /**
+     * Gets the longitude of the given node.
+     *
+     * @param node a node.
+     * @return the longitude in degrees.
+     */
+    public double getLongitude(int node) {
+        return placeTable.getLongitude(node);
+    }
+
+    /**
+     * Gets the spatial index of the nodes of this graph. It's built the first
+     * time it's asked for.
+     *
+     * @return a SpatialIndex.
+     */
+    public SpatialIndex getSpatialIndex() {
+        SpatialIndex index = spatialIndex;
+
+        if (index == null) {
+            synchronized (this) {
+                index = spatialIndex;
+
+                if (index == null) {
+                    index = SpatialIndex.build(this);
+                    spatialIndex = index;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Gets the trigram index of the place names of this graph. It's built the
+     * first time it's asked for.
+     *
+     * @return a TrigramIndex.
+     */
+    public TrigramIndex getTrigramIndex() {
+        TrigramIndex index = trigramIndex;
+
+        if (index == null) {
+            synchronized (this) {
+                index = trigramIndex;
+
+                if (index == null) {
+                    index = TrigramIndex.build(this);
+                    trigramIndex = index;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Gets the autocomplete index of the place names of this graph. It's
+     * built the first time it's asked for.
+     *
+     * @return an AutocompleteIndex.
+     */
+    public AutocompleteIndex getAutocompleteIndex() {
+        AutocompleteIndex index = autocompleteIndex;
+
+        if (index == null) {
+            synchronized (this) {
+                index = autocompleteIndex;
+
+                if (index == null) {
+                    index = AutocompleteIndex.build(this);
+                    autocompleteIndex = index;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Calculates the great-circle distance between two nodes.
+     *
+     * @param u a node.
+     * @param v another node.
+     * @return the distance in meters.
+     */
+    public double distance(int u, int v) {
+        return GeoUtils.distance(placeTable.getLatitude(u), placeTable.getLongitude(u), placeTable.getLatitude(v),
+                placeTable.getLongitude(v));
+    }
+
+    /**
+     * Gets a factor that turns great-circle distances into lower bounds of
+     * path distances: every edge weighs at least the great-circle distance
+     * between its nodes times this factor, so {@code factor * distance(v, t)}
+     * never overestimates the shortest path from {@code v} to {@code t}. It's
+     * lower than 1 when some paths are stored shorter than the straight line
+     * between their places.
+     *
+     * @return a factor between 0 and 1.
+     */
+    public double getDistanceLowerBoundFactor() {
+        return distanceLowerBoundFactor;
+    }
+
+    /**
+     * Gets the first outgoing edge of the given node.
+     *
+     * @param node a node.
+     * @return the first edge (inclusive).
+     */
+    public int firstEdge(int node) {
+        return edgeOffsets.get(node);
+    }
+
+    /**
+     * Gets the end of the outgoing edges of the given node.
+     *
+     * @param node a node.
+     * @return the last edge (exclusive).
+     */
+    public int endEdge(int node) {
+        return edgeOffsets.get(node + 1);
+    }
+
+    /**
+     * Gets the node where the given edge ends.
+     *
+     * @param edge an edge.
+     * @return a node.
+     */
+    public int edgeTarget(int edge) {
+        return edgeTargets.get(edge);
+    }
+
+    /**
+     * Gets the weight (distance in meters) of the given edge.
+     *
+     * @param edge an edge.
+     * @return the weight of the edge.
+     */
+    public double edgeWeight(int edge) {
+        return edgeWeights.get(edge);
+    }
+
+    /**
+     * Finds the lightest edge from one node to another.
+     *
+     * @param u the source node.
+     * @param v the target node.
+     * @return an edge if the nodes are adjacent; otherwise -1.
+     */
+    public int findEdge(int u, int v) {
+        int found = -1;
+
+        for (int e = firstEdge(u); e < endEdge(u); e++) {
+            if (edgeTarget(e) == v && (found == -1 || edgeWeight(e) < edgeWeight(found))) {
+                found = e;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Gets the first incoming edge of the given node.
+     *
+     * @param node a node.
+     * @return the first incoming edge (inclusive).
+     */
+    public int firstIncomingEdge(int node) {
+        return incomingEdgeOffsets.get(node);
+    }
+
+    /**
+     * Gets the end of the incoming edges of the given node.
+     *
+     * @param node a node.
+     * @return the last incoming edge (exclusive).
+     */
+    public int endIncomingEdge(int node) {
+        return incomingEdgeOffsets.get(node + 1);
+    }
+
+    /**
+     * Gets the node where the given incoming edge starts.
+     *
+     * @param incomingEdge an incoming edge.
+     * @return a node.
+     */
+    public int incomingEdgeSource(int incomingEdge) {
+        return incomingEdgeSources.get(incomingEdge);
+    }
+
+    /**
+     * Gets the weight (distance in meters) of the given incoming edge.
+     *
+     * @param incomingEdge an incoming edge.
+     * @return the weight of the edge.
+     */
+    public double incomingEdgeWeight(int incomingEdge) {
+        return incomingEdgeWeights.get(incomingEdge);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new StringBuilder().append("Graph{version=").append(version)
+                .append(", nodeCount=").append(getNodeCount())
+                .append(", edgeCount=").append(getEdgeCount()).append('}').toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+
+/**
+ * GraphDelta collects the place and path rows added, removed or re-weighted
+ * since a {@link Graph} was built, so a new graph can be derived with
+ * {@link Graph#apply(GraphDelta)} instead of reading everything again. Paths
+ * are identified by their places; when the same path is changed more than
+ * once the last change wins. Removing a place removes its paths too.
+ * Instances are not thread safe.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class GraphDelta {
+
+    private final List<Place> addedPlaces = new ArrayList<>();
+    private final Set<Long> removedPlaceIds = new LinkedHashSet<>();
+    private final List<Path> changedPaths = new ArrayList<>();
+    private final List<Double> changedDistances = new ArrayList<>();
+
+    /**
+     * Adds a place without paths. A place that moved must be removed and
+     * added again.
+     *
+     * @param place a Place.
+     * @return this object.
+     */
+    public GraphDelta addPlace(Place place) {
+        addedPlaces.add(place);
+        return this;
+    }
+
+    /**
+     * Removes a place and every path from or to it.
+     *
+     * @param place a Place.
+     * @return this object.
+     */
+    public GraphDelta removePlace(Place place) {
+        removedPlaceIds.add(place.getId());
+        return this;
+    }
+
+    /**
+     * Adds a path.
+     *
+     * @param path a Path.
+     * @return this object.
+     */
+    public GraphDelta addPath(Path path) {
+        return changePath(path, path.getDistance());
+    }
+
+    /**
+     * Updates the distance of a path.
+     *
+     * @param path a Path with its new distance.
+     * @return this object.
+     */
+    public GraphDelta updatePath(Path path) {
+        return changePath(path, path.getDistance());
+    }
+
+    /**
+     * Removes a path.
+     *
+     * @param path a Path.
+     * @return this object.
+     */
+    public GraphDelta removePath(Path path) {
+        return changePath(path, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Checks that this delta has no changes.
+     *
+     * @return {@code true} if there are no changes; otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return addedPlaces.isEmpty() && removedPlaceIds.isEmpty() && changedPaths.isEmpty();
+    }
+
+    /**
+     * Gets the number of changes of this delta.
+     *
+     * @return the number of changes.
+     */
+    public int size() {
+        return addedPlaces.size() + removedPlaceIds.size() + changedPaths.size();
+    }
+
+    /**
+     * Gets the added places.
+     *
+     * @return an unmodifiable list of places.
+     */
+    List<Place> getAddedPlaces() {
+        return Collections.unmodifiableList(addedPlaces);
+    }
+
+    /**
+     * Gets the ids of the removed places.
+     *
+     * @return an unmodifiable set of place ids.
+     */
+    Set<Long> getRemovedPlaceIds() {
+        return Collections.unmodifiableSet(removedPlaceIds);
+    }
+
+    /**
+     * Gets the added, updated or removed paths in order.
+     *
+     * @return an unmodifiable list of paths.
+     */
+    List<Path> getChangedPaths() {
+        return Collections.unmodifiableList(changedPaths);
+    }
+
+    /**
+     * Gets the new distance of the given changed path.
+     *
+     * @param index the index of the path in {@link #getChangedPaths()}.
+     * @return the distance or {@link Double#POSITIVE_INFINITY} if the path
+     * was removed.
+     */
+    double getChangedDistance(int index) {
+        return changedDistances.get(index);
+    }
+
+    /**
+     * Records a path change.
+     *
+     * @param path a Path.
+     * @param distance the new distance.
+     * @return this object.
+     */
+    private GraphDelta changePath(Path path, double distance) {
+        changedPaths.add(path);
+        changedDistances.add(distance);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "GraphDelta{addedPlaces=" + addedPlaces.size() + ", removedPlaces=" + removedPlaceIds.size()
+                + ", changedPaths=" + changedPaths.size() + '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * GraphFile writes a {@link Graph} to a compact binary file and reads it back
+ * by memory-mapping the file, so the graph is routed directly over the mapped
+ * pages and its size doesn't count against the heap.
+ * <p>
+ * The file is little-endian and starts with an 80 byte header: a magic number,
+ * the format version, the node count, the edge count, the length of the names,
+ * padding, the distance lower bound factor and the {@link GraphFingerprint} of
+ * the rows the graph was built from. The header is followed by the
+ * sections, ordered from the widest values to the narrowest so every section
+ * is aligned: place ids, sorted place ids, latitudes, longitudes, edge
+ * weights, incoming edge weights, sorted place nodes, edge offsets, edge
+ * targets, incoming edge offsets, incoming edge sources, name offsets and the
+ * UTF-8 names.
+ * <p>
+ * A file is only read when its fingerprint matches the expected one, so a file
+ * exported before the data source changed isn't routed on, and its arrays are
+ * checked before they're used: offsets must grow up to the number of edges or
+ * name bytes, node indexes must be in range and weights must be non-negative.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class GraphFile {
+
+    private static final int MAGIC = 0x5A4B4752;
+    private static final int FORMAT_VERSION = 3;
+    private static final int HEADER_SIZE = 80;
+
+    private GraphFile() {
+        throw new IllegalAccessError("This class cannot be instantiated nor extended");
+    }
+
+    /**
+     * Writes the given graph to the given file. The graph is written to a
+     * temporary file first and moved into place afterwards, so readers never
+     * see a partial file.
+     *
+     * @param graph a graph.
+     * @param fingerprint the fingerprint of the rows the graph was built from.
+     * @param file where to write the graph.
+     * @throws IOException if the file couldn't be written.
+     */
+    public static void write(Graph graph, GraphFingerprint fingerprint, File file) throws IOException {
+        int nodeCount = graph.getNodeCount();
+        int edgeCount = graph.getEdgeCount();
+        byte[][] names = new byte[nodeCount][];
+        long[] sortedIds = new long[nodeCount];
+        long namesLength = 0;
+
+        for (int node = 0; node < nodeCount; node++) {
+            String name = graph.getPlaceName(node);
+            names[node] = name != null ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            namesLength += names[node].length;
+            sortedIds[node] = graph.getPlaceId(node);
+        }
+
+        Arrays.sort(sortedIds);
+        long size = size(nodeCount, edgeCount, namesLength);
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Graph is too big to be mapped: " + size + " bytes");
+        }
+
+        File temporaryFile = new File(file.getPath() + ".tmp");
+
+        try (RandomAccessFile output = new RandomAccessFile(temporaryFile, "rw");
+                FileChannel channel = output.getChannel()) {
+            output.setLength(size);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(nodeCount).putInt(edgeCount)
+                    .putInt((int) namesLength).putInt(0).putDouble(graph.getDistanceLowerBoundFactor())
+                    .putLong(fingerprint.getPlaceCount()).putLong(fingerprint.getMaxPlaceId())
+                    .putLong(fingerprint.getPathCount()).putLong(fingerprint.getMaxPathId())
+                    .putLong(fingerprint.getPlaceVersionSum()).putLong(fingerprint.getPathVersionSum());
+
+            for (int node = 0; node < nodeCount; node++) {
+                buffer.putLong(graph.getPlaceId(node));
+            }
+
+            for (long id : sortedIds) {
+                buffer.putLong(id);
+            }
+
+            for (int node = 0; node < nodeCount; node++) {
+                buffer.putDouble(graph.getLatitude(node));
+            }
+
+            for (int node = 0; node < nodeCount; node++) {
+                buffer.putDouble(graph.getLongitude(node));
+            }
+
+            for (int e = 0; e < edgeCount; e++) {
+                buffer.putDouble(graph.edgeWeight(e));
+            }
+
+            for (int e = 0; e < edgeCount; e++) {
+                buffer.putDouble(graph.incomingEdgeWeight(e));
+            }
+
+            for (long id : sortedIds) {
+                buffer.putInt(graph.indexOf(id));
+            }
+
+            for (int node = 0; node < nodeCount; node++) {
+                buffer.putInt(graph.firstEdge(node));
+            }
+
+            buffer.putInt(edgeCount);
+
+            for (int e = 0; e < edgeCount; e++) {
+                buffer.putInt(graph.edgeTarget(e));
+            }
+
+            for (int node = 0; node < nodeCount; node++) {
+                buffer.putInt(graph.firstIncomingEdge(node));
+            }
+
+            buffer.putInt(edgeCount);
+
+            for (int e = 0; e < edgeCount; e++) {
+                buffer.putInt(graph.incomingEdgeSource(e));
+            }
+
+            int nameOffset = 0;
+
+            for (int node = 0; node < nodeCount; node++) {
+                buffer.putInt(nameOffset);
+                nameOffset += names[node].length;
+            }
+
+            buffer.putInt(nameOffset);
+
+            for (byte[] name : names) {
+                buffer.put(name);
+            }
+
+            buffer.force();
+        }
+
+        Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a graph by memory-mapping the given file. The mapping stays valid
+     * after the file is replaced or deleted.
+     *
+     * @param file a graph file.
+     * @param fingerprint the fingerprint of the rows the graph must have been
+     * built from.
+     * @return a Graph over the mapped file.
+     * @throws IOException if the file couldn't be read, it's not a graph file,
+     * it's corrupted or it was built from other rows.
+     */
+    public static Graph read(File file, GraphFingerprint fingerprint) throws IOException {
+        MappedByteBuffer buffer;
+
+        try (RandomAccessFile input = new RandomAccessFile(file, "r");
+                FileChannel channel = input.getChannel()) {
+            long size = channel.size();
+
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a graph file: " + file);
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            throw new IOException("Not a graph file: " + file);
+        }
+
+        int nodeCount = buffer.getInt();
+        int edgeCount = buffer.getInt();
+        int namesLength = buffer.getInt();
+        buffer.getInt();
+        double distanceLowerBoundFactor = buffer.getDouble();
+        GraphFingerprint fileFingerprint = new GraphFingerprint(buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                buffer.getLong(), buffer.getLong(), buffer.getLong());
+
+        if (nodeCount < 0 || edgeCount < 0 || namesLength < 0
+                || size(nodeCount, edgeCount, namesLength) != buffer.capacity()) {
+            throw new IOException("Corrupted graph file: " + file);
+        }
+
+        if (!fileFingerprint.equals(fingerprint)) {
+            throw new IOException("Graph file " + file + " was built from " + fileFingerprint + " not from "
+                    + fingerprint);
+        }
+
+        ByteBuffer ids = slice(buffer, nodeCount * 8L);
+        ByteBuffer sortedIds = slice(buffer, nodeCount * 8L);
+        ByteBuffer latitudes = slice(buffer, nodeCount * 8L);
+        ByteBuffer longitudes = slice(buffer, nodeCount * 8L);
+        ByteBuffer edgeWeights = slice(buffer, edgeCount * 8L);
+        ByteBuffer incomingEdgeWeights = slice(buffer, edgeCount * 8L);
+        ByteBuffer sortedNodes = slice(buffer, nodeCount * 4L);
+        ByteBuffer edgeOffsets = slice(buffer, (nodeCount + 1) * 4L);
+        ByteBuffer edgeTargets = slice(buffer, edgeCount * 4L);
+        ByteBuffer incomingEdgeOffsets = slice(buffer, (nodeCount + 1) * 4L);
+        ByteBuffer incomingEdgeSources = slice(buffer, edgeCount * 4L);
+        ByteBuffer nameOffsets = slice(buffer, (nodeCount + 1) * 4L);
+        ByteBuffer names = slice(buffer, namesLength);
+
+        if (!isIncreasing(edgeOffsets.asIntBuffer(), edgeCount)
+                || !isInRange(edgeTargets.asIntBuffer(), nodeCount)
+                || !isNonNegative(edgeWeights.asDoubleBuffer())
+                || !isIncreasing(incomingEdgeOffsets.asIntBuffer(), edgeCount)
+                || !isInRange(incomingEdgeSources.asIntBuffer(), nodeCount)
+                || !isNonNegative(incomingEdgeWeights.asDoubleBuffer())
+                || !isIncreasing(nameOffsets.asIntBuffer(), namesLength)
+                || !isSortedIndex(ids.asLongBuffer(), sortedIds.asLongBuffer(), sortedNodes.asIntBuffer())) {
+            throw new IOException("Corrupted graph file: " + file);
+        }
+
+        PlaceTable placeTable = new PlaceTable(ids.asLongBuffer(), latitudes.asDoubleBuffer(),
+                longitudes.asDoubleBuffer(), sortedIds.asLongBuffer(), sortedNodes.asIntBuffer(),
+                nameOffsets.asIntBuffer(), names);
+        return Graph.wrap(placeTable, edgeOffsets.asIntBuffer(), edgeTargets.asIntBuffer(),
+                edgeWeights.asDoubleBuffer(), incomingEdgeOffsets.asIntBuffer(), incomingEdgeSources.asIntBuffer(),
+                incomingEdgeWeights.asDoubleBuffer(), distanceLowerBoundFactor);
+    }
+
+    /**
+     * Checks that the given offsets start at 0, never decrease and end at the
+     * given length.
+     *
+     * @param offsets the offsets.
+     * @param length the length of the section they point into.
+     * @return {@code true} if the offsets are valid; otherwise {@code false}.
+     */
+    private static boolean isIncreasing(IntBuffer offsets, int length) {
+        int previous = 0;
+
+        for (int i = 0; i < offsets.limit(); i++) {
+            int offset = offsets.get(i);
+
+            if (offset < previous || (i == 0 && offset != 0)) {
+                return false;
+            }
+
+            previous = offset;
+        }
+
+        return previous == length;
+    }
+
+    /**
+     * Checks that the given node indexes are between 0 and the given node
+     * count.
+     *
+     * @param nodes the node indexes.
+     * @param nodeCount the number of nodes.
+     * @return {@code true} if every index is in range; otherwise
+     * {@code false}.
+     */
+    private static boolean isInRange(IntBuffer nodes, int nodeCount) {
+        for (int i = 0; i < nodes.limit(); i++) {
+            int node = nodes.get(i);
+
+            if (node < 0 || node >= nodeCount) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks that the given weights are non-negative numbers, as the searches
+     * require.
+     *
+     * @param weights the edge weights.
+     * @return {@code true} if every weight is valid; otherwise {@code false}.
+     */
+    private static boolean isNonNegative(DoubleBuffer weights) {
+        for (int i = 0; i < weights.limit(); i++) {
+            // Also false for NaN
+            if (!(weights.get(i) >= 0)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks that the given sorted ids are strictly increasing and that every
+     * sorted node is in range and has the sorted id at the same position, so
+     * id lookups by binary search find the right node.
+     *
+     * @param ids the place ids by node.
+     * @param sortedIds the place ids in increasing order.
+     * @param sortedNodes the node of every sorted id.
+     * @return {@code true} if the index is valid; otherwise {@code false}.
+     */
+    private static boolean isSortedIndex(LongBuffer ids, LongBuffer sortedIds, IntBuffer sortedNodes) {
+        for (int i = 0; i < sortedIds.limit(); i++) {
+            int node = sortedNodes.get(i);
+
+            if ((i > 0 && sortedIds.get(i) <= sortedIds.get(i - 1)) || node < 0 || node >= ids.limit()
+                    || ids.get(node) != sortedIds.get(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes the size of a graph file.
+     *
+     * @param nodeCount the number of nodes.
+     * @param edgeCount the number of edges.
+     * @param namesLength the length of the UTF-8 names.
+     * @return the size in bytes.
+     */
+    private static long size(long nodeCount, long edgeCount, long namesLength) {
+        return HEADER_SIZE + nodeCount * 4 * 8 + edgeCount * 2 * 8 + nodeCount * 4 + (nodeCount + 1) * 3 * 4
+                + edgeCount * 2 * 4 + namesLength;
+    }
+
+    /**
+     * Cuts the next section of the given buffer and moves past it.
+     *
+     * @param buffer a buffer positioned at the start of the section.
+     * @param length the length of the section in bytes.
+     * @return a little-endian buffer over the section.
+     */
+    private static ByteBuffer slice(ByteBuffer buffer, long length) {
+        ByteBuffer section = buffer.duplicate();
+        section.limit(buffer.position() + (int) length);
+        buffer.position(section.limit());
+        return section.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
\ No newline at end of file
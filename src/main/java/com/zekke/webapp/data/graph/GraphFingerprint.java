@@ -0,0 +1,155 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+/**
+ * GraphFingerprint identifies the place and path rows a {@link Graph} was
+ * built from by their counts, their greatest ids and the sums of their
+ * versions. Ids only grow, so rows added or removed since the graph was built
+ * change the counts or the greatest ids; versions grow with every update, so
+ * rows edited in place, such as a re-weighted path or a renamed or moved
+ * place, change the sums.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class GraphFingerprint {
+
+    private final long placeCount;
+    private final long maxPlaceId;
+    private final long pathCount;
+    private final long maxPathId;
+    private final long placeVersionSum;
+    private final long pathVersionSum;
+
+    /**
+     * Constructs a new GraphFingerprint.
+     *
+     * @param placeCount the number of places.
+     * @param maxPlaceId the greatest place id or 0 if there are no places.
+     * @param pathCount the number of paths.
+     * @param maxPathId the greatest path id or 0 if there are no paths.
+     * @param placeVersionSum the sum of the place versions.
+     * @param pathVersionSum the sum of the path versions.
+     */
+    public GraphFingerprint(long placeCount, long maxPlaceId, long pathCount, long maxPathId,
+            long placeVersionSum, long pathVersionSum) {
+        this.placeCount = placeCount;
+        this.maxPlaceId = maxPlaceId;
+        this.pathCount = pathCount;
+        this.maxPathId = maxPathId;
+        this.placeVersionSum = placeVersionSum;
+        this.pathVersionSum = pathVersionSum;
+    }
+
+    /**
+     * Gets the number of places.
+     *
+     * @return the number of places.
+     */
+    public long getPlaceCount() {
+        return placeCount;
+    }
+
+    /**
+     * Gets the greatest place id.
+     *
+     * @return a place id or 0 if there are no places.
+     */
+    public long getMaxPlaceId() {
+        return maxPlaceId;
+    }
+
+    /**
+     * Gets the number of paths.
+     *
+     * @return the number of paths.
+     */
+    public long getPathCount() {
+        return pathCount;
+    }
+
+    /**
+     * Gets the greatest path id.
+     *
+     * @return a path id or 0 if there are no paths.
+     */
+    public long getMaxPathId() {
+        return maxPathId;
+    }
+
+    /**
+     * Gets the sum of the place versions.
+     *
+     * @return the sum of the place versions or 0 if there are no places.
+     */
+    public long getPlaceVersionSum() {
+        return placeVersionSum;
+    }
+
+    /**
+     * Gets the sum of the path versions.
+     *
+     * @return the sum of the path versions or 0 if there are no paths.
+     */
+    public long getPathVersionSum() {
+        return pathVersionSum;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + (int) (placeCount ^ (placeCount >>> 32));
+        hash = 31 * hash + (int) (maxPlaceId ^ (maxPlaceId >>> 32));
+        hash = 31 * hash + (int) (pathCount ^ (pathCount >>> 32));
+        hash = 31 * hash + (int) (maxPathId ^ (maxPathId >>> 32));
+        hash = 31 * hash + (int) (placeVersionSum ^ (placeVersionSum >>> 32));
+        hash = 31 * hash + (int) (pathVersionSum ^ (pathVersionSum >>> 32));
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        GraphFingerprint other = (GraphFingerprint) obj;
+        return placeCount == other.placeCount && maxPlaceId == other.maxPlaceId && pathCount == other.pathCount
+                && maxPathId == other.maxPathId && placeVersionSum == other.placeVersionSum
+                && pathVersionSum == other.pathVersionSum;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "GraphFingerprint{placeCount=" + placeCount + ", maxPlaceId=" + maxPlaceId
+                + ", pathCount=" + pathCount + ", maxPathId=" + maxPathId + ", placeVersionSum=" + placeVersionSum
+                + ", pathVersionSum=" + pathVersionSum + '}';
+    }
+}
\ No newline at end of file
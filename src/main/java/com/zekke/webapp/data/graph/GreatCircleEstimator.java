@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+/**
+ * GreatCircleEstimator estimates distances as the great-circle distance
+ * between two nodes scaled by {@link Graph#getDistanceLowerBoundFactor()}, so
+ * it never overestimates even if some paths are shorter than the great-circle
+ * distance between their places.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class GreatCircleEstimator implements DistanceEstimator {
+
+    /** Keeps the estimates consistent despite floating point rounding. */
+    private static final double ROUNDING_MARGIN = 1 - 1e-9;
+
+    private final Graph graph;
+    private final double factor;
+
+    /**
+     * Constructs a new estimator for the given graph.
+     *
+     * @param graph a Graph.
+     */
+    public GreatCircleEstimator(Graph graph) {
+        this.graph = graph;
+        factor = graph.getDistanceLowerBoundFactor() * ROUNDING_MARGIN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double estimate(int node, int target) {
+        return factor * graph.distance(node, target);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * IndexedMinHeap is a binary min-heap of primitive node indexes from 0 to
+ * capacity - 1 ordered by a {@code double} key. Unlike
+ * {@link java.util.PriorityQueue} it knows the position of every node so its
+ * key can be decreased in O(log n) without boxing nor duplicated entries.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class IndexedMinHeap {
+
+    private final double[] keys;
+    private final int[] heap;
+    private final int[] positions;
+    private int size;
+
+    /**
+     * Constructs an empty heap for nodes from 0 to capacity - 1.
+     *
+     * @param capacity the number of nodes.
+     */
+    public IndexedMinHeap(int capacity) {
+        keys = new double[capacity];
+        heap = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Checks that this heap has no nodes.
+     *
+     * @return {@code true} if this heap is empty; otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of nodes in this heap.
+     *
+     * @return the number of nodes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks that the given node is in this heap.
+     *
+     * @param node a node.
+     * @return {@code true} if the node is in this heap; otherwise
+     * {@code false}.
+     */
+    public boolean contains(int node) {
+        return positions[node] != -1;
+    }
+
+    /**
+     * Gets the current key of the given node.
+     *
+     * @param node a node in this heap.
+     * @return the key of the node.
+     */
+    public double getKey(int node) {
+        return keys[node];
+    }
+
+    /**
+     * Inserts the given node or decreases its key if it's already in this heap
+     * and the given key is lower than its current one.
+     *
+     * @param node a node.
+     * @param key the new key.
+     * @return {@code true} if the node was inserted or its key decreased;
+     * otherwise {@code false}.
+     */
+    public boolean offer(int node, double key) {
+        if (positions[node] == -1) {
+            keys[node] = key;
+            heap[size] = node;
+            positions[node] = size;
+            siftUp(size++);
+            return true;
+        } else if (key < keys[node]) {
+            keys[node] = key;
+            siftUp(positions[node]);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the node with the minimum key without removing it.
+     *
+     * @return a node.
+     * @throws NoSuchElementException if this heap is empty.
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the node with the minimum key.
+     *
+     * @return a node.
+     * @throws NoSuchElementException if this heap is empty.
+     */
+    public int poll() {
+        int min = peek();
+        size--;
+        positions[min] = -1;
+
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+
+        return min;
+    }
+
+    /**
+     * Removes every node from this heap. It takes O(size) time.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Moves the node at the given heap position up until the heap order is
+     * restored.
+     *
+     * @param position a heap position.
+     */
+    private void siftUp(int position) {
+        int node = heap[position];
+        double key = keys[node];
+
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+
+            if (keys[parent] <= key) {
+                break;
+            }
+
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+
+        heap[position] = node;
+        positions[node] = position;
+    }
+
+    /**
+     * Moves the node at the given heap position down until the heap order is
+     * restored.
+     *
+     * @param position a heap position.
+     */
+    private void siftDown(int position) {
+        int node = heap[position];
+        double key = keys[node];
+        int half = size >>> 1;
+
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+
+            if (rightPosition < size && keys[heap[rightPosition]] < keys[child]) {
+                childPosition = rightPosition;
+                child = heap[childPosition];
+            }
+
+            if (key <= keys[child]) {
+                break;
+            }
+
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+
+        heap[position] = node;
+        positions[node] = position;
+    }
+}
\ No newline at end of file
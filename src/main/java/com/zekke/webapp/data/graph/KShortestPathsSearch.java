@@ -0,0 +1,421 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * KShortestPathsSearch finds the K shortest loopless paths between two nodes
+ * of a {@link Graph} with Yen's algorithm. Every spur path is found with an
+ * A* search guided by the exact distances to the target in the whole graph,
+ * computed once per query with a backward Dijkstra search; blocking nodes and
+ * edges only makes paths longer, so those distances remain lower bounds. They
+ * are also used to skip spur nodes that can't beat the candidates already
+ * found. The search state is reused between spur searches and queries, and
+ * instances are not thread safe.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class KShortestPathsSearch {
+
+    private final Graph graph;
+    private final double[] distancesToTarget;
+    private final double[] distances;
+    private final int[] parents;
+    private final BitSet settled;
+    private final BitSet blockedNodes;
+    private final BitSet blockedEdges;
+    private final IndexedMinHeap queue;
+    private final int[] touched;
+    private int touchedCount;
+    private int settledCount;
+    private final List<int[]> paths;
+    private final List<Double> pathDistances;
+
+    /**
+     * Constructs a new search over the given graph.
+     *
+     * @param graph a Graph.
+     */
+    public KShortestPathsSearch(Graph graph) {
+        this.graph = graph;
+        int nodeCount = graph.getNodeCount();
+        distancesToTarget = new double[nodeCount];
+        distances = new double[nodeCount];
+        parents = new int[nodeCount];
+        settled = new BitSet(nodeCount);
+        blockedNodes = new BitSet(nodeCount);
+        blockedEdges = new BitSet(graph.getEdgeCount());
+        queue = new IndexedMinHeap(nodeCount);
+        touched = new int[nodeCount];
+        paths = new ArrayList<>();
+        pathDistances = new ArrayList<>();
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+    }
+
+    /**
+     * Finds up to K shortest loopless paths from the given source to the given
+     * target, sorted by distance.
+     *
+     * @param source the source node.
+     * @param target the target node.
+     * @param k the maximum number of paths.
+     * @return the number of paths found.
+     */
+    public int search(int source, int target, int k) {
+        paths.clear();
+        pathDistances.clear();
+        settledCount = 0;
+        computeDistancesToTarget(target);
+
+        if (k < 1 || distancesToTarget[source] == Double.POSITIVE_INFINITY) {
+            return 0;
+        }
+
+        List<int[]> candidates = new ArrayList<>();
+        List<Double> candidateDistances = new ArrayList<>();
+        int[] first = spurSearch(source, target, Double.POSITIVE_INFINITY);
+        paths.add(first);
+        pathDistances.add(pathDistance(first, first.length));
+
+        while (paths.size() < k) {
+            int[] previous = paths.get(paths.size() - 1);
+
+            for (int j = 0; j < previous.length - 1; j++) {
+                int spurNode = previous[j];
+                double rootDistance = pathDistance(previous, j + 1);
+                double bound = candidateBound(candidateDistances, k - paths.size());
+
+                if (rootDistance + distancesToTarget[spurNode] >= bound) {
+                    continue;
+                }
+
+                block(previous, j);
+                int[] spurPath = spurSearch(spurNode, target, bound - rootDistance);
+                unblock(previous, j);
+
+                if (spurPath != null) {
+                    int[] path = Arrays.copyOf(previous, j + spurPath.length);
+                    System.arraycopy(spurPath, 0, path, j, spurPath.length);
+
+                    if (!contains(paths, path) && !contains(candidates, path)) {
+                        candidates.add(path);
+                        candidateDistances.add(pathDistance(path, path.length));
+                    }
+                }
+            }
+
+            if (candidates.isEmpty()) {
+                break;
+            }
+
+            int best = 0;
+
+            for (int i = 1; i < candidates.size(); i++) {
+                if (candidateDistances.get(i) < candidateDistances.get(best)) {
+                    best = i;
+                }
+            }
+
+            paths.add(candidates.remove(best));
+            pathDistances.add(candidateDistances.remove(best));
+        }
+
+        return paths.size();
+    }
+
+    /**
+     * Gets a path found in the last search.
+     *
+     * @param index the index of the path, 0 is the shortest.
+     * @return the nodes from the source to the target.
+     */
+    public int[] getPath(int index) {
+        return paths.get(index);
+    }
+
+    /**
+     * Gets the distance of a path found in the last search. The weights are
+     * added from the source to the target, so the distance of the shortest
+     * path is the same one {@link DijkstraSearch} computes.
+     *
+     * @param index the index of the path, 0 is the shortest.
+     * @return the distance of the path.
+     */
+    public double getDistance(int index) {
+        return pathDistances.get(index);
+    }
+
+    /**
+     * Gets the number of nodes settled by the last search, including the
+     * backward search and every spur search.
+     *
+     * @return the number of settled nodes.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Finds the shortest path from the given node to the target avoiding the
+     * blocked nodes and edges.
+     *
+     * @param source the spur node.
+     * @param target the target node.
+     * @param maxDistance the distance a path must be shorter than to be of
+     * interest.
+     * @return the nodes from the spur node to the target or {@code null} if
+     * there's no path shorter than the given distance.
+     */
+    private int[] spurSearch(int source, int target, double maxDistance) {
+        reset();
+        touch(source, 0.0, -1);
+        queue.offer(source, distancesToTarget[source]);
+
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+
+            if (distances[u] + distancesToTarget[u] >= maxDistance) {
+                return null;
+            }
+
+            settled.set(u);
+            settledCount++;
+
+            if (u == target) {
+                int length = 0;
+
+                for (int node = target; node != -1; node = parents[node]) {
+                    length++;
+                }
+
+                int[] path = new int[length];
+
+                for (int node = target; node != -1; node = parents[node]) {
+                    path[--length] = node;
+                }
+
+                return path;
+            }
+
+            double dU = distances[u];
+
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int v = graph.edgeTarget(e);
+
+                if (!settled.get(v) && !blockedNodes.get(v) && !blockedEdges.get(e)
+                        && distancesToTarget[v] != Double.POSITIVE_INFINITY) {
+                    double dV = dU + graph.edgeWeight(e);
+
+                    if (dV < distances[v]) {
+                        touch(v, dV, u);
+                        queue.offer(v, dV + distancesToTarget[v]);
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Blocks the nodes of the root path before the given spur node and the
+     * edges leaving the spur node along every path found so far that shares
+     * the root path.
+     *
+     * @param previous the last path found.
+     * @param spurIndex the index of the spur node in the path.
+     */
+    private void block(int[] previous, int spurIndex) {
+        for (int i = 0; i < spurIndex; i++) {
+            blockedNodes.set(previous[i]);
+        }
+
+        int spurNode = previous[spurIndex];
+
+        for (int[] path : paths) {
+            if (path.length > spurIndex + 1 && sharesRoot(path, previous, spurIndex)) {
+                for (int e = graph.firstEdge(spurNode); e < graph.endEdge(spurNode); e++) {
+                    if (graph.edgeTarget(e) == path[spurIndex + 1]) {
+                        blockedEdges.set(e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Unblocks what {@link #block(int[], int)} blocked.
+     *
+     * @param previous the last path found.
+     * @param spurIndex the index of the spur node in the path.
+     */
+    private void unblock(int[] previous, int spurIndex) {
+        for (int i = 0; i < spurIndex; i++) {
+            blockedNodes.clear(previous[i]);
+        }
+
+        int spurNode = previous[spurIndex];
+
+        if (graph.endEdge(spurNode) > graph.firstEdge(spurNode)) {
+            blockedEdges.clear(graph.firstEdge(spurNode), graph.endEdge(spurNode));
+        }
+    }
+
+    /**
+     * Computes the distance from every node to the given target with a
+     * backward Dijkstra search.
+     *
+     * @param target the target node.
+     */
+    private void computeDistancesToTarget(int target) {
+        Arrays.fill(distancesToTarget, Double.POSITIVE_INFINITY);
+        queue.clear();
+        distancesToTarget[target] = 0.0;
+        queue.offer(target, 0.0);
+
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            settledCount++;
+            double dU = distancesToTarget[u];
+
+            for (int e = graph.firstIncomingEdge(u); e < graph.endIncomingEdge(u); e++) {
+                int v = graph.incomingEdgeSource(e);
+                double dV = dU + graph.incomingEdgeWeight(e);
+
+                if (dV < distancesToTarget[v]) {
+                    distancesToTarget[v] = dV;
+                    queue.offer(v, dV);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the weights of the lightest edges between the first nodes of the
+     * given path.
+     *
+     * @param path a path.
+     * @param length the number of nodes to walk.
+     * @return the distance.
+     */
+    private double pathDistance(int[] path, int length) {
+        double distance = 0.0;
+
+        for (int i = 1; i < length; i++) {
+            distance += graph.edgeWeight(graph.findEdge(path[i - 1], path[i]));
+        }
+
+        return distance;
+    }
+
+    /**
+     * Gets the distance a new candidate must be shorter than to be among the
+     * paths still needed.
+     *
+     * @param candidateDistances the distances of the candidates.
+     * @param needed the number of paths still needed.
+     * @return the distance of the needed-th best candidate or
+     * {@link Double#POSITIVE_INFINITY} if there are not enough candidates.
+     */
+    private static double candidateBound(List<Double> candidateDistances, int needed) {
+        if (candidateDistances.size() < needed) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double[] sorted = new double[candidateDistances.size()];
+
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = candidateDistances.get(i);
+        }
+
+        Arrays.sort(sorted);
+        return sorted[needed - 1];
+    }
+
+    /**
+     * Checks that two paths start with the same nodes.
+     *
+     * @param path a path.
+     * @param other another path.
+     * @param length the number of nodes to compare.
+     * @return {@code true} if the first nodes are the same; otherwise
+     * {@code false}.
+     */
+    private static boolean sharesRoot(int[] path, int[] other, int length) {
+        for (int i = 0; i <= length; i++) {
+            if (path[i] != other[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks that the given path is in the given list.
+     *
+     * @param paths a list of paths.
+     * @param path a path.
+     * @return {@code true} if the path was found; otherwise {@code false}.
+     */
+    private static boolean contains(List<int[]> paths, int[] path) {
+        for (int[] other : paths) {
+            if (Arrays.equals(other, path)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Updates the distance and parent of the given node remembering it for
+     * the next reset.
+     *
+     * @param node a node.
+     * @param distance the new distance.
+     * @param parent the new parent.
+     */
+    private void touch(int node, double distance, int parent) {
+        if (distances[node] == Double.POSITIVE_INFINITY) {
+            touched[touchedCount++] = node;
+        }
+
+        distances[node] = distance;
+        parents[node] = parent;
+    }
+
+    /**
+     * Resets the state of the nodes touched by the last spur search.
+     */
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int node = touched[i];
+            distances[node] = Double.POSITIVE_INFINITY;
+            parents[node] = -1;
+        }
+
+        touchedCount = 0;
+        settled.clear();
+        queue.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.Arrays;
+
+/**
+ * LandmarkTable keeps the distances from and to a few landmark nodes of a
+ * {@link Graph} and estimates distances with the triangle inequality (ALT):
+ * for every landmark L, d(v, t) &gt;= d(L, t) - d(L, v) and
+ * d(v, t) &gt;= d(v, L) - d(t, L). Landmarks are picked by farthest-point
+ * selection, each new landmark is the node farthest from the ones already
+ * picked, preferring nodes no landmark reaches so every component gets one.
+ * <p>
+ * Distances are stored as floats, node-major, so the distances of all the
+ * landmarks of a node are next to each other. Estimates are reduced by the
+ * largest float rounding error so they never overestimate. Instances are
+ * immutable; build a new table when the graph changes or
+ * {@link #update(LandmarkTable, Graph, int)} it when it's derived from the
+ * previous one.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class LandmarkTable implements DistanceEstimator {
+
+    private final Graph graph;
+    private final int[] landmarks;
+    private final float[] distancesFromLandmarks;
+    private final float[] distancesToLandmarks;
+    private final double roundingMargin;
+
+    /**
+     * Constructs a new LandmarkTable.
+     *
+     * @param graph the graph.
+     * @param landmarks the landmark nodes.
+     * @param distancesFromLandmarks the distance from every landmark to every
+     * node.
+     * @param distancesToLandmarks the distance from every node to every
+     * landmark.
+     * @param roundingMargin the largest float rounding error of a difference
+     * of two distances.
+     */
+    private LandmarkTable(Graph graph, int[] landmarks, float[] distancesFromLandmarks, float[] distancesToLandmarks,
+            double roundingMargin) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.distancesFromLandmarks = distancesFromLandmarks;
+        this.distancesToLandmarks = distancesToLandmarks;
+        this.roundingMargin = roundingMargin;
+    }
+
+    /**
+     * Picks the given number of landmarks of the given graph and computes
+     * their distance tables.
+     *
+     * @param graph a Graph.
+     * @param landmarkCount the number of landmarks, fewer are picked if the
+     * graph is smaller.
+     * @return a new LandmarkTable.
+     */
+    public static LandmarkTable build(Graph graph, int landmarkCount) {
+        int nodeCount = graph.getNodeCount();
+        int count = Math.max(0, Math.min(landmarkCount, nodeCount));
+        int[] landmarks = new int[count];
+        float[] fromLandmarks = new float[count * nodeCount];
+        float[] toLandmarks = new float[count * nodeCount];
+        double[] forward = new double[nodeCount];
+        double[] backward = new double[nodeCount];
+        double[] nearestLandmark = new double[nodeCount];
+        IndexedMinHeap queue = new IndexedMinHeap(nodeCount);
+        double maxDistance = 0.0;
+
+        Arrays.fill(nearestLandmark, Double.POSITIVE_INFINITY);
+
+        if (count > 0) {
+            // The farthest node from an arbitrary one is a good first landmark
+            computeDistances(graph, 0, false, forward, queue);
+        }
+
+        for (int i = 0; i < count; i++) {
+            int landmark = i == 0
+                    ? farthest(forward, false, landmarks, 0)
+                    : farthest(nearestLandmark, true, landmarks, i);
+            landmarks[i] = landmark;
+            computeDistances(graph, landmark, false, forward, queue);
+            computeDistances(graph, landmark, true, backward, queue);
+
+            for (int node = 0; node < nodeCount; node++) {
+                fromLandmarks[node * count + i] = (float) forward[node];
+                toLandmarks[node * count + i] = (float) backward[node];
+
+                if (forward[node] < nearestLandmark[node]) {
+                    nearestLandmark[node] = forward[node];
+                }
+
+                if (forward[node] != Double.POSITIVE_INFINITY) {
+                    maxDistance = Math.max(maxDistance, forward[node]);
+                }
+
+                if (backward[node] != Double.POSITIVE_INFINITY) {
+                    maxDistance = Math.max(maxDistance, backward[node]);
+                }
+            }
+        }
+
+        return new LandmarkTable(graph, landmarks, fromLandmarks, toLandmarks, 2 * Math.ulp((float) maxDistance));
+    }
+
+    /**
+     * Gets the landmark table of the given graph reusing the distances of the
+     * given previous table when the graph was derived from its graph with the
+     * same nodes and only longer or removed edges. Distances can only grow in
+     * that case, so the previous estimates are still lower bounds although
+     * less tight ones. The ALT route finder service calls it for every new
+     * graph; the graph service only derives such graphs from the changes
+     * callers give it, since a refresh only adds paths or loads everything
+     * again.
+     *
+     * @param previous the table of a previous graph, may be {@code null}.
+     * @param graph a Graph.
+     * @param landmarkCount the number of landmarks of a new table.
+     * @return the LandmarkTable of the graph.
+     */
+    public static LandmarkTable update(LandmarkTable previous, Graph graph, int landmarkCount) {
+        if (previous == null || !graph.isDerivedWithSameNodes(previous.graph)) {
+            return build(graph, landmarkCount);
+        }
+
+        for (EdgeChange change : graph.getChanges()) {
+            if (change.isShortening()) {
+                return build(graph, landmarkCount);
+            }
+        }
+
+        return new LandmarkTable(graph, previous.landmarks, previous.distancesFromLandmarks,
+                previous.distancesToLandmarks, previous.roundingMargin);
+    }
+
+    /**
+     * Gets the graph of this table.
+     *
+     * @return the graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the number of landmarks.
+     *
+     * @return the number of landmarks.
+     */
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * Gets a landmark.
+     *
+     * @param index the index of the landmark.
+     * @return the landmark node.
+     */
+    public int getLandmark(int index) {
+        return landmarks[index];
+    }
+
+    /**
+     * Gets the memory used by the distance tables.
+     *
+     * @return the size of the tables in bytes.
+     */
+    public long getTableSize() {
+        return 4L * (distancesFromLandmarks.length + distancesToLandmarks.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double estimate(int node, int target) {
+        if (node == target) {
+            return 0.0;
+        }
+
+        int count = landmarks.length;
+        int nodeOffset = node * count;
+        int targetOffset = target * count;
+        double estimate = 0.0;
+
+        for (int i = 0; i < count; i++) {
+            // Differences of two infinite distances are NaN and never win
+            double fromLandmark = (double) distancesFromLandmarks[targetOffset + i]
+                    - distancesFromLandmarks[nodeOffset + i];
+            double toLandmark = (double) distancesToLandmarks[nodeOffset + i]
+                    - distancesToLandmarks[targetOffset + i];
+
+            if (fromLandmark > estimate) {
+                estimate = fromLandmark;
+            }
+
+            if (toLandmark > estimate) {
+                estimate = toLandmark;
+            }
+        }
+
+        return estimate == Double.POSITIVE_INFINITY ? estimate : Math.max(0.0, estimate - roundingMargin);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "LandmarkTable{landmarkCount=" + landmarks.length + ", tableSize=" + getTableSize() + '}';
+    }
+
+    /**
+     * Finds the node with the largest distance that hasn't been picked.
+     *
+     * @param distances the distance of every node.
+     * @param preferUnreached if {@code true} infinite distances are the
+     * largest; otherwise they are ignored.
+     * @param picked the nodes already picked.
+     * @param pickedCount the number of nodes picked.
+     * @return the farthest node.
+     */
+    private static int farthest(double[] distances, boolean preferUnreached, int[] picked, int pickedCount) {
+        int farthest = -1;
+
+        for (int node = 0; node < distances.length; node++) {
+            if ((preferUnreached || distances[node] != Double.POSITIVE_INFINITY)
+                    && !contains(picked, pickedCount, node)
+                    && (farthest == -1 || distances[node] > distances[farthest])) {
+                farthest = node;
+            }
+        }
+
+        return farthest;
+    }
+
+    /**
+     * Checks that the given node is one of the first elements of the given
+     * array.
+     *
+     * @param nodes an array of nodes.
+     * @param count the number of elements to check.
+     * @param node a node.
+     * @return {@code true} if the node was found; otherwise {@code false}.
+     */
+    private static boolean contains(int[] nodes, int count, int node) {
+        for (int i = 0; i < count; i++) {
+            if (nodes[i] == node) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Computes the distance from (or to) the given node to every node with
+     * the Dijkstra's algorithm.
+     *
+     * @param graph the graph.
+     * @param source the source node.
+     * @param reverse if {@code true} follows the incoming edges, computing
+     * the distances to the source.
+     * @param distances where to put the distances.
+     * @param queue an empty queue.
+     */
+    private static void computeDistances(Graph graph, int source, boolean reverse, double[] distances,
+            IndexedMinHeap queue) {
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0.0;
+        queue.offer(source, 0.0);
+
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            double dU = distances[u];
+            int first = reverse ? graph.firstIncomingEdge(u) : graph.firstEdge(u);
+            int end = reverse ? graph.endIncomingEdge(u) : graph.endEdge(u);
+
+            for (int e = first; e < end; e++) {
+                int v = reverse ? graph.incomingEdgeSource(e) : graph.edgeTarget(e);
+                double dV = dU + (reverse ? graph.incomingEdgeWeight(e) : graph.edgeWeight(e));
+
+                if (dV < distances[v]) {
+                    distances[v] = dV;
+                    queue.offer(v, dV);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
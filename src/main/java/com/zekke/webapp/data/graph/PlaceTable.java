@@ -0,0 +1,308 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.zekke.webapp.data.Place;
+
+/**
+ * PlaceTable is the read-only store of the places of a {@link Graph}. Instead
+ * of entities it holds flat buffers of primitives: the id and coordinates of
+ * every node, the place ids sorted with their nodes so a node is found by
+ * binary search, and the UTF-8 names one after another with the offset where
+ * each one starts. Its buffers either wrap arrays packed from entities or are
+ * views of a mapped graph file.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+final class PlaceTable {
+
+    private static final Comparator<long[]> BY_ID = new Comparator<long[]>() {
+
+        @Override
+        public int compare(long[] pair, long[] other) {
+            return Long.compare(pair[0], other[0]);
+        }
+    };
+
+    private final LongBuffer ids;
+    private final DoubleBuffer latitudes;
+    private final DoubleBuffer longitudes;
+    private final LongBuffer sortedIds;
+    private final IntBuffer sortedNodes;
+    private final IntBuffer nameOffsets;
+    private final ByteBuffer names;
+
+    /**
+     * Constructs a new PlaceTable.
+     *
+     * @param ids the place id of every node.
+     * @param latitudes the latitude of every node.
+     * @param longitudes the longitude of every node.
+     * @param sortedIds the place ids in ascending order.
+     * @param sortedNodes the node of every sorted place id.
+     * @param nameOffsets where the name of every node starts plus a trailing
+     * names length.
+     * @param names the UTF-8 names.
+     */
+    PlaceTable(LongBuffer ids, DoubleBuffer latitudes, DoubleBuffer longitudes, LongBuffer sortedIds,
+            IntBuffer sortedNodes, IntBuffer nameOffsets, ByteBuffer names) {
+        this.ids = ids;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.sortedIds = sortedIds;
+        this.sortedNodes = sortedNodes;
+        this.nameOffsets = nameOffsets;
+        this.names = names;
+    }
+
+    /**
+     * Packs the given places into a new table. The places are not kept.
+     *
+     * @param places the places indexed by node.
+     * @return a new PlaceTable.
+     */
+    static PlaceTable pack(Place[] places) {
+        int count = places.length;
+        long[] ids = new long[count];
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        long[] sortedIds = new long[count];
+        int[] sortedNodes = new int[count];
+        int[] nameOffsets = new int[count + 1];
+        byte[][] encodedNames = new byte[count][];
+
+        for (int node = 0; node < count; node++) {
+            String name = places[node].getName();
+            ids[node] = places[node].getId();
+            latitudes[node] = places[node].getPosition().getLatitude();
+            longitudes[node] = places[node].getPosition().getLongitude();
+            encodedNames[node] = name != null ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            nameOffsets[node + 1] = nameOffsets[node] + encodedNames[node].length;
+        }
+
+        byte[] names = new byte[nameOffsets[count]];
+
+        for (int node = 0; node < count; node++) {
+            System.arraycopy(encodedNames[node], 0, names, nameOffsets[node], encodedNames[node].length);
+        }
+
+        // Ids and nodes are sorted together as (id, node) pairs
+        long[][] pairs = new long[count][];
+
+        for (int node = 0; node < count; node++) {
+            pairs[node] = new long[] {ids[node], node};
+        }
+
+        Arrays.sort(pairs, BY_ID);
+
+        for (int i = 0; i < count; i++) {
+            sortedIds[i] = pairs[i][0];
+            sortedNodes[i] = (int) pairs[i][1];
+        }
+
+        return new PlaceTable(LongBuffer.wrap(ids), DoubleBuffer.wrap(latitudes), DoubleBuffer.wrap(longitudes),
+                LongBuffer.wrap(sortedIds), IntBuffer.wrap(sortedNodes), IntBuffer.wrap(nameOffsets),
+                ByteBuffer.wrap(names));
+    }
+
+    /**
+     * Derives a new table from this one dropping the removed nodes and
+     * appending the added places. Kept nodes are copied buffer to buffer,
+     * names included as raw bytes, so no place is created nor any name
+     * decoded, and the sorted ids are merged instead of sorted again.
+     *
+     * @param newNodes the new node of every node of this table or -1 if it's
+     * removed. Kept nodes must keep their relative order.
+     * @param keptCount the number of kept nodes.
+     * @param addedPlaces the places of the nodes after the kept ones.
+     * @return a new PlaceTable.
+     */
+    PlaceTable apply(int[] newNodes, int keptCount, List<Place> addedPlaces) {
+        int count = keptCount + addedPlaces.size();
+        long[] newIds = new long[count];
+        double[] newLatitudes = new double[count];
+        double[] newLongitudes = new double[count];
+        int[] newNameOffsets = new int[count + 1];
+        byte[][] addedNames = new byte[addedPlaces.size()][];
+
+        for (int node = 0; node < newNodes.length; node++) {
+            int newNode = newNodes[node];
+
+            if (newNode != -1) {
+                newIds[newNode] = ids.get(node);
+                newLatitudes[newNode] = latitudes.get(node);
+                newLongitudes[newNode] = longitudes.get(node);
+                newNameOffsets[newNode + 1] = newNameOffsets[newNode] + nameOffsets.get(node + 1)
+                        - nameOffsets.get(node);
+            }
+        }
+
+        for (int i = 0; i < addedPlaces.size(); i++) {
+            Place place = addedPlaces.get(i);
+            String name = place.getName();
+            int newNode = keptCount + i;
+            newIds[newNode] = place.getId();
+            newLatitudes[newNode] = place.getPosition().getLatitude();
+            newLongitudes[newNode] = place.getPosition().getLongitude();
+            addedNames[i] = name != null ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            newNameOffsets[newNode + 1] = newNameOffsets[newNode] + addedNames[i].length;
+        }
+
+        byte[] newNames = new byte[newNameOffsets[count]];
+        ByteBuffer source = names.duplicate();
+
+        for (int node = 0; node < newNodes.length; node++) {
+            if (newNodes[node] != -1) {
+                int start = nameOffsets.get(node);
+                source.position(start);
+                source.get(newNames, newNameOffsets[newNodes[node]], nameOffsets.get(node + 1) - start);
+            }
+        }
+
+        for (int i = 0; i < addedNames.length; i++) {
+            System.arraycopy(addedNames[i], 0, newNames, newNameOffsets[keptCount + i], addedNames[i].length);
+        }
+
+        // The kept ids are already in order, only the added ones are sorted
+        long[][] added = new long[addedPlaces.size()][];
+
+        for (int i = 0; i < added.length; i++) {
+            added[i] = new long[] {newIds[keptCount + i], keptCount + i};
+        }
+
+        Arrays.sort(added, BY_ID);
+        long[] newSortedIds = new long[count];
+        int[] newSortedNodes = new int[count];
+        int next = 0;
+        int a = 0;
+
+        for (int i = 0; i < sortedIds.capacity(); i++) {
+            int newNode = newNodes[sortedNodes.get(i)];
+
+            if (newNode != -1) {
+                long id = sortedIds.get(i);
+
+                for (; a < added.length && added[a][0] < id; a++, next++) {
+                    newSortedIds[next] = added[a][0];
+                    newSortedNodes[next] = (int) added[a][1];
+                }
+
+                newSortedIds[next] = id;
+                newSortedNodes[next] = newNode;
+                next++;
+            }
+        }
+
+        for (; a < added.length; a++, next++) {
+            newSortedIds[next] = added[a][0];
+            newSortedNodes[next] = (int) added[a][1];
+        }
+
+        return new PlaceTable(LongBuffer.wrap(newIds), DoubleBuffer.wrap(newLatitudes),
+                DoubleBuffer.wrap(newLongitudes), LongBuffer.wrap(newSortedIds), IntBuffer.wrap(newSortedNodes),
+                IntBuffer.wrap(newNameOffsets), ByteBuffer.wrap(newNames));
+    }
+
+    /**
+     * Gets the number of places in this table.
+     *
+     * @return the number of places.
+     */
+    int size() {
+        return ids.capacity();
+    }
+
+    /**
+     * Gets the place id of the given node.
+     *
+     * @param node a node.
+     * @return a place id.
+     */
+    long getId(int node) {
+        return ids.get(node);
+    }
+
+    /**
+     * Gets the latitude of the given node.
+     *
+     * @param node a node.
+     * @return the latitude in degrees.
+     */
+    double getLatitude(int node) {
+        return latitudes.get(node);
+    }
+
+    /**
+     * Gets the longitude of the given node.
+     *
+     * @param node a node.
+     * @return the longitude in degrees.
+     */
+    double getLongitude(int node) {
+        return longitudes.get(node);
+    }
+
+    /**
+     * Gets the place name of the given node.
+     *
+     * @param node a node.
+     * @return a name.
+     */
+    String getName(int node) {
+        int start = nameOffsets.get(node);
+        byte[] bytes = new byte[nameOffsets.get(node + 1) - start];
+        ByteBuffer name = names.duplicate();
+        name.position(start);
+        name.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Finds the node of the given place id.
+     *
+     * @param placeId a place id.
+     * @return the node or -1 if the id is not in the table.
+     */
+    int indexOf(long placeId) {
+        int low = 0;
+        int high = sortedIds.capacity() - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long id = sortedIds.get(middle);
+
+            if (id < placeId) {
+                low = middle + 1;
+            } else if (id > placeId) {
+                high = middle - 1;
+            } else {
+                return sortedNodes.get(middle);
+            }
+        }
+
+        return -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+/**
+ * Shortest path tree interface. Exposes the distances and parents left by a
+ * single-source search over a {@link Graph}.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public interface ShortestPathTree {
+
+    /**
+     * Gets the graph the tree was built over.
+     *
+     * @return a Graph.
+     */
+    Graph getGraph();
+
+    /**
+     * Gets the distance from the source to the given node.
+     *
+     * @param node a node.
+     * @return the distance if the node was reached; otherwise
+     * {@link Double#POSITIVE_INFINITY}.
+     */
+    double getDistance(int node);
+
+    /**
+     * Gets the previous node of the given node in the tree.
+     *
+     * @param node a node.
+     * @return the parent node or -1 if the node is the source or it was not
+     * reached.
+     */
+    int getParent(int node);
+}
\ No newline at end of file
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+import com.zekke.webapp.util.GeoUtils;
+
+/**
+ * SpatialIndex is a static k-d tree over the nodes of a {@link Graph} that
+ * finds the node nearest to a geographic position in logarithmic time instead
+ * of measuring the distance to every node.
+ * <p>
+ * Nodes are indexed by their position on the unit sphere (x, y, z) rather than
+ * by latitude and longitude, so the tree has no seams at the poles or at the
+ * antimeridian, and the straight line (chord) between two points grows with
+ * their great-circle distance: the nearest node by chord is the nearest node by
+ * great-circle distance, and a chord radius bounds the subtrees worth
+ * visiting. The k nearest nodes are found best-first: subtrees and nodes wait
+ * in a single priority queue keyed by their (lower bound) distance, so nodes
+ * leave the queue nearest first and only the subtrees that might hold a nearer
+ * node are opened. The tree is implicit: the median of every range of {@link #nodes}
+ * is the root of the subtree of that range, split by the axis of its depth.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class SpatialIndex {
+
+    private static final int DIMENSIONS = 3;
+
+    private final Graph graph;
+    private final int[] nodes;
+    private final double[] coordinates;
+
+    /**
+     * Constructs a new SpatialIndex.
+     *
+     * @param graph the indexed graph.
+     * @param nodes the nodes in tree order.
+     * @param coordinates the position on the unit sphere of every node in tree
+     * order.
+     */
+    private SpatialIndex(Graph graph, int[] nodes, double[] coordinates) {
+        this.graph = graph;
+        this.nodes = nodes;
+        this.coordinates = coordinates;
+    }
+
+    /**
+     * Builds the spatial index of the given graph.
+     *
+     * @param graph a graph.
+     * @return a new SpatialIndex.
+     */
+    public static SpatialIndex build(Graph graph) {
+        int nodeCount = graph.getNodeCount();
+        int[] nodes = new int[nodeCount];
+        double[] points = new double[nodeCount * DIMENSIONS];
+
+        for (int node = 0; node < nodeCount; node++) {
+            nodes[node] = node;
+            toUnitVector(graph.getLatitude(node), graph.getLongitude(node), points, node * DIMENSIONS);
+        }
+
+        buildTree(nodes, points, 0, nodeCount, 0);
+
+        double[] coordinates = new double[nodeCount * DIMENSIONS];
+
+        for (int i = 0; i < nodeCount; i++) {
+            System.arraycopy(points, nodes[i] * DIMENSIONS, coordinates, i * DIMENSIONS, DIMENSIONS);
+        }
+
+        return new SpatialIndex(graph, nodes, coordinates);
+    }
+
+    /**
+     * Gets the graph this index was built from.
+     *
+     * @return a Graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Finds the node nearest to the given position.
+     *
+     * @param latitude the latitude in degrees.
+     * @param longitude the longitude in degrees.
+     * @param maxDistance the maximum great-circle distance in meters.
+     * @return the nearest node not farther than the maximum distance;
+     * otherwise -1.
+     */
+    public int findNearest(double latitude, double longitude, double maxDistance) {
+        if (nodes.length == 0 || maxDistance < 0) {
+            return -1;
+        }
+
+        double[] query = new double[DIMENSIONS];
+        toUnitVector(latitude, longitude, query, 0);
+        double maxChord = toChord(maxDistance);
+        // best[0] is the squared chord of the nearest node so far and best[1] its index
+        double[] best = {maxChord * maxChord, -1};
+        findNearest(query, 0, nodes.length, 0, best);
+        return best[1] != -1 ? nodes[(int) best[1]] : -1;
+    }
+
+    /**
+     * Finds the nodes nearest to the given position, the nearest first.
+     *
+     * @param latitude the latitude in degrees.
+     * @param longitude the longitude in degrees.
+     * @param count the maximum number of nodes.
+     * @param maxDistance the maximum great-circle distance in meters.
+     * @return up to count nodes not farther than the maximum distance sorted
+     * by their distance.
+     */
+    public int[] findNearest(double latitude, double longitude, int count, double maxDistance) {
+        if (nodes.length == 0 || count <= 0 || maxDistance < 0) {
+            return new int[0];
+        }
+
+        double[] query = new double[DIMENSIONS];
+        toUnitVector(latitude, longitude, query, 0);
+        double maxChord = toChord(maxDistance);
+        double maxSquaredChord = maxChord * maxChord;
+        int[] found = new int[Math.min(count, nodes.length)];
+        int foundCount = 0;
+        PriorityQueue<Entry> queue = new PriorityQueue<>();
+        queue.add(new Entry(0, 0, nodes.length, 0, new double[DIMENSIONS]));
+
+        while (foundCount < found.length && !queue.isEmpty()) {
+            Entry entry = queue.poll();
+
+            if (entry.squaredChord > maxSquaredChord) {
+                break;
+            }
+
+            if (entry.offsets == null) {
+                found[foundCount++] = nodes[entry.from];
+                continue;
+            }
+
+            int middle = (entry.from + entry.to) >>> 1;
+            queue.add(new Entry(squaredChord(query, middle), middle, middle + 1, 0, null));
+
+            // The near side keeps the bound of the range, the far side is at
+            // least as far as the splitting plane
+            double delta = query[entry.axis] - coordinates[middle * DIMENSIONS + entry.axis];
+            double[] farOffsets = entry.offsets.clone();
+            farOffsets[entry.axis] = delta;
+            double farSquaredChord = entry.squaredChord - entry.offsets[entry.axis] * entry.offsets[entry.axis]
+                    + delta * delta;
+            int nextAxis = (entry.axis + 1) % DIMENSIONS;
+
+            if (entry.from < middle) {
+                queue.add(delta < 0
+                        ? new Entry(entry.squaredChord, entry.from, middle, nextAxis, entry.offsets)
+                        : new Entry(farSquaredChord, entry.from, middle, nextAxis, farOffsets));
+            }
+
+            if (middle + 1 < entry.to) {
+                queue.add(delta < 0
+                        ? new Entry(farSquaredChord, middle + 1, entry.to, nextAxis, farOffsets)
+                        : new Entry(entry.squaredChord, middle + 1, entry.to, nextAxis, entry.offsets));
+            }
+        }
+
+        return Arrays.copyOf(found, foundCount);
+    }
+
+    /**
+     * Visits the subtree of the given range looking for a node nearer than
+     * the best found so far. The side of the splitting plane where the query
+     * is goes first, the other side only if the plane is closer than the best
+     * node.
+     *
+     * @param query the position on the unit sphere to look around.
+     * @param from the first index of the range (inclusive).
+     * @param to the last index of the range (exclusive).
+     * @param axis the splitting axis of the range.
+     * @param best the squared chord and the index of the best node so far.
+     */
+    private void findNearest(double[] query, int from, int to, int axis, double[] best) {
+        if (from >= to) {
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        double squaredChord = squaredChord(query, middle);
+
+        if (squaredChord <= best[0]) {
+            best[0] = squaredChord;
+            best[1] = middle;
+        }
+
+        double delta = query[axis] - coordinates[middle * DIMENSIONS + axis];
+        int nextAxis = (axis + 1) % DIMENSIONS;
+
+        if (delta < 0) {
+            findNearest(query, from, middle, nextAxis, best);
+
+            if (delta * delta <= best[0]) {
+                findNearest(query, middle + 1, to, nextAxis, best);
+            }
+        } else {
+            findNearest(query, middle + 1, to, nextAxis, best);
+
+            if (delta * delta <= best[0]) {
+                findNearest(query, from, middle, nextAxis, best);
+            }
+        }
+    }
+
+    /**
+     * Calculates the squared chord between a query and an indexed node.
+     *
+     * @param query a position on the unit sphere.
+     * @param i the index of the node in tree order.
+     * @return the squared chord.
+     */
+    private double squaredChord(double[] query, int i) {
+        double dx = query[0] - coordinates[i * DIMENSIONS];
+        double dy = query[1] - coordinates[i * DIMENSIONS + 1];
+        double dz = query[2] - coordinates[i * DIMENSIONS + 2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Arranges the given range of nodes as a k-d tree: the median by the
+     * given axis goes to the middle of the range, nodes below it to the left
+     * and nodes above it to the right, and both halves are arranged the same
+     * way by the next axis.
+     *
+     * @param nodes the nodes.
+     * @param points the position on the unit sphere of every node.
+     * @param from the first index of the range (inclusive).
+     * @param to the last index of the range (exclusive).
+     * @param axis the splitting axis.
+     */
+    private static void buildTree(int[] nodes, double[] points, int from, int to, int axis) {
+        if (to - from <= 1) {
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        select(nodes, points, from, to - 1, middle, axis);
+        int nextAxis = (axis + 1) % DIMENSIONS;
+        buildTree(nodes, points, from, middle, nextAxis);
+        buildTree(nodes, points, middle + 1, to, nextAxis);
+    }
+
+    /**
+     * Moves the k-th smallest node by the given axis to index k, smaller
+     * nodes before it and greater nodes after it (quickselect).
+     *
+     * @param nodes the nodes.
+     * @param points the position on the unit sphere of every node.
+     * @param low the first index of the range (inclusive).
+     * @param high the last index of the range (inclusive).
+     * @param k the index to select.
+     * @param axis the axis to compare.
+     */
+    private static void select(int[] nodes, double[] points, int low, int high, int k, int axis) {
+        while (low < high) {
+            double pivot = points[nodes[(low + high) >>> 1] * DIMENSIONS + axis];
+            int i = low;
+            int j = high;
+
+            while (i <= j) {
+                while (points[nodes[i] * DIMENSIONS + axis] < pivot) {
+                    i++;
+                }
+
+                while (points[nodes[j] * DIMENSIONS + axis] > pivot) {
+                    j--;
+                }
+
+                if (i <= j) {
+                    int node = nodes[i];
+                    nodes[i] = nodes[j];
+                    nodes[j] = node;
+                    i++;
+                    j--;
+                }
+            }
+
+            if (k <= j) {
+                high = j;
+            } else if (k >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Converts a geographic position to a point on the unit sphere.
+     *
+     * @param latitude the latitude in degrees.
+     * @param longitude the longitude in degrees.
+     * @param point where to put the point.
+     * @param offset the index of the x coordinate in the point array.
+     */
+    private static void toUnitVector(double latitude, double longitude, double[] point, int offset) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        point[offset] = Math.cos(phi) * Math.cos(lambda);
+        point[offset + 1] = Math.cos(phi) * Math.sin(lambda);
+        point[offset + 2] = Math.sin(phi);
+    }
+
+    /**
+     * Converts a great-circle distance to the chord between its ends on the
+     * unit sphere.
+     *
+     * @param distance the distance in meters.
+     * @return the chord.
+     */
+    private static double toChord(double distance) {
+        double angle = Math.min(distance / GeoUtils.EARTH_RADIUS, Math.PI);
+        return 2 * Math.sin(angle / 2);
+    }
+
+    /**
+     * Entry is either a subtree or a single node waiting in the queue of a
+     * best-first search. Nodes have no offsets.
+     */
+    private static final class Entry implements Comparable<Entry> {
+
+        private final double squaredChord;
+        private final int from;
+        private final int to;
+        private final int axis;
+        private final double[] offsets;
+
+        /**
+         * Constructs a new Entry.
+         *
+         * @param squaredChord the squared chord to the node or a lower bound of
+         * the squared chord to every node of the subtree.
+         * @param from the first index of the range (inclusive).
+         * @param to the last index of the range (exclusive).
+         * @param axis the splitting axis of the range.
+         * @param offsets the distance from the query to the subtree along every
+         * axis or {@code null} for a single node.
+         */
+        Entry(double squaredChord, int from, int to, int axis, double[] offsets) {
+            this.squaredChord = squaredChord;
+            this.from = from;
+            this.to = to;
+            this.axis = axis;
+            this.offsets = offsets;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compareTo(Entry other) {
+            return Double.compare(squaredChord, other.squaredChord);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.zekke.webapp.util.Strings;
+
+/**
+ * TrigramIndex is an inverted index of the place names of a {@link Graph} that
+ * finds the names containing a given text without reading every name. Names
+ * and texts are matched by their search keys, without case nor accents, as
+ * given by {@link Strings#toSearchKey(String)}. Every sequence of three
+ * characters (trigram) of a key points to the nodes whose keys contain it. Trigrams are kept sorted with their postings in compressed
+ * sparse row layout, the same way the graph keeps its edges, and every posting
+ * list is a sorted array of nodes.
+ * <p>
+ * A name contains the text only if it contains every trigram of the text, so
+ * the candidates are the intersection of the postings of those trigrams,
+ * shortest first. Candidates are then checked against the text because the
+ * trigrams may appear in the key in a different order. Texts shorter than a
+ * trigram are checked against every key.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class TrigramIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Graph graph;
+    private final String[] keys;
+    private final long[] trigrams;
+    private final int[] postingOffsets;
+    private final int[] postings;
+    private final int[] nodesByName;
+    private final int[] nameRanks;
+
+    /**
+     * Constructs a new TrigramIndex.
+     *
+     * @param graph the indexed graph.
+     * @param keys the search key of the name of every node.
+     * @param trigrams the trigrams in ascending order.
+     * @param postingOffsets the first posting of every trigram plus a trailing
+     * postings count.
+     * @param postings the nodes of every trigram.
+     * @param nodesByName the nodes ordered by their names.
+     * @param nameRanks the position of every node in name order.
+     */
+    private TrigramIndex(Graph graph, String[] keys, long[] trigrams, int[] postingOffsets, int[] postings,
+            int[] nodesByName, int[] nameRanks) {
+        this.graph = graph;
+        this.keys = keys;
+        this.trigrams = trigrams;
+        this.postingOffsets = postingOffsets;
+        this.postings = postings;
+        this.nodesByName = nodesByName;
+        this.nameRanks = nameRanks;
+    }
+
+    /**
+     * Builds the trigram index of the place names of the given graph.
+     *
+     * @param graph a graph.
+     * @return a new TrigramIndex.
+     */
+    public static TrigramIndex build(final Graph graph) {
+        int nodeCount = graph.getNodeCount();
+        final String[] names = new String[nodeCount];
+        String[] keys = new String[nodeCount];
+        Map<Long, List<Integer>> nodesByTrigram = new HashMap<>();
+        int postingCount = 0;
+
+        // Nodes are visited in ascending order so every posting list comes out sorted
+        for (int node = 0; node < nodeCount; node++) {
+            names[node] = graph.getPlaceName(node);
+            keys[node] = Strings.toSearchKey(names[node]);
+
+            for (long trigram : trigramsOf(keys[node])) {
+                List<Integer> nodes = nodesByTrigram.get(trigram);
+
+                if (nodes == null) {
+                    nodes = new ArrayList<>();
+                    nodesByTrigram.put(trigram, nodes);
+                }
+
+                nodes.add(node);
+                postingCount++;
+            }
+        }
+
+        long[] trigrams = new long[nodesByTrigram.size()];
+        int i = 0;
+
+        for (long trigram : nodesByTrigram.keySet()) {
+            trigrams[i++] = trigram;
+        }
+
+        Arrays.sort(trigrams);
+        int[] postingOffsets = new int[trigrams.length + 1];
+        int[] postings = new int[postingCount];
+
+        for (i = 0; i < trigrams.length; i++) {
+            List<Integer> nodes = nodesByTrigram.get(trigrams[i]);
+            postingOffsets[i + 1] = postingOffsets[i] + nodes.size();
+
+            for (int j = 0; j < nodes.size(); j++) {
+                postings[postingOffsets[i] + j] = nodes.get(j);
+            }
+        }
+
+        Integer[] sortedNodes = new Integer[nodeCount];
+
+        for (int node = 0; node < nodeCount; node++) {
+            sortedNodes[node] = node;
+        }
+
+        Arrays.sort(sortedNodes, new Comparator<Integer>() {
+
+            @Override
+            public int compare(Integer node, Integer other) {
+                int result = names[node].compareTo(names[other]);
+                return result != 0 ? result : Long.compare(graph.getPlaceId(node), graph.getPlaceId(other));
+            }
+        });
+
+        int[] nodesByName = new int[nodeCount];
+        int[] nameRanks = new int[nodeCount];
+
+        for (int rank = 0; rank < nodeCount; rank++) {
+            nodesByName[rank] = sortedNodes[rank];
+            nameRanks[sortedNodes[rank]] = rank;
+        }
+
+        return new TrigramIndex(graph, keys, trigrams, postingOffsets, postings, nodesByName, nameRanks);
+    }
+
+    /**
+     * Gets the graph this index was built from.
+     *
+     * @return a Graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Finds the nodes whose place names contain the given text, ignoring case
+     * and accents.
+     *
+     * @param text a text.
+     * @return the nodes ordered by their names.
+     */
+    public int[] findContaining(String text) {
+        String key = Strings.toSearchKey(text);
+
+        if (key.length() < GRAM_LENGTH) {
+            return filterByKey(nodesByName, nodesByName.length, key);
+        }
+
+        Set<Long> textTrigrams = trigramsOf(key);
+        int[][] lists = new int[textTrigrams.size()][];
+        int i = 0;
+
+        for (long trigram : textTrigrams) {
+            int index = Arrays.binarySearch(trigrams, trigram);
+
+            if (index < 0) {
+                return new int[0];
+            }
+
+            lists[i++] = Arrays.copyOfRange(postings, postingOffsets[index], postingOffsets[index + 1]);
+        }
+
+        Arrays.sort(lists, new Comparator<int[]>() {
+
+            @Override
+            public int compare(int[] list, int[] other) {
+                return Integer.compare(list.length, other.length);
+            }
+        });
+
+        int[] candidates = lists[0];
+        int candidateCount = candidates.length;
+
+        for (i = 1; i < lists.length && candidateCount > 0; i++) {
+            candidateCount = intersect(candidates, candidateCount, lists[i]);
+        }
+
+        // Candidates are put in name order before they're checked
+        int[] ranks = new int[candidateCount];
+
+        for (i = 0; i < candidateCount; i++) {
+            ranks[i] = nameRanks[candidates[i]];
+        }
+
+        Arrays.sort(ranks);
+
+        for (i = 0; i < candidateCount; i++) {
+            candidates[i] = nodesByName[ranks[i]];
+        }
+
+        return filterByKey(candidates, candidateCount, key);
+    }
+
+    /**
+     * Keeps the given candidates whose keys contain the given key, in the
+     * same order.
+     *
+     * @param candidates the candidate nodes.
+     * @param candidateCount the number of candidates.
+     * @param key a search key.
+     * @return the nodes whose keys contain the key.
+     */
+    private int[] filterByKey(int[] candidates, int candidateCount, String key) {
+        int[] found = new int[candidateCount];
+        int foundCount = 0;
+
+        for (int i = 0; i < candidateCount; i++) {
+            if (keys[candidates[i]].contains(key)) {
+                found[foundCount++] = candidates[i];
+            }
+        }
+
+        return Arrays.copyOf(found, foundCount);
+    }
+
+    /**
+     * Keeps the nodes of the first list that are also in the second one. The
+     * second list is searched by binary search from the last match, so
+     * intersecting a short list with a long one doesn't read the whole long
+     * one.
+     *
+     * @param nodes a sorted list of nodes, where the result is put.
+     * @param count the number of nodes in the first list.
+     * @param other another sorted list of nodes.
+     * @return the number of nodes in the intersection.
+     */
+    private static int intersect(int[] nodes, int count, int[] other) {
+        int kept = 0;
+        int from = 0;
+
+        for (int i = 0; i < count && from < other.length; i++) {
+            int index = Arrays.binarySearch(other, from, other.length, nodes[i]);
+
+            if (index >= 0) {
+                nodes[kept++] = nodes[i];
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+        }
+
+        return kept;
+    }
+
+    /**
+     * Extracts the distinct trigrams of the given text. Every trigram is
+     * packed in a long, 16 bits per character.
+     *
+     * @param text a text.
+     * @return the trigrams.
+     */
+    private static Set<Long> trigramsOf(String text) {
+        Set<Long> trigrams = new HashSet<>();
+
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+
+        return trigrams;
+    }
+}
\ No newline at end of file
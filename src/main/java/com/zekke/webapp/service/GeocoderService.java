@@ -18,6 +18,7 @@ package com.zekke.webapp.service;
 import java.util.List;
 
 import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.NearbyPlace;
 import com.zekke.webapp.data.Place;
 
 /**
@@ -37,6 +38,17 @@ public interface GeocoderService {
      */
     Place findByPosition(GeoPoint position);
 
+    /**
+     * Retrieves the places nearest to the given geographic point, the nearest
+     * first.
+     *
+     * @param position a geographic point.
+     * @param count the maximum number of places.
+     * @param maxRadius the maximum distance to the places in meters.
+     * @return a list of places with their distances.
+     */
+    List<NearbyPlace> findNearest(GeoPoint position, int count, double maxRadius);
+
     /**
      * Retrieves the list of places with a name like the given name.
      *
@@ -45,6 +57,28 @@ public interface GeocoderService {
      */
     List<Place> findLikeName(String name);
 
+    /**
+     * Retrieves the places with a name that starts with a text within the
+     * given number of spelling mistakes of the given name, ignoring case and
+     * accents, the nearest names first.
+     *
+     * @param name a name, possibly misspelled.
+     * @param maxEdits the maximum number of inserted, deleted or replaced
+     * characters.
+     * @return a list of places.
+     */
+    List<Place> findSimilarToName(String name, int maxEdits);
+
+    /**
+     * Retrieves the places' names that start with the given prefix, ignoring
+     * case, shorter names first.
+     *
+     * @param prefix a prefix.
+     * @param count the maximum number of names.
+     * @return a list of places' names.
+     */
+    List<String> findNamesStartingWith(String prefix, int count);
+
     /**
      * Retrieves the list of places' names that are in the radius of the given
      * geographic point with the name like the given name.
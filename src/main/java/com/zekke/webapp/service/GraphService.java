@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service;
+
+import com.zekke.webapp.data.graph.Graph;
+import com.zekke.webapp.data.graph.GraphDelta;
+
+/**
+ * Graph service interface. Provides an in-memory graph of all the places and
+ * paths so routing doesn't need to access the data source on every query.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public interface GraphService {
+
+    /**
+     * Retrieves the current graph of all the places and paths. The graph is
+     * loaded from the data source only the first time; after that it's
+     * replaced only by {@link #reload()}, {@link #refresh()} or
+     * {@link #update(GraphDelta)}. Callers should get the graph once per query
+     * and use that same snapshot until the query is done.
+     *
+     * @return a Graph.
+     */
+    Graph getGraph();
+
+    /**
+     * Loads a new graph from the data source and makes it the current one.
+     * Queries running on the previous graph are not affected.
+     *
+     * @return the new Graph, its version is greater than the version of any
+     * previous graph.
+     */
+    Graph reload();
+
+    /**
+     * Brings the graph up to date when places or paths were added to,
+     * removed from or edited in the data source since the current graph was
+     * built, so the in-memory graph follows the data source without a
+     * restart. Added rows are applied as a {@link GraphDelta} like
+     * {@link #update(GraphDelta)} does; removed or edited rows, such as a
+     * re-weighted path or a renamed or moved place, make it {@link #reload()}.
+     */
+    void refresh();
+
+    /**
+     * Derives a new graph from the current one applying the given changes
+     * and makes it the current one, without reading the data source again.
+     * Data derived from the previous graph is kept when the changes don't
+     * affect it. {@link #refresh()} uses it for the rows added to the data
+     * source; applications that edit places and paths through their own DAOs
+     * call it with their edits so routing picks them up right away.
+     *
+     * @param delta the place and path changes.
+     * @return the new Graph.
+     */
+    Graph update(GraphDelta delta);
+}
\ No newline at end of file
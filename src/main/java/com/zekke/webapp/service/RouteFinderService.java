@@ -15,8 +15,14 @@
  */
 package com.zekke.webapp.service;
 
+import java.util.List;
+
+import com.zekke.webapp.data.DistanceMatrix;
 import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.ReachablePlace;
 import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.RouteQuery;
+import com.zekke.webapp.data.RouteResult;
 
 /**
  * Route finder service interface. Provides a optimal routes for private spaces.
@@ -35,4 +41,57 @@ public interface RouteFinderService {
      * @return a Route.
      */
     Route findRoute(GeoPoint rootPosition, GeoPoint targetPosition);
+
+    /**
+     * Provides up to the given number of alternative routes without loops
+     * between the given positions, the optimal one first.
+     *
+     * @param rootPosition the root geographic position.
+     * @param targetPosition the target geographic position.
+     * @param maxRoutes the maximum number of routes.
+     * @return a list of Route sorted by distance, empty if there's no route.
+     */
+    List<Route> findRoutes(GeoPoint rootPosition, GeoPoint targetPosition, int maxRoutes);
+
+    /**
+     * Provides every place reachable from the given position within the given
+     * route distance.
+     *
+     * @param rootPosition the root geographic position.
+     * @param maxDistance the maximum route distance.
+     * @return a list of ReachablePlace sorted by distance, the root first.
+     */
+    List<ReachablePlace> findIsochrone(GeoPoint rootPosition, double maxDistance);
+
+    /**
+     * Provides a short route visiting every given position, starting in the
+     * first one. The visiting order is optimal for a few positions and a
+     * good approximation for many.
+     *
+     * @param stopPositions the geographic positions to visit.
+     * @param roundTrip whether the route goes back to the first position.
+     * @return a Route through every position, {@code null} if there's no
+     * position.
+     */
+    Route findTour(List<GeoPoint> stopPositions, boolean roundTrip);
+
+    /**
+     * Provides the optimal route distances from every source position to
+     * every target position. Positions without a place get {@code null}
+     * places and distances.
+     *
+     * @param sourcePositions the source geographic positions.
+     * @param targetPositions the target geographic positions.
+     * @return a DistanceMatrix.
+     */
+    DistanceMatrix findDistanceMatrix(List<GeoPoint> sourcePositions, List<GeoPoint> targetPositions);
+
+    /**
+     * Provides the optimal route of every query. Queries are independent, if
+     * one fails its result holds the error and the rest are still answered.
+     *
+     * @param queries a list of route queries.
+     * @return a RouteResult for every query in the same order.
+     */
+    List<RouteResult> findRouteBatch(List<RouteQuery> queries);
 }
\ No newline at end of file
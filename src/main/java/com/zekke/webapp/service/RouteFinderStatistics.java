@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service;
+
+/**
+ * Route finder statistics interface. Exposes the work done by a
+ * {@link RouteFinderService} so different algorithms can be compared, and the
+ * counters of its route cache so it can be sized.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public interface RouteFinderStatistics {
+
+    /**
+     * Gets the number of searches run so far.
+     *
+     * @return the number of searches.
+     */
+    long getSearchCount();
+
+    /**
+     * Gets the total number of nodes settled (expanded) by the searches run so
+     * far.
+     *
+     * @return the number of settled nodes.
+     */
+    long getSettledNodeCount();
+
+    /**
+     * Gets the number of routes found in the route cache.
+     *
+     * @return the number of cache hits.
+     */
+    long getCacheHitCount();
+
+    /**
+     * Gets the number of routes not found in the route cache.
+     *
+     * @return the number of cache misses.
+     */
+    long getCacheMissCount();
+
+    /**
+     * Gets the number of routes evicted to keep the route cache bounded.
+     *
+     * @return the number of cache evictions.
+     */
+    long getCacheEvictionCount();
+
+    /**
+     * Gets the number of cached routes removed because a graph update
+     * affected them.
+     *
+     * @return the number of invalidated routes.
+     */
+    long getCacheInvalidationCount();
+
+    /**
+     * Gets the number of routes in the route cache.
+     *
+     * @return the size of the cache.
+     */
+    int getCacheSize();
+
+    /**
+     * Gets the maximum number of routes in the route cache.
+     *
+     * @return the maximum size of the cache.
+     */
+    int getCacheMaxSize();
+
+    /**
+     * Gets the memory used by the tables precomputed for the current graph,
+     * such as all pairs shortest path tables.
+     *
+     * @return the size of the tables in bytes or 0 if the service doesn't
+     * precompute tables or hasn't computed them yet.
+     */
+    long getPrecomputedSize();
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import javax.inject.Named;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.graph.AStarSearch;
+import com.zekke.webapp.data.graph.Graph;
+
+/**
+ * Implementation of RouteFinderService interface. Provides a optimal routes for
+ * private spaces using the A* algorithm guided by the great-circle distance
+ * between places, so it settles far less nodes than Dijkstra's algorithm on
+ * long routes. The number of settled nodes is available through
+ * {@link com.zekke.webapp.service.RouteFinderStatistics}.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+@Named("aStarRouteFinderService")
+public class AStarRouteFinderService extends BaseRouteFinderService {
+
+    private static final long serialVersionUID = 6135263406432914372L;
+    private static final Logger LOG = LoggerFactory.getLogger(AStarRouteFinderService.class);
+
+    private transient ThreadLocalSearch<Graph, AStarSearch> searches = new ThreadLocalSearch<Graph, AStarSearch>() {
+
+        @Override
+        protected AStarSearch create(Graph graph) {
+            return new AStarSearch(graph);
+        }
+    };
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Route findRoute(Graph graph, int root, int target) {
+        AStarSearch search = searches.get(graph);
+        boolean found = search.search(root, target);
+        recordSearch(search.getSettledCount());
+        return found ? buildRoute(search, target) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import javax.inject.Named;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.graph.AllPairsTable;
+import com.zekke.webapp.data.graph.DijkstraSearch;
+import com.zekke.webapp.data.graph.Graph;
+
+/**
+ * Implementation of RouteFinderService interface. Provides a optimal routes for
+ * private spaces from precomputed all pairs shortest path tables, so finding a
+ * route only walks its path. The tables are computed at startup if
+ * {@code routeFinder.allPairs.precompute} is set, otherwise the first time a
+ * route is requested, and again when the graph changes. Graphs with more nodes
+ * than {@code routeFinder.allPairs.maxNodeCount} don't get tables and their
+ * routes are searched on demand with the Dijkstra's algorithm.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+@Named("allPairsRouteFinderService")
+public class AllPairsRouteFinderService extends BaseRouteFinderService
+        implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final long serialVersionUID = -5233861702954913217L;
+    private static final Logger LOG = LoggerFactory.getLogger(AllPairsRouteFinderService.class);
+
+    private int maxNodeCount;
+    private boolean precompute;
+    private transient volatile AllPairsTable table;
+
+    /**
+     * Computes the tables of the current graph if
+     * {@code routeFinder.allPairs.precompute} is set.
+     *
+     * @param event the event published when the application context is
+     * refreshed.
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (precompute) {
+            getTable(getGraphService().getGraph());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Route findRoute(Graph graph, int root, int target) {
+        AllPairsTable current = getTable(graph);
+
+        if (current == null) {
+            DijkstraSearch search = getDijkstraSearch(graph);
+            boolean found = search.search(root, target);
+            recordSearch(search.getSettledCount());
+            return found ? buildRoute(search, target) : null;
+        }
+
+        // Walking the tables doesn't settle any node
+        recordSearch(0);
+        int[] path = current.getPath(root, target);
+        return path.length > 0 ? buildRoute(graph, path, current.getDistance(root, target)) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPrecomputedSize() {
+        AllPairsTable current = table;
+        return current != null ? current.getTableSize() : 0;
+    }
+
+    /**
+     * Gets the tables of the given graph computing them if needed.
+     *
+     * @param graph a Graph.
+     * @return the AllPairsTable of the graph or {@code null} if the graph has
+     * too many nodes.
+     */
+    private AllPairsTable getTable(Graph graph) {
+        if (graph.getNodeCount() > maxNodeCount) {
+            LOG.debug("{} has more than {} nodes, searching on demand", graph, maxNodeCount);
+            return null;
+        }
+
+        AllPairsTable current = table;
+
+        if (current == null || current.getGraph() != graph) {
+            synchronized (this) {
+                current = table;
+
+                if (current == null || current.getGraph() != graph) {
+                    long start = System.currentTimeMillis();
+                    current = AllPairsTable.build(graph, Runtime.getRuntime().availableProcessors());
+                    LOG.info("Built {} in {} ms", current, System.currentTimeMillis() - start);
+                    table = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Sets the maximum number of nodes of a graph to compute its tables. It's
+     * currently used by Spring.
+     *
+     * @param maxNodeCount the maximum number of nodes, from 0 to
+     * {@link AllPairsTable#MAX_NODE_COUNT}.
+     * @throws IllegalArgumentException if the maximum number of nodes is out
+     * of range.
+     */
+    @Value("${routeFinder.allPairs.maxNodeCount:1000}")
+    public void setMaxNodeCount(int maxNodeCount) {
+        if (maxNodeCount < 0 || maxNodeCount > AllPairsTable.MAX_NODE_COUNT) {
+            throw new IllegalArgumentException("routeFinder.allPairs.maxNodeCount must be between 0 and "
+                    + AllPairsTable.MAX_NODE_COUNT + " but it's " + maxNodeCount);
+        }
+
+        this.maxNodeCount = maxNodeCount;
+    }
+
+    /**
+     * Sets whether the tables are computed at startup. It's currently used by
+     * Spring.
+     *
+     * @param precompute {@code true} to compute the tables at startup.
+     */
+    @Value("${routeFinder.allPairs.precompute:false}")
+    public void setPrecompute(boolean precompute) {
+        this.precompute = precompute;
+    }
+}
\ No newline at end of file
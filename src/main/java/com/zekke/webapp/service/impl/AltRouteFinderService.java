@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import javax.inject.Named;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.graph.AStarSearch;
+import com.zekke.webapp.data.graph.Graph;
+import com.zekke.webapp.data.graph.LandmarkTable;
+
+/**
+ * Implementation of RouteFinderService interface. Provides a optimal routes for
+ * private spaces using the A* algorithm guided by landmark distances and the
+ * triangle inequality (ALT), which gives much tighter estimates than the
+ * great-circle distance where paths wind around buildings. The landmark tables
+ * are built the first time a route is requested over a graph and rebuilt when
+ * the graph changes. The number of settled nodes is available through
+ * {@link com.zekke.webapp.service.RouteFinderStatistics}.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+@Named("altRouteFinderService")
+public class AltRouteFinderService extends BaseRouteFinderService {
+
+    private static final long serialVersionUID = 3297126069254720584L;
+    private static final Logger LOG = LoggerFactory.getLogger(AltRouteFinderService.class);
+
+    private int landmarkCount;
+    private transient volatile LandmarkTable landmarkTable;
+    private transient ThreadLocalSearch<LandmarkTable, AStarSearch> searches = new ThreadLocalSearch<LandmarkTable, AStarSearch>() {
+
+        @Override
+        protected AStarSearch create(LandmarkTable landmarkTable) {
+            return new AStarSearch(landmarkTable.getGraph(), landmarkTable);
+        }
+    };
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Route findRoute(Graph graph, int root, int target) {
+        AStarSearch search = searches.get(getLandmarkTable(graph));
+        boolean found = search.search(root, target);
+        recordSearch(search.getSettledCount());
+        return found ? buildRoute(search, target) : null;
+    }
+
+    /**
+     * Gets the landmark table of the given graph building it, or reusing the
+     * previous one when the changes allow it, if needed.
+     *
+     * @param graph a Graph.
+     * @return the LandmarkTable of the graph.
+     */
+    private LandmarkTable getLandmarkTable(Graph graph) {
+        LandmarkTable current = landmarkTable;
+
+        if (current == null || current.getGraph() != graph) {
+            synchronized (this) {
+                current = landmarkTable;
+
+                if (current == null || current.getGraph() != graph) {
+                    long start = System.currentTimeMillis();
+                    current = LandmarkTable.update(current, graph, landmarkCount);
+                    LOG.info("Built {} in {} ms", current, System.currentTimeMillis() - start);
+                    landmarkTable = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Sets the number of landmarks. It's currently used by Spring.
+     *
+     * @param landmarkCount the number of landmarks.
+     */
+    @Value("${routeFinder.alt.landmarkCount:8}")
+    public void setLandmarkCount(int landmarkCount) {
+        this.landmarkCount = landmarkCount;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,790 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import com.zekke.webapp.data.DistanceMatrix;
+import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.Place;
+import com.zekke.webapp.data.ReachablePlace;
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.RouteQuery;
+import com.zekke.webapp.data.RouteResult;
+import com.zekke.webapp.data.graph.ConnectedComponents;
+import com.zekke.webapp.data.graph.DijkstraSearch;
+import com.zekke.webapp.data.graph.Graph;
+import com.zekke.webapp.data.graph.KShortestPathsSearch;
+import com.zekke.webapp.data.graph.ShortestPathTree;
+import com.zekke.webapp.service.GraphService;
+import com.zekke.webapp.service.RouteFinderService;
+import com.zekke.webapp.service.RouteFinderStatistics;
+import com.zekke.webapp.service.ServiceException;
+import com.zekke.webapp.util.GeoUtils;
+
+/**
+ * BaseRouteFinderService class serves as a base class for the RouteFinderService
+ * implementations that route over the in-memory {@link Graph} provided by
+ * {@link GraphService}. It resolves the root and target places with the
+ * spatial index of the graph and validates them, keeps the latest routes in
+ * a {@link RouteCache} keyed by the ids of those places and keeps statistics
+ * of the searches, subclasses only have to find the route between two nodes.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public abstract class BaseRouteFinderService implements RouteFinderService, RouteFinderStatistics, Serializable {
+
+    private static final long serialVersionUID = 4411830557063377284L;
+    private static final Logger LOG = LoggerFactory.getLogger(BaseRouteFinderService.class);
+
+    private GraphService graphService;
+    private transient ForkJoinPool forkJoinPool;
+    private final AtomicLong searchCount = new AtomicLong();
+    private final AtomicLong settledNodeCount = new AtomicLong();
+    private transient RouteCache routeCache = new RouteCache(0);
+    private transient ThreadLocalSearch<Graph, DijkstraSearch> dijkstraSearches = new ThreadLocalSearch<Graph, DijkstraSearch>() {
+
+        @Override
+        protected DijkstraSearch create(Graph graph) {
+            return new DijkstraSearch(graph);
+        }
+    };
+    private transient ThreadLocalSearch<Graph, KShortestPathsSearch> kShortestPathsSearches = new ThreadLocalSearch<Graph, KShortestPathsSearch>() {
+
+        @Override
+        protected KShortestPathsSearch create(Graph graph) {
+            return new KShortestPathsSearch(graph);
+        }
+    };
+    private transient volatile ConnectedComponents connectedComponents;
+    private long tourTimeBudget = 1000;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Route findRoute(GeoPoint rootPosition, GeoPoint targetPosition) {
+        Graph graph = graphService.getGraph();
+        int root = findNode(graph, rootPosition);
+        int target = findNode(graph, targetPosition);
+
+        validateRootAndTarget(graph, root, target);
+
+        return findCachedRoute(graph, root, target);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Route> findRoutes(GeoPoint rootPosition, GeoPoint targetPosition, int maxRoutes) {
+        Graph graph = graphService.getGraph();
+        int root = findNode(graph, rootPosition);
+        int target = findNode(graph, targetPosition);
+
+        validateRootAndTarget(graph, root, target);
+
+        KShortestPathsSearch search = kShortestPathsSearches.get(graph);
+        int count = search.search(root, target, maxRoutes);
+        recordSearch(search.getSettledCount());
+        List<Route> routes = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            routes.add(buildRoute(graph, search.getPath(i), search.getDistance(i)));
+        }
+
+        return routes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ReachablePlace> findIsochrone(GeoPoint rootPosition, double maxDistance) {
+        Graph graph = graphService.getGraph();
+        int root = findNode(graph, rootPosition);
+
+        if (root == -1) {
+            throw new ServiceException.Builder()
+                    .setMessageResource("routeFinderService.root.notFound")
+                    .build();
+        }
+
+        // The bounded search settles the nodes in distance order so no sorting is needed
+        DijkstraSearch search = getDijkstraSearch(graph);
+        int count = search.searchWithin(root, maxDistance);
+        recordSearch(count);
+        List<ReachablePlace> places = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            int node = search.getSettledNode(i);
+            ReachablePlace place = new ReachablePlace();
+            place.setPlace(graph.getPlace(node));
+            place.setDistance(search.getDistance(node));
+            places.add(place);
+        }
+
+        return places;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Route findTour(List<GeoPoint> stopPositions, boolean roundTrip) {
+        Graph graph = graphService.getGraph();
+        int[] stops = new int[stopPositions.size()];
+
+        for (int i = 0; i < stops.length; i++) {
+            stops[i] = findNode(graph, stopPositions.get(i));
+
+            if (stops[i] == -1) {
+                throw new ServiceException.Builder()
+                        .setMessageResource("routeFinderService.stop.notFound")
+                        .addResourceFormatArg(i + 1)
+                        .build();
+            }
+        }
+
+        if (stops.length == 0) {
+            return null;
+        }
+
+        double[][] distances = new double[stops.length][];
+        int[][][] legPaths = new int[stops.length][][];
+        forkJoinPool.invoke(new DistanceRowTask(graph, stops, distances, legPaths, 0, stops.length));
+
+        // Every stop has to be reachable from the first one, and the first one from every stop in a round trip
+        for (int i = 1; i < stops.length; i++) {
+            if (distances[0][i] == Double.POSITIVE_INFINITY
+                    || (roundTrip && distances[i][0] == Double.POSITIVE_INFINITY)) {
+                throw new ServiceException.Builder()
+                        .setMessageResource("routeFinderService.stop.unreachable")
+                        .addResourceFormatArg(i + 1)
+                        .build();
+            }
+        }
+
+        int[] order = new TourSolver(distances, roundTrip).solve(tourTimeBudget);
+        int legCount = roundTrip && stops.length > 1 ? stops.length : stops.length - 1;
+        int nodeCount = 1;
+
+        for (int leg = 0; leg < legCount; leg++) {
+            int from = order[leg];
+            int to = order[(leg + 1) % stops.length];
+
+            // The solver only picks an unreachable leg when there's no way around it
+            if (distances[from][to] == Double.POSITIVE_INFINITY) {
+                throw new ServiceException.Builder()
+                        .setMessageResource("routeFinderService.stop.unreachable")
+                        .addResourceFormatArg(to + 1)
+                        .build();
+            }
+
+            nodeCount += legPaths[from][to].length - 1;
+        }
+
+        // The legs come from the paths of the row searches, so no route is searched again
+        int[] path = new int[nodeCount];
+        double distance = 0.0;
+        path[0] = stops[0];
+        int pathLength = 1;
+
+        for (int leg = 0; leg < legCount; leg++) {
+            int from = order[leg];
+            int to = order[(leg + 1) % stops.length];
+            int[] legPath = legPaths[from][to];
+            System.arraycopy(legPath, 1, path, pathLength, legPath.length - 1);
+            pathLength += legPath.length - 1;
+            distance += distances[from][to];
+        }
+
+        return buildRoute(graph, path, distance);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<RouteResult> findRouteBatch(List<RouteQuery> queries) {
+        Graph graph = graphService.getGraph();
+        int[] roots = new int[queries.size()];
+        int[] targets = new int[queries.size()];
+        RouteResult[] results = new RouteResult[queries.size()];
+
+        // Places are resolved up front so the workers only route
+        for (int i = 0; i < results.length; i++) {
+            results[i] = new RouteResult();
+            roots[i] = findNode(graph, queries.get(i).getRoot());
+            targets[i] = findNode(graph, queries.get(i).getTarget());
+
+            try {
+                validateRootAndTarget(graph, roots[i], targets[i]);
+            } catch (ServiceException ex) {
+                results[i].setError(ex.getMessage());
+                roots[i] = -1;
+            }
+        }
+
+        forkJoinPool.invoke(new RouteBatchTask(graph, roots, targets, results, 0, results.length));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DistanceMatrix findDistanceMatrix(List<GeoPoint> sourcePositions, List<GeoPoint> targetPositions) {
+        Graph graph = graphService.getGraph();
+        List<Place> sources = readPlaces(graph, sourcePositions);
+        List<Place> targets = readPlaces(graph, targetPositions);
+        int[] targetNodes = new int[targets.size()];
+
+        for (int j = 0; j < targetNodes.length; j++) {
+            targetNodes[j] = findNode(graph, targets.get(j));
+        }
+
+        // One single source search per source settles every target at once
+        DijkstraSearch search = getDijkstraSearch(graph);
+        List<List<Double>> distances = new ArrayList<>(sources.size());
+
+        for (Place source : sources) {
+            int sourceNode = findNode(graph, source);
+            List<Double> row = new ArrayList<>(targetNodes.length);
+
+            if (sourceNode != -1) {
+                search.search(sourceNode, targetNodes);
+                recordSearch(search.getSettledCount());
+            }
+
+            for (int targetNode : targetNodes) {
+                row.add(sourceNode != -1 && targetNode != -1 && search.isSettled(targetNode)
+                        ? search.getDistance(targetNode)
+                        : null);
+            }
+
+            distances.add(row);
+        }
+
+        DistanceMatrix matrix = new DistanceMatrix();
+        matrix.setSources(sources);
+        matrix.setTargets(targets);
+        matrix.setDistances(distances);
+        return matrix;
+    }
+
+    /**
+     * Finds the optimal route between the given nodes looking for it first in
+     * the route cache.
+     *
+     * @param graph the graph to route over.
+     * @param root the root node.
+     * @param target the target node.
+     * @return the optimal Route.
+     * @throws ServiceException if the target can't be reached from the root,
+     * which is only possible when the connected components of the graph
+     * aren't complete.
+     */
+    private Route findCachedRoute(Graph graph, int root, int target) {
+        long rootId = graph.getPlaceId(root);
+        long targetId = graph.getPlaceId(target);
+        Route route = routeCache.get(graph, rootId, targetId);
+
+        if (route == null) {
+            route = findRoute(graph, root, target);
+
+            if (route == null) {
+                LOG.debug("No route between {} and {}", graph.getPlace(root), graph.getPlace(target));
+                throw new ServiceException.Builder()
+                        .setMessageResource("routeFinderService.target.unreachable")
+                        .build();
+            }
+
+            routeCache.put(graph, rootId, targetId, route);
+        }
+
+        return route;
+    }
+
+    /**
+     * Finds the optimal route between the given nodes.
+     *
+     * @param graph the graph to route over.
+     * @param root the root node.
+     * @param target the target node.
+     * @return the optimal Route if exists; otherwise {@code null}.
+     */
+    protected abstract Route findRoute(Graph graph, int root, int target);
+
+    /**
+     * Gets the Dijkstra search of the current thread over the given graph.
+     * The search is reused by the next search of the thread, so its results
+     * must be read before that.
+     *
+     * @param graph the graph to route over.
+     * @return a DijkstraSearch.
+     */
+    protected DijkstraSearch getDijkstraSearch(Graph graph) {
+        return dijkstraSearches.get(graph);
+    }
+
+    /**
+     * Records the work done by a search. The totals are available through
+     * {@link #getSearchCount()} and {@link #getSettledNodeCount()}.
+     *
+     * @param settledNodes the number of nodes settled (expanded) by the
+     * search.
+     */
+    protected void recordSearch(int settledNodes) {
+        searchCount.incrementAndGet();
+        settledNodeCount.addAndGet(settledNodes);
+        LOG.debug("{} settled {} nodes", getClass().getSimpleName(), settledNodes);
+    }
+
+    /**
+     * Builds a route from the root of the given tree to the given target.
+     *
+     * @param tree a shortest path tree.
+     * @param target the target node.
+     * @return a Route whose path goes from the target to the root.
+     */
+    protected Route buildRoute(ShortestPathTree tree, int target) {
+        List<Place> path = new ArrayList<>();
+        int pathNode = target;
+
+        while (pathNode != -1) {
+            path.add(tree.getGraph().getPlace(pathNode));
+            pathNode = tree.getParent(pathNode);
+        }
+
+        Route route = new Route();
+        route.setDistance(tree.getDistance(target));
+        route.setPath(path);
+        return route;
+    }
+
+    /**
+     * Gets the path from the root of the given tree to the given target.
+     *
+     * @param tree a shortest path tree.
+     * @param target a node reached by the tree.
+     * @return the nodes from the root to the target.
+     */
+    protected int[] getPath(ShortestPathTree tree, int target) {
+        int length = 0;
+
+        for (int pathNode = target; pathNode != -1; pathNode = tree.getParent(pathNode)) {
+            length++;
+        }
+
+        int[] path = new int[length];
+
+        for (int pathNode = target; pathNode != -1; pathNode = tree.getParent(pathNode)) {
+            path[--length] = pathNode;
+        }
+
+        return path;
+    }
+
+    /**
+     * Builds a route from the given nodes.
+     *
+     * @param graph the graph of the nodes.
+     * @param path the nodes from the root to the target.
+     * @param distance the distance of the path.
+     * @return a Route whose path goes from the target to the root.
+     */
+    protected Route buildRoute(Graph graph, int[] path, double distance) {
+        List<Place> places = new ArrayList<>(path.length);
+
+        for (int i = path.length - 1; i >= 0; i--) {
+            places.add(graph.getPlace(path[i]));
+        }
+
+        Route route = new Route();
+        route.setDistance(distance);
+        route.setPath(places);
+        return route;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getSearchCount() {
+        return searchCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getSettledNodeCount() {
+        return settledNodeCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCacheHitCount() {
+        return routeCache.getHitCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCacheMissCount() {
+        return routeCache.getMissCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCacheEvictionCount() {
+        return routeCache.getEvictionCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCacheInvalidationCount() {
+        return routeCache.getInvalidationCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCacheSize() {
+        return routeCache.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCacheMaxSize() {
+        return routeCache.getMaxSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPrecomputedSize() {
+        return 0;
+    }
+
+    /**
+     * Finds the node of the given place in the given graph.
+     *
+     * @param graph the graph.
+     * @param place a Place, may be {@code null}.
+     * @return the node of the place if it exists; otherwise -1.
+     */
+    private int findNode(Graph graph, Place place) {
+        return place != null ? graph.indexOf(place.getId()) : -1;
+    }
+
+    /**
+     * Finds the node of the place in the given position with the spatial
+     * index of the given graph.
+     *
+     * @param graph the graph.
+     * @param position a geographic position, may be {@code null}.
+     * @return the node of the place in the position if it exists; otherwise
+     * -1.
+     */
+    private int findNode(Graph graph, GeoPoint position) {
+        if (position == null || position.getLatitude() == null || position.getLongitude() == null) {
+            return -1;
+        }
+
+        return graph.getSpatialIndex().findNearest(position.getLatitude(), position.getLongitude(),
+                GeoUtils.PLACE_RADIUS);
+    }
+
+    /**
+     * Reads the places in the given positions.
+     *
+     * @param graph the graph.
+     * @param positions a list of geographic positions.
+     * @return the place in each position, {@code null} if there's no place
+     * or it's not in the graph.
+     */
+    private List<Place> readPlaces(Graph graph, List<GeoPoint> positions) {
+        List<Place> places = new ArrayList<>(positions.size());
+
+        for (GeoPoint position : positions) {
+            int node = findNode(graph, position);
+            places.add(node != -1 ? graph.getPlace(node) : null);
+        }
+
+        return places;
+    }
+
+    /**
+     * Asserts that root and target exist and that the target is reachable
+     * from the root, which saves a search that would settle the whole
+     * component of the root.
+     *
+     * @param graph the graph.
+     * @param root the root node.
+     * @param target the target node.
+     */
+    private void validateRootAndTarget(Graph graph, int root, int target) {
+        if (root == -1 && target == -1) {
+            throw new ServiceException.Builder()
+                    .setMessageResource("routeFinderService.rootAndTarget.notFound")
+                    .build();
+        } else if (root == -1) {
+            throw new ServiceException.Builder()
+                    .setMessageResource("routeFinderService.root.notFound")
+                    .build();
+        } else if (target == -1) {
+            throw new ServiceException.Builder()
+                    .setMessageResource("routeFinderService.target.notFound")
+                    .build();
+        } else if (getConnectedComponents(graph).isUnreachable(root, target)) {
+            throw new ServiceException.Builder()
+                    .setMessageResource("routeFinderService.target.unreachable")
+                    .build();
+        }
+    }
+
+    /**
+     * Gets the connected components of the given graph finding them, or
+     * reusing the previous ones when the changes allow it, if needed.
+     *
+     * @param graph a Graph.
+     * @return the ConnectedComponents of the graph.
+     */
+    private ConnectedComponents getConnectedComponents(Graph graph) {
+        ConnectedComponents current = connectedComponents;
+
+        if (current == null || current.getGraph() != graph) {
+            synchronized (this) {
+                current = connectedComponents;
+
+                if (current == null || current.getGraph() != graph) {
+                    long start = System.currentTimeMillis();
+                    current = ConnectedComponents.update(current, graph);
+                    LOG.info("Built {} in {} ms", current, System.currentTimeMillis() - start);
+                    connectedComponents = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Gets the current GraphService.
+     *
+     * @return a GraphService.
+     */
+    protected GraphService getGraphService() {
+        return graphService;
+    }
+
+    /**
+     * Sets the maximum number of routes to cache, 0 disables the cache. It's
+     * currently used by Spring.
+     *
+     * @param cacheMaxSize the maximum number of cached routes.
+     */
+    @Value("${routeFinder.cache.maxSize:1000}")
+    public void setCacheMaxSize(int cacheMaxSize) {
+        routeCache = new RouteCache(cacheMaxSize);
+    }
+
+    /**
+     * Sets the maximum time to improve the visiting order of a tour that
+     * can't be solved exactly. It's currently used by Spring.
+     *
+     * @param tourTimeBudget the time budget in milliseconds.
+     */
+    @Value("${routeFinder.tour.timeBudget:1000}")
+    public void setTourTimeBudget(long tourTimeBudget) {
+        this.tourTimeBudget = tourTimeBudget;
+    }
+
+    /**
+     * Sets the ForkJoinPool where batches run. It's currently used by Spring.
+     *
+     * @param forkJoinPool a ForkJoinPool.
+     */
+    @Inject
+    public void setForkJoinPool(@Named("routeFinderForkJoinPool") ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Sets a GraphService. It's currently used by Spring.
+     *
+     * @param graphService a GraphService.
+     */
+    @Inject
+    public void setGraphService(GraphService graphService) {
+        this.graphService = graphService;
+    }
+
+    /**
+     * RouteBatchTask finds the routes of a range of a batch splitting it in
+     * halves until a single route is left, so idle workers can steal them.
+     * Every result is written in the slot of its query.
+     */
+    private final class RouteBatchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = -6384153315498418250L;
+
+        private final Graph graph;
+        private final int[] roots;
+        private final int[] targets;
+        private final RouteResult[] results;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructs a new RouteBatchTask.
+         *
+         * @param graph the graph to route over.
+         * @param roots the root node of every query, -1 to skip it.
+         * @param targets the target node of every query.
+         * @param results the result of every query.
+         * @param from the first query (inclusive).
+         * @param to the last query (exclusive).
+         */
+        RouteBatchTask(Graph graph, int[] roots, int[] targets, RouteResult[] results, int from, int to) {
+            this.graph = graph;
+            this.roots = roots;
+            this.targets = targets;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RouteBatchTask(graph, roots, targets, results, from, middle),
+                        new RouteBatchTask(graph, roots, targets, results, middle, to));
+            } else if (to - from == 1 && roots[from] != -1) {
+                try {
+                    results[from].setRoute(findCachedRoute(graph, roots[from], targets[from]));
+                } catch (ServiceException ex) {
+                    results[from].setError(ex.getMessage());
+                } catch (RuntimeException ex) {
+                    LOG.error("Couldn't find route {} of batch", from, ex);
+                    results[from].setError(new ServiceException.Builder()
+                            .setMessageResource("routeFinderService.unknownFailure")
+                            .build()
+                            .getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * DistanceRowTask fills the distances and paths from a range of stops to
+     * every stop splitting the range in halves until a single stop is left, so
+     * every single source search may run in a different worker.
+     */
+    private final class DistanceRowTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 2163695722186420813L;
+
+        private final Graph graph;
+        private final int[] stops;
+        private final double[][] distances;
+        private final int[][][] paths;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructs a new DistanceRowTask.
+         *
+         * @param graph the graph to route over.
+         * @param stops the node of every stop.
+         * @param distances the distance rows of every stop.
+         * @param paths the path rows of every stop, a path goes from the root
+         * to the target and is {@code null} if unreachable.
+         * @param from the first stop (inclusive).
+         * @param to the last stop (exclusive).
+         */
+        DistanceRowTask(Graph graph, int[] stops, double[][] distances, int[][][] paths, int from, int to) {
+            this.graph = graph;
+            this.stops = stops;
+            this.distances = distances;
+            this.paths = paths;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new DistanceRowTask(graph, stops, distances, paths, from, middle),
+                        new DistanceRowTask(graph, stops, distances, paths, middle, to));
+            } else if (to - from == 1) {
+                DijkstraSearch search = getDijkstraSearch(graph);
+                search.search(stops[from], stops);
+                recordSearch(search.getSettledCount());
+                double[] row = new double[stops.length];
+                int[][] pathRow = new int[stops.length][];
+
+                for (int j = 0; j < stops.length; j++) {
+                    if (search.isSettled(stops[j])) {
+                        row[j] = search.getDistance(stops[j]);
+                        pathRow[j] = getPath(search, stops[j]);
+                    } else {
+                        row[j] = Double.POSITIVE_INFINITY;
+                    }
+                }
+
+                distances[from] = row;
+                paths[from] = pathRow;
+            }
+        }
+    }
+}
\ No newline at end of file
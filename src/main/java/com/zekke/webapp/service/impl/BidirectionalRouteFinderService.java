@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import javax.inject.Named;
+
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.graph.BidirectionalDijkstraSearch;
+import com.zekke.webapp.data.graph.Graph;
+
+/**
+ * Implementation of RouteFinderService interface. Provides a optimal routes for
+ * private spaces searching from the root over the outgoing paths and from the
+ * target over the incoming paths at the same time until both frontiers meet.
+ * The number of settled nodes is available through
+ * {@link com.zekke.webapp.service.RouteFinderStatistics}.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+@Named("bidirectionalRouteFinderService")
+public class BidirectionalRouteFinderService extends BaseRouteFinderService {
+
+    private static final long serialVersionUID = -2716433804468193420L;
+
+    private transient ThreadLocalSearch<Graph, BidirectionalDijkstraSearch> searches = new ThreadLocalSearch<Graph, BidirectionalDijkstraSearch>() {
+
+        @Override
+        protected BidirectionalDijkstraSearch create(Graph graph) {
+            return new BidirectionalDijkstraSearch(graph);
+        }
+    };
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Route findRoute(Graph graph, int root, int target) {
+        BidirectionalDijkstraSearch search = searches.get(graph);
+        boolean found = search.search(root, target);
+        recordSearch(search.getSettledCount());
+        return found ? buildRoute(graph, search.getPath(), search.getDistance()) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import javax.inject.Named;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.graph.ContractionHierarchy;
+import com.zekke.webapp.data.graph.ContractionHierarchySearch;
+import com.zekke.webapp.data.graph.Graph;
+
+/**
+ * Implementation of RouteFinderService interface. Provides a optimal routes for
+ * private spaces using Contraction Hierarchies. The hierarchy is built the
+ * first time a route is requested over a graph and is kept until the graph
+ * changes, after that every query only settles the few nodes ranked above the
+ * root and the target. The number of settled nodes is available through
+ * {@link com.zekke.webapp.service.RouteFinderStatistics}.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+@Named("contractionHierarchiesRouteFinderService")
+public class ContractionHierarchiesRouteFinderService extends BaseRouteFinderService {
+
+    private static final long serialVersionUID = -8018937246315072911L;
+    private static final Logger LOG = LoggerFactory.getLogger(ContractionHierarchiesRouteFinderService.class);
+
+    private transient volatile ContractionHierarchy hierarchy;
+    private transient ThreadLocalSearch<ContractionHierarchy, ContractionHierarchySearch> searches = new ThreadLocalSearch<ContractionHierarchy, ContractionHierarchySearch>() {
+
+        @Override
+        protected ContractionHierarchySearch create(ContractionHierarchy hierarchy) {
+            return new ContractionHierarchySearch(hierarchy);
+        }
+    };
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Route findRoute(Graph graph, int root, int target) {
+        ContractionHierarchySearch search = searches.get(getHierarchy(graph));
+        boolean found = search.search(root, target);
+        recordSearch(search.getSettledCount());
+        return found ? buildRoute(graph, search.getPath(), search.getDistance()) : null;
+    }
+
+    /**
+     * Gets the hierarchy of the given graph building it if needed.
+     *
+     * @param graph a Graph.
+     * @return the ContractionHierarchy of the graph.
+     */
+    private ContractionHierarchy getHierarchy(Graph graph) {
+        ContractionHierarchy current = hierarchy;
+
+        if (current == null || current.getGraph() != graph) {
+            synchronized (this) {
+                current = hierarchy;
+
+                if (current == null || current.getGraph() != graph) {
+                    long start = System.currentTimeMillis();
+                    current = ContractionHierarchy.build(graph);
+                    LOG.info("Built {} in {} ms", current, System.currentTimeMillis() - start);
+                    hierarchy = current;
+                }
+            }
+        }
+
+        return current;
+    }
+}
\ No newline at end of file
@@ -16,24 +16,36 @@
 package com.zekke.webapp.service.impl;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.NearbyPlace;
 import com.zekke.webapp.data.Place;
 import com.zekke.webapp.data.dao.PlaceDao;
+import com.zekke.webapp.data.graph.AutocompleteIndex;
+import com.zekke.webapp.data.graph.Graph;
 import com.zekke.webapp.service.GeocoderService;
+import com.zekke.webapp.service.GraphService;
+import com.zekke.webapp.util.GeoUtils;
 
 /**
  * Geocoder Service default implementation. Provides a custom geocoder for
- * private spaces.
+ * private spaces. Positions and names are resolved with the spatial, trigram
+ * and autocomplete indexes of the graph provided by {@link GraphService} instead of
+ * scanning the places table, so those queries don't open a session. The
+ * indexes belong to a graph snapshot, so a place renamed or moved in the data
+ * source is resolved by its new name and position once
+ * {@link GraphService#refresh()} swaps in the next graph.
  *
  * @author Daniel Pedraza
  * @since version 1.0
@@ -45,14 +57,39 @@ public class DefaultGeocoderService implements GeocoderService, Serializable {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultGeocoderService.class);
 
     private PlaceDao placeDao;
+    private GraphService graphService;
+    private int fuzzyMaxVisitedNodes;
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
     public Place findByPosition(GeoPoint position) {
-        return placeDao.readByPosition(position);
+        Graph graph = graphService.getGraph();
+        int node = graph.getSpatialIndex().findNearest(position.getLatitude(), position.getLongitude(),
+                GeoUtils.PLACE_RADIUS);
+        return node != -1 ? graph.getPlace(node) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<NearbyPlace> findNearest(GeoPoint position, int count, double maxRadius) {
+        Graph graph = graphService.getGraph();
+        int[] nodes = graph.getSpatialIndex().findNearest(position.getLatitude(), position.getLongitude(), count,
+                maxRadius);
+        List<NearbyPlace> places = new ArrayList<>(nodes.length);
+
+        for (int node : nodes) {
+            NearbyPlace place = new NearbyPlace();
+            place.setPlace(graph.getPlace(node));
+            place.setDistance(GeoUtils.distance(position.getLatitude(), position.getLongitude(),
+                    graph.getLatitude(node), graph.getLongitude(node)));
+            places.add(place);
+        }
+
+        return places;
     }
 
     /**
@@ -61,7 +98,45 @@ public class DefaultGeocoderService implements GeocoderService, Serializable {
     @Override
     @Transactional(readOnly = true)
     public List<Place> findLikeName(String name) {
-        return placeDao.readLikeName(name);
+        if (hasLikeWildcards(name)) {
+            // The index matches plain text only, wildcards are left to the data source
+            return placeDao.readLikeName(name);
+        }
+
+        Graph graph = graphService.getGraph();
+        int[] nodes = graph.getTrigramIndex().findContaining(name);
+        List<Place> places = new ArrayList<>(nodes.length);
+
+        for (int node : nodes) {
+            places.add(graph.getPlace(node));
+        }
+
+        return places;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Place> findSimilarToName(String name, int maxEdits) {
+        Graph graph = graphService.getGraph();
+        int[] nodes = graph.getAutocompleteIndex().findSimilar(name, maxEdits, AutocompleteIndex.MAX_SUGGESTIONS,
+                fuzzyMaxVisitedNodes);
+        List<Place> places = new ArrayList<>(nodes.length);
+
+        for (int node : nodes) {
+            places.add(graph.getPlace(node));
+        }
+
+        return places;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> findNamesStartingWith(String prefix, int count) {
+        return graphService.getGraph().getAutocompleteIndex().suggest(prefix, count);
     }
 
     /**
@@ -73,6 +148,18 @@ public class DefaultGeocoderService implements GeocoderService, Serializable {
         return placeDao.readNamesInAreaLikeName(name, center, radius);
     }
 
+    /**
+     * Checks if the given text has characters with a special meaning for the
+     * {@code like} operator.
+     *
+     * @param text a text.
+     * @return {@code true} if the text has wildcards or escape characters;
+     * otherwise {@code false}.
+     */
+    private boolean hasLikeWildcards(String text) {
+        return text.indexOf('%') != -1 || text.indexOf('_') != -1 || text.indexOf('\\') != -1;
+    }
+
     /**
      * Sets a PlaceDao. It's currently used by Spring.
      *
@@ -82,4 +169,25 @@ public class DefaultGeocoderService implements GeocoderService, Serializable {
     public void setPlaceDao(PlaceDao placeDao) {
         this.placeDao = placeDao;
     }
+
+    /**
+     * Sets a GraphService. It's currently used by Spring.
+     *
+     * @param graphService a GraphService.
+     */
+    @Inject
+    public void setGraphService(GraphService graphService) {
+        this.graphService = graphService;
+    }
+
+    /**
+     * Sets the maximum number of trie nodes visited by a search of similar
+     * names. It's currently used by Spring.
+     *
+     * @param fuzzyMaxVisitedNodes the maximum number of trie nodes.
+     */
+    @Value("${geocoder.fuzzy.maxVisitedNodes:5000}")
+    public void setFuzzyMaxVisitedNodes(int fuzzyMaxVisitedNodes) {
+        this.fuzzyMaxVisitedNodes = fuzzyMaxVisitedNodes;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+import com.zekke.webapp.data.dao.PathDao;
+import com.zekke.webapp.data.dao.PlaceDao;
+import com.zekke.webapp.data.graph.Graph;
+import com.zekke.webapp.data.graph.GraphDelta;
+import com.zekke.webapp.data.graph.GraphFile;
+import com.zekke.webapp.data.graph.GraphFingerprint;
+import com.zekke.webapp.service.GraphService;
+
+/**
+ * Graph Service default implementation. Loads every place and path from the
+ * data source and keeps them in memory as a {@link Graph}. Graphs are
+ * immutable snapshots, a reload builds a whole new graph aside and swaps it in
+ * atomically, so readers never lock and never see a half-built graph. Small
+ * edits are applied as a {@link GraphDelta} on the current graph instead of
+ * reading everything again. Reloads and updates are serialized so none of
+ * them is lost. Getting the current graph doesn't open a session, only the
+ * first load runs in its own read-only transaction.
+ * <p>
+ * Every {@code graph.refreshInterval} milliseconds the service compares the
+ * {@link GraphFingerprint} of the data source with the one of the current
+ * graph, so the places and paths added, removed or edited by other
+ * applications are routed without a restart. When rows were only added
+ * they're read by id and applied as a delta, which keeps the cached routes and
+ * the derived data the new paths don't affect; otherwise the graph is loaded
+ * again.
+ * <p>
+ * When a graph file is configured the first graph is memory-mapped from it
+ * instead of being read from the data source, and every graph built
+ * afterwards is exported to it, so the next start maps the latest graph. The
+ * file keeps the fingerprint of the rows it was exported from; when rows were
+ * added, removed or edited while the application was down, or the file is
+ * corrupted, the graph is loaded from the data source instead.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+@Named("graphService")
+public class DefaultGraphService implements GraphService, Serializable {
+
+    private static final long serialVersionUID = 2950853064374311327L;
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultGraphService.class);
+
+    private PlaceDao placeDao;
+    private PathDao pathDao;
+    private File graphFile;
+    private transient TransactionTemplate transactionTemplate;
+    private final transient AtomicReference<Graph> graph = new AtomicReference<>();
+    private transient GraphFingerprint fingerprint;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Graph getGraph() {
+        Graph current = graph.get();
+
+        if (current == null) {
+            synchronized (this) {
+                current = graph.get();
+
+                if (current == null) {
+                    current = transactionTemplate.execute(new TransactionCallback<Graph>() {
+
+                        @Override
+                        public Graph doInTransaction(TransactionStatus status) {
+                            Graph mapped = map();
+                            return mapped != null ? mapped : load();
+                        }
+                    });
+                }
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Graph reload() {
+        synchronized (this) {
+            return load();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Scheduled(fixedDelayString = "${graph.refreshInterval:60000}",
+            initialDelayString = "${graph.refreshInterval:60000}")
+    public void refresh() {
+        synchronized (this) {
+            Graph current = graph.get();
+
+            if (current == null) {
+                getGraph();
+                return;
+            }
+
+            GraphFingerprint latest = readFingerprint();
+
+            if (latest.equals(fingerprint)) {
+                return;
+            }
+
+            GraphDelta delta = readAddedRows(current, latest);
+
+            if (delta != null) {
+                LOG.info("Data source grew from {} to {}", fingerprint, latest);
+                apply(current, delta, latest);
+            } else {
+                LOG.info("Data source changed from {} to {}", fingerprint, latest);
+                load();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Graph update(GraphDelta delta) {
+        synchronized (this) {
+            Graph current = graph.get();
+
+            if (current == null) {
+                current = load();
+            }
+
+            return apply(current, delta, fingerprint);
+        }
+    }
+
+    /**
+     * Builds a new graph from the data source and makes it the current one.
+     * The caller must hold the lock of this object.
+     *
+     * @return the new Graph.
+     */
+    private Graph load() {
+        long start = System.currentTimeMillis();
+        // Read first so rows changed while loading are picked up by the next refresh
+        GraphFingerprint loadedFingerprint = readFingerprint();
+        Graph loaded = Graph.build(placeDao.readList(), pathDao.readList());
+        Graph previous = graph.getAndSet(loaded);
+        fingerprint = loadedFingerprint;
+        LOG.info("Loaded {} in {} ms replacing {}", loaded, System.currentTimeMillis() - start, previous);
+        export(loaded);
+        return loaded;
+    }
+
+    /**
+     * Derives a new graph from the given one applying the given changes and
+     * makes it the current one. The caller must hold the lock of this object.
+     *
+     * @param current the current graph.
+     * @param delta the place and path changes.
+     * @param updatedFingerprint the fingerprint of the rows the new graph
+     * reflects.
+     * @return the new Graph.
+     */
+    private Graph apply(Graph current, GraphDelta delta, GraphFingerprint updatedFingerprint) {
+        long start = System.currentTimeMillis();
+        Graph updated = current.apply(delta);
+        graph.set(updated);
+        fingerprint = updatedFingerprint;
+        LOG.info("Applied {} in {} ms replacing {} with {}", delta, System.currentTimeMillis() - start, current,
+                updated);
+        export(updated);
+        return updated;
+    }
+
+    /**
+     * Reads the places and paths added to the data source since the current
+     * graph was built. Places already in the current graph, because they were
+     * applied with {@link #update(GraphDelta)}, are skipped. The caller must
+     * hold the lock of this object.
+     *
+     * @param current the current graph.
+     * @param latest the fingerprint of the data source.
+     * @return a GraphDelta adding the new places and paths or {@code null} if
+     * rows were removed or edited too, so the graph must be loaded again.
+     */
+    private GraphDelta readAddedRows(Graph current, GraphFingerprint latest) {
+        if (latest.getPlaceCount() < fingerprint.getPlaceCount()
+                || latest.getPathCount() < fingerprint.getPathCount()) {
+            return null;
+        }
+
+        List<Place> places = placeDao.readListAfterId(fingerprint.getMaxPlaceId());
+        List<Path> paths = pathDao.readListAfterId(fingerprint.getMaxPathId());
+
+        // Ids only grow, when the new rows don't account for the new counts some old rows are gone
+        if (fingerprint.getPlaceCount() + places.size() != latest.getPlaceCount()
+                || fingerprint.getPathCount() + paths.size() != latest.getPathCount()) {
+            return null;
+        }
+
+        long placeVersionSum = fingerprint.getPlaceVersionSum();
+        long pathVersionSum = fingerprint.getPathVersionSum();
+
+        for (Place place : places) {
+            placeVersionSum += place.getVersion();
+        }
+
+        for (Path path : paths) {
+            pathVersionSum += path.getVersion();
+        }
+
+        // Versions only grow, when the new rows don't account for the new sums some old rows were edited
+        if (placeVersionSum != latest.getPlaceVersionSum() || pathVersionSum != latest.getPathVersionSum()) {
+            return null;
+        }
+
+        GraphDelta delta = new GraphDelta();
+
+        for (Place place : places) {
+            if (current.indexOf(place.getId()) == -1) {
+                delta.addPlace(place);
+            }
+        }
+
+        for (Path path : paths) {
+            delta.addPath(path);
+        }
+
+        return delta;
+    }
+
+    /**
+     * Maps the graph file if there's one and it was exported from the rows
+     * currently in the data source, and makes it the current graph. The
+     * caller must hold the lock of this object.
+     *
+     * @return the mapped Graph or {@code null} if there's no graph file, it
+     * couldn't be read or it's out of date.
+     */
+    private Graph map() {
+        if (graphFile == null || !graphFile.isFile()) {
+            return null;
+        }
+
+        long start = System.currentTimeMillis();
+        GraphFingerprint expected = readFingerprint();
+
+        try {
+            Graph mapped = GraphFile.read(graphFile, expected);
+            graph.set(mapped);
+            fingerprint = expected;
+            LOG.info("Mapped {} from {} in {} ms", mapped, graphFile, System.currentTimeMillis() - start);
+            return mapped;
+        } catch (IOException ex) {
+            LOG.warn("Couldn't map {}, loading from the data source", graphFile, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the fingerprint of the places and paths in the data source.
+     *
+     * @return a GraphFingerprint.
+     */
+    private GraphFingerprint readFingerprint() {
+        Long maxPlaceId = placeDao.readMaxId();
+        Long maxPathId = pathDao.readMaxId();
+        Long placeVersionSum = placeDao.readVersionSum();
+        Long pathVersionSum = pathDao.readVersionSum();
+        return new GraphFingerprint(placeDao.readCount(), maxPlaceId != null ? maxPlaceId : 0,
+                pathDao.readCount(), maxPathId != null ? maxPathId : 0,
+                placeVersionSum != null ? placeVersionSum : 0, pathVersionSum != null ? pathVersionSum : 0);
+    }
+
+    /**
+     * Writes the given graph to the graph file if there's one. A failed
+     * export keeps the previous file.
+     *
+     * @param exported the graph to write.
+     */
+    private void export(Graph exported) {
+        if (graphFile == null) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+
+        try {
+            GraphFile.write(exported, fingerprint, graphFile);
+            LOG.info("Exported {} to {} in {} ms", exported, graphFile, System.currentTimeMillis() - start);
+        } catch (IOException ex) {
+            LOG.warn("Couldn't export {} to {}", exported, graphFile, ex);
+        }
+    }
+
+    /**
+     * Sets a PlaceDao. It's currently used by Spring.
+     *
+     * @param placeDao a PlaceDao.
+     */
+    @Inject
+    public void setPlaceDao(PlaceDao placeDao) {
+        this.placeDao = placeDao;
+    }
+
+    /**
+     * Sets a PathDao. It's currently used by Spring.
+     *
+     * @param pathDao a PathDao.
+     */
+    @Inject
+    public void setPathDao(PathDao pathDao) {
+        this.pathDao = pathDao;
+    }
+
+    /**
+     * Sets a PlatformTransactionManager to load the first graph with. It's
+     * currently used by Spring.
+     *
+     * @param transactionManager a PlatformTransactionManager.
+     */
+    @Inject
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Sets the path of the binary graph file. An empty path disables it.
+     *
+     * @param graphFile the path of the graph file.
+     */
+    @Value("${graph.file:}")
+    public void setGraphFile(String graphFile) {
+        this.graphFile = graphFile == null || graphFile.isEmpty() ? null : new File(graphFile);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.zekke.webapp.data.Place;
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.graph.EdgeChange;
+import com.zekke.webapp.data.graph.Graph;
+
+/**
+ * RouteCache is a bounded least recently used cache of routes keyed by the ids
+ * of their root and target places. Routes are only valid for the graph version
+ * they were found on, so the cache is invalidated the first time it's used
+ * with a different graph. When that graph was derived from the cached one only
+ * the routes the changes may affect are removed: routes using an edge that got
+ * longer or was removed, routes an edge that got shorter or was added could
+ * beat according to a great-circle lower bound, and routes whose places were
+ * removed. Graphs are derived this way when the graph service applies the
+ * rows added to the data source or the changes its callers give it.
+ * Otherwise, or when there are too many changes, the whole cache is cleared.
+ * A cache with a maximum size of 0 keeps nothing. Instances are thread safe:
+ * routes are split by key among up to {@link #MAX_SEGMENTS} independently
+ * locked segments of at least {@link #MIN_SEGMENT_SIZE} routes, so lookups of
+ * different routes rarely wait for each other. Every segment evicts its own
+ * least recently used route; a new graph version is applied to all of them at
+ * once.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+final class RouteCache {
+
+    /** The maximum number of edge changes checked against every route. */
+    static final int MAX_SELECTIVE_CHANGES = 64;
+
+    /** The maximum number of segments. */
+    static final int MAX_SEGMENTS = 16;
+
+    /** The minimum number of routes of a segment when there are many. */
+    static final int MIN_SEGMENT_SIZE = 64;
+
+    private final int maxSize;
+    private final Segment[] segments;
+    private final int segmentShift;
+    private volatile long version;
+
+    /**
+     * Constructs a new RouteCache.
+     *
+     * @param maxSize the maximum number of routes to keep.
+     */
+    RouteCache(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        int segmentCount = 1;
+
+        while (segmentCount * 2 <= MAX_SEGMENTS && this.maxSize / (segmentCount * 2) >= MIN_SEGMENT_SIZE) {
+            segmentCount *= 2;
+        }
+
+        segments = new Segment[segmentCount];
+        segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+
+        for (int i = 0; i < segmentCount; i++) {
+            // The first segments take the remainder so the sizes add up to the maximum size
+            segments[i] = new Segment(this.maxSize / segmentCount + (i < this.maxSize % segmentCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * Gets the route between the given places.
+     *
+     * @param graph the graph being routed.
+     * @param rootId the id of the root place.
+     * @param targetId the id of the target place.
+     * @return the cached Route or {@code null} if there's none.
+     */
+    Route get(Graph graph, long rootId, long targetId) {
+        validateGraph(graph);
+        Key key = new Key(rootId, targetId);
+        return segmentFor(key).get(graph, key);
+    }
+
+    /**
+     * Puts the route between the given places.
+     *
+     * @param graph the graph the route was found on.
+     * @param rootId the id of the root place.
+     * @param targetId the id of the target place.
+     * @param route a Route.
+     */
+    void put(Graph graph, long rootId, long targetId, Route route) {
+        validateGraph(graph);
+        Key key = new Key(rootId, targetId);
+        segmentFor(key).put(graph, key, route);
+    }
+
+    /**
+     * Gets the maximum number of routes of this cache.
+     *
+     * @return the maximum size.
+     */
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of routes found in this cache.
+     *
+     * @return the number of hits.
+     */
+    long getHitCount() {
+        long count = 0;
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                count += segment.hitCount;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of routes not found in this cache.
+     *
+     * @return the number of misses.
+     */
+    long getMissCount() {
+        long count = 0;
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                count += segment.missCount;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of routes removed to keep this cache bounded.
+     *
+     * @return the number of evictions.
+     */
+    long getEvictionCount() {
+        long count = 0;
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                count += segment.evictionCount;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of routes removed because a graph change affected
+     * them, not counting full clears.
+     *
+     * @return the number of invalidations.
+     */
+    long getInvalidationCount() {
+        long count = 0;
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                count += segment.invalidationCount;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of routes in this cache.
+     *
+     * @return the number of routes.
+     */
+    int size() {
+        int size = 0;
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.routes.size();
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Invalidates every segment if the given graph is not the one of the
+     * cached routes.
+     *
+     * @param graph the graph being routed.
+     */
+    private void validateGraph(Graph graph) {
+        if (graph.getVersion() == version) {
+            return;
+        }
+
+        synchronized (segments) {
+            if (graph.getVersion() != version) {
+                for (Segment segment : segments) {
+                    synchronized (segment) {
+                        segment.validateGraph(graph);
+                    }
+                }
+
+                version = graph.getVersion();
+            }
+        }
+    }
+
+    /**
+     * Gets the segment of the given key.
+     *
+     * @param key a key.
+     * @return the Segment where the route of the key is kept.
+     */
+    private Segment segmentFor(Key key) {
+        // Fibonacci hashing: the high bits of the product depend on every bit of the hash
+        int hash = key.hashCode() * 0x9E3779B9;
+        return segments[(hash >>> segmentShift) & (segments.length - 1)];
+    }
+
+    /**
+     * Checks that the changes of the given graph may affect the given route.
+     *
+     * @param graph a graph derived from the one of the route.
+     * @param key the key of the route.
+     * @param route a Route.
+     * @return {@code true} if the route may not be optimal anymore;
+     * otherwise {@code false}.
+     */
+    private static boolean isAffected(Graph graph, Key key, Route route) {
+        int root = graph.indexOf(key.rootId);
+        int target = graph.indexOf(key.targetId);
+
+        if (root == -1 || target == -1) {
+            return true;
+        }
+
+        double factor = graph.getDistanceLowerBoundFactor();
+
+        for (EdgeChange change : graph.getChanges()) {
+            if (change.isShortening()) {
+                int from = graph.indexOf(change.getFromPlaceId());
+                int to = graph.indexOf(change.getToPlaceId());
+                double lowerBound = factor * graph.distance(root, from) + change.getNewDistance()
+                        + factor * graph.distance(to, target);
+
+                if (lowerBound < route.getDistance()) {
+                    return true;
+                }
+            } else if (uses(route, change)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks that the given route goes through the edge of the given change.
+     *
+     * @param route a Route.
+     * @param change an EdgeChange.
+     * @return {@code true} if the route uses the edge; otherwise
+     * {@code false}.
+     */
+    private static boolean uses(Route route, EdgeChange change) {
+        // Paths go from the target to the root
+        List<Place> path = route.getPath();
+
+        for (int i = 0; i + 1 < path.size(); i++) {
+            if (path.get(i + 1).getId() == change.getFromPlaceId() && path.get(i).getId() == change.getToPlaceId()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Segment is a least recently used cache of the routes of some keys. Its
+     * routes and counters are guarded by its own lock.
+     */
+    private static final class Segment {
+
+        private final int maxSize;
+        private final LinkedHashMap<Key, Route> routes;
+        private long version;
+        private long hitCount;
+        private long missCount;
+        private long evictionCount;
+        private long invalidationCount;
+
+        /**
+         * Constructs a new Segment.
+         *
+         * @param maxSize the maximum number of routes to keep.
+         */
+        Segment(final int maxSize) {
+            this.maxSize = maxSize;
+            routes = new LinkedHashMap<Key, Route>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = -2470392453612417466L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Route> eldest) {
+                    if (size() > Segment.this.maxSize) {
+                        evictionCount++;
+                        return true;
+                    }
+
+                    return false;
+                }
+            };
+        }
+
+        /**
+         * Gets the route of the given key.
+         *
+         * @param graph the graph being routed.
+         * @param key the key of the route.
+         * @return the cached Route or {@code null} if there's none.
+         */
+        synchronized Route get(Graph graph, Key key) {
+            validateGraph(graph);
+            Route route = routes.get(key);
+
+            if (route != null) {
+                hitCount++;
+            } else {
+                missCount++;
+            }
+
+            return route;
+        }
+
+        /**
+         * Puts the route of the given key.
+         *
+         * @param graph the graph the route was found on.
+         * @param key the key of the route.
+         * @param route a Route.
+         */
+        synchronized void put(Graph graph, Key key, Route route) {
+            validateGraph(graph);
+
+            if (maxSize > 0) {
+                routes.put(key, route);
+            }
+        }
+
+        /**
+         * Invalidates this segment if the given graph is not the one of the
+         * cached routes. It's checked again under the lock of the segment
+         * because another graph may have been validated since.
+         *
+         * @param graph the graph being routed.
+         */
+        private void validateGraph(Graph graph) {
+            if (graph.getVersion() == version) {
+                return;
+            }
+
+            if (version != 0 && graph.getBaseVersion() == version
+                    && graph.getChanges().size() <= MAX_SELECTIVE_CHANGES) {
+                invalidate(graph);
+            } else {
+                routes.clear();
+            }
+
+            version = graph.getVersion();
+        }
+
+        /**
+         * Removes the routes the changes of the given graph may affect.
+         *
+         * @param graph a graph derived from the one of the cached routes.
+         */
+        private void invalidate(Graph graph) {
+            for (Iterator<Map.Entry<Key, Route>> it = routes.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<Key, Route> entry = it.next();
+
+                if (isAffected(graph, entry.getKey(), entry.getValue())) {
+                    it.remove();
+                    invalidationCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Key of a cached route.
+     */
+    private static final class Key {
+
+        private final long rootId;
+        private final long targetId;
+
+        /**
+         * Constructs a new Key.
+         *
+         * @param rootId the id of the root place.
+         * @param targetId the id of the target place.
+         */
+        Key(long rootId, long targetId) {
+            this.rootId = rootId;
+            this.targetId = targetId;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+            return rootId == other.rootId && targetId == other.targetId;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 31 * hash + (int) (rootId ^ (rootId >>> 32));
+            hash = 31 * hash + (int) (targetId ^ (targetId >>> 32));
+            return hash;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+/**
+ * ThreadLocalSearch keeps a search instance per thread for the structure it
+ * searches over, usually a graph snapshot. Searches allocate arrays as large
+ * as the graph but only reset the nodes the previous search touched, so
+ * reusing them makes the cost of a query depend on the area it explores.
+ * A new instance is created the first time a thread searches a different
+ * structure; until then the thread keeps the previous one, and so the
+ * previous snapshot, reachable. Callers must be done with the results of a
+ * search before the same thread starts the next one.
+ *
+ * @param <K> the type of the structure searched over.
+ * @param <S> the type of the search.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+abstract class ThreadLocalSearch<K, S> {
+
+    private final ThreadLocal<Slot<K, S>> slots = new ThreadLocal<>();
+
+    /**
+     * Gets the search of the current thread over the given structure creating
+     * it if needed.
+     *
+     * @param key the structure to search over, compared by identity.
+     * @return a search.
+     */
+    S get(K key) {
+        Slot<K, S> slot = slots.get();
+
+        if (slot == null || slot.key != key) {
+            slot = new Slot<>(key, create(key));
+            slots.set(slot);
+        }
+
+        return slot.search;
+    }
+
+    /**
+     * Creates a new search over the given structure.
+     *
+     * @param key the structure to search over.
+     * @return a new search.
+     */
+    protected abstract S create(K key);
+
+    /**
+     * Search of a thread and the structure it searches over.
+     *
+     * @param <K> the type of the structure searched over.
+     * @param <S> the type of the search.
+     */
+    private static final class Slot<K, S> {
+
+        private final K key;
+        private final S search;
+
+        /**
+         * Constructs a new Slot.
+         *
+         * @param key the structure searched over.
+         * @param search the search.
+         */
+        Slot(K key, S search) {
+            this.key = key;
+            this.search = search;
+        }
+    }
+}
\ No newline at end of file
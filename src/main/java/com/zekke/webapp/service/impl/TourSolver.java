@@ -0,0 +1,350 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import java.util.Arrays;
+
+/**
+ * TourSolver finds the order to visit a set of stops given the distances
+ * between every pair of them. The first stop is always visited first and, in
+ * a round trip, the tour goes back to it at the end. Distances may be
+ * asymmetric. Small sets are solved exactly with the Held-Karp dynamic
+ * programming algorithm; larger ones start from a nearest neighbor tour
+ * improved by 2-opt and Or-opt moves until no move helps or the time budget
+ * runs out. Unreachable pairs (infinite distances) are avoided whenever
+ * possible. Instances are not thread safe.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+final class TourSolver {
+
+    /** The maximum number of stops solved exactly. */
+    static final int MAX_EXACT_STOPS = 12;
+
+    private static final int MAX_SEGMENT_LENGTH = 3;
+    private static final double EPSILON = 1e-9;
+
+    private final double[][] distances;
+    private final boolean roundTrip;
+    private final int stopCount;
+    private int[] tour;
+    private double[] forward;
+    private double[] backward;
+
+    /**
+     * Constructs a new TourSolver.
+     *
+     * @param distances the distance from every stop (row) to every stop
+     * (column), {@link Double#POSITIVE_INFINITY} if unreachable.
+     * @param roundTrip whether the tour goes back to the first stop.
+     */
+    TourSolver(double[][] distances, boolean roundTrip) {
+        this.stopCount = distances.length;
+        this.roundTrip = roundTrip;
+        this.distances = new double[stopCount][];
+        double penalty = 1.0;
+
+        for (double[] row : distances) {
+            for (double distance : row) {
+                if (distance != Double.POSITIVE_INFINITY) {
+                    penalty += distance;
+                }
+            }
+        }
+
+        // A finite penalty keeps the local search arithmetic free of NaNs
+        for (int i = 0; i < stopCount; i++) {
+            this.distances[i] = distances[i].clone();
+
+            for (int j = 0; j < stopCount; j++) {
+                if (this.distances[i][j] == Double.POSITIVE_INFINITY) {
+                    this.distances[i][j] = penalty;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the visiting order.
+     *
+     * @param timeBudget the maximum time to improve a tour in milliseconds.
+     * Exact solutions don't use it because their cost is already bounded.
+     * @return the stops in visiting order, starting with stop 0.
+     */
+    int[] solve(long timeBudget) {
+        if (stopCount <= 1) {
+            tour = new int[stopCount];
+        } else if (stopCount <= MAX_EXACT_STOPS) {
+            solveExactly();
+        } else {
+            long deadline = System.nanoTime() + timeBudget * 1000000L;
+            buildNearestNeighborTour();
+            updateCosts();
+
+            while (System.nanoTime() < deadline && (improveWithTwoOpt(deadline) || improveWithOrOpt(deadline))) {
+                updateCosts();
+            }
+        }
+
+        return tour;
+    }
+
+    /**
+     * Gets the total distance of the given tour.
+     *
+     * @param stops the stops in visiting order.
+     * @return the distance.
+     */
+    double cost(int[] stops) {
+        double cost = 0.0;
+
+        for (int i = 1; i < stops.length; i++) {
+            cost += distances[stops[i - 1]][stops[i]];
+        }
+
+        return roundTrip && stops.length > 1 ? cost + distances[stops[stops.length - 1]][stops[0]] : cost;
+    }
+
+    /**
+     * Finds the optimal tour with the Held-Karp algorithm.
+     */
+    private void solveExactly() {
+        int others = stopCount - 1;
+        int subsetCount = 1 << others;
+        double[][] costs = new double[subsetCount][others];
+        int[][] previous = new int[subsetCount][others];
+
+        for (double[] row : costs) {
+            Arrays.fill(row, Double.POSITIVE_INFINITY);
+        }
+
+        for (int j = 0; j < others; j++) {
+            costs[1 << j][j] = distances[0][j + 1];
+            previous[1 << j][j] = -1;
+        }
+
+        for (int subset = 1; subset < subsetCount; subset++) {
+            for (int j = 0; j < others; j++) {
+                double cost = costs[subset][j];
+
+                if ((subset & (1 << j)) == 0 || cost == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                for (int k = 0; k < others; k++) {
+                    if ((subset & (1 << k)) == 0) {
+                        int next = subset | (1 << k);
+                        double nextCost = cost + distances[j + 1][k + 1];
+
+                        if (nextCost < costs[next][k]) {
+                            costs[next][k] = nextCost;
+                            previous[next][k] = j;
+                        }
+                    }
+                }
+            }
+        }
+
+        int subset = subsetCount - 1;
+        int last = 0;
+        double best = Double.POSITIVE_INFINITY;
+
+        for (int j = 0; j < others; j++) {
+            double cost = costs[subset][j] + (roundTrip ? distances[j + 1][0] : 0.0);
+
+            if (cost < best) {
+                best = cost;
+                last = j;
+            }
+        }
+
+        tour = new int[stopCount];
+
+        for (int i = stopCount - 1; i > 0; i--) {
+            tour[i] = last + 1;
+            int before = previous[subset][last];
+            subset &= ~(1 << last);
+            last = before;
+        }
+    }
+
+    /**
+     * Builds a tour going always to the nearest stop not visited yet.
+     */
+    private void buildNearestNeighborTour() {
+        boolean[] visited = new boolean[stopCount];
+        tour = new int[stopCount];
+        visited[0] = true;
+
+        for (int i = 1; i < stopCount; i++) {
+            int from = tour[i - 1];
+            int nearest = -1;
+
+            for (int j = 1; j < stopCount; j++) {
+                if (!visited[j] && (nearest == -1 || distances[from][j] < distances[from][nearest])) {
+                    nearest = j;
+                }
+            }
+
+            tour[i] = nearest;
+            visited[nearest] = true;
+        }
+    }
+
+    /**
+     * Applies the first 2-opt move that shortens the tour. A move reverses
+     * the stops between two positions.
+     *
+     * @param deadline the System#nanoTime() to give up.
+     * @return {@code true} if the tour was improved; otherwise {@code false}.
+     */
+    private boolean improveWithTwoOpt(long deadline) {
+        for (int i = 1; i < stopCount - 1; i++) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+
+            int before = tour[i - 1];
+            int first = tour[i];
+
+            for (int j = i + 1; j < stopCount; j++) {
+                int last = tour[j];
+                int after = successor(j);
+                double oldCost = distances[before][first] + forward[j] - forward[i] + distance(last, after);
+                double newCost = distances[before][last] + backward[j] - backward[i] + distance(first, after);
+
+                if (newCost < oldCost - EPSILON) {
+                    for (int from = i, to = j; from < to; from++, to--) {
+                        int stop = tour[from];
+                        tour[from] = tour[to];
+                        tour[to] = stop;
+                    }
+
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Applies the first Or-opt move that shortens the tour. A move takes a
+     * segment of up to {@link #MAX_SEGMENT_LENGTH} consecutive stops and
+     * places it, in the same direction, somewhere else.
+     *
+     * @param deadline the System#nanoTime() to give up.
+     * @return {@code true} if the tour was improved; otherwise {@code false}.
+     */
+    private boolean improveWithOrOpt(long deadline) {
+        for (int length = 1; length <= MAX_SEGMENT_LENGTH; length++) {
+            for (int i = 1; i + length <= stopCount; i++) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+
+                int end = i + length - 1;
+                int before = tour[i - 1];
+                int after = successor(end);
+                double removal = distances[before][tour[i]] + distance(tour[end], after) - distance(before, after);
+
+                for (int p = 0; p < stopCount; p++) {
+                    if (p >= i - 1 && p <= end) {
+                        continue;
+                    }
+
+                    int next = successor(p);
+                    double insertion = distances[tour[p]][tour[i]] + distance(tour[end], next) - distance(tour[p], next);
+
+                    if (insertion < removal - EPSILON) {
+                        moveSegment(i, end, p);
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Moves the given segment of the tour right after the given position.
+     *
+     * @param from the first position of the segment.
+     * @param to the last position of the segment.
+     * @param position a position outside the segment.
+     */
+    private void moveSegment(int from, int to, int position) {
+        int[] moved = new int[stopCount];
+        int length = to - from + 1;
+        int k = 0;
+
+        for (int p = 0; p < stopCount; p++) {
+            if (p < from || p > to) {
+                moved[k++] = tour[p];
+            }
+
+            if (p == position) {
+                System.arraycopy(tour, from, moved, k, length);
+                k += length;
+            }
+        }
+
+        tour = moved;
+    }
+
+    /**
+     * Updates the accumulated distances of the current tour in both
+     * directions so the cost of reversing any segment is known at once.
+     */
+    private void updateCosts() {
+        if (forward == null) {
+            forward = new double[stopCount];
+            backward = new double[stopCount];
+        }
+
+        for (int i = 1; i < stopCount; i++) {
+            forward[i] = forward[i - 1] + distances[tour[i - 1]][tour[i]];
+            backward[i] = backward[i - 1] + distances[tour[i]][tour[i - 1]];
+        }
+    }
+
+    /**
+     * Gets the stop visited after the given position.
+     *
+     * @param position a position of the tour.
+     * @return the next stop or -1 if the tour ends there.
+     */
+    private int successor(int position) {
+        if (position + 1 < stopCount) {
+            return tour[position + 1];
+        }
+
+        return roundTrip ? tour[0] : -1;
+    }
+
+    /**
+     * Gets the distance between the given stops.
+     *
+     * @param from a stop.
+     * @param to a stop or -1 for the end of the tour.
+     * @return the distance, 0 if the tour ends.
+     */
+    private double distance(int from, int to) {
+        return to != -1 ? distances[from][to] : 0.0;
+    }
+}
\ No newline at end of file
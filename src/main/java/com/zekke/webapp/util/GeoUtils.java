@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.util;
+
+/**
+ * GeoUtils class contains miscellaneous geographic utility methods.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public final class GeoUtils {
+
+    /**
+     * Earth radius in meters. It's the same radius used by the native
+     * distance queries in {@link com.zekke.webapp.data.Place}
+     * (60 * 1.1515 * 1.609344 * 1000 meters per degree).
+     */
+    public static final double EARTH_RADIUS = 6370693.485653059;
+
+    /**
+     * Maximum distance in meters between a position and the place found in
+     * it. It's the same distance used by the native query
+     * {@code Place.readByPosition}.
+     */
+    public static final double PLACE_RADIUS = 30;
+
+    /**
+     * Default constructor. Do NOT try to initialize this class, it is suppose
+     * to be an static utility.
+     */
+    private GeoUtils() {
+        throw new IllegalAccessError("This class cannot be instantiated or extended");
+    }
+
+    /**
+     * Calculates the great-circle distance between two geographic points using
+     * the haversine formula.
+     *
+     * @param latitude1 the latitude of the first point, in degrees.
+     * @param longitude1 the longitude of the first point, in degrees.
+     * @param latitude2 the latitude of the second point, in degrees.
+     * @param longitude2 the longitude of the second point, in degrees.
+     * @return the distance in meters.
+     */
+    public static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double sinDeltaLatitude = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+        double sinDeltaLongitude = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = sinDeltaLatitude * sinDeltaLatitude
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * sinDeltaLongitude * sinDeltaLongitude;
+        return 2 * EARTH_RADIUS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
\ No newline at end of file
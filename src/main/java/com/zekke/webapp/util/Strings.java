@@ -15,6 +15,10 @@
  */
 package com.zekke.webapp.util;
 
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
 /**
  * Strings class contains miscellaneous string utility methods.
  *
@@ -25,6 +29,8 @@ public final class Strings {
 
     public static final String EMPTY = "";
 
+    private static final Pattern DIACRITICAL_MARKS = Pattern.compile("\\p{M}+");
+
     /**
      * Default constructor. Do NOT try to initialize this class, it is suppose
      * to be an static utility.
@@ -43,4 +49,21 @@ public final class Strings {
     public static boolean isNullOrBlank(String s) {
         return s == null || s.trim().isEmpty();
     }
+
+    /**
+     * Turns the given string into a search key: the accents and other marks
+     * are stripped from its decomposed (NFD) form and it's lower cased, so
+     * "\u00c1rea" and "area" have the same key.
+     *
+     * @param s the string.
+     * @return the search key or {@code null} if the string is null.
+     */
+    public static String toSearchKey(String s) {
+        if (s == null) {
+            return null;
+        }
+
+        String decomposed = Normalizer.normalize(s, Normalizer.Form.NFD);
+        return DIACRITICAL_MARKS.matcher(decomposed).replaceAll(EMPTY).toLowerCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.ws.rest;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import com.zekke.webapp.data.GeoPoint;
+
+/**
+ * DistanceMatrixRequest represents the body of a distance matrix request: the
+ * positions of the places of origin and destination.
+ *
+ * @author Daniel Pedraza
+ * @since version 1.0
+ */
+public class DistanceMatrixRequest implements Serializable {
+
+    private static final long serialVersionUID = 4020763329817540624L;
+
+    @NotNull(message = "{route.matrix.sources.required}")
+    @Size(message = "{route.matrix.sources.size}", min = 1, max = 100)
+    private List<GeoPoint> sources;
+
+    @NotNull(message = "{route.matrix.targets.required}")
+    @Size(message = "{route.matrix.targets.size}", min = 1, max = 100)
+    private List<GeoPoint> targets;
+
+    // Getters & Setters ///////////////////////////////////////////////////////
+
+    public List<GeoPoint> getSources() {
+        return sources;
+    }
+
+    public void setSources(List<GeoPoint> sources) {
+        this.sources = sources;
+    }
+
+    public List<GeoPoint> getTargets() {
+        return targets;
+    }
+
+    public void setTargets(List<GeoPoint> targets) {
+        this.targets = targets;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new StringBuilder().append("DistanceMatrixRequest{sources=").append(sources)
+                .append(", targets=").append(targets).append('}').toString();
+    }
+}
\ No newline at end of file
@@ -20,6 +20,7 @@ import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.validation.constraints.NotNull;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -38,6 +39,7 @@ import org.springframework.transaction.TransactionException;
 
 import com.zekke.webapp.ZekkeException;
 import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.NearbyPlace;
 import com.zekke.webapp.data.Place;
 import com.zekke.webapp.service.GeocoderService;
 
@@ -94,6 +96,48 @@ public class GeocoderWebService extends BaseWebService {
         }
     }
 
+    /**
+     * Retrieves the places nearest to the given geographic point with their
+     * distances, the nearest first. Example URL:
+     * https://zekke.herokuapp.com/api/v1/geocoder/places/nearest.json?latitude=some_value&longitude=some_value&count=some_value&max-radius=some_value
+     *
+     * @param latitude the latitude coordinate.
+     * @param longitude the longitude coordinate.
+     * @param count the maximum number of places.
+     * @param maxRadius the maximum distance to the places in meters.
+     * @return a list of NearbyPlace in json format.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/places/nearest.json")
+    public List<NearbyPlace> findNearest(
+            @NotNull(message = "{latitude.required}") @Range(message = "{latitude.notValid}", min = -85, max = 85) @QueryParam("latitude") Double latitude,
+            @NotNull(message = "{longitude.required}") @Range(message = "{longitude.notValid}", min = -180, max = 180) @QueryParam("longitude") Double longitude,
+            @Range(message = "{place.count.notValid}", min = 1, max = 50) @DefaultValue("5") @QueryParam("count") Integer count,
+            @Range(message = "{place.maxRadius.notValid}", min = 0, max = 10000) @DefaultValue("1000") @QueryParam("max-radius") Double maxRadius) {
+        GeoPoint position = new GeoPoint();
+        position.setLatitude(latitude);
+        position.setLongitude(longitude);
+
+        try {
+            return geocoderService.findNearest(position, count, maxRadius);
+        } catch (DataAccessException | TransactionException ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.dataAccessFailure")
+                    .setCause(ex)
+                    .build();
+        } catch (ZekkeException ex) {
+            // Seems silly but it's the only way to be handled directly by ZekkeExceptionHandler class 
+            // otherwise it will be wrapped into a WebServiceException hiding the real one in the front end
+            throw ex;
+        } catch (Exception ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.unknownFailure")
+                    .setCause(ex)
+                    .build();
+        }
+    }
+
     /**
      * Retrieves the list of places with a name like the given name. Example
      * URL:
@@ -126,6 +170,75 @@ public class GeocoderWebService extends BaseWebService {
         }
     }
 
+    /**
+     * Retrieves the places with a name that starts with a text within the
+     * given number of spelling mistakes of the given name, ignoring case and
+     * accents, the nearest names first. Example URL:
+     * https://zekke.herokuapp.com/api/v1/geocoder/places/similar-to/some_name.json?max-edits=some_value
+     *
+     * @param name a name, possibly misspelled.
+     * @param maxEdits the maximum number of spelling mistakes.
+     * @return a list of places in json format.
+     */
+    @GET
+    @Path("/places/similar-to/{name}.json")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<Place> findSimilarToName(
+            @NotBlank(message = "{place.name.required}") @PathParam("name") String name,
+            @Range(message = "{place.maxEdits.notValid}", min = 1, max = 2) @DefaultValue("2") @QueryParam("max-edits") Integer maxEdits) {
+        try {
+            return geocoderService.findSimilarToName(name, maxEdits);
+        } catch (DataAccessException | TransactionException ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.dataAccessFailure")
+                    .setCause(ex)
+                    .build();
+        } catch (ZekkeException ex) {
+            // Seems silly but it's the only way to be handled directly by ZekkeExceptionHandler class 
+            // otherwise it will be wrapped into a WebServiceException hiding the real one in the front end
+            throw ex;
+        } catch (Exception ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.unknownFailure")
+                    .setCause(ex)
+                    .build();
+        }
+    }
+
+    /**
+     * Retrieves the places' names that start with the given prefix, ignoring
+     * case, shorter names first. Example URL:
+     * https://zekke.herokuapp.com/api/v1/geocoder/names/starting-with/some_prefix.json?count=some_value
+     *
+     * @param prefix a prefix.
+     * @param count the maximum number of names.
+     * @return a list of places' names in json format.
+     */
+    @GET
+    @Path("/names/starting-with/{prefix}.json")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<String> findNamesStartingWith(
+            @NotBlank(message = "{place.name.required}") @PathParam("prefix") String prefix,
+            @Range(message = "{place.count.notValid}", min = 1, max = 10) @DefaultValue("10") @QueryParam("count") Integer count) {
+        try {
+            return geocoderService.findNamesStartingWith(prefix, count);
+        } catch (DataAccessException | TransactionException ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.dataAccessFailure")
+                    .setCause(ex)
+                    .build();
+        } catch (ZekkeException ex) {
+            // Seems silly but it's the only way to be handled directly by ZekkeExceptionHandler class 
+            // otherwise it will be wrapped into a WebServiceException hiding the real one in the front end
+            throw ex;
+        } catch (Exception ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.unknownFailure")
+                    .setCause(ex)
+                    .build();
+        }
+    }
+
     /**
      * Retrieves the list of places' names that are in the radius of the given
      * geographic point with the name like the given name. Example URL:
@@ -15,27 +15,42 @@
  */
 package com.zekke.webapp.ws.rest;
 
+import java.util.List;
+
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.hibernate.validator.constraints.Range;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.transaction.TransactionException;
 
 import com.zekke.webapp.ZekkeException;
+import com.zekke.webapp.data.DistanceMatrix;
 import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.ReachablePlace;
 import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.RouteFinderReport;
+import com.zekke.webapp.data.RouteQuery;
+import com.zekke.webapp.data.RouteResult;
 import com.zekke.webapp.service.RouteFinderService;
+import com.zekke.webapp.service.RouteFinderStatistics;
 
 /**
  * Route finder RESTful web service. It's currently accessed
@@ -52,6 +67,8 @@ public class RouteFinderWebService extends BaseWebService {
     private static final Logger LOG = LoggerFactory.getLogger(RouteFinderWebService.class);
 
     private RouteFinderService routeFinderService;
+    private RouteFinderStatistics routeFinderStatistics;
+    private boolean statisticsEnabled;
 
     /**
      * Provides an optimal route between the given positions if exists;
@@ -99,13 +116,262 @@ public class RouteFinderWebService extends BaseWebService {
         }
     }
 
+    /**
+     * Provides up to the given number of alternative routes without loops
+     * between the given positions, the optimal one first. Example URL:
+     * https://zekke.herokuapp.com/api/v1/route-finder/routes.json?root-latitude=some_value&root-longitude=some_value&target-latitude=some_value&target-longitude=some_value&count=some_value
+     *
+     * @param rootLatitude the root latitude coordinate.
+     * @param rootLongitude the root longitude coordinate.
+     * @param targetLatitude the target latitude coordinate.
+     * @param targetLongitude the target longitude coordinate.
+     * @param count the maximum number of routes.
+     * @return a list of Route in json format.
+     */
+    @GET
+    @Path("/routes.json")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<Route> findRoutes(
+            @NotNull(message = "{route.root.latitude.required}") @Range(message = "{latitude.notValid}", min = -85, max = 85) @QueryParam("root-latitude") Double rootLatitude,
+            @NotNull(message = "{route.root.longitude.required}") @Range(message = "{longitude.notValid}", min = -180, max = 180) @QueryParam("root-longitude") Double rootLongitude,
+            @NotNull(message = "{route.target.latitude.required}") @Range(message = "{latitude.notValid}", min = -85, max = 85) @QueryParam("target-latitude") Double targetLatitude,
+            @NotNull(message = "{route.target.longitude.required}") @Range(message = "{longitude.notValid}", min = -180, max = 180) @QueryParam("target-longitude") Double targetLongitude,
+            @Range(message = "{route.count.notValid}", min = 1, max = 10) @DefaultValue("3") @QueryParam("count") Integer count) {
+        GeoPoint rootPosition = new GeoPoint();
+        rootPosition.setLatitude(rootLatitude);
+        rootPosition.setLongitude(rootLongitude);
+
+        GeoPoint targetPosition = new GeoPoint();
+        targetPosition.setLatitude(targetLatitude);
+        targetPosition.setLongitude(targetLongitude);
+
+        try {
+            return routeFinderService.findRoutes(rootPosition, targetPosition, count);
+        } catch (DataAccessException | TransactionException ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.dataAccessFailure")
+                    .setCause(ex)
+                    .build();
+        } catch (ZekkeException ex) {
+            // Seems silly but it's the only way to be handled directly by ZekkeExceptionHandler class 
+            // otherwise it will be wrapped into a WebServiceException hiding the real one in the front end
+            throw ex;
+        } catch (Exception ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.unknownFailure")
+                    .setCause(ex)
+                    .build();
+        }
+    }
+
+    /**
+     * Provides every place reachable from the given position within the given
+     * route distance, the nearest first. Example URL:
+     * https://zekke.herokuapp.com/api/v1/route-finder/isochrone.json?root-latitude=some_value&root-longitude=some_value&max-distance=some_value
+     *
+     * @param rootLatitude the root latitude coordinate.
+     * @param rootLongitude the root longitude coordinate.
+     * @param maxDistance the maximum route distance.
+     * @return a list of ReachablePlace in json format.
+     */
+    @GET
+    @Path("/isochrone.json")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<ReachablePlace> findIsochrone(
+            @NotNull(message = "{route.root.latitude.required}") @Range(message = "{latitude.notValid}", min = -85, max = 85) @QueryParam("root-latitude") Double rootLatitude,
+            @NotNull(message = "{route.root.longitude.required}") @Range(message = "{longitude.notValid}", min = -180, max = 180) @QueryParam("root-longitude") Double rootLongitude,
+            @NotNull(message = "{route.maxDistance.required}") @Range(message = "{route.maxDistance.notValid}", min = 0, max = 10000) @QueryParam("max-distance") Double maxDistance) {
+        GeoPoint rootPosition = new GeoPoint();
+        rootPosition.setLatitude(rootLatitude);
+        rootPosition.setLongitude(rootLongitude);
+
+        try {
+            return routeFinderService.findIsochrone(rootPosition, maxDistance);
+        } catch (DataAccessException | TransactionException ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.dataAccessFailure")
+                    .setCause(ex)
+                    .build();
+        } catch (ZekkeException ex) {
+            // Seems silly but it's the only way to be handled directly by ZekkeExceptionHandler class 
+            // otherwise it will be wrapped into a WebServiceException hiding the real one in the front end
+            throw ex;
+        } catch (Exception ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.unknownFailure")
+                    .setCause(ex)
+                    .build();
+        }
+    }
+
+    /**
+     * Provides a short route visiting every given position, starting in the
+     * first one. Example URL:
+     * https://zekke.herokuapp.com/api/v1/route-finder/tour.json?round-trip=some_value
+     * with a body like [{"latitude": some_value, "longitude": some_value}]
+     *
+     * @param stops the positions to visit.
+     * @param roundTrip whether the route goes back to the first position.
+     * @return a Route in json format.
+     */
+    @POST
+    @Path("/tour.json")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Route findTour(
+            @NotNull(message = "{route.tour.required}") @Size(message = "{route.tour.size}", min = 2, max = 100) @Valid List<GeoPoint> stops,
+            @DefaultValue("false") @QueryParam("round-trip") boolean roundTrip) {
+        try {
+            return routeFinderService.findTour(stops, roundTrip);
+        } catch (DataAccessException | TransactionException ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.dataAccessFailure")
+                    .setCause(ex)
+                    .build();
+        } catch (ZekkeException ex) {
+            // Seems silly but it's the only way to be handled directly by ZekkeExceptionHandler class 
+            // otherwise it will be wrapped into a WebServiceException hiding the real one in the front end
+            throw ex;
+        } catch (Exception ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.unknownFailure")
+                    .setCause(ex)
+                    .build();
+        }
+    }
+
+    /**
+     * Provides the optimal route distances from every source position to every
+     * target position running a single search per source. Example URL:
+     * https://zekke.herokuapp.com/api/v1/route-finder/matrix.json with a body
+     * like {"sources": [{"latitude": some_value, "longitude": some_value}],
+     * "targets": [{"latitude": some_value, "longitude": some_value}]}
+     *
+     * @param request the source and target positions.
+     * @return a DistanceMatrix in json format.
+     */
+    @POST
+    @Path("/matrix.json")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public DistanceMatrix findDistanceMatrix(
+            @NotNull(message = "{route.matrix.required}") @Valid DistanceMatrixRequest request) {
+        try {
+            return routeFinderService.findDistanceMatrix(request.getSources(), request.getTargets());
+        } catch (DataAccessException | TransactionException ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.dataAccessFailure")
+                    .setCause(ex)
+                    .build();
+        } catch (ZekkeException ex) {
+            // Seems silly but it's the only way to be handled directly by ZekkeExceptionHandler class 
+            // otherwise it will be wrapped into a WebServiceException hiding the real one in the front end
+            throw ex;
+        } catch (Exception ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.unknownFailure")
+                    .setCause(ex)
+                    .build();
+        }
+    }
+
+    /**
+     * Provides the optimal route of every root and target pair, in the same
+     * order. A pair whose places don't exist gets an error instead of a route
+     * and doesn't fail the rest of the batch. Example URL:
+     * https://zekke.herokuapp.com/api/v1/route-finder/batch.json with a body
+     * like [{"root": {"latitude": some_value, "longitude": some_value},
+     * "target": {"latitude": some_value, "longitude": some_value}}]
+     *
+     * @param queries the root and target positions of every route.
+     * @return a list of RouteResult in json format.
+     */
+    @POST
+    @Path("/batch.json")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<RouteResult> findRouteBatch(
+            @NotNull(message = "{route.batch.required}") @Size(message = "{route.batch.size}", min = 1, max = 1000) @Valid List<RouteQuery> queries) {
+        try {
+            return routeFinderService.findRouteBatch(queries);
+        } catch (DataAccessException | TransactionException ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.dataAccessFailure")
+                    .setCause(ex)
+                    .build();
+        } catch (ZekkeException ex) {
+            // Seems silly but it's the only way to be handled directly by ZekkeExceptionHandler class 
+            // otherwise it will be wrapped into a WebServiceException hiding the real one in the front end
+            throw ex;
+        } catch (Exception ex) {
+            throw new WebServiceException.Builder()
+                    .setMessageResource("webService.unknownFailure")
+                    .setCause(ex)
+                    .build();
+        }
+    }
+
+    /**
+     * Provides the statistics of the route finder since it started: the
+     * searches, the nodes they settled, the counters of the route cache, used
+     * to size it, and the memory of the precomputed tables. They're internal
+     * figures, so the endpoint answers only when
+     * {@code routeFinder.statistics.enabled} is set. Example URL:
+     * https://zekke.herokuapp.com/api/v1/route-finder/statistics.json
+     *
+     * @return a RouteFinderReport in json format or a 404 response if the
+     * statistics are disabled.
+     */
+    @GET
+    @Path("/statistics.json")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getStatistics() {
+        if (!statisticsEnabled) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        RouteFinderReport report = new RouteFinderReport();
+        report.setSearchCount(routeFinderStatistics.getSearchCount());
+        report.setSettledNodeCount(routeFinderStatistics.getSettledNodeCount());
+        report.setCacheHitCount(routeFinderStatistics.getCacheHitCount());
+        report.setCacheMissCount(routeFinderStatistics.getCacheMissCount());
+        report.setCacheEvictionCount(routeFinderStatistics.getCacheEvictionCount());
+        report.setCacheInvalidationCount(routeFinderStatistics.getCacheInvalidationCount());
+        report.setCacheSize(routeFinderStatistics.getCacheSize());
+        report.setCacheMaxSize(routeFinderStatistics.getCacheMaxSize());
+        report.setPrecomputedSize(routeFinderStatistics.getPrecomputedSize());
+        return Response.ok(report).build();
+    }
+
     /**
      * Sets a RouteFinderService. It's currently used by Spring.
      *
      * @param routeFinderService a RouteFinderService.
      */
     @Inject
-    public void setRouteFinderService(RouteFinderService routeFinderService) {
+    public void setRouteFinderService(@Named("routeFinderService") RouteFinderService routeFinderService) {
         this.routeFinderService = routeFinderService;
     }
+
+    /**
+     * Sets the RouteFinderStatistics of the route finder service. It's
+     * currently used by Spring.
+     *
+     * @param routeFinderStatistics a RouteFinderStatistics.
+     */
+    @Inject
+    public void setRouteFinderStatistics(@Named("routeFinderService") RouteFinderStatistics routeFinderStatistics) {
+        this.routeFinderStatistics = routeFinderStatistics;
+    }
+
+    /**
+     * Sets whether the statistics endpoint answers. It's currently used by
+     * Spring.
+     *
+     * @param statisticsEnabled {@code true} to serve the statistics.
+     */
+    @Value("${routeFinder.statistics.enabled:false}")
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
 }
\ No newline at end of file
@@ -1,157 +1,157 @@
-INSERT INTO place (id, name, latitude, longitude) VALUES (1, 'Area de esparcimiento', 19.0580159920845, -98.2833185791969);
-INSERT INTO place (id, name, latitude, longitude) VALUES (2, 'Area de esparcimiento - Salida', 19.0580083865055, -98.2836592197418);
-INSERT INTO place (id, name, latitude, longitude) VALUES (3, 'Cancha de beisbol 1', 19.0588221814764, -98.2832220196724);
-INSERT INTO place (id, name, latitude, longitude) VALUES (4, 'Cancha de beisbol 1 - Salida', 19.0582416241016, -98.2835975289345);
-INSERT INTO place (id, name, latitude, longitude) VALUES (5, 'Parada Autobus Foraneo', 19.057620501516, -98.2837477326393);
-INSERT INTO place (id, name, latitude, longitude) VALUES (6, 'Acceso Principal', 19.0568650105012, -98.2837209105492);
-INSERT INTO place (id, name, latitude, longitude) VALUES (7, 'Planta Fisica', 19.0564568411049, -98.2834419608116);
-INSERT INTO place (id, name, latitude, longitude) VALUES (8, 'Estacionamiento 9 - Entrada', 19.0564365593696, -98.2830584049225);
-INSERT INTO place (id, name, latitude, longitude) VALUES (9, 'Sorteo UDLA', 19.0564036015444, -98.2824441790581);
-INSERT INTO place (id, name, latitude, longitude) VALUES (10, 'Estacionamiento 9', 19.0567686724734, -98.2827311754227);
-INSERT INTO place (id, name, latitude, longitude) VALUES (11, 'Recursos Humanos', 19.0563681084946, -98.2821598649025);
-INSERT INTO place (id, name, latitude, longitude) VALUES (12, 'Publicaciones', 19.0567407851391, -98.2821330428124);
-INSERT INTO place (id, name, latitude, longitude) VALUES (13, 'Estacionamiento 10', 19.056286981495, -98.281706571579);
-INSERT INTO place (id, name, latitude, longitude) VALUES (14, 'Estacionamiento 10 - 2', 19.0560841638225, -98.2811459898949);
-INSERT INTO place (id, name, latitude, longitude) VALUES (15, 'Estacionamiento 10 - 3', 19.0558128947978, -98.2806739211082);
-INSERT INTO place (id, name, latitude, longitude) VALUES (16, 'Ecozona', 19.0564289537182, -98.2808831334114);
-INSERT INTO place (id, name, latitude, longitude) VALUES (17, 'Cancha de futbol americano 1', 19.0565506440986, -98.2814222574234);
-INSERT INTO place (id, name, latitude, longitude) VALUES (18, 'Estacionamiento 10 - 4', 19.0554909207067, -98.2803869247436);
-INSERT INTO place (id, name, latitude, longitude) VALUES (19, 'Cancha de futbol rapido', 19.0555543014827, -98.280094563961);
-INSERT INTO place (id, name, latitude, longitude) VALUES (20, 'Estacionamiento 11', 19.0549331688338, -98.2797968387604);
-INSERT INTO place (id, name, latitude, longitude) VALUES (21, 'Estacionamiento 11 - 2', 19.0545833053382, -98.2797566056252);
-INSERT INTO place (id, name, latitude, longitude) VALUES (22, 'Estacionamiento 11 - 3', 19.0549078164314, -98.280089199543);
-INSERT INTO place (id, name, latitude, longitude) VALUES (23, 'Estacionamiento 11 - 4', 19.054466684009, -98.2800462841988);
-INSERT INTO place (id, name, latitude, longitude) VALUES (24, 'Estacionamiento 12 - 3', 19.0533384951786, -98.2798692584038);
-INSERT INTO place (id, name, latitude, longitude) VALUES (25, 'Estacionamiento 12 - 2', 19.0539241402258, -98.2798746228218);
-INSERT INTO place (id, name, latitude, longitude) VALUES (26, 'Estacionamiento 12', 19.0542258353523, -98.2799255847931);
-INSERT INTO place (id, name, latitude, longitude) VALUES (27, 'Estacionamiento 3', 19.0538531530574, -98.2807731628418);
-INSERT INTO place (id, name, latitude, longitude) VALUES (28, 'Estacionamiento 3 - 2', 19.0538937171573, -98.2804620265961);
-INSERT INTO place (id, name, latitude, longitude) VALUES (29, 'Estacionamiento 12 - 4', 19.0525677730049, -98.2800489664078);
-INSERT INTO place (id, name, latitude, longitude) VALUES (30, 'Estacionamiento 13', 19.052027758296, -98.280086517334);
-INSERT INTO place (id, name, latitude, longitude) VALUES (31, 'Agora', 19.0530875038112, -98.2810869812965);
-INSERT INTO place (id, name, latitude, longitude) VALUES (32, 'Humanidades', 19.0535007520221, -98.2809099555016);
-INSERT INTO place (id, name, latitude, longitude) VALUES (33, 'Humanidades - 2', 19.0532649724942, -98.2804620265961);
-INSERT INTO place (id, name, latitude, longitude) VALUES (34, 'Humanidades - 3', 19.0528998938543, -98.2805827260017);
-INSERT INTO place (id, name, latitude, longitude) VALUES (35, 'Humanidades - 4', 19.052547490794, -98.2811057567596);
-INSERT INTO place (id, name, latitude, longitude) VALUES (36, 'Colegio Ignacio Bernal - Entrada', 19.0517108474371, -98.2801562547684);
-INSERT INTO place (id, name, latitude, longitude) VALUES (37, 'Colegio Ignacio Bernal', 19.0514243594997, -98.280263543129);
-INSERT INTO place (id, name, latitude, longitude) VALUES (38, 'Acceso Periferico Ecologico', 19.0513483006722, -98.2790377736092);
-INSERT INTO place (id, name, latitude, longitude) VALUES (39, 'Acceso Periferico Ecologico - 2', 19.052042970002, -98.2793569564819);
-INSERT INTO place (id, name, latitude, longitude) VALUES (40, 'Circuito - CB - 1', 19.0519035293114, -98.2805183529854);
-INSERT INTO place (id, name, latitude, longitude) VALUES (41, 'Circuito - CB - 2', 19.0515992946707, -98.280810713768);
-INSERT INTO place (id, name, latitude, longitude) VALUES (42, 'Parada 2', 19.0517767649456, -98.2807838916779);
-INSERT INTO place (id, name, latitude, longitude) VALUES (43, 'Circuito - Estacionamiento 4', 19.0512443535515, -98.2824844121933);
-INSERT INTO place (id, name, latitude, longitude) VALUES (44, 'Estacionamiento 4', 19.0520683228422, -98.2818031311035);
-INSERT INTO place (id, name, latitude, longitude) VALUES (45, 'Estacionamiento 4 - 2', 19.0516500004829, -98.2822188735008);
-INSERT INTO place (id, name, latitude, longitude) VALUES (46, 'Hacienda - Rectoria', 19.0529151054803, -98.282079398632);
-INSERT INTO place (id, name, latitude, longitude) VALUES (47, 'Danza', 19.0522483278965, -98.2825112342834);
-INSERT INTO place (id, name, latitude, longitude) VALUES (48, 'Silo', 19.0521367754915, -98.2822751998901);
-INSERT INTO place (id, name, latitude, longitude) VALUES (49, 'Estacionamiento 5 - Entrada', 19.0518832470194, -98.284238576889);
-INSERT INTO place (id, name, latitude, longitude) VALUES (50, 'Parada 3', 19.0519719820287, -98.2844504714012);
-INSERT INTO place (id, name, latitude, longitude) VALUES (51, 'Estacionamiento 5', 19.0522229750837, -98.2838040590286);
-INSERT INTO place (id, name, latitude, longitude) VALUES (52, 'Jardin de la meditacion - Salida', 19.0514649241935, -98.2829833030701);
-INSERT INTO place (id, name, latitude, longitude) VALUES (53, 'Jardin de la meditacion', 19.0518274707036, -98.2831683754921);
-INSERT INTO place (id, name, latitude, longitude) VALUES (54, 'Jardin de la meditacion - Entrada', 19.0522242427245, -98.2832749933004);
-INSERT INTO place (id, name, latitude, longitude) VALUES (55, 'Negocios', 19.0525829846613, -98.2836109399796);
-INSERT INTO place (id, name, latitude, longitude) VALUES (56, 'Ciencias Sociales', 19.0529987693986, -98.2834044098854);
-INSERT INTO place (id, name, latitude, longitude) VALUES (57, 'Negocios - Entrada - 1', 19.0527680597036, -98.2839676737785);
-INSERT INTO place (id, name, latitude, longitude) VALUES (58, 'Negocios - Entrada - 2', 19.0524080505276, -98.2832005620003);
-INSERT INTO place (id, name, latitude, longitude) VALUES (59, 'Estacionamiento 6', 19.0529404581873, -98.2843592762947);
-INSERT INTO place (id, name, latitude, longitude) VALUES (60, 'Playita', 19.0535058225459, -98.2837235927582);
-INSERT INTO place (id, name, latitude, longitude) VALUES (61, 'Fuente', 19.0535134283313, -98.2832166552544);
-INSERT INTO place (id, name, latitude, longitude) VALUES (62, 'Auditorio', 19.0534804699253, -98.2826265692711);
-INSERT INTO place (id, name, latitude, longitude) VALUES (63, 'Centro Social', 19.0537061081121, -98.2837209105492);
-INSERT INTO place (id, name, latitude, longitude) VALUES (64, 'Sala de Videojuegos', 19.0539114639479, -98.2836350798607);
-INSERT INTO place (id, name, latitude, longitude) VALUES (65, 'CIRIA', 19.0544083733137, -98.283141553402);
-INSERT INTO place (id, name, latitude, longitude) VALUES (66, 'CIRIA - Entrada', 19.0540965375081, -98.2833132147789);
-INSERT INTO place (id, name, latitude, longitude) VALUES (67, 'Estacionamiento 14 - Entrada', 19.0521925517034, -98.2851049304008);
-INSERT INTO place (id, name, latitude, longitude) VALUES (68, 'Estacionamiento 14 - Salida', 19.0523395979902, -98.2855314016342);
-INSERT INTO place (id, name, latitude, longitude) VALUES (69, 'Estacionamiento 14', 19.0526438312734, -98.2852926850319);
-INSERT INTO place (id, name, latitude, longitude) VALUES (70, 'Colegio Ray Lindley - Entrada', 19.0537137138884, -98.2846409082413);
-INSERT INTO place (id, name, latitude, longitude) VALUES (71, 'Colegio Ray Lindley', 19.053341030443, -98.2849735021591);
-INSERT INTO place (id, name, latitude, longitude) VALUES (72, 'Andador', 19.0534348351986, -98.283868432045);
-INSERT INTO place (id, name, latitude, longitude) VALUES (73, 'Zona del lago', 19.0539190697147, -98.2846301794052);
-INSERT INTO place (id, name, latitude, longitude) VALUES (74, 'Comedor', 19.0539216049703, -98.284048140049);
-INSERT INTO place (id, name, latitude, longitude) VALUES (75, 'Servicios Medicos', 19.0538125889476, -98.2848474383354);
-INSERT INTO place (id, name, latitude, longitude) VALUES (76, 'CAIL', 19.0539849863459, -98.2855743169784);
-INSERT INTO place (id, name, latitude, longitude) VALUES (77, 'Andador - 2', 19.054144707305, -98.285316824913);
-INSERT INTO place (id, name, latitude, longitude) VALUES (78, 'Templo del Dolor', 19.0548444354084, -98.2855367660522);
-INSERT INTO place (id, name, latitude, longitude) VALUES (79, 'Andador  - 3', 19.054499642219, -98.2862931489944);
-INSERT INTO place (id, name, latitude, longitude) VALUES (80, 'Parada 4', 19.0545655586195, -98.2862804085016);
-INSERT INTO place (id, name, latitude, longitude) VALUES (81, 'Cancha de futbol CAIL 1', 19.0536883612996, -98.2863360643387);
-INSERT INTO place (id, name, latitude, longitude) VALUES (82, 'Cancha de futbol CAIL 2', 19.0530038399377, -98.2858371734619);
-INSERT INTO place (id, name, latitude, longitude) VALUES (83, 'Acceso Camino Real', 19.0527984829784, -98.2873070240021);
-INSERT INTO place (id, name, latitude, longitude) VALUES (84, 'Alberca', 19.0540813259904, -98.2872346043587);
-INSERT INTO place (id, name, latitude, longitude) VALUES (85, 'Cancha de tenis', 19.0533613125568, -98.2876101136208);
-INSERT INTO place (id, name, latitude, longitude) VALUES (86, 'Gimnasio Pesas', 19.0537492075061, -98.2875189185142);
-INSERT INTO place (id, name, latitude, longitude) VALUES (87, 'Estacionamiento 7', 19.0539570985436, -98.2868269085884);
-INSERT INTO place (id, name, latitude, longitude) VALUES (88, 'Alberca - Entrada ', 19.0543449920998, -98.2870870828628);
-INSERT INTO place (id, name, latitude, longitude) VALUES (89, 'Cancha de basquetbol', 19.0536275150707, -98.2871943712234);
-INSERT INTO place (id, name, latitude, longitude) VALUES (90, 'Estacionamiento 7 - 2', 19.0541675245723, -98.2866606116295);
-INSERT INTO place (id, name, latitude, longitude) VALUES (91, 'Gimnasio Morris Williams', 19.05445654302, -98.2868564128876);
-INSERT INTO place (id, name, latitude, longitude) VALUES (92, 'Helipuerto', 19.0550345784047, -98.2867893576622);
-INSERT INTO place (id, name, latitude, longitude) VALUES (93, 'Cancha de futbol americano 2', 19.0541092137718, -98.2883986830711);
-INSERT INTO place (id, name, latitude, longitude) VALUES (94, 'Cancha de futbol sintetica', 19.0556151470049, -98.2877227663994);
-INSERT INTO place (id, name, latitude, longitude) VALUES (95, 'Gimnasio Comunidad', 19.0547557019355, -98.2873392105102);
-INSERT INTO place (id, name, latitude, longitude) VALUES (96, 'Cancha de futbol', 19.0557799368487, -98.2864406704903);
-INSERT INTO place (id, name, latitude, longitude) VALUES (97, 'Cancha de beisbol 2 - Entrada', 19.0559092333807, -98.2857432961464);
-INSERT INTO place (id, name, latitude, longitude) VALUES (98, 'Cancha de beisbol 2', 19.0558002186643, -98.2851853966713);
-INSERT INTO place (id, name, latitude, longitude) VALUES (99, 'Templo del Dolor - Entrada ', 19.0550573955496, -98.286030292511);
-INSERT INTO place (id, name, latitude, longitude) VALUES (100, 'Zona Residencial', 19.0552373973606, -98.2889592647552);
-INSERT INTO place (id, name, latitude, longitude) VALUES (101, 'Hostal San Andres', 19.0575748679282, -98.29520881176);
-INSERT INTO place (id, name, latitude, longitude) VALUES (102, 'Circuito', 19.05634529153, -98.2852685451508);
-INSERT INTO place (id, name, latitude, longitude) VALUES (103, 'Circuito - Escudo Floral', 19.0562793758367, -98.2841742038727);
-INSERT INTO place (id, name, latitude, longitude) VALUES (104, 'Escudo Foral', 19.0564010663268, -98.2839086651802);
-INSERT INTO place (id, name, latitude, longitude) VALUES (105, 'Acceso Principal - 2', 19.0568878273943, -98.2839730381966);
-INSERT INTO place (id, name, latitude, longitude) VALUES (106, 'Estacionamiento 15', 19.0566317709692, -98.284595310688);
-INSERT INTO place (id, name, latitude, longitude) VALUES (107, 'Parada 1', 19.055445286533, -98.2830986380577);
-INSERT INTO place (id, name, latitude, longitude) VALUES (108, 'Estacionamiento 1', 19.0554909207067, -98.2825568318367);
-INSERT INTO place (id, name, latitude, longitude) VALUES (109, 'CACE - Entrada', 19.0551435936243, -98.2824414968491);
-INSERT INTO place (id, name, latitude, longitude) VALUES (110, 'CACE', 19.0549940145838, -98.2824414968491);
-INSERT INTO place (id, name, latitude, longitude) VALUES (111, 'Estacionamiento 2', 19.0550345784047, -98.2816180586815);
-INSERT INTO place (id, name, latitude, longitude) VALUES (112, 'CACE - Estacionamiento 1', 19.0549864088662, -98.2821035385132);
-INSERT INTO place (id, name, latitude, longitude) VALUES (113, 'Jadin DGTI', 19.054664433171, -98.2819399237633);
-INSERT INTO place (id, name, latitude, longitude) VALUES (114, 'DGTI', 19.0543576683445, -98.2820498943329);
-INSERT INTO place (id, name, latitude, longitude) VALUES (115, 'Ingenieria A', 19.0544413315353, -98.2823181152344);
-INSERT INTO place (id, name, latitude, longitude) VALUES (116, 'Ingenieria B', 19.0540255504135, -98.2825058698654);
-INSERT INTO place (id, name, latitude, longitude) VALUES (117, 'Ingenieria B - 2', 19.0538379415174, -98.2821062207222);
-INSERT INTO place (id, name, latitude, longitude) VALUES (118, 'Plaza de las Banderas', 19.0538835761333, -98.2829216122627);
-INSERT INTO place (id, name, latitude, longitude) VALUES (119, 'Ingenieria A - 2', 19.054144707305, -98.2816368341446);
-INSERT INTO place (id, name, latitude, longitude) VALUES (120, 'Laboratorios A', 19.0537796306011, -98.2814168930054);
-INSERT INTO place (id, name, latitude, longitude) VALUES (121, 'Laboratorios B - Planta Piloto', 19.0543373863525, -98.280810713768);
-INSERT INTO place (id, name, latitude, longitude) VALUES (122, 'Andador - 4', 19.0536046977291, -98.2823154330254);
-INSERT INTO place (id, name, latitude, longitude) VALUES (123, 'Andador - 5', 19.0538075184332, -98.2826855778694);
-INSERT INTO place (id, name, latitude, longitude) VALUES (124, 'Colegio Cain Murray - Entrada ', 19.0545148536984, -98.2837557792664);
-INSERT INTO place (id, name, latitude, longitude) VALUES (125, 'Colegio Cain Murray', 19.0547557019355, -98.2842439413071);
-INSERT INTO place (id, name, latitude, longitude) VALUES (126, 'Andador - 6', 19.0543171043581, -98.2838308811188);
-INSERT INTO place (id, name, latitude, longitude) VALUES (127, 'Estacionamiento 8', 19.0552373973606, -98.2838228344917);
-INSERT INTO place (id, name, latitude, longitude) VALUES (128, 'Estatua', 19.0548064067829, -98.2827231287956);
-INSERT INTO place (id, name, latitude, longitude) VALUES (129, 'CIRIA - 2', 19.0540128741435, -98.2830825448036);
-INSERT INTO place (id, name, latitude, longitude) VALUES (130, 'Ciencias - Entrada ', 19.0542283706031, -98.2813793420792);
-INSERT INTO place (id, name, latitude, longitude) VALUES (131, 'Ciencias', 19.0541523130611, -98.2812398672104);
-INSERT INTO place (id, name, latitude, longitude) VALUES (132, 'Esq LA - 1', 19.0539900568549, -98.2815027236938);
-INSERT INTO place (id, name, latitude, longitude) VALUES (133, 'Esq LA - 2', 19.0538075184332, -98.2810735702515);
-INSERT INTO place (id, name, latitude, longitude) VALUES (134, 'Laboratorios B - Entrada Sur', 19.0541979475905, -98.2808804512024);
-INSERT INTO place (id, name, latitude, longitude) VALUES (135, 'LB - Esq SE', 19.0541168195295, -98.2807034254074);
-INSERT INTO place (id, name, latitude, longitude) VALUES (136, 'Laboratorios B - Entrada Este', 19.0543044281103, -98.280628323555);
-INSERT INTO place (id, name, latitude, longitude) VALUES (137, 'LB - Esq NE', 19.0544768249974, -98.2805532217026);
-INSERT INTO place (id, name, latitude, longitude) VALUES (138, 'Laboratorios B - Entrada Norte', 19.0544971069723, -98.2806980609894);
-INSERT INTO place (id, name, latitude, longitude) VALUES (139, 'LB - Esq NO', 19.0545275299301, -98.280799984932);
-INSERT INTO place (id, name, latitude, longitude) VALUES (140, 'Laboratorios B - Entrada Oeste', 19.0543449920998, -98.2808804512024);
-INSERT INTO place (id, name, latitude, longitude) VALUES (141, 'LB - Esq SO', 19.0541979475905, -98.280987739563);
-INSERT INTO place (id, name, latitude, longitude) VALUES (142, 'Almacen de reactivos', 19.0545833053382, -98.280982375145);
-INSERT INTO place (id, name, latitude, longitude) VALUES (143, 'LA - Sal E', 19.0536300503306, -98.2811540365219);
-INSERT INTO place (id, name, latitude, longitude) VALUES (144, 'Ciencias Sociales - Entrada 2', 19.0527629891572, -98.2830020785332);
-INSERT INTO place (id, name, latitude, longitude) VALUES (145, 'Andador SR', 19.0529911635896, -98.2828196883202);
-INSERT INTO place (id, name, latitude, longitude) VALUES (146, 'Andador AR', 19.0531787734433, -98.2823315262794);
-INSERT INTO place (id, name, latitude, longitude) VALUES (147, 'Andador AH', 19.0535438514695, -98.2821759581566);
-INSERT INTO place (id, name, latitude, longitude) VALUES (148, 'Andador Sub Estacion', 19.0535387809469, -98.2842788100243);
-INSERT INTO place (id, name, latitude, longitude) VALUES (149, 'Colegio Jose Gaos - Entrada', 19.0517615532152, -98.2851545512676);
-INSERT INTO place (id, name, latitude, longitude) VALUES (150, 'Colegio Jose Gaos', 19.0514167536186, -98.2853020727634);
-INSERT INTO place (id, name, latitude, longitude) VALUES (151, 'Salida CG', 19.0519605732445, -98.2850465923548);
-INSERT INTO place (id, name, latitude, longitude) VALUES (152, 'Andador E14 - E6', 19.0521507195462, -98.2850009948015);
-INSERT INTO place (id, name, latitude, longitude) VALUES (153, 'Andador E14 - E6 2', 19.0526400283608, -98.2847663015127);
-INSERT INTO place (id, name, latitude, longitude) VALUES (154, 'Estatua NE - E6', 19.0524017123308, -98.2842714339495);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (1, 'Area de esparcimiento', 'area de esparcimiento', 19.0580159920845, -98.2833185791969, 0.32652539121173485, 0.9451884303640324, -1.7153675089935012);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (2, 'Area de esparcimiento - Salida', 'area de esparcimiento - salida', 19.0580083865055, -98.2836592197418, 0.32652526574515595, 0.9451884737077867, -1.7153734542925754);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (3, 'Cancha de beisbol 1', 'cancha de beisbol 1', 19.0588221814764, -98.2832220196724, 0.32653869060377333, 0.9451838358429397, -1.7153658237118743);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (4, 'Cancha de beisbol 1 - Salida', 'cancha de beisbol 1 - salida', 19.0582416241016, -98.2835975289345, 0.3265291133816544, 0.9451871444926612, -1.7153723775848697);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (5, 'Parada Autobus Foraneo', 'parada autobus foraneo', 19.057620501516, -98.2837477326393, 0.3265188669344053, 0.9451906842197886, -1.7153749991340672);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (6, 'Acceso Principal', 'acceso principal', 19.0568650105012, -98.2837209105492, 0.32650640380533014, 0.9451949895519499, -1.7153745310002828);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (7, 'Planta Fisica', 'planta fisica', 19.0564568411049, -98.2834419608116, 0.32649967032258076, 0.9451973155268936, -1.715369662408914);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (8, 'Estacionamiento 9 - Entrada', 'estacionamiento 9 - entrada', 19.0564365593696, -98.2830584049225, 0.32649933573872325, 0.9451974311021865, -1.715362968095784);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (9, 'Sorteo UDLA', 'sorteo udla', 19.0564036015444, -98.2824441790581, 0.32649879203977933, 0.9451976189118152, -1.715352247832099);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (10, 'Estacionamiento 9', 'estacionamiento 9', 19.0567686724734, -98.2827311754227, 0.3265048145390981, 0.9451955385436334, -1.7153572568636024);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (11, 'Recursos Humanos', 'recursos humanos', 19.0563681084946, -98.2821598649025, 0.3264982065175989, 0.9451978211680301, -1.7153472856139738);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (12, 'Publicaciones', 'publicaciones', 19.0567407851391, -98.2821330428124, 0.32650435448800186, 0.9451956974618395, -1.7153468174801896);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (13, 'Estacionamiento 10', 'estacionamiento 10', 19.056286981495, -98.281706571579, 0.3264968681802438, 0.9451982834667509, -1.7153393741530016);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (14, 'Estacionamiento 10 - 2', 'estacionamiento 10 - 2', 19.0560841638225, -98.2811459898949, 0.32649352233113005, 0.9451994392062513, -1.7153295901568875);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (15, 'Estacionamiento 10 - 3', 'estacionamiento 10 - 3', 19.0558128947978, -98.2806739211082, 0.3264890472451489, 0.9452009849915282, -1.715321351002264);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (16, 'Ecozona', 'ecozona', 19.0564289537182, -98.2808831334114, 0.32649921026975515, 0.9451974744428945, -1.7153250024457902);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (17, 'Cancha de futbol americano 1', 'cancha de futbol americano 1', 19.0565506440986, -98.2814222574234, 0.3265012177718609, 0.9451967809898063, -1.7153344119348763);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (18, 'Estacionamiento 10 - 4', 'estacionamiento 10 - 4', 19.0554909207067, -98.2803869247436, 0.326483735675501, 0.9452028196844154, -1.7153163419707602);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (19, 'Cancha de futbol rapido', 'cancha de futbol rapido', 19.0555543014827, -98.280094563961, 0.32648478126170744, 0.9452024585264762, -1.7153112393125003);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (20, 'Estacionamiento 11', 'estacionamiento 11', 19.0549331688338, -98.2797968387604, 0.3264745344824333, 0.9452059978303557, -1.7153060430274836);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (21, 'Estacionamiento 11 - 2', 'estacionamiento 11 - 2', 19.0545833053382, -98.2797566056252, 0.3264687627933839, 0.9452079913543671, -1.7153053408268057);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (22, 'Estacionamiento 11 - 3', 'estacionamiento 11 - 3', 19.0549078164314, -98.280089199543, 0.3264741162449149, 0.9452061422896604, -1.7153111456857437);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (23, 'Estacionamiento 11 - 4', 'estacionamiento 11 - 4', 19.054466684009, -98.2800462841988, 0.3264668388916235, 0.9452086558554734, -1.7153103966716878);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (24, 'Estacionamiento 12 - 3', 'estacionamiento 12 - 3', 19.0533384951786, -98.2798692584038, 0.32644822709363225, 0.9452150840033311, -1.715307306988704);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (25, 'Estacionamiento 12 - 2', 'estacionamiento 12 - 2', 19.0539241402258, -98.2798746228218, 0.3264578885304797, 0.9452117471848416, -1.7153074006154603);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (26, 'Estacionamiento 12', 'estacionamiento 12', 19.0542258353523, -98.2799255847931, 0.3264628656076877, 0.9452100281837983, -1.7153082900696532);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (27, 'Estacionamiento 3', 'estacionamiento 3', 19.0538531530574, -98.2807731628418, 0.3264567174508575, 0.9452121516523214, -1.7153230830972706);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (28, 'Estacionamiento 3 - 2', 'estacionamiento 3 - 2', 19.0538937171573, -98.2804620265961, 0.326457386639335, 0.9452119205282039, -1.7153176527453606);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (29, 'Estacionamiento 12 - 4', 'estacionamiento 12 - 4', 19.0525677730049, -98.2800489664078, 0.32643551237149127, 0.9452194751816966, -1.715310443485066);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (30, 'Estacionamiento 13', 'estacionamiento 13', 19.052027758296, -98.280086517334, 0.32642660363065923, 0.9452225518057388, -1.7153110988723654);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (31, 'Agora', 'agora', 19.0530875038112, -98.2810869812965, 0.32644408645695877, 0.9452165140417732, -1.7153285602625585);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (32, 'Humanidades', 'humanidades', 19.0535007520221, -98.2809099555016, 0.32645090386218756, 0.9452141595255336, -1.7153254705795766);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (33, 'Humanidades - 2', 'humanidades - 2', 19.0532649724942, -98.2804620265961, 0.3264470141811577, 0.9452155029051349, -1.7153176527453606);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (34, 'Humanidades - 3', 'humanidades - 3', 19.0528998938543, -98.2805827260017, 0.3264409914274254, 0.945217582948963, -1.7153197593473937);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (35, 'Humanidades - 4', 'humanidades - 4', 19.052547490794, -98.2811057567596, 0.3264351777719435, 0.9452195907369882, -1.7153288879562083);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (36, 'Colegio Ignacio Bernal - Entrada', 'colegio ignacio bernal - entrada', 19.0517108474371, -98.2801562547684, 0.3264213754693639, 0.9452243573018464, -1.7153123160202075);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (37, 'Colegio Ignacio Bernal', 'colegio ignacio bernal', 19.0514243594997, -98.280263543129, 0.3264166491943642, 0.9452259894484087, -1.715314188555349);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (38, 'Acceso Periferico Ecologico', 'acceso periferico ecologico', 19.0513483006722, -98.2790377736092, 0.32641539442834877, 0.9452264227581588, -1.715292794841358);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (39, 'Acceso Periferico Ecologico - 2', 'acceso periferico ecologico - 2', 19.052042970002, -98.2793569564819, 0.326426854581899, 0.945222465141285, -1.7152983656334029);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (40, 'Circuito - CB - 1', 'circuito - cb - 1', 19.0519035293114, -98.2805183529854, 0.3264245541938108, 0.9452232595632483, -1.71531863582631);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (41, 'Circuito - CB - 2', 'circuito - cb - 2', 19.0515992946707, -98.280810713768, 0.32641953515183497, 0.945224992830416, -1.71532373848457);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (42, 'Parada 2', 'parada 2', 19.0517767649456, -98.2807838916779, 0.32642246292855825, 0.9452239817607538, -1.7153232703507852);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (43, 'Circuito - Estacionamiento 4', 'circuito - estacionamiento 4', 19.0512443535515, -98.2824844121933, 0.32641367957959955, 0.9452270149457782, -1.7153529500327769);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (44, 'Estacionamiento 4', 'estacionamiento 4', 19.0520683228422, -98.2818031311035, 0.3264272728338625, 0.9452223207003986, -1.7153410594346281);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (45, 'Estacionamiento 4 - 2', 'estacionamiento 4 - 2', 19.0516500004829, -98.2822188735008, 0.32642037166010934, 0.9452247039541847, -1.7153483155083014);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (46, 'Hacienda - Rectoria', 'hacienda - rectoria', 19.0529151054803, -98.282079398632, 0.3264412423760262, 0.945217496281145, -1.715345881212617);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (47, 'Danza', 'danza', 19.0522483278965, -98.2825112342834, 0.32643024241913227, 0.9452212951654161, -1.7153534181665615);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (48, 'Silo', 'silo', 19.0521367754915, -98.2822751998901, 0.32642840211352725, 0.9452219307091903, -1.7153492985892502);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (49, 'Estacionamiento 5 - Entrada', 'estacionamiento 5 - entrada', 19.0518832470194, -98.284238576889, 0.3264242195915854, 0.9452233751151229, -1.715383565982339);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (50, 'Parada 3', 'parada 3', 19.0519719820287, -98.2844504714012, 0.32642568347571904, 0.9452228695749006, -1.7153872642392438);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (51, 'Estacionamiento 5', 'estacionamiento 5', 19.0522229750837, -98.2838040590286, 0.3264298241680746, 0.9452214396074604, -1.7153759822150165);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (52, 'Jardin de la meditacion - Salida', 'jardin de la meditacion - salida', 19.0514649241935, -98.2829833030701, 0.3264173184024363, 0.9452257583492752, -1.715361657321185);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (53, 'Jardin de la meditacion', 'jardin de la meditacion', 19.0518274707036, -98.2831683754921, 0.32642329943504367, 0.9452236928822404, -1.7153648874443037);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (54, 'Jardin de la meditacion - Entrada', 'jardin de la meditacion - entrada', 19.0522242427245, -98.2832749933004, 0.3264298450806316, 0.9452214323853617, -1.7153667482760997);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (55, 'Negocios', 'negocios', 19.0525829846613, -98.2836109399796, 0.326435763321096, 0.9452193885151602, -1.715372611651763);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (56, 'Ciencias Sociales', 'ciencias sociales', 19.0529987693986, -98.2834044098854, 0.3264426225925119, 0.9452170196070968, -1.7153690070216148);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (57, 'Negocios - Entrada - 1', 'negocios - entrada - 1', 19.0527680597036, -98.2839676737785, 0.32643881653761947, 0.9452183340675944, -1.7153788378311072);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (58, 'Negocios - Entrada - 2', 'negocios - entrada - 2', 19.0524080505276, -98.2832005620003, 0.32643287739784876, 0.945220385176791, -1.7153654492048465);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (59, 'Estacionamiento 6', 'estacionamiento 6', 19.0529404581873, -98.2843592762947, 0.32644166062359364, 0.945217351834651, -1.7153856725843735);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (60, 'Playita', 'playita', 19.0535058225459, -98.2837235927582, 0.32645098751112056, 0.9452141306354948, -1.715374577813661);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (61, 'Fuente', 'fuente', 19.0535134283313, -98.2832166552544, 0.32645111298451024, 0.9452140873004246, -1.715365730085118);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (62, 'Auditorio', 'auditorio', 19.0534804699253, -98.2826265692711, 0.3264505692664038, 0.9452142750856236, -1.7153554311418395);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (63, 'Centro Social', 'centro social', 19.0537061081121, -98.2837209105492, 0.32645429163988293, 0.9452129894737494, -1.7153745310002828);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (64, 'Sala de Videojuegos', 'sala de videojuegos', 19.0539114639479, -98.2836350798607, 0.3264576794091912, 0.9452118194112713, -1.7153730329721693);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (65, 'CIRIA', 'ciria', 19.0544083733137, -98.283141553402, 0.32646587693972956, 0.9452089881047331, -1.7153644193105193);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (66, 'CIRIA - Entrada', 'ciria - entrada', 19.0540965375081, -98.2833132147789, 0.3264607325768148, 0.9452107649013576, -1.7153674153667446);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (67, 'Estacionamiento 14 - Entrada', 'estacionamiento 14 - entrada', 19.0521925517034, -98.2851049304008, 0.3264293222666395, 0.9452216129376975, -1.7153986867036064);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (68, 'Estacionamiento 14 - Salida', 'estacionamiento 14 - salida', 19.0523395979902, -98.2855314016342, 0.32643174812187653, 0.9452207751727084, -1.715406130030794);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (69, 'Estacionamiento 14', 'estacionamiento 14', 19.0526438312734, -98.2852926850319, 0.32643676711906194, 0.9452190418484253, -1.715401963640105);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (70, 'Colegio Ray Lindley - Entrada', 'colegio ray lindley - entrada', 19.0537137138884, -98.2846409082413, 0.326454417112971, 0.9452129461382923, -1.7153905879891205);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (71, 'Colegio Ray Lindley', 'colegio ray lindley', 19.053341030443, -98.2849735021591, 0.32644826891818113, 0.9452150695584169, -1.7153963928480584);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (72, 'Andador', 'andador', 19.0534348351986, -98.283868432045, 0.326449816425594, 0.9452145350954438, -1.715377105736102);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (73, 'Zona del lago', 'zona del lago', 19.0539190697147, -98.2846301794052, 0.32645780488196713, 0.9452117760754187, -1.7153904007356058);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (74, 'Comedor', 'comedor', 19.0539216049703, -98.284048140049, 0.3264578467062245, 0.9452117616301308, -1.715380242232464);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (75, 'Servicios Medicos', 'servicios medicos', 19.0538125889476, -98.2848474383354, 0.32645604826205304, 0.9452123827760215, -1.715394192619267);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (76, 'CAIL', 'cail', 19.0539849863459, -98.2855743169784, 0.32645889231221425, 0.9452114004974137, -1.7154068790448498);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (77, 'Andador - 2', 'andador - 2', 19.054144707305, -98.285316824913, 0.3264615272357644, 0.9452104904384484, -1.7154023849605111);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (78, 'Templo del Dolor', 'templo del dolor', 19.0548444354084, -98.2855367660522, 0.32647307065055875, 0.9452065034372094, -1.7154062236575507);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (79, 'Andador  - 3', 'andador  - 3', 19.054499642219, -98.2862931489944, 0.3264673826032641, 0.9452084680620323, -1.715419425030298);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (80, 'Parada 4', 'parada 4', 19.0545655586195, -98.2862804085016, 0.3264684700258995, 0.945208092474323, -1.7154192026667503);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (81, 'Cancha de futbol CAIL 1', 'cancha de futbol cail 1', 19.0536883612996, -98.2863360643387, 0.32645399886930304, 0.9452130905897574, -1.7154201740443555);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (82, 'Cancha de futbol CAIL 2', 'cancha de futbol cail 2', 19.0530038399377, -98.2858371734619, 0.3264427062419503, 0.9452169907177038, -1.715411466755947);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (83, 'Acceso Camino Real', 'acceso camino real', 19.0527984829784, -98.2873070240021, 0.32643931843557306, 0.945218160732917, -1.715437120487386);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (84, 'Alberca', 'alberca', 19.0540813259904, -98.2872346043587, 0.3264604816317877, 0.9452108515737329, -1.7154358565261654);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (85, 'Cancha de tenis', 'cancha de tenis', 19.0533613125568, -98.2876101136208, 0.32644860351452654, 0.9452149539990443, -1.7154424103991608);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (86, 'Gimnasio Pesas', 'gimnasio pesas', 19.0537492075061, -98.2875189185142, 0.32645500265388966, 0.9452127439059679, -1.7154408187442889);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (87, 'Estacionamiento 7', 'estacionamiento 7', 19.0539570985436, -98.2868269085884, 0.3264584322456769, 0.9452115593959348, -1.7154287408926272);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (88, 'Alberca - Entrada ', 'alberca - entrada ', 19.0543449920998, -98.2870870828628, 0.3264648313390761, 0.9452093492442553, -1.7154332817903444);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (89, 'Cancha de basquetbol', 'cancha de basquetbol', 19.0536275150707, -98.2871943712234, 0.3264529950839788, 0.9452134372726086, -1.7154351543254862);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (90, 'Estacionamiento 7 - 2', 'estacionamiento 7 - 2', 19.0541675245723, -98.2866606116295, 0.32646190365299993, 0.9452103604294969, -1.7154258384631584);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (91, 'Gimnasio Morris Williams', 'gimnasio morris williams', 19.05445654302, -98.2868564128876, 0.3264666715956907, 0.9452087136380152, -1.7154292558397917);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (92, 'Helipuerto', 'helipuerto', 19.0550345784047, -98.2867893576622, 0.32647620743122935, 0.9452054199915069, -1.7154280855053279);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (93, 'Cancha de futbol americano 2', 'cancha de futbol americano 2', 19.0541092137718, -98.2883986830711, 0.32646094169763573, 0.9452106926743332, -1.7154561735324492);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (94, 'Cancha de futbol sintetica', 'cancha de futbol sintetica', 19.0556151470049, -98.2877227663994, 0.32648578502371417, 0.9452021118138961, -1.715444376561059);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (95, 'Gimnasio Comunidad', 'gimnasio comunidad', 19.0547557019355, -98.2873392105102, 0.32647160681711757, 0.9452070090420666, -1.715437682247927);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (96, 'Cancha de futbol', 'cancha de futbol', 19.0557799368487, -98.2864406704903, 0.3264885035421167, 0.9452011727959446, -1.7154219997661186);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (97, 'Cancha de beisbol 2 - Entrada', 'cancha de beisbol 2 - entrada', 19.0559092333807, -98.2857432961464, 0.3264906365296961, 0.9452004360231928, -1.715409828287699);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (98, 'Cancha de beisbol 2', 'cancha de beisbol 2', 19.0558002186643, -98.2851853966713, 0.3264888381286235, 0.9452010572240286, -1.7154000911049632);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (99, 'Templo del Dolor - Entrada ', 'templo del dolor - entrada ', 19.0550573955496, -98.286030292511, 0.3264765838444264, 0.9452052899774066, -1.7154148373192024);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (100, 'Zona Residencial', 'zona residencial', 19.0552373973606, -98.2889592647552, 0.32647955332268636, 0.9452042643059855, -1.7154659575285633);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (101, 'Hostal San Andres', 'hostal san andres', 19.0575748679282, -98.29520881176, 0.32651811413117315, 0.9451909442775159, -1.7155750327005552);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (102, 'Circuito', 'circuito', 19.05634529153, -98.2852685451508, 0.3264978301103506, 0.9451979511897138, -1.7154015423196984);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (103, 'Circuito - Escudo Floral', 'circuito - escudo floral', 19.0562793758367, -98.2841742038727, 0.3264967427110488, 0.9451983268071708, -1.7153824424612552);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (104, 'Escudo Foral', 'escudo foral', 19.0564010663268, -98.2839086651802, 0.3264987502167746, 0.9451976333586983, -1.7153778079367796);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (105, 'Acceso Principal - 2', 'acceso principal - 2', 19.0568878273943, -98.2839730381966, 0.3265067802102196, 0.9451948595272592, -1.7153789314578654);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (106, 'Estacionamiento 15', 'estacionamiento 15', 19.0566317709692, -98.284595310688, 0.32650255610496054, 0.9451963186856618, -1.7153897921616847);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (107, 'Parada 1', 'parada 1', 19.055445286533, -98.2830986380577, 0.3264829828529379, 0.9452030797175008, -1.7153636702964614);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (108, 'Estacionamiento 1', 'estacionamiento 1', 19.0554909207067, -98.2825568318367, 0.326483735675501, 0.9452028196844154, -1.7153542139939972);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (109, 'CACE - Entrada', 'cace - entrada', 19.0551435936243, -98.2824414968491, 0.3264780058489042, 0.9452047988118357, -1.715352201018721);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (110, 'CACE', 'cace', 19.0549940145838, -98.2824414968491, 0.32647553825195674, 0.9452056511273592, -1.715352201018721);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (111, 'Estacionamiento 2', 'estacionamiento 2', 19.0550345784047, -98.2816180586815, 0.32647620743122935, 0.9452054199915069, -1.7153378293115098);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (112, 'CACE - Estacionamiento 1', 'cace - estacionamiento 1', 19.0549864088662, -98.2821035385132, 0.32647541278080544, 0.9452056944652856, -1.715346302533025);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (113, 'Jadin DGTI', 'jadin dgti', 19.054664433171, -98.2819399237633, 0.32647010115823005, 0.9452075290906939, -1.7153434469169342);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (114, 'DGTI', 'dgti', 19.0543576683445, -98.2820498943329, 0.32646504045927044, 0.9452092770164324, -1.7153453662654543);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (115, 'Ingenieria A', 'ingenieria a', 19.0544413315353, -98.2823181152344, 0.3264664206517527, 0.9452088003117792, -1.715350047603308);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (116, 'Ingenieria B', 'ingenieria b', 19.0540255504135, -98.2825058698654, 0.32645956149962707, 0.9452111693719405, -1.7153533245398047);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (117, 'Ingenieria B - 2', 'ingenieria b - 2', 19.0538379415174, -98.2821062207222, 0.3264564665050944, 0.9452122383237578, -1.7153463493464032);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (118, 'Plaza de las Banderas', 'plaza de las banderas', 19.0538835761333, -98.2829216122627, 0.326457219342247, 0.9452119783092722, -1.715360580613478);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (119, 'Ingenieria A - 2', 'ingenieria a - 2', 19.054144707305, -98.2816368341446, 0.3264615272357644, 0.9452104904384484, -1.7153381570051596);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (120, 'Laboratorios A', 'laboratorios a', 19.0537796306011, -98.2814168930054, 0.3264555045459087, 0.9452125705637204, -1.7153343183081196);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (121, 'Laboratorios B - Planta Piloto', 'laboratorios b - planta piloto', 19.0543373863525, -98.280810713768, 0.3264647058669439, 0.9452093925809295, -1.71532373848457);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (122, 'Andador - 4', 'andador - 4', 19.0536046977291, -98.2823154330254, 0.32645261866429226, 0.9452135672784359, -1.7153500007899296);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (123, 'Andador - 5', 'andador - 5', 19.0538075184332, -98.2826855778694, 0.32645596461342985, 0.9452124116664545, -1.7153564610361667);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (124, 'Colegio Cain Murray - Entrada ', 'colegio cain murray - entrada ', 19.0545148536984, -98.2837557792664, 0.3264676335470265, 0.9452083813880432, -1.7153751395742038);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (125, 'Colegio Cain Murray', 'colegio cain murray', 19.0547557019355, -98.2842439413071, 0.32647160681711757, 0.9452070090420666, -1.7153836596090972);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (126, 'Andador - 6', 'andador - 6', 19.0543171043581, -98.2838308811188, 0.3264643712745369, 0.9452095081453219, -1.7153764503488025);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (127, 'Estacionamiento 8', 'estacionamiento 8', 19.0552373973606, -98.2838228344917, 0.32647955332268636, 0.9452042643059855, -1.715376309908666);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (128, 'Estatua', 'estatua', 19.0548064067829, -98.2827231287956, 0.32647244329356034, 0.9452067201252502, -1.7153571164234662);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (129, 'CIRIA - 2', 'ciria - 2', 19.0540128741435, -98.2830825448036, 0.3264593523785967, 0.9452112415986953, -1.7153633894161902);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (130, 'Ciencias - Entrada ', 'ciencias - entrada ', 19.0542283706031, -98.2813793420792, 0.3264629074317886, 0.9452100137383138, -1.7153336629208205);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (131, 'Ciencias', 'ciencias', 19.0541523130611, -98.2812398672104, 0.3264616527081875, 0.945210447102146, -1.715331228625136);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (132, 'Esq LA - 1', 'esq la - 1', 19.0539900568549, -98.2815027236938, 0.3264589759606588, 0.9452113716067523, -1.7153358163362318);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (133, 'Esq LA - 2', 'esq la - 2', 19.0538075184332, -98.2810735702515, 0.32645596461342985, 0.9452124116664545, -1.7153283261956669);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (134, 'Laboratorios B - Entrada Sur', 'laboratorios b - entrada sur', 19.0541979475905, -98.2808804512024, 0.3264624055424864, 0.9452101870840227, -1.7153249556324124);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (135, 'LB - Esq SE', 'lb - esq se', 19.0541168195295, -98.2807034254074, 0.32646106717011214, 0.9452106493380994, -1.7153218659494283);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (136, 'Laboratorios B - Entrada Este', 'laboratorios b - entrada este', 19.0543044281103, -98.280628323555, 0.32646416215424034, 0.9452095803730144, -1.7153205551748298);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (137, 'LB - Esq NE', 'lb - esq ne', 19.0544768249974, -98.2805532217026, 0.32646700618753605, 0.9452085980729055, -1.7153192444002308);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (138, 'Laboratorios B - Entrada Norte', 'laboratorios b - entrada norte', 19.0544971069723, -98.2806980609894, 0.32646734077929923, 0.9452084825076915, -1.7153217723226717);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (139, 'LB - Esq NO', 'lb - esq no', 19.0545275299301, -98.280799984932, 0.3264678426667922, 0.9452083091596744, -1.715323551231057);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (140, 'Laboratorios B - Entrada Oeste', 'laboratorios b - entrada oeste', 19.0543449920998, -98.2808804512024, 0.3264648313390761, 0.9452093492442553, -1.7153249556324124);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (141, 'LB - Esq SO', 'lb - esq so', 19.0541979475905, -98.280987739563, 0.3264624055424864, 0.9452101870840227, -1.7153268281675538);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (142, 'Almacen de reactivos', 'almacen de reactivos', 19.0545833053382, -98.280982375145, 0.3264687627933839, 0.9452079913543671, -1.715326734540797);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (143, 'LA - Sal E', 'la - sal e', 19.0536300503306, -98.2811540365219, 0.3264530369083807, 0.9452134228275091, -1.7153297305970223);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (144, 'Ciencias Sociales - Entrada 2', 'ciencias sociales - entrada 2', 19.0527629891572, -98.2830020785332, 0.3264387328879416, 0.9452183629566848, -1.7153619850148347);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (145, 'Andador SR', 'andador sr', 19.0529911635896, -98.2828196883202, 0.3264424971183436, 0.9452170629411745, -1.7153588017050945);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (146, 'Andador AR', 'andador ar', 19.0531787734433, -98.2823315262794, 0.3264455921444718, 0.9452159940296425, -1.7153502816701995);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (147, 'Andador AH', 'andador ah', 19.0535438514695, -98.2821759581566, 0.3264516148779553, 0.9452139139599962, -1.7153475664942455);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (148, 'Andador Sub Estacion', 'andador sub estacion', 19.0535387809469, -98.2842788100243, 0.32645153122906134, 0.9452139428500836, -1.7153842681830185);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (149, 'Colegio Jose Gaos - Entrada', 'colegio jose gaos - entrada', 19.0517615532152, -98.2851545512676, 0.3264222119765133, 0.9452240684241807, -1.7153995527511097);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (150, 'Colegio Jose Gaos', 'colegio jose gaos', 19.0514167536186, -98.2853020727634, 0.32641652371781577, 0.9452260327794493, -1.7154021274869287);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (151, 'Salida CG', 'salida cg', 19.0519605732445, -98.2850465923548, 0.32642549526213327, 0.9452229345730409, -1.7153976685126242);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (152, 'Andador E14 - E6', 'andador e14 - e6', 19.0521507195462, -98.2850009948015, 0.32642863215186285, 0.9452218512663912, -1.7153968726851883);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (153, 'Andador E14 - E6 2', 'andador e14 - e6 2', 19.0526400283608, -98.2847663015127, 0.32643670438171063, 0.9452190635151239, -1.7153927765145665);
+INSERT INTO place (id, name, search_name, latitude, longitude, sin_latitude, cos_latitude, longitude_radians) VALUES (154, 'Estatua NE - E6', 'estatua ne - e6', 19.0524017123308, -98.2842714339495, 0.3264327728352966, 0.9452204212875744, -1.715384139446227);
 
 INSERT INTO path (id, from_place_id, to_place_id, distance) VALUES (1, 3, 4, 75.7479251335447);
 INSERT INTO path (id, from_place_id, to_place_id, distance) VALUES (2, 4, 3, 75.7479251335447);
@@ -6,6 +6,11 @@ CREATE TABLE place (
     latitude DOUBLE NOT NULL,
     longitude DOUBLE NOT NULL,
     name VARCHAR(100) NOT NULL,
+    search_name VARCHAR(100) NOT NULL,
+    sin_latitude DOUBLE NOT NULL,
+    cos_latitude DOUBLE NOT NULL,
+    longitude_radians DOUBLE NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     PRIMARY KEY (id)
 );
 
@@ -14,10 +19,13 @@ CREATE TABLE path (
     distance DOUBLE NOT NULL,
     from_place_id BIGINT NOT NULL,
     to_place_id BIGINT NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     PRIMARY KEY (id)
 );
 
 ALTER TABLE place ADD CONSTRAINT place_position UNIQUE (latitude, longitude);
 ALTER TABLE path ADD CONSTRAINT path_uq UNIQUE (from_place_id, to_place_id);
 ALTER TABLE path ADD CONSTRAINT path_fk_from_place FOREIGN KEY (from_place_id) REFERENCES place (id) ON DELETE CASCADE ON UPDATE CASCADE;
-ALTER TABLE path ADD CONSTRAINT path_fk_to_place FOREIGN KEY (to_place_id) REFERENCES place (id) ON DELETE CASCADE ON UPDATE CASCADE;
\ No newline at end of file
+ALTER TABLE path ADD CONSTRAINT path_fk_to_place FOREIGN KEY (to_place_id) REFERENCES place (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+CREATE INDEX place_longitude_latitude ON place (longitude, latitude);
\ No newline at end of file
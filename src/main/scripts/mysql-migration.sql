@@ -0,0 +1,60 @@
+-- Migrates place and path tables created before the search_name,
+-- sin_latitude, cos_latitude and longitude_radians columns of place and the
+-- version columns of both, which triggers bump on every update. Hibernate
+-- validates the schema on start, so run it before deploying this version. search_name is filled
+-- like Strings.toSearchKey computes it only for the Latin-1 letters: accents
+-- of other letters and marks of other scripts are kept, so those names don't
+-- match their key until the application saves them again.
+
+ALTER TABLE place
+   ADD COLUMN search_name VARCHAR(100),
+   ADD COLUMN sin_latitude DOUBLE PRECISION,
+   ADD COLUMN cos_latitude DOUBLE PRECISION,
+   ADD COLUMN longitude_radians DOUBLE PRECISION;
+
+UPDATE place SET
+   search_name = REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(LOWER(name),
+         'à', 'a'),
+         'á', 'a'),
+         'â', 'a'),
+         'ã', 'a'),
+         'ä', 'a'),
+         'å', 'a'),
+         'è', 'e'),
+         'é', 'e'),
+         'ê', 'e'),
+         'ë', 'e'),
+         'ì', 'i'),
+         'í', 'i'),
+         'î', 'i'),
+         'ï', 'i'),
+         'ò', 'o'),
+         'ó', 'o'),
+         'ô', 'o'),
+         'õ', 'o'),
+         'ö', 'o'),
+         'ù', 'u'),
+         'ú', 'u'),
+         'û', 'u'),
+         'ü', 'u'),
+         'ñ', 'n'),
+         'ç', 'c'),
+         'ý', 'y'),
+         'ÿ', 'y'),
+   sin_latitude = SIN(RADIANS(latitude)),
+   cos_latitude = COS(RADIANS(latitude)),
+   longitude_radians = RADIANS(longitude);
+
+ALTER TABLE place
+   MODIFY search_name VARCHAR(100) NOT NULL,
+   MODIFY sin_latitude DOUBLE PRECISION NOT NULL,
+   MODIFY cos_latitude DOUBLE PRECISION NOT NULL,
+   MODIFY longitude_radians DOUBLE PRECISION NOT NULL;
+
+CREATE INDEX place_longitude_latitude ON place (longitude, latitude);
+
+ALTER TABLE place ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE path ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TRIGGER place_version BEFORE UPDATE ON place FOR EACH ROW SET NEW.version = OLD.version + 1;
+CREATE TRIGGER path_version BEFORE UPDATE ON path FOR EACH ROW SET NEW.version = OLD.version + 1;
\ No newline at end of file
@@ -4,8 +4,13 @@ DROP TABLE IF EXISTS place CASCADE;
 CREATE TABLE place (
    id BIGINT NOT NULL AUTO_INCREMENT,
    name VARCHAR(100) NOT NULL,
+   search_name VARCHAR(100) NOT NULL,
+   sin_latitude DOUBLE PRECISION NOT NULL,
+   cos_latitude DOUBLE PRECISION NOT NULL,
+   longitude_radians DOUBLE PRECISION NOT NULL,
    latitude DOUBLE PRECISION NOT NULL,
    longitude DOUBLE PRECISION NOT NULL,
+   version BIGINT NOT NULL DEFAULT 0,
    PRIMARY KEY (id)
 ) ENGINE=InnoDB;
 
@@ -14,10 +19,16 @@ CREATE TABLE path (
    from_place_id BIGINT NOT NULL,
    to_place_id BIGINT NOT NULL,
    distance DOUBLE PRECISION NOT NULL,
+   version BIGINT NOT NULL DEFAULT 0,
    PRIMARY KEY (id)
 ) ENGINE=InnoDB;
 
 ALTER TABLE place ADD CONSTRAINT place_position UNIQUE (latitude, longitude);
 ALTER TABLE path ADD CONSTRAINT path_uq UNIQUE (from_place_id, to_place_id);
 ALTER TABLE path ADD CONSTRAINT path_fk_from_place FOREIGN KEY (from_place_id) REFERENCES place (id) ON DELETE CASCADE ON UPDATE CASCADE;
-ALTER TABLE path ADD CONSTRAINT path_fk_to_place FOREIGN KEY (to_place_id) REFERENCES place (id) ON DELETE CASCADE ON UPDATE CASCADE;
\ No newline at end of file
+ALTER TABLE path ADD CONSTRAINT path_fk_to_place FOREIGN KEY (to_place_id) REFERENCES place (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+CREATE INDEX place_longitude_latitude ON place (longitude, latitude);
+
+CREATE TRIGGER place_version BEFORE UPDATE ON place FOR EACH ROW SET NEW.version = OLD.version + 1;
+CREATE TRIGGER path_version BEFORE UPDATE ON path FOR EACH ROW SET NEW.version = OLD.version + 1;
\ No newline at end of file
@@ -0,0 +1,44 @@
+-- Migrates place and path tables created before the search_name,
+-- sin_latitude, cos_latitude and longitude_radians columns of place and the
+-- version columns of both, which triggers bump on every update. Hibernate
+-- validates the schema on start, so run it before deploying this version. search_name is filled
+-- like Strings.toSearchKey computes it only for the Latin-1 letters: accents
+-- of other letters and marks of other scripts are kept, so those names don't
+-- match their key until the application saves them again.
+
+BEGIN;
+
+ALTER TABLE place ADD COLUMN search_name VARCHAR(100);
+ALTER TABLE place ADD COLUMN sin_latitude FLOAT8;
+ALTER TABLE place ADD COLUMN cos_latitude FLOAT8;
+ALTER TABLE place ADD COLUMN longitude_radians FLOAT8;
+
+UPDATE place SET
+   search_name = LOWER(TRANSLATE(name,
+         'ÀÁÂÃÄÅàáâãäåÈÉÊËèéêëÌÍÎÏìíîïÒÓÔÕÖòóôõöÙÚÛÜùúûüÑñÇçÝýÿ',
+         'AAAAAAaaaaaaEEEEeeeeIIIIiiiiOOOOOoooooUUUUuuuuNnCcYyy')),
+   sin_latitude = SIN(RADIANS(latitude)),
+   cos_latitude = COS(RADIANS(latitude)),
+   longitude_radians = RADIANS(longitude);
+
+ALTER TABLE place ALTER COLUMN search_name SET NOT NULL;
+ALTER TABLE place ALTER COLUMN sin_latitude SET NOT NULL;
+ALTER TABLE place ALTER COLUMN cos_latitude SET NOT NULL;
+ALTER TABLE place ALTER COLUMN longitude_radians SET NOT NULL;
+
+CREATE INDEX place_longitude_latitude ON place (longitude, latitude);
+
+ALTER TABLE place ADD COLUMN version INT8 NOT NULL DEFAULT 0;
+ALTER TABLE path ADD COLUMN version INT8 NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION increment_version() RETURNS TRIGGER AS $$
+BEGIN
+   NEW.version := OLD.version + 1;
+   RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER place_version BEFORE UPDATE ON place FOR EACH ROW EXECUTE PROCEDURE increment_version();
+CREATE TRIGGER path_version BEFORE UPDATE ON path FOR EACH ROW EXECUTE PROCEDURE increment_version();
+
+COMMIT;
\ No newline at end of file
@@ -6,6 +6,11 @@ CREATE TABLE place (
    latitude FLOAT8 NOT NULL,
    longitude FLOAT8 NOT NULL,
    name VARCHAR(100) NOT NULL,
+   search_name VARCHAR(100) NOT NULL,
+   sin_latitude FLOAT8 NOT NULL,
+   cos_latitude FLOAT8 NOT NULL,
+   longitude_radians FLOAT8 NOT NULL,
+   version INT8 NOT NULL DEFAULT 0,
    PRIMARY KEY (id)
 );
 
@@ -14,10 +19,23 @@ CREATE TABLE path (
    from_place_id INT8 NOT NULL,
    to_place_id INT8 NOT NULL,
    distance FLOAT8 NOT NULL,
+   version INT8 NOT NULL DEFAULT 0,
    PRIMARY KEY (id)
 );
 
 ALTER TABLE place ADD CONSTRAINT place_position UNIQUE (latitude, longitude);
 ALTER TABLE path ADD CONSTRAINT path_uq UNIQUE (from_place_id, to_place_id);
 ALTER TABLE path ADD CONSTRAINT path_fk_from_place FOREIGN KEY (from_place_id) REFERENCES place (id) ON DELETE CASCADE ON UPDATE CASCADE;
-ALTER TABLE path ADD CONSTRAINT path_fk_to_place FOREIGN KEY (to_place_id) REFERENCES place (id) ON DELETE CASCADE ON UPDATE CASCADE;
\ No newline at end of file
+ALTER TABLE path ADD CONSTRAINT path_fk_to_place FOREIGN KEY (to_place_id) REFERENCES place (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+CREATE INDEX place_longitude_latitude ON place (longitude, latitude);
+
+CREATE OR REPLACE FUNCTION increment_version() RETURNS TRIGGER AS $$
+BEGIN
+   NEW.version := OLD.version + 1;
+   RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER place_version BEFORE UPDATE ON place FOR EACH ROW EXECUTE PROCEDURE increment_version();
+CREATE TRIGGER path_version BEFORE UPDATE ON path FOR EACH ROW EXECUTE PROCEDURE increment_version();
\ No newline at end of file
@@ -19,6 +19,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 
@@ -144,6 +145,28 @@ public class PathDaoTest {
         assertEquals(696, expected.size());
     }
 
+    @Test
+    @Transactional(readOnly = true)
+    public void testReadListAfterId() throws Exception {
+        LOG.trace("testReadListAfterId");
+
+        List<Path> actual = pathDao.readListAfterId(694L);
+
+        assertEquals(2, actual.size());
+        assertEquals(Long.valueOf(695), actual.get(0).getId());
+        assertEquals(Long.valueOf(696), actual.get(1).getId());
+        assertTrue(pathDao.readListAfterId(696L).isEmpty());
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    public void testReadCountAndMaxId() throws Exception {
+        LOG.trace("testReadCountAndMaxId");
+
+        assertEquals(Long.valueOf(696), pathDao.readCount());
+        assertEquals(Long.valueOf(696), pathDao.readMaxId());
+    }
+
     @Test
     @Transactional(readOnly = true)
     public void testReadDistance() throws Exception {
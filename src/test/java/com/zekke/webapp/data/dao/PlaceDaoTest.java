@@ -128,6 +128,28 @@ public class PlaceDaoTest {
         assertEquals(154, expected.size());
     }
 
+    @Test
+    @Transactional(readOnly = true)
+    public void testReadListAfterId() throws Exception {
+        LOG.trace("testReadListAfterId");
+
+        List<Place> actual = placeDao.readListAfterId(152L);
+
+        assertEquals(2, actual.size());
+        assertEquals(Long.valueOf(153), actual.get(0).getId());
+        assertEquals(Long.valueOf(154), actual.get(1).getId());
+        assertTrue(placeDao.readListAfterId(154L).isEmpty());
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    public void testReadCountAndMaxId() throws Exception {
+        LOG.trace("testReadCountAndMaxId");
+
+        assertEquals(Long.valueOf(154), placeDao.readCount());
+        assertEquals(Long.valueOf(154), placeDao.readMaxId());
+    }
+
     @Test
     @Transactional(readOnly = true)
     public void testReadByPosition() throws Exception {
@@ -148,6 +170,30 @@ public class PlaceDaoTest {
         assertEquals(p, pFromDB);
     }
 
+    @Test
+    @Transactional
+    public void testReadByPositionOfSavedPlace() throws Exception {
+        LOG.trace("testReadByPositionOfSavedPlace");
+
+        Place p = new Place();
+        p.setName("Test place");
+        GeoPoint point = new GeoPoint();
+        point.setLatitude(0.0001);
+        point.setLongitude(179.9999);
+        p.setPosition(point);
+        placeDao.save(p);
+        GeoPoint position = new GeoPoint();
+        position.setLatitude(0.0);
+        position.setLongitude(-179.9999);
+        Place pFromDB = placeDao.readByPosition(position);
+
+        assertEquals(p, pFromDB);
+
+        position.setLongitude(179.9);
+
+        assertNull(placeDao.readByPosition(position));
+    }
+
     @Test
     @Transactional(readOnly = true)
     public void testReadByConnection() throws Exception {
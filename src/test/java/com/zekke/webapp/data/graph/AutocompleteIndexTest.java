@@ -0,0 +1,239 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+
+public class AutocompleteIndexTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AutocompleteIndexTest.class);
+
+    @Test
+    public void testSuggest() throws Exception {
+        LOG.trace("testSuggest");
+
+        Graph graph = Graph.build(Arrays.asList(
+                newPlace(1L, "Humanidades - 2"),
+                newPlace(2L, "Humanidades"),
+                newPlace(3L, "Estacionamiento 5"),
+                newPlace(4L, "humo"),
+                newPlace(5L, "Humanidades")), Arrays.<Path>asList());
+        AutocompleteIndex index = graph.getAutocompleteIndex();
+
+        assertEquals(Arrays.asList("humo", "Humanidades", "Humanidades - 2"), index.suggest("HUM", 10));
+        assertEquals(Arrays.asList("humo", "Humanidades"), index.suggest("hum", 2));
+        assertEquals(Arrays.asList("Estacionamiento 5"), index.suggest("estacionamiento ", 10));
+        assertEquals(Arrays.asList("humo", "Humanidades", "Humanidades - 2", "Estacionamiento 5"),
+                index.suggest("", 10));
+        assertEquals(Collections.<String>emptyList(), index.suggest("huma ", 10));
+        assertEquals(Arrays.asList("humo", "Humanidades", "Humanidades - 2"), index.suggest("H\u00fam", 10));
+        assertEquals(Collections.<String>emptyList(), index.suggest("hum", 0));
+    }
+
+    @Test
+    public void testSuggestRandomNames() throws Exception {
+        LOG.trace("testSuggestRandomNames");
+
+        Random random = new Random(11);
+        List<Place> places = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            places.add(newPlace((long) i, randomText(random, 1 + random.nextInt(8))));
+        }
+
+        Graph graph = Graph.build(places, Arrays.<Path>asList());
+        AutocompleteIndex index = graph.getAutocompleteIndex();
+
+        for (int i = 0; i < 200; i++) {
+            String prefix = randomText(random, random.nextInt(4));
+            TreeSet<String> matches = new TreeSet<>();
+
+            for (Place place : places) {
+                if (place.getName().toLowerCase(Locale.ROOT).startsWith(prefix.toLowerCase(Locale.ROOT))) {
+                    matches.add(place.getName());
+                }
+            }
+
+            List<String> expected = new ArrayList<>(matches);
+            Collections.sort(expected, new Comparator<String>() {
+
+                @Override
+                public int compare(String name, String other) {
+                    int result = Integer.compare(name.length(), other.length());
+                    return result != 0 ? result : name.compareTo(other);
+                }
+            });
+
+            assertEquals(expected.subList(0, Math.min(expected.size(), AutocompleteIndex.MAX_SUGGESTIONS)),
+                    index.suggest(prefix, AutocompleteIndex.MAX_SUGGESTIONS));
+        }
+    }
+
+    @Test
+    public void testFindSimilar() throws Exception {
+        LOG.trace("testFindSimilar");
+
+        Graph graph = Graph.build(Arrays.asList(
+                newPlace(1L, "Humanidades - 2"),
+                newPlace(2L, "Humanidades"),
+                newPlace(3L, "Estacionamiento 5"),
+                newPlace(4L, "humo"),
+                newPlace(5L, "Humanidades")), Arrays.<Path>asList());
+        AutocompleteIndex index = graph.getAutocompleteIndex();
+
+        assertEquals(Arrays.asList(3L), placeIds(graph, index.findSimilar("Estacionamineto", 2, 10, 1000)));
+        assertEquals(Arrays.<Long>asList(), placeIds(graph, index.findSimilar("Estacionamineto", 1, 10, 1000)));
+        assertEquals(Arrays.asList(2L, 5L, 1L), placeIds(graph, index.findSimilar("humandades", 1, 10, 1000)));
+        assertEquals(Arrays.asList(2L, 5L, 1L, 4L), placeIds(graph, index.findSimilar("HUMA", 1, 10, 1000)));
+        assertEquals(Arrays.asList(2L, 5L, 1L), placeIds(graph, index.findSimilar("huma", 1, 2, 1000)));
+        assertEquals(Arrays.asList(2L, 5L, 1L), placeIds(graph, index.findSimilar("Hum\u00e1nidad", 0, 10, 1000)));
+        assertEquals(Arrays.<Long>asList(), placeIds(graph, index.findSimilar("humandades", 1, 10, 3)));
+    }
+
+    @Test
+    public void testFindSimilarRandomNames() throws Exception {
+        LOG.trace("testFindSimilarRandomNames");
+
+        Random random = new Random(13);
+        List<Place> places = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            places.add(newPlace((long) i, randomText(random, 1 + random.nextInt(8))));
+        }
+
+        Graph graph = Graph.build(places, Arrays.<Path>asList());
+        AutocompleteIndex index = graph.getAutocompleteIndex();
+        TreeSet<String> names = new TreeSet<>();
+
+        for (Place place : places) {
+            names.add(place.getName());
+        }
+
+        for (int i = 0; i < 200; i++) {
+            final String text = randomText(random, 1 + random.nextInt(6));
+            final int maxEdits = 1 + random.nextInt(2);
+            List<String> expected = new ArrayList<>();
+
+            for (String name : names) {
+                if (prefixDistance(text, name) <= maxEdits) {
+                    expected.add(name);
+                }
+            }
+
+            Collections.sort(expected, new Comparator<String>() {
+
+                @Override
+                public int compare(String name, String other) {
+                    int result = Integer.compare(prefixDistance(text, name), prefixDistance(text, other));
+
+                    if (result == 0) {
+                        result = Integer.compare(name.length(), other.length());
+                    }
+
+                    return result != 0 ? result : name.compareTo(other);
+                }
+            });
+
+            List<String> actual = new ArrayList<>();
+
+            for (int node : index.findSimilar(text, maxEdits, AutocompleteIndex.MAX_SUGGESTIONS, Integer.MAX_VALUE)) {
+                String name = graph.getPlaceName(node);
+
+                if (actual.isEmpty() || !actual.get(actual.size() - 1).equals(name)) {
+                    actual.add(name);
+                }
+            }
+
+            assertEquals(expected.subList(0, Math.min(expected.size(), AutocompleteIndex.MAX_SUGGESTIONS)), actual);
+        }
+    }
+
+    private int prefixDistance(String text, String name) {
+        String key = text.toLowerCase(Locale.ROOT);
+        String nameKey = name.toLowerCase(Locale.ROOT);
+        int[] row = new int[key.length() + 1];
+
+        for (int i = 0; i < row.length; i++) {
+            row[i] = i;
+        }
+
+        int distance = row[key.length()];
+
+        for (int j = 0; j < nameKey.length(); j++) {
+            int[] nextRow = new int[row.length];
+            nextRow[0] = j + 1;
+
+            for (int i = 1; i < row.length; i++) {
+                int substitution = row[i - 1] + (key.charAt(i - 1) == nameKey.charAt(j) ? 0 : 1);
+                nextRow[i] = Math.min(substitution, Math.min(row[i] + 1, nextRow[i - 1] + 1));
+            }
+
+            row = nextRow;
+            distance = Math.min(distance, row[key.length()]);
+        }
+
+        return distance;
+    }
+
+    private List<Long> placeIds(Graph graph, int[] nodes) {
+        List<Long> ids = new ArrayList<>(nodes.length);
+
+        for (int node : nodes) {
+            ids.add(graph.getPlaceId(node));
+        }
+
+        return ids;
+    }
+
+    private String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+
+        for (int i = 0; i < length; i++) {
+            text.append("abcAB ".charAt(random.nextInt(6)));
+        }
+
+        return text.toString();
+    }
+
+    private Place newPlace(Long id, String name) {
+        Place place = new Place();
+        place.setId(id);
+        place.setName(name);
+        GeoPoint point = new GeoPoint();
+        point.setLatitude(19.05 + id * 0.0001);
+        point.setLongitude(-98.28);
+        place.setPosition(point);
+        return place;
+    }
+}
\ No newline at end of file
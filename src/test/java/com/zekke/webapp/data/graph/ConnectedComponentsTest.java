@@ -0,0 +1,191 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+
+public class ConnectedComponentsTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectedComponentsTest.class);
+
+    @Test
+    public void testBuild() throws Exception {
+        LOG.trace("testBuild");
+
+        List<Place> places = new ArrayList<>();
+
+        for (long id = 1; id <= 7; id++) {
+            places.add(newPlace(id));
+        }
+
+        // {1, 2, 3} -> {4, 5} -> {6} and {7} alone
+        Graph graph = Graph.build(places, Arrays.asList(
+                newPath(places.get(0), places.get(1)), newPath(places.get(1), places.get(2)),
+                newPath(places.get(2), places.get(0)), newPath(places.get(2), places.get(3)),
+                newPath(places.get(3), places.get(4)), newPath(places.get(4), places.get(3)),
+                newPath(places.get(4), places.get(5))));
+
+        ConnectedComponents components = ConnectedComponents.build(graph);
+        int n1 = graph.indexOf(1L);
+        int n3 = graph.indexOf(3L);
+        int n4 = graph.indexOf(4L);
+        int n5 = graph.indexOf(5L);
+        int n6 = graph.indexOf(6L);
+        int n7 = graph.indexOf(7L);
+
+        assertEquals(4, components.getStrongComponentCount());
+        assertEquals(2, components.getWeakComponentCount());
+        assertEquals(components.getStrongComponent(n1), components.getStrongComponent(n3));
+        assertEquals(components.getStrongComponent(n4), components.getStrongComponent(n5));
+        assertFalse(components.isUnreachable(n1, n6));
+        assertFalse(components.isUnreachable(n5, n4));
+        assertTrue(components.isUnreachable(n6, n1));
+        assertTrue(components.isUnreachable(n4, n3));
+        assertTrue(components.isUnreachable(n1, n7));
+        assertTrue(components.isUnreachable(n7, n1));
+        assertFalse(components.isUnreachable(n7, n7));
+        assertTrue(components.isComplete());
+    }
+
+    @Test
+    public void testBuildReachability() throws Exception {
+        LOG.trace("testBuildReachability");
+
+        List<Place> places = new ArrayList<>();
+
+        for (long id = 1; id <= 5; id++) {
+            places.add(newPlace(id));
+        }
+
+        // 1 -> 2 -> 4, 1 -> 3 and 5 -> 3
+        Graph graph = Graph.build(places, Arrays.asList(
+                newPath(places.get(0), places.get(1)), newPath(places.get(1), places.get(3)),
+                newPath(places.get(0), places.get(2)), newPath(places.get(4), places.get(2))));
+
+        ConnectedComponents components = ConnectedComponents.build(graph);
+        int[] nodes = new int[5];
+
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = graph.indexOf(i + 1L);
+        }
+
+        // Every pair is checked against a search since the strong component
+        // numbers alone can't tell sibling branches apart
+        for (int root : nodes) {
+            DijkstraSearch search = new DijkstraSearch(graph);
+            search.searchWithin(root, Double.POSITIVE_INFINITY);
+
+            for (int target : nodes) {
+                assertEquals(!search.isSettled(target), components.isUnreachable(root, target));
+            }
+        }
+
+        assertTrue(components.isUnreachable(graph.indexOf(2L), graph.indexOf(3L)));
+        assertTrue(components.isUnreachable(graph.indexOf(3L), graph.indexOf(2L)));
+        assertTrue(components.isUnreachable(graph.indexOf(5L), graph.indexOf(4L)));
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        LOG.trace("testUpdate");
+
+        List<Place> places = new ArrayList<>();
+
+        for (long id = 1; id <= 3; id++) {
+            places.add(newPlace(id));
+        }
+
+        Path path12 = newPath(places.get(0), places.get(1));
+        Path path21 = newPath(places.get(1), places.get(0));
+        Path path23 = newPath(places.get(1), places.get(2));
+        Graph graph = Graph.build(places, Arrays.asList(path12, path21, path23));
+        ConnectedComponents components = ConnectedComponents.build(graph);
+
+        path12.setDistance(2.0);
+        Graph reweighted = graph.apply(new GraphDelta().updatePath(path12));
+        ConnectedComponents updated = ConnectedComponents.update(components, reweighted);
+
+        assertSame(reweighted, updated.getGraph());
+        assertEquals(2, updated.getStrongComponentCount());
+
+        Graph cut = reweighted.apply(new GraphDelta().removePath(path21).addPath(newPath(places.get(2), places.get(1))));
+        updated = ConnectedComponents.update(updated, cut);
+
+        assertEquals(2, updated.getStrongComponentCount());
+        assertTrue(updated.isUnreachable(cut.indexOf(2L), cut.indexOf(1L)));
+        assertFalse(updated.isUnreachable(cut.indexOf(3L), cut.indexOf(2L)));
+    }
+
+    @Test
+    public void testBuildLongChain() throws Exception {
+        LOG.trace("testBuildLongChain");
+
+        List<Place> places = new ArrayList<>();
+        List<Path> paths = new ArrayList<>();
+
+        for (long id = 1; id <= 100000; id++) {
+            places.add(newPlace(id));
+
+            if (id > 1) {
+                paths.add(newPath(places.get((int)id - 2), places.get((int)id - 1)));
+            }
+        }
+
+        Graph graph = Graph.build(places, paths);
+        ConnectedComponents components = ConnectedComponents.build(graph);
+
+        assertEquals(100000, components.getStrongComponentCount());
+        assertEquals(1, components.getWeakComponentCount());
+        assertFalse(components.isUnreachable(graph.indexOf(1L), graph.indexOf(100000L)));
+        assertTrue(components.isUnreachable(graph.indexOf(100000L), graph.indexOf(1L)));
+        assertFalse(components.isComplete());
+    }
+
+    private Place newPlace(Long id) {
+        Place place = new Place();
+        place.setId(id);
+        place.setName("P" + id);
+        GeoPoint point = new GeoPoint();
+        point.setLatitude(19.05);
+        point.setLongitude(-98.28);
+        place.setPosition(point);
+        return place;
+    }
+
+    private Path newPath(Place from, Place to) {
+        Path path = new Path();
+        path.setFromPlace(from);
+        path.setToPlace(to);
+        path.setDistance(1.0);
+        return path;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+
+public class GraphFileTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphFileTest.class);
+    private static final GraphFingerprint FINGERPRINT = new GraphFingerprint(4, 40, 5, 5, 0, 0);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        LOG.trace("testWriteAndRead");
+
+        Place a = newPlace(30L, "Ciencias de la Computaci\u00f3n", 19.05, -98.28);
+        Place b = newPlace(10L, "B", 19.06, -98.28);
+        Place c = newPlace(20L, "", 19.07, -98.27);
+        Place d = newPlace(40L, "D", 19.08, -98.28);
+        List<Path> paths = Arrays.asList(
+                newPath(a, b, 1500.0),
+                newPath(b, a, 1500.0),
+                newPath(b, c, 1700.0),
+                newPath(a, c, 5000.0),
+                newPath(c, d, 1300.0));
+        Graph graph = Graph.build(Arrays.asList(a, b, c, d), paths);
+        File file = folder.newFile("graph.bin");
+
+        GraphFile.write(graph, FINGERPRINT, file);
+        Graph mapped = GraphFile.read(file, FINGERPRINT);
+
+        assertEquals(graph.getNodeCount(), mapped.getNodeCount());
+        assertEquals(graph.getEdgeCount(), mapped.getEdgeCount());
+        assertEquals(graph.getDistanceLowerBoundFactor(), mapped.getDistanceLowerBoundFactor(), 0d);
+        assertEquals(-1, mapped.indexOf(50L));
+        assertEquals(-1, mapped.indexOf(null));
+
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            Place place = mapped.getPlace(node);
+            assertEquals(graph.getPlace(node), place);
+            assertEquals(graph.getPlace(node).getName(), place.getName());
+            assertEquals(graph.getLatitude(node), place.getPosition().getLatitude(), 0d);
+            assertEquals(node, mapped.indexOf(place.getId()));
+            assertEquals(graph.firstEdge(node), mapped.firstEdge(node));
+            assertEquals(graph.endEdge(node), mapped.endEdge(node));
+            assertEquals(graph.firstIncomingEdge(node), mapped.firstIncomingEdge(node));
+            assertEquals(graph.endIncomingEdge(node), mapped.endIncomingEdge(node));
+        }
+
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            assertEquals(graph.edgeTarget(e), mapped.edgeTarget(e));
+            assertEquals(graph.edgeWeight(e), mapped.edgeWeight(e), 0d);
+            assertEquals(graph.incomingEdgeSource(e), mapped.incomingEdgeSource(e));
+            assertEquals(graph.incomingEdgeWeight(e), mapped.incomingEdgeWeight(e), 0d);
+        }
+
+        DijkstraSearch search = new DijkstraSearch(graph);
+        DijkstraSearch mappedSearch = new DijkstraSearch(mapped);
+        assertTrue(search.search(graph.indexOf(30L), graph.indexOf(40L)));
+        assertTrue(mappedSearch.search(mapped.indexOf(30L), mapped.indexOf(40L)));
+        assertEquals(4500.0, mappedSearch.getDistance(mapped.indexOf(40L)), 0d);
+        assertEquals(search.getDistance(graph.indexOf(40L)), mappedSearch.getDistance(mapped.indexOf(40L)), 0d);
+    }
+
+    @Test
+    public void testReplace() throws Exception {
+        LOG.trace("testReplace");
+
+        Place a = newPlace(10L, "A", 19.05, -98.28);
+        Place b = newPlace(20L, "B", 19.06, -98.28);
+        Graph graph = Graph.build(Arrays.asList(a, b), Arrays.asList(newPath(a, b, 1200.0)));
+        File file = folder.newFile("graph.bin");
+
+        GraphFile.write(graph, FINGERPRINT, file);
+        Graph mapped = GraphFile.read(file, FINGERPRINT);
+        GraphFile.write(graph.apply(new GraphDelta().updatePath(newPath(a, b, 1500.0))), FINGERPRINT, file);
+        Graph remapped = GraphFile.read(file, FINGERPRINT);
+
+        assertEquals(1200.0, mapped.edgeWeight(mapped.findEdge(0, 1)), 0d);
+        assertEquals(1500.0, remapped.edgeWeight(remapped.findEdge(0, 1)), 0d);
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadInvalidFile() throws Exception {
+        LOG.trace("testReadInvalidFile");
+
+        File file = folder.newFile("graph.bin");
+
+        try (FileOutputStream output = new FileOutputStream(file)) {
+            output.write(new byte[64]);
+        }
+
+        GraphFile.read(file, FINGERPRINT);
+    }
+
+    @Test
+    public void testApplyToMappedGraph() throws Exception {
+        LOG.trace("testApplyToMappedGraph");
+
+        Place a = newPlace(10L, "A", 19.05, -98.28);
+        Place b = newPlace(20L, "B", 19.06, -98.28);
+        Graph graph = Graph.build(Arrays.asList(a, b), Arrays.asList(newPath(a, b, 1200.0), newPath(b, a, 1300.0)));
+        File file = folder.newFile("graph.bin");
+
+        GraphFile.write(graph, FINGERPRINT, file);
+        Graph mapped = GraphFile.read(file, FINGERPRINT);
+        Graph reweighted = mapped.apply(new GraphDelta().updatePath(newPath(a, b, 1250.0)));
+        Graph updated = reweighted.apply(new GraphDelta().addPlace(newPlace(15L, "C", 19.07, -98.28)));
+
+        assertEquals(1250.0, reweighted.edgeWeight(reweighted.findEdge(0, 1)), 0d);
+        assertEquals(1250.0, reweighted.incomingEdgeWeight(reweighted.firstIncomingEdge(1)), 0d);
+        assertEquals(1300.0, reweighted.edgeWeight(reweighted.findEdge(1, 0)), 0d);
+        assertEquals(1200.0, mapped.edgeWeight(mapped.findEdge(0, 1)), 0d);
+        assertEquals(3, updated.getNodeCount());
+        assertEquals(2, updated.indexOf(15L));
+        assertEquals("B", updated.getPlaceName(updated.indexOf(20L)));
+        assertEquals(1250.0, updated.edgeWeight(updated.findEdge(0, 1)), 0d);
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadStaleFile() throws Exception {
+        LOG.trace("testReadStaleFile");
+
+        Place a = newPlace(10L, "A", 19.05, -98.28);
+        Place b = newPlace(20L, "B", 19.06, -98.28);
+        Graph graph = Graph.build(Arrays.asList(a, b), Arrays.asList(newPath(a, b, 1200.0)));
+        File file = folder.newFile("graph.bin");
+
+        GraphFile.write(graph, new GraphFingerprint(2, 20, 1, 1, 0, 0), file);
+        GraphFile.read(file, new GraphFingerprint(3, 30, 1, 1, 0, 0));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadEditedFile() throws Exception {
+        LOG.trace("testReadEditedFile");
+
+        Place a = newPlace(10L, "A", 19.05, -98.28);
+        Place b = newPlace(20L, "B", 19.06, -98.28);
+        Graph graph = Graph.build(Arrays.asList(a, b), Arrays.asList(newPath(a, b, 1200.0)));
+        File file = folder.newFile("graph.bin");
+
+        GraphFile.write(graph, new GraphFingerprint(2, 20, 1, 1, 0, 0), file);
+        GraphFile.read(file, new GraphFingerprint(2, 20, 1, 1, 0, 1));
+    }
+
+    @Test
+    public void testReadCorruptedFile() throws Exception {
+        LOG.trace("testReadCorruptedFile");
+
+        Place a = newPlace(10L, "A", 19.05, -98.28);
+        Place b = newPlace(20L, "B", 19.06, -98.28);
+        Graph graph = Graph.build(Arrays.asList(a, b), Arrays.asList(newPath(a, b, 1200.0)));
+        GraphFingerprint fingerprint = new GraphFingerprint(2, 20, 1, 1, 0, 0);
+        File file = folder.newFile("graph.bin");
+        // Header, ids, sorted ids, latitudes, longitudes, weights, sorted nodes and edge offsets
+        long edgeTargetsOffset = 80 + 2 * 4 * 8 + 1 * 2 * 8 + 2 * 4 + 3 * 4;
+
+        GraphFile.write(graph, fingerprint, file);
+        GraphFile.read(file, fingerprint);
+
+        try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+            output.seek(edgeTargetsOffset);
+            output.write(new byte[]{2, 0, 0, 0});
+        }
+
+        try {
+            GraphFile.read(file, fingerprint);
+            fail("Expected an IOException for an edge target out of range");
+        } catch (IOException ex) {
+            assertTrue(ex.getMessage().startsWith("Corrupted graph file"));
+        }
+    }
+
+    private Place newPlace(Long id, String name, double latitude, double longitude) {
+        Place place = new Place();
+        place.setId(id);
+        place.setName(name);
+        GeoPoint point = new GeoPoint();
+        point.setLatitude(latitude);
+        point.setLongitude(longitude);
+        place.setPosition(point);
+        return place;
+    }
+
+    private Path newPath(Place from, Place to, double distance) {
+        Path path = new Path();
+        path.setFromPlace(from);
+        path.setToPlace(to);
+        path.setDistance(distance);
+        return path;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+
+public class GraphTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphTest.class);
+
+    @Test
+    public void testBuild() throws Exception {
+        LOG.trace("testBuild");
+
+        Place a = newPlace(10L, "A", 19.05, -98.28);
+        Place b = newPlace(20L, "B", 19.06, -98.28);
+        Place c = newPlace(30L, "C", 19.07, -98.28);
+        Place outsider = newPlace(40L, "D", 19.08, -98.28);
+        List<Path> paths = Arrays.asList(
+                newPath(b, c, 2.0),
+                newPath(a, b, 1.0),
+                newPath(a, c, 5.0),
+                newPath(outsider, a, 7.0));
+
+        Graph graph = Graph.build(Arrays.asList(a, b, c), paths);
+
+        assertEquals(3, graph.getNodeCount());
+        assertEquals(3, graph.getEdgeCount());
+        assertEquals(-1, graph.indexOf(40L));
+
+        int nodeA = graph.indexOf(10L);
+        int nodeB = graph.indexOf(20L);
+        int nodeC = graph.indexOf(30L);
+
+        assertEquals(a, graph.getPlace(nodeA));
+        assertEquals("A", graph.getPlace(nodeA).getName());
+        assertEquals("A", graph.getPlaceName(nodeA));
+        assertEquals(2, graph.endEdge(nodeA) - graph.firstEdge(nodeA));
+        assertEquals(1, graph.endEdge(nodeB) - graph.firstEdge(nodeB));
+        assertEquals(0, graph.endEdge(nodeC) - graph.firstEdge(nodeC));
+        assertEquals(nodeC, graph.edgeTarget(graph.firstEdge(nodeB)));
+        assertEquals(2.0, graph.edgeWeight(graph.firstEdge(nodeB)), 0d);
+
+        assertEquals(0, graph.endIncomingEdge(nodeA) - graph.firstIncomingEdge(nodeA));
+        assertEquals(1, graph.endIncomingEdge(nodeB) - graph.firstIncomingEdge(nodeB));
+        assertEquals(2, graph.endIncomingEdge(nodeC) - graph.firstIncomingEdge(nodeC));
+        assertEquals(nodeA, graph.incomingEdgeSource(graph.firstIncomingEdge(nodeB)));
+        assertEquals(1.0, graph.incomingEdgeWeight(graph.firstIncomingEdge(nodeB)), 0d);
+        assertEquals(5.0, graph.edgeWeight(graph.findEdge(nodeA, nodeC)), 0d);
+        assertEquals(-1, graph.findEdge(nodeC, nodeA));
+    }
+
+    @Test
+    public void testApply() throws Exception {
+        LOG.trace("testApply");
+
+        Place a = newPlace(10L, "A", 19.05, -98.28);
+        Place b = newPlace(20L, "B", 19.06, -98.28);
+        Place c = newPlace(30L, "C", 19.07, -98.28);
+        Place d = newPlace(40L, "D", 19.08, -98.28);
+        Graph graph = Graph.build(Arrays.asList(a, b, c), Arrays.asList(
+                newPath(a, b, 1.0),
+                newPath(b, c, 2.0),
+                newPath(a, c, 5.0),
+                newPath(c, a, 4.0)));
+
+        Graph reweighted = graph.apply(new GraphDelta().updatePath(newPath(a, c, 3.0)));
+
+        assertTrue(reweighted.getVersion() > graph.getVersion());
+        assertEquals(graph.getVersion(), reweighted.getBaseVersion());
+        assertTrue(reweighted.isDerivedWithSameNodes(graph));
+        assertEquals(4, reweighted.getEdgeCount());
+        assertEquals(3.0, reweighted.edgeWeight(reweighted.findEdge(reweighted.indexOf(10L), reweighted.indexOf(30L))), 0d);
+        assertEquals(1, reweighted.getChanges().size());
+        assertEquals(5.0, reweighted.getChanges().get(0).getOldDistance(), 0d);
+        assertTrue(reweighted.getChanges().get(0).isShortening());
+
+        Graph updated = reweighted.apply(new GraphDelta()
+                .removePlace(b)
+                .addPlace(d)
+                .addPath(newPath(c, d, 6.0))
+                .removePath(newPath(c, a, 4.0)));
+
+        assertFalse(updated.isDerivedWithSameNodes(reweighted));
+        assertTrue(updated.hasNodeChanges());
+        assertEquals(3, updated.getNodeCount());
+        assertEquals(-1, updated.indexOf(20L));
+
+        int nodeA = updated.indexOf(10L);
+        int nodeC = updated.indexOf(30L);
+        int nodeD = updated.indexOf(40L);
+
+        assertEquals(2, nodeD);
+        assertEquals(d, updated.getPlace(nodeD));
+        assertEquals(d.getPosition(), updated.getPlace(nodeD).getPosition());
+        assertEquals(2, updated.getEdgeCount());
+        assertEquals(3.0, updated.edgeWeight(updated.findEdge(nodeA, nodeC)), 0d);
+        assertEquals(6.0, updated.edgeWeight(updated.findEdge(nodeC, nodeD)), 0d);
+        assertEquals(-1, updated.findEdge(nodeC, nodeA));
+        assertEquals(nodeC, updated.incomingEdgeSource(updated.firstIncomingEdge(nodeD)));
+
+        // a -> b, b -> c and c -> a removed, c -> d added
+        assertEquals(4, updated.getChanges().size());
+
+        for (EdgeChange change : updated.getChanges()) {
+            assertTrue(change.getFromPlaceId() == 40L || change.getToPlaceId() == 40L
+                    ? change.getOldDistance() == Double.POSITIVE_INFINITY
+                    : change.getNewDistance() == Double.POSITIVE_INFINITY);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApplyDuplicatedPlace() throws Exception {
+        LOG.trace("testApplyDuplicatedPlace");
+
+        Place a = newPlace(10L, "A", 19.05, -98.28);
+        Graph.build(Arrays.asList(a), Arrays.<Path>asList()).apply(new GraphDelta().addPlace(a));
+    }
+
+    @Test
+    public void testPackedPlaces() throws Exception {
+        LOG.trace("testPackedPlaces");
+
+        Place a = newPlace(30L, "Ciencias de la Computaci\u00f3n", 19.05, -98.28);
+        Place b = newPlace(10L, null, 19.06, -98.27);
+        Place c = newPlace(20L, "Biblioteca", 19.07, -98.26);
+
+        Graph graph = Graph.build(Arrays.asList(a, b, c), Arrays.asList(newPath(a, b, 1.0)));
+
+        assertEquals(0, graph.indexOf(30L));
+        assertEquals(1, graph.indexOf(10L));
+        assertEquals(2, graph.indexOf(20L));
+        assertEquals(-1, graph.indexOf(15L));
+        assertEquals(-1, graph.indexOf(null));
+        assertEquals("Ciencias de la Computaci\u00f3n", graph.getPlaceName(0));
+        assertEquals("", graph.getPlaceName(1));
+        assertEquals("Biblioteca", graph.getPlace(2).getName());
+        assertEquals(c.getPosition(), graph.getPlace(2).getPosition());
+        assertEquals(19.06, graph.getLatitude(1), 0d);
+        assertEquals(-98.27, graph.getLongitude(1), 0d);
+    }
+
+    @Test
+    public void testApplyPackedPlaces() throws Exception {
+        LOG.trace("testApplyPackedPlaces");
+
+        Place a = newPlace(30L, "Ciencias de la Computaci\u00f3n", 19.05, -98.28);
+        Place b = newPlace(10L, null, 19.06, -98.27);
+        Place c = newPlace(20L, "Biblioteca", 19.07, -98.26);
+        Place d = newPlace(25L, "Caf\u00e9", 19.08, -98.25);
+        Place e = newPlace(5L, "Entrada", 19.09, -98.24);
+        Graph graph = Graph.build(Arrays.asList(a, b, c), Arrays.asList(newPath(a, c, 1.0), newPath(c, a, 2.0)));
+
+        Graph reweighted = graph.apply(new GraphDelta().updatePath(newPath(a, c, 3.0)));
+        int nodeA = reweighted.indexOf(30L);
+        int nodeC = reweighted.indexOf(20L);
+
+        assertEquals(3.0, reweighted.edgeWeight(reweighted.findEdge(nodeA, nodeC)), 0d);
+        assertEquals(3.0, reweighted.incomingEdgeWeight(reweighted.firstIncomingEdge(nodeC)), 0d);
+        assertEquals(2.0, reweighted.edgeWeight(reweighted.findEdge(nodeC, nodeA)), 0d);
+        assertEquals(1.0, graph.edgeWeight(graph.findEdge(nodeA, nodeC)), 0d);
+
+        Graph updated = reweighted.apply(new GraphDelta().removePlace(b).addPlace(d).addPlace(e));
+
+        assertEquals(4, updated.getNodeCount());
+        assertEquals(0, updated.indexOf(30L));
+        assertEquals(1, updated.indexOf(20L));
+        assertEquals(2, updated.indexOf(25L));
+        assertEquals(3, updated.indexOf(5L));
+        assertEquals(-1, updated.indexOf(10L));
+        assertEquals("Ciencias de la Computaci\u00f3n", updated.getPlaceName(0));
+        assertEquals("Biblioteca", updated.getPlaceName(1));
+        assertEquals("Caf\u00e9", updated.getPlaceName(2));
+        assertEquals("Entrada", updated.getPlaceName(3));
+        assertEquals(c.getPosition(), updated.getPlace(1).getPosition());
+        assertEquals(e.getPosition(), updated.getPlace(3).getPosition());
+        assertEquals(3.0, updated.edgeWeight(updated.findEdge(0, 1)), 0d);
+    }
+
+    private Place newPlace(Long id, String name, double latitude, double longitude) {
+        Place place = new Place();
+        place.setId(id);
+        place.setName(name);
+        GeoPoint point = new GeoPoint();
+        point.setLatitude(latitude);
+        point.setLongitude(longitude);
+        place.setPosition(point);
+        return place;
+    }
+
+    private Path newPath(Place from, Place to, double distance) {
+        Path path = new Path();
+        path.setFromPlace(from);
+        path.setToPlace(to);
+        path.setDistance(distance);
+        return path;
+    }
+}
\ No newline at end of file
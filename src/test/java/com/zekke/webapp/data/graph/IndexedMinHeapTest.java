@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class IndexedMinHeapTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexedMinHeapTest.class);
+
+    @Test
+    public void testOfferAndPoll() throws Exception {
+        LOG.trace("testOfferAndPoll");
+
+        IndexedMinHeap heap = new IndexedMinHeap(6);
+        heap.offer(0, 5.0);
+        heap.offer(1, 3.0);
+        heap.offer(2, 8.0);
+        heap.offer(3, 1.0);
+        heap.offer(4, 9.0);
+
+        assertEquals(5, heap.size());
+        assertTrue(heap.contains(4));
+        assertFalse(heap.contains(5));
+
+        // decrease-key
+        assertTrue(heap.offer(4, 0.5));
+        // not a decrease
+        assertFalse(heap.offer(2, 10.0));
+
+        assertEquals(4, heap.poll());
+        assertEquals(3, heap.poll());
+        assertEquals(1, heap.poll());
+        assertEquals(0, heap.poll());
+        assertEquals(2, heap.poll());
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(2));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        LOG.trace("testClear");
+
+        IndexedMinHeap heap = new IndexedMinHeap(3);
+        heap.offer(0, 1.0);
+        heap.offer(2, 2.0);
+        heap.clear();
+
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+        assertTrue(heap.offer(0, 4.0));
+        assertEquals(0, heap.peek());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPollEmpty() throws Exception {
+        LOG.trace("testPollEmpty");
+
+        new IndexedMinHeap(1).poll();
+    }
+}
\ No newline at end of file
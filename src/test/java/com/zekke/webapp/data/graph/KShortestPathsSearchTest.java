@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+
+public class KShortestPathsSearchTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KShortestPathsSearchTest.class);
+
+    @Test
+    public void testSearch() throws Exception {
+        LOG.trace("testSearch");
+
+        List<Place> places = new ArrayList<>();
+
+        for (long id = 1; id <= 6; id++) {
+            places.add(newPlace(id));
+        }
+
+        Place c = places.get(0);
+        Place d = places.get(1);
+        Place e = places.get(2);
+        Place f = places.get(3);
+        Place g = places.get(4);
+        Place h = places.get(5);
+        Graph graph = Graph.build(places, Arrays.asList(
+                newPath(c, d, 3.0), newPath(c, e, 2.0), newPath(d, f, 4.0),
+                newPath(e, d, 1.0), newPath(e, f, 2.0), newPath(e, g, 3.0),
+                newPath(f, g, 2.0), newPath(f, h, 1.0), newPath(g, h, 2.0)));
+
+        KShortestPathsSearch search = new KShortestPathsSearch(graph);
+
+        assertEquals(3, search.search(graph.indexOf(1L), graph.indexOf(6L), 3));
+        assertArrayEquals(nodes(graph, 1, 3, 4, 6), search.getPath(0));
+        assertEquals(5.0, search.getDistance(0), 0d);
+        assertArrayEquals(nodes(graph, 1, 3, 5, 6), search.getPath(1));
+        assertEquals(7.0, search.getDistance(1), 0d);
+        assertEquals(8.0, search.getDistance(2), 0d);
+
+        assertEquals(1, search.search(graph.indexOf(1L), graph.indexOf(1L), 3));
+        assertEquals(0, search.search(graph.indexOf(6L), graph.indexOf(1L), 3));
+    }
+
+    private int[] nodes(Graph graph, long... ids) {
+        int[] nodes = new int[ids.length];
+
+        for (int i = 0; i < ids.length; i++) {
+            nodes[i] = graph.indexOf(ids[i]);
+        }
+
+        return nodes;
+    }
+
+    private Place newPlace(Long id) {
+        Place place = new Place();
+        place.setId(id);
+        place.setName("P" + id);
+        GeoPoint point = new GeoPoint();
+        point.setLatitude(19.05);
+        point.setLongitude(-98.28);
+        place.setPosition(point);
+        return place;
+    }
+
+    private Path newPath(Place from, Place to, double distance) {
+        Path path = new Path();
+        path.setFromPlace(from);
+        path.setToPlace(to);
+        path.setDistance(distance);
+        return path;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+import com.zekke.webapp.util.GeoUtils;
+
+public class SpatialIndexTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpatialIndexTest.class);
+
+    @Test
+    public void testFindNearest() throws Exception {
+        LOG.trace("testFindNearest");
+
+        Random random = new Random(42);
+        List<Place> places = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            places.add(newPlace((long) i, 19.05 + random.nextDouble() * 0.01, -98.29 + random.nextDouble() * 0.01));
+        }
+
+        Graph graph = Graph.build(places, Arrays.<Path>asList());
+        SpatialIndex index = graph.getSpatialIndex();
+
+        assertSame(index, graph.getSpatialIndex());
+        assertSame(graph, index.getGraph());
+
+        for (int i = 0; i < 500; i++) {
+            double latitude = 19.05 + random.nextDouble() * 0.01;
+            double longitude = -98.29 + random.nextDouble() * 0.01;
+            double maxDistance = random.nextDouble() * 50;
+            int expected = -1;
+            double expectedDistance = maxDistance;
+
+            for (int node = 0; node < graph.getNodeCount(); node++) {
+                double distance = GeoUtils.distance(latitude, longitude, graph.getLatitude(node),
+                        graph.getLongitude(node));
+
+                if (distance <= expectedDistance) {
+                    expected = node;
+                    expectedDistance = distance;
+                }
+            }
+
+            assertEquals(expected, index.findNearest(latitude, longitude, maxDistance));
+        }
+    }
+
+    @Test
+    public void testFindNearestNodes() throws Exception {
+        LOG.trace("testFindNearestNodes");
+
+        Random random = new Random(7);
+        List<Place> places = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            places.add(newPlace((long) i, 19.05 + random.nextDouble() * 0.01, -98.29 + random.nextDouble() * 0.01));
+        }
+
+        final Graph graph = Graph.build(places, Arrays.<Path>asList());
+        SpatialIndex index = graph.getSpatialIndex();
+
+        for (int i = 0; i < 200; i++) {
+            final double latitude = 19.05 + random.nextDouble() * 0.01;
+            final double longitude = -98.29 + random.nextDouble() * 0.01;
+            double maxDistance = random.nextDouble() * 200;
+            int count = 1 + random.nextInt(10);
+            List<Integer> expected = new ArrayList<>();
+
+            for (int node = 0; node < graph.getNodeCount(); node++) {
+                if (distance(graph, node, latitude, longitude) <= maxDistance) {
+                    expected.add(node);
+                }
+            }
+
+            Collections.sort(expected, new Comparator<Integer>() {
+
+                @Override
+                public int compare(Integer node, Integer other) {
+                    return Double.compare(distance(graph, node, latitude, longitude),
+                            distance(graph, other, latitude, longitude));
+                }
+            });
+
+            int[] nearest = index.findNearest(latitude, longitude, count, maxDistance);
+
+            assertEquals(Math.min(count, expected.size()), nearest.length);
+
+            for (int j = 0; j < nearest.length; j++) {
+                assertEquals(distance(graph, expected.get(j), latitude, longitude),
+                        distance(graph, nearest[j], latitude, longitude), 1e-9);
+            }
+        }
+
+        assertEquals(0, index.findNearest(19.05, -98.29, 0, 100).length);
+        assertEquals(1000, index.findNearest(19.05, -98.29, 2000, 10000).length);
+    }
+
+    @Test
+    public void testFindNearestAcrossAntimeridian() throws Exception {
+        LOG.trace("testFindNearestAcrossAntimeridian");
+
+        Graph graph = Graph.build(Arrays.asList(
+                newPlace(1L, 0, 179.9999),
+                newPlace(2L, 0, -179.9995),
+                newPlace(3L, 0, 170)), Arrays.<Path>asList());
+        SpatialIndex index = graph.getSpatialIndex();
+
+        assertEquals(graph.indexOf(1L), index.findNearest(0, -179.9999, 30));
+        assertEquals(graph.indexOf(2L), index.findNearest(0, -179.9996, 30));
+        assertEquals(-1, index.findNearest(0, 175, 30));
+        assertEquals(-1, index.findNearest(0, 170, -1));
+    }
+
+    @Test
+    public void testFindNearestInEmptyGraph() throws Exception {
+        LOG.trace("testFindNearestInEmptyGraph");
+
+        Graph graph = Graph.build(Arrays.<Place>asList(), Arrays.<Path>asList());
+
+        assertEquals(-1, graph.getSpatialIndex().findNearest(19.05, -98.28, 30));
+    }
+
+    private double distance(Graph graph, int node, double latitude, double longitude) {
+        return GeoUtils.distance(latitude, longitude, graph.getLatitude(node), graph.getLongitude(node));
+    }
+
+    private Place newPlace(Long id, double latitude, double longitude) {
+        Place place = new Place();
+        place.setId(id);
+        place.setName("Place " + id);
+        GeoPoint point = new GeoPoint();
+        point.setLatitude(latitude);
+        point.setLongitude(longitude);
+        place.setPosition(point);
+        return place;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.data.graph;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+
+public class TrigramIndexTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TrigramIndexTest.class);
+
+    @Test
+    public void testFindContaining() throws Exception {
+        LOG.trace("testFindContaining");
+
+        Graph graph = Graph.build(Arrays.asList(
+                newPlace(1L, "Humanidades - 2"),
+                newPlace(2L, "Humanidades"),
+                newPlace(3L, "Estacionamiento 5"),
+                newPlace(4L, "Ciencias de la Computaci\u00f3n"),
+                newPlace(5L, "Humanidades")), Arrays.<Path>asList());
+        TrigramIndex index = graph.getTrigramIndex();
+
+        assertArrayEquals(new int[] {1, 4, 0}, index.findContaining("Humanidades"));
+        assertArrayEquals(new int[] {3, 2}, index.findContaining("ci"));
+        assertArrayEquals(new int[] {3, 2}, index.findContaining("aci\u00f3n"));
+        assertArrayEquals(new int[] {1, 4, 0}, index.findContaining("HUMANIDADES"));
+        assertArrayEquals(new int[] {3}, index.findContaining("computacion"));
+        assertArrayEquals(new int[] {3}, index.findContaining("Comput\u00c1"));
+        assertArrayEquals(new int[] {}, index.findContaining("sedadinamuH"));
+        assertArrayEquals(new int[] {3, 2, 1, 4, 0}, index.findContaining(""));
+    }
+
+    @Test
+    public void testFindContainingRandomNames() throws Exception {
+        LOG.trace("testFindContainingRandomNames");
+
+        Random random = new Random(3);
+        List<Place> places = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            places.add(newPlace((long) i, randomText(random, 4 + random.nextInt(12))));
+        }
+
+        Graph graph = Graph.build(places, Arrays.<Path>asList());
+        TrigramIndex index = graph.getTrigramIndex();
+
+        for (int i = 0; i < 300; i++) {
+            String text = randomText(random, 1 + random.nextInt(4));
+            int[] found = index.findContaining(text);
+            int count = 0;
+
+            for (int node = 0; node < graph.getNodeCount(); node++) {
+                if (graph.getPlaceName(node).contains(text)) {
+                    count++;
+                }
+            }
+
+            assertEquals(count, found.length);
+
+            for (int j = 0; j < found.length; j++) {
+                assertEquals(true, graph.getPlaceName(found[j]).contains(text));
+
+                if (j > 0) {
+                    assertEquals(true, graph.getPlaceName(found[j - 1]).compareTo(graph.getPlaceName(found[j])) <= 0);
+                }
+            }
+        }
+    }
+
+    private String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+
+        for (int i = 0; i < length; i++) {
+            text.append("abcde ".charAt(random.nextInt(6)));
+        }
+
+        return text.toString();
+    }
+
+    private Place newPlace(Long id, String name) {
+        Place place = new Place();
+        place.setId(id);
+        place.setName(name);
+        GeoPoint point = new GeoPoint();
+        point.setLatitude(19.05 + id * 0.0001);
+        point.setLongitude(-98.28);
+        place.setPosition(point);
+        return place;
+    }
+}
\ No newline at end of file
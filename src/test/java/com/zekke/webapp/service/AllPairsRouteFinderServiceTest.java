@@ -0,0 +1,145 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.zekke.webapp.config.TestConfig;
+import com.zekke.webapp.data.Place;
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.graph.AllPairsTable;
+import com.zekke.webapp.data.graph.DijkstraSearch;
+import com.zekke.webapp.data.graph.Graph;
+import com.zekke.webapp.service.impl.AllPairsRouteFinderService;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = TestConfig.class)
+public class AllPairsRouteFinderServiceTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AllPairsRouteFinderServiceTest.class);
+
+    @Inject
+    @Named("allPairsRouteFinderService")
+    private RouteFinderService allPairsRouteFinderService;
+
+    @Inject
+    @Named("routeFinderService")
+    private RouteFinderService dijkstraRouteFinderService;
+
+    @Inject
+    private GraphService graphService;
+
+    @Before
+    public void setUp() throws Exception {
+        LOG.trace("setUp");
+
+        assertNotNull(allPairsRouteFinderService);
+        assertNotNull(dijkstraRouteFinderService);
+    }
+
+    @Test
+    public void testFindRoute() throws Exception {
+        LOG.trace("testFindRoute");
+
+        Graph graph = graphService.getGraph();
+        long[][] pairs = {{6, 9}, {3, 30}, {30, 3}, {1, 129}, {32, 8}, {6, 6}};
+
+        for (long[] pair : pairs) {
+            Place root = graph.getPlace(graph.indexOf(pair[0]));
+            Place target = graph.getPlace(graph.indexOf(pair[1]));
+
+            Route expected = dijkstraRouteFinderService.findRoute(root.getPosition(), target.getPosition());
+            Route actual = allPairsRouteFinderService.findRoute(root.getPosition(),
+                    target.getPosition());
+
+            assertNotNull(actual);
+            assertEquals(expected.getDistance(), actual.getDistance());
+            assertEquals(target, actual.getPath().get(0));
+            assertEquals(root, actual.getPath().get(actual.getPath().size() - 1));
+        }
+    }
+
+    @Test
+    public void testBuild() throws Exception {
+        LOG.trace("testBuild");
+
+        Graph graph = graphService.getGraph();
+        AllPairsTable table = AllPairsTable.build(graph, 2);
+        DijkstraSearch dijkstra = new DijkstraSearch(graph);
+
+        assertEquals(graph.getNodeCount() * graph.getNodeCount() * 12L, table.getTableSize());
+
+        for (int source = 0; source < graph.getNodeCount(); source++) {
+            dijkstra.search(source, -1);
+
+            for (int target = 0; target < graph.getNodeCount(); target++) {
+                int[] path = table.getPath(source, target);
+
+                assertEquals(dijkstra.getDistance(target), table.getDistance(source, target), 0d);
+
+                if (dijkstra.isSettled(target)) {
+                    double distance = 0.0;
+
+                    assertEquals(source, path[0]);
+                    assertEquals(target, path[path.length - 1]);
+
+                    for (int i = 1; i < path.length; i++) {
+                        int edge = graph.findEdge(path[i - 1], path[i]);
+                        assertTrue(edge != -1);
+                        distance += graph.edgeWeight(edge);
+                    }
+
+                    assertEquals(table.getDistance(source, target), distance, 1e-6);
+                } else {
+                    assertFalse(path.length > 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGetPrecomputedSize() throws Exception {
+        LOG.trace("testGetPrecomputedSize");
+
+        Graph graph = graphService.getGraph();
+        RouteFinderStatistics statistics = (RouteFinderStatistics) allPairsRouteFinderService;
+
+        assertEquals(graph.getNodeCount() * graph.getNodeCount() * 12L, statistics.getPrecomputedSize());
+        assertEquals(0, ((RouteFinderStatistics) dijkstraRouteFinderService).getPrecomputedSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetMaxNodeCountTooLarge() throws Exception {
+        LOG.trace("testSetMaxNodeCountTooLarge");
+        new AllPairsRouteFinderService().setMaxNodeCount(AllPairsTable.MAX_NODE_COUNT + 1);
+    }
+}
\ No newline at end of file
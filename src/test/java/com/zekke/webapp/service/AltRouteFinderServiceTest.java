@@ -0,0 +1,114 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.zekke.webapp.config.TestConfig;
+import com.zekke.webapp.data.Place;
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.graph.AStarSearch;
+import com.zekke.webapp.data.graph.DijkstraSearch;
+import com.zekke.webapp.data.graph.Graph;
+import com.zekke.webapp.data.graph.LandmarkTable;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = TestConfig.class)
+public class AltRouteFinderServiceTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AltRouteFinderServiceTest.class);
+
+    @Inject
+    @Named("altRouteFinderService")
+    private RouteFinderService altRouteFinderService;
+
+    @Inject
+    @Named("routeFinderService")
+    private RouteFinderService dijkstraRouteFinderService;
+
+    @Inject
+    private GraphService graphService;
+
+    @Before
+    public void setUp() throws Exception {
+        LOG.trace("setUp");
+
+        assertNotNull(altRouteFinderService);
+        assertNotNull(dijkstraRouteFinderService);
+    }
+
+    @Test
+    public void testFindRoute() throws Exception {
+        LOG.trace("testFindRoute");
+
+        Graph graph = graphService.getGraph();
+        long[][] pairs = {{6, 9}, {3, 30}, {30, 3}, {1, 129}, {32, 8}};
+        AStarSearch altSearch = new AStarSearch(graph, LandmarkTable.build(graph, 8));
+        DijkstraSearch dijkstraSearch = new DijkstraSearch(graph);
+
+        for (long[] pair : pairs) {
+            Place root = graph.getPlace(graph.indexOf(pair[0]));
+            Place target = graph.getPlace(graph.indexOf(pair[1]));
+
+            Route expected = dijkstraRouteFinderService.findRoute(root.getPosition(), target.getPosition());
+            Route actual = altRouteFinderService.findRoute(root.getPosition(), target.getPosition());
+
+            assertNotNull(actual);
+            assertEquals(expected.getDistance(), actual.getDistance(), 1e-9);
+            assertEquals(target, actual.getPath().get(0));
+            assertEquals(root, actual.getPath().get(actual.getPath().size() - 1));
+
+            altSearch.search(graph.indexOf(pair[0]), graph.indexOf(pair[1]));
+            dijkstraSearch.search(graph.indexOf(pair[0]), graph.indexOf(pair[1]));
+
+            assertTrue(altSearch.getSettledCount() <= dijkstraSearch.getSettledCount());
+        }
+    }
+
+    @Test
+    public void testEstimate() throws Exception {
+        LOG.trace("testEstimate");
+
+        Graph graph = graphService.getGraph();
+        LandmarkTable table = LandmarkTable.build(graph, 4);
+        DijkstraSearch dijkstra = new DijkstraSearch(graph);
+
+        assertEquals(4, table.getLandmarkCount());
+
+        for (int source = 0; source < graph.getNodeCount(); source++) {
+            dijkstra.search(source, -1);
+
+            for (int target = 0; target < graph.getNodeCount(); target++) {
+                assertTrue(table.estimate(source, target) <= dijkstra.getDistance(target));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.zekke.webapp.config.TestConfig;
+import com.zekke.webapp.data.Place;
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.graph.Graph;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = TestConfig.class)
+public class BidirectionalRouteFinderServiceTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BidirectionalRouteFinderServiceTest.class);
+
+    @Inject
+    @Named("bidirectionalRouteFinderService")
+    private RouteFinderService bidirectionalRouteFinderService;
+
+    @Inject
+    @Named("routeFinderService")
+    private RouteFinderService dijkstraRouteFinderService;
+
+    @Inject
+    private GraphService graphService;
+
+    @Before
+    public void setUp() throws Exception {
+        LOG.trace("setUp");
+
+        assertNotNull(bidirectionalRouteFinderService);
+        assertNotNull(dijkstraRouteFinderService);
+    }
+
+    @Test
+    public void testFindRoute() throws Exception {
+        LOG.trace("testFindRoute");
+
+        Graph graph = graphService.getGraph();
+        long[][] pairs = {{6, 9}, {3, 30}, {30, 3}, {1, 129}, {32, 8}};
+
+        for (long[] pair : pairs) {
+            Place root = graph.getPlace(graph.indexOf(pair[0]));
+            Place target = graph.getPlace(graph.indexOf(pair[1]));
+
+            Route expected = dijkstraRouteFinderService.findRoute(root.getPosition(), target.getPosition());
+            Route actual = bidirectionalRouteFinderService.findRoute(root.getPosition(), target.getPosition());
+
+            assertNotNull(actual);
+            assertEquals(expected.getDistance(), actual.getDistance(), 1e-9);
+            assertEquals(target, actual.getPath().get(0));
+            assertEquals(root, actual.getPath().get(actual.getPath().size() - 1));
+        }
+    }
+
+    @Test
+    public void testFindRouteToItself() throws Exception {
+        LOG.trace("testFindRouteToItself");
+
+        Graph graph = graphService.getGraph();
+        Place place = graph.getPlace(graph.indexOf(6L));
+        Route route = bidirectionalRouteFinderService.findRoute(place.getPosition(), place.getPosition());
+
+        assertNotNull(route);
+        assertEquals(0.0, route.getDistance(), 0d);
+        assertEquals(1, route.getPath().size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.zekke.webapp.config.TestConfig;
+import com.zekke.webapp.data.Place;
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.graph.ContractionHierarchy;
+import com.zekke.webapp.data.graph.ContractionHierarchySearch;
+import com.zekke.webapp.data.graph.DijkstraSearch;
+import com.zekke.webapp.data.graph.Graph;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = TestConfig.class)
+public class ContractionHierarchiesRouteFinderServiceTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContractionHierarchiesRouteFinderServiceTest.class);
+
+    @Inject
+    @Named("contractionHierarchiesRouteFinderService")
+    private RouteFinderService contractionHierarchiesRouteFinderService;
+
+    @Inject
+    @Named("routeFinderService")
+    private RouteFinderService dijkstraRouteFinderService;
+
+    @Inject
+    private GraphService graphService;
+
+    @Before
+    public void setUp() throws Exception {
+        LOG.trace("setUp");
+
+        assertNotNull(contractionHierarchiesRouteFinderService);
+        assertNotNull(dijkstraRouteFinderService);
+    }
+
+    @Test
+    public void testFindRoute() throws Exception {
+        LOG.trace("testFindRoute");
+
+        Graph graph = graphService.getGraph();
+        long[][] pairs = {{6, 9}, {3, 30}, {30, 3}, {1, 129}, {32, 8}, {6, 6}};
+
+        for (long[] pair : pairs) {
+            Place root = graph.getPlace(graph.indexOf(pair[0]));
+            Place target = graph.getPlace(graph.indexOf(pair[1]));
+
+            Route expected = dijkstraRouteFinderService.findRoute(root.getPosition(), target.getPosition());
+            Route actual = contractionHierarchiesRouteFinderService.findRoute(root.getPosition(),
+                    target.getPosition());
+
+            assertNotNull(actual);
+            assertEquals(expected.getDistance(), actual.getDistance(), 1e-9);
+            assertEquals(target, actual.getPath().get(0));
+            assertEquals(root, actual.getPath().get(actual.getPath().size() - 1));
+        }
+    }
+
+    @Test
+    public void testSearchAllPairs() throws Exception {
+        LOG.trace("testSearchAllPairs");
+
+        Graph graph = graphService.getGraph();
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+        ContractionHierarchySearch search = new ContractionHierarchySearch(hierarchy);
+        DijkstraSearch dijkstra = new DijkstraSearch(graph);
+
+        for (int source = 0; source < graph.getNodeCount(); source++) {
+            dijkstra.search(source, -1);
+
+            for (int target = 0; target < graph.getNodeCount(); target++) {
+                boolean reachable = dijkstra.isSettled(target);
+
+                assertEquals(reachable, search.search(source, target));
+
+                if (reachable) {
+                    int[] path = search.getPath();
+
+                    assertEquals(dijkstra.getDistance(target), search.getDistance(), 1e-6);
+                    assertEquals(source, path[0]);
+                    assertEquals(target, path[path.length - 1]);
+
+                    for (int i = 1; i < path.length; i++) {
+                        assertTrue(graph.findEdge(path[i - 1], path[i]) != -1);
+                    }
+                } else {
+                    assertFalse(search.getPath().length > 0);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -18,8 +18,12 @@ package com.zekke.webapp.service;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
 import javax.inject.Inject;
@@ -33,10 +37,17 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.zekke.webapp.config.TestConfig;
 import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.NearbyPlace;
 import com.zekke.webapp.data.Place;
+import com.zekke.webapp.data.dao.PlaceDao;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = TestConfig.class)
@@ -47,6 +58,15 @@ public class GeocoderServiceTest {
     @Inject
     private GeocoderService geocoderService;
 
+    @Inject
+    private PlaceDao placeDao;
+
+    @Inject
+    private GraphService graphService;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
     @Before
     public void setUp() {
         LOG.trace("setUp");
@@ -70,6 +90,38 @@ public class GeocoderServiceTest {
         assertEquals(p, pFromDB);
     }
 
+    @Test
+    public void testFindByPositionWithoutPlace() {
+        LOG.trace("testFindByPositionWithoutPlace");
+
+        GeoPoint point = new GeoPoint();
+        point.setLatitude(19.0540128741435);
+        point.setLongitude(-98.2890825448036);
+
+        assertNull(geocoderService.findByPosition(point));
+    }
+
+    @Test
+    public void testFindNearest() {
+        LOG.trace("testFindNearest");
+
+        GeoPoint point = new GeoPoint();
+        point.setLatitude(19.0540128741435);
+        point.setLongitude(-98.2830825448036);
+        List<NearbyPlace> places = geocoderService.findNearest(point, 5, 500);
+
+        assertEquals(5, places.size());
+        assertEquals(Long.valueOf(129L), places.get(0).getPlace().getId());
+        assertEquals(0, places.get(0).getDistance(), 1e-6);
+
+        for (int i = 1; i < places.size(); i++) {
+            assertTrue(places.get(i - 1).getDistance() <= places.get(i).getDistance());
+            assertTrue(places.get(i).getDistance() <= 500);
+        }
+
+        assertTrue(geocoderService.findNearest(point, 5, 0).size() <= 1);
+    }
+
     @Test
     public void testFindLikeName() {
         LOG.trace("testFindLikeName");
@@ -116,6 +168,92 @@ public class GeocoderServiceTest {
         assertEquals(expected, expected);
     }
 
+    @Test
+    @Transactional(readOnly = true)
+    public void testFindLikeNameAsDataSource() {
+        LOG.trace("testFindLikeNameAsDataSource");
+
+        for (String name : Arrays.asList("Humanidades", "CIRIA", "ento ", "a", "ci", "zzz", "es - 2", "%des",
+                "\u00c1rea", "ciria - 2")) {
+            List<Place> expected = placeDao.readLikeName(name);
+            List<Place> actual = geocoderService.findLikeName(name);
+
+            assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+            assertEquals(expected.size(), actual.size());
+
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            }
+        }
+    }
+
+    @Test
+    public void testFindLikeNameAfterRename() {
+        LOG.trace("testFindLikeNameAfterRename");
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        assertTrue(geocoderService.findLikeName("Observatorio").isEmpty());
+
+        try {
+            transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    placeDao.readById(129L).setName("Observatorio");
+                }
+            });
+
+            graphService.refresh();
+            List<Place> renamed = geocoderService.findLikeName("Observatorio");
+
+            assertEquals(1, renamed.size());
+            assertEquals(Long.valueOf(129L), renamed.get(0).getId());
+            assertTrue(geocoderService.findLikeName("CIRIA - 2").isEmpty());
+        } finally {
+            transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    placeDao.readById(129L).setName("CIRIA - 2");
+                }
+            });
+        }
+
+        graphService.refresh();
+
+        assertEquals(Long.valueOf(129L), geocoderService.findLikeName("CIRIA - 2").get(0).getId());
+    }
+
+    @Test
+    public void testFindSimilarToName() throws Exception {
+        LOG.trace("testFindSimilarToName");
+
+        List<Place> places = geocoderService.findSimilarToName("Humandades", 1);
+        List<Long> ids = new ArrayList<>(places.size());
+
+        for (Place place : places) {
+            ids.add(place.getId());
+        }
+
+        assertEquals(Arrays.asList(32L, 33L, 34L, 35L), ids);
+        assertEquals("Humanidades", places.get(0).getName());
+        assertTrue(geocoderService.findSimilarToName("Humanidaeds", 1).isEmpty());
+        assertEquals(4, geocoderService.findSimilarToName("Humanidaeds", 2).size());
+    }
+
+    @Test
+    public void testFindNamesStartingWith() throws Exception {
+        LOG.trace("testFindNamesStartingWith");
+
+        List<String> expected = Arrays.asList("Humanidades", "Humanidades - 2", "Humanidades - 3", "Humanidades - 4");
+        List<String> actual = geocoderService.findNamesStartingWith("hUMAN", 10);
+
+        assertEquals(expected, actual);
+        assertEquals(expected.subList(0, 2), geocoderService.findNamesStartingWith("Humanidades", 2));
+        assertTrue(geocoderService.findNamesStartingWith("Humanidades - 5", 10).isEmpty());
+    }
+
     @Test
     public void testFindNamesInAreaLikeName() throws Exception {
         LOG.trace("testFindNamesInAreaLikeName");
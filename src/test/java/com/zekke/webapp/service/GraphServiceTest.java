@@ -0,0 +1,385 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zekke.webapp.config.TestConfig;
+import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+import com.zekke.webapp.data.dao.PathDao;
+import com.zekke.webapp.data.dao.PlaceDao;
+import com.zekke.webapp.data.graph.Graph;
+import com.zekke.webapp.data.graph.GraphDelta;
+import com.zekke.webapp.data.graph.GraphFile;
+import com.zekke.webapp.data.graph.GraphFingerprint;
+import com.zekke.webapp.service.impl.DefaultGraphService;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = TestConfig.class)
+public class GraphServiceTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphServiceTest.class);
+
+    @Inject
+    private GraphService graphService;
+
+    @Inject
+    private RouteFinderService routeFinderService;
+
+    @Inject
+    private PlaceDao placeDao;
+
+    @Inject
+    private PathDao pathDao;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        LOG.trace("setUp");
+
+        assertNotNull(graphService);
+    }
+
+    @Test
+    public void testGetGraph() throws Exception {
+        LOG.trace("testGetGraph");
+
+        Graph graph = graphService.getGraph();
+
+        assertNotNull(graph);
+        assertEquals(154, graph.getNodeCount());
+        assertEquals(696, graph.getEdgeCount());
+        assertSame(graph, graphService.getGraph());
+
+        int from = graph.indexOf(2L);
+        int to = graph.indexOf(1L);
+        boolean found = false;
+
+        for (int e = graph.firstEdge(from); e < graph.endEdge(from); e++) {
+            if (graph.edgeTarget(e) == to) {
+                assertEquals(35.8514802281527, graph.edgeWeight(e), 0d);
+                found = true;
+            }
+        }
+
+        assertTrue(found);
+    }
+
+    @Test
+    public void testReload() throws Exception {
+        LOG.trace("testReload");
+
+        final Graph graph = graphService.getGraph();
+        final AtomicBoolean reloading = new AtomicBoolean(true);
+        final AtomicInteger failures = new AtomicInteger();
+        Thread reader = new Thread() {
+
+            @Override
+            public void run() {
+                long lastVersion = graph.getVersion();
+
+                while (reloading.get()) {
+                    Graph current = graphService.getGraph();
+
+                    if (current == null || current.getVersion() < lastVersion || current.getNodeCount() != 154) {
+                        failures.incrementAndGet();
+                    } else {
+                        lastVersion = current.getVersion();
+                    }
+                }
+            }
+        };
+
+        reader.start();
+        Graph reloaded = graphService.reload();
+        reloading.set(false);
+        reader.join();
+
+        assertEquals(0, failures.get());
+        assertNotSame(graph, reloaded);
+        assertTrue(reloaded.getVersion() > graph.getVersion());
+        assertSame(reloaded, graphService.getGraph());
+        assertEquals(graph.getNodeCount(), reloaded.getNodeCount());
+        assertEquals(graph.getEdgeCount(), reloaded.getEdgeCount());
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        LOG.trace("testUpdate");
+
+        Graph graph = graphService.getGraph();
+        Place p6 = graph.getPlace(graph.indexOf(6L));
+        Place p8 = graph.getPlace(graph.indexOf(8L));
+        Place p9 = graph.getPlace(graph.indexOf(9L));
+        double distance = graph.edgeWeight(graph.findEdge(graph.indexOf(8L), graph.indexOf(9L)));
+        Path path = new Path();
+        path.setFromPlace(p8);
+        path.setToPlace(p9);
+
+        assertEquals(159.2452279695584, routeFinderService.findRoute(p6.getPosition(), p9.getPosition()).getDistance(), 0d);
+
+        try {
+            path.setDistance(distance + 1000);
+            Graph updated = graphService.update(new GraphDelta().updatePath(path));
+
+            assertSame(updated, graphService.getGraph());
+            assertEquals(graph.getVersion(), updated.getBaseVersion());
+            assertEquals(graph.getEdgeCount(), updated.getEdgeCount());
+            assertTrue(routeFinderService.findRoute(p6.getPosition(), p9.getPosition()).getDistance() > 159.2452279695584);
+        } finally {
+            path.setDistance(distance);
+            graphService.update(new GraphDelta().updatePath(path));
+        }
+
+        assertEquals(159.2452279695584, routeFinderService.findRoute(p6.getPosition(), p9.getPosition()).getDistance(), 0d);
+    }
+
+    @Test
+    public void testRefresh() throws Exception {
+        LOG.trace("testRefresh");
+
+        graphService.refresh();
+        final Graph graph = graphService.getGraph();
+
+        graphService.refresh();
+
+        assertSame(graph, graphService.getGraph());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        final Long[] ids = transactionTemplate.execute(new TransactionCallback<Long[]>() {
+
+            @Override
+            public Long[] doInTransaction(TransactionStatus status) {
+                Place p9 = placeDao.readById(9L);
+                Place p = new Place();
+                p.setName("Test place");
+                GeoPoint point = new GeoPoint();
+                point.setLatitude(19.0551);
+                point.setLongitude(-98.2821);
+                p.setPosition(point);
+                placeDao.save(p);
+                Path path = new Path();
+                path.setFromPlace(p9);
+                path.setToPlace(p);
+                path.setDistance(10d);
+                pathDao.save(path);
+                return new Long[]{p.getId(), path.getId()};
+            }
+        });
+
+        try {
+            graphService.refresh();
+            Graph refreshed = graphService.getGraph();
+
+            assertNotSame(graph, refreshed);
+            assertEquals(graph.getVersion(), refreshed.getBaseVersion());
+            assertEquals(graph.getNodeCount() + 1, refreshed.getNodeCount());
+            assertEquals(graph.getEdgeCount() + 1, refreshed.getEdgeCount());
+            assertEquals(10d, refreshed.edgeWeight(refreshed.findEdge(refreshed.indexOf(9L),
+                    refreshed.indexOf(ids[0]))), 0d);
+            assertEquals(10d, routeFinderService.findRoute(refreshed.getPlace(refreshed.indexOf(9L)).getPosition(),
+                    refreshed.getPlace(refreshed.indexOf(ids[0])).getPosition()).getDistance(), 0d);
+
+            graphService.refresh();
+
+            assertSame(refreshed, graphService.getGraph());
+        } finally {
+            transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    pathDao.delete(pathDao.readById(ids[1]));
+                    placeDao.delete(placeDao.readById(ids[0]));
+                }
+            });
+        }
+
+        graphService.refresh();
+        Graph restored = graphService.getGraph();
+
+        assertEquals(0, restored.getBaseVersion());
+        assertEquals(graph.getNodeCount(), restored.getNodeCount());
+        assertEquals(graph.getEdgeCount(), restored.getEdgeCount());
+        assertEquals(-1, restored.indexOf(ids[0]));
+    }
+
+    @Test
+    public void testRefreshEditedPath() throws Exception {
+        LOG.trace("testRefreshEditedPath");
+
+        final Graph graph = graphService.getGraph();
+        Place p6 = graph.getPlace(graph.indexOf(6L));
+        Place p9 = graph.getPlace(graph.indexOf(9L));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        assertEquals(159.2452279695584, routeFinderService.findRoute(p6.getPosition(), p9.getPosition()).getDistance(), 0d);
+
+        try {
+            transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    Path path = pathDao.readById(15L);
+                    path.setDistance(path.getDistance() + 1000);
+                }
+            });
+
+            graphService.refresh();
+            Graph refreshed = graphService.getGraph();
+
+            assertNotSame(graph, refreshed);
+            assertEquals(graph.getEdgeCount(), refreshed.getEdgeCount());
+            assertEquals(1064.7322280666355, refreshed.edgeWeight(refreshed.findEdge(refreshed.indexOf(8L),
+                    refreshed.indexOf(9L))), 1e-9);
+            assertTrue(routeFinderService.findRoute(p6.getPosition(), p9.getPosition()).getDistance() > 159.2452279695584);
+        } finally {
+            transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    Path path = pathDao.readById(15L);
+                    path.setDistance(64.7322280666355);
+                }
+            });
+        }
+
+        graphService.refresh();
+
+        assertEquals(159.2452279695584, routeFinderService.findRoute(p6.getPosition(), p9.getPosition()).getDistance(), 0d);
+    }
+
+    @Test
+    public void testMapGraphFile() throws Exception {
+        LOG.trace("testMapGraphFile");
+
+        Graph graph = graphService.getGraph();
+        Place p1 = graph.getPlace(graph.indexOf(1L));
+        Place p2 = graph.getPlace(graph.indexOf(2L));
+        Path path = new Path();
+        path.setFromPlace(p1);
+        path.setToPlace(p2);
+        path.setDistance(35.8514802281527);
+        Graph small = Graph.build(Arrays.asList(p1, p2), Arrays.asList(path));
+        File file = folder.newFile("graph.bin");
+        GraphFingerprint fingerprint = readFingerprint();
+
+        GraphFile.write(small, fingerprint, file);
+
+        assertEquals(2, getGraph(file).getNodeCount());
+
+        GraphFile.write(small, new GraphFingerprint(2, 2, 1, 1, 0, 0), file);
+
+        assertEquals(graph.getNodeCount(), getGraph(file).getNodeCount());
+        assertEquals(graph.getNodeCount(), GraphFile.read(file, fingerprint).getNodeCount());
+    }
+
+    @Test
+    public void testMapGraphFileAfterEdit() throws Exception {
+        LOG.trace("testMapGraphFileAfterEdit");
+
+        Graph graph = graphService.getGraph();
+        Place p1 = graph.getPlace(graph.indexOf(1L));
+        Place p2 = graph.getPlace(graph.indexOf(2L));
+        Path path = new Path();
+        path.setFromPlace(p1);
+        path.setToPlace(p2);
+        path.setDistance(35.8514802281527);
+        Graph small = Graph.build(Arrays.asList(p1, p2), Arrays.asList(path));
+        File file = folder.newFile("graph.bin");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        GraphFile.write(small, readFingerprint(), file);
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                Path edited = pathDao.readById(15L);
+                edited.setDistance(edited.getDistance() + 1);
+            }
+        });
+
+        try {
+            Graph loaded = getGraph(file);
+
+            assertEquals(graph.getNodeCount(), loaded.getNodeCount());
+            assertEquals(65.7322280666355, loaded.edgeWeight(loaded.findEdge(loaded.indexOf(8L),
+                    loaded.indexOf(9L))), 1e-9);
+        } finally {
+            transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    pathDao.readById(15L).setDistance(64.7322280666355);
+                }
+            });
+        }
+    }
+
+    private GraphFingerprint readFingerprint() {
+        return new TransactionTemplate(transactionManager).execute(new TransactionCallback<GraphFingerprint>() {
+
+            @Override
+            public GraphFingerprint doInTransaction(TransactionStatus status) {
+                return new GraphFingerprint(placeDao.readCount(), placeDao.readMaxId(), pathDao.readCount(),
+                        pathDao.readMaxId(), placeDao.readVersionSum(), pathDao.readVersionSum());
+            }
+        });
+    }
+
+    private Graph getGraph(File file) {
+        DefaultGraphService service = new DefaultGraphService();
+        service.setPlaceDao(placeDao);
+        service.setPathDao(pathDao);
+        service.setTransactionManager(transactionManager);
+        service.setGraphFile(file.getPath());
+        return service.getGraph();
+    }
+}
\ No newline at end of file
@@ -19,10 +19,15 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.inject.Inject;
 
@@ -30,6 +35,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,9 +45,13 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import com.zekke.webapp.config.TestConfig;
+import com.zekke.webapp.data.DistanceMatrix;
 import com.zekke.webapp.data.GeoPoint;
 import com.zekke.webapp.data.Place;
+import com.zekke.webapp.data.ReachablePlace;
 import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.RouteQuery;
+import com.zekke.webapp.data.RouteResult;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = TestConfig.class)
@@ -50,6 +62,12 @@ public class RouteFinderServiceTest {
     @Inject
     private RouteFinderService routeFinderService;
 
+    @Inject
+    private GraphService graphService;
+
+    @Inject
+    private SessionFactory sessionFactory;
+
     @Before
     public void setUp() throws Exception {
         LOG.trace("setUp");
@@ -79,6 +97,226 @@ public class RouteFinderServiceTest {
         assertArrayEquals(expected.getPath().toArray(), result.getPath().toArray());
     }
 
+    @Test
+    public void testFindRouteWithoutSession() throws Exception {
+        LOG.trace("testFindRouteWithoutSession");
+
+        List<Place> path = buildExpectedRoute();
+        GeoPoint rootPosition = path.get(path.size() - 1).getPosition();
+        GeoPoint targetPosition = path.get(0).getPosition();
+        Statistics statistics = sessionFactory.getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        graphService.getGraph();
+
+        try {
+            statistics.setStatisticsEnabled(true);
+            long sessionOpenCount = statistics.getSessionOpenCount();
+
+            routeFinderService.findRoute(rootPosition, targetPosition);
+            routeFinderService.findRoutes(rootPosition, targetPosition, 2);
+            routeFinderService.findIsochrone(rootPosition, 100);
+
+            assertEquals(sessionOpenCount, statistics.getSessionOpenCount());
+        } finally {
+            statistics.setStatisticsEnabled(enabled);
+        }
+    }
+
+    @Test
+    public void testFindCachedRoute() throws Exception {
+        LOG.trace("testFindCachedRoute");
+
+        RouteFinderStatistics statistics = (RouteFinderStatistics) routeFinderService;
+        List<Place> path = buildExpectedRoute();
+        GeoPoint rootPosition = path.get(path.size() - 1).getPosition();
+        GeoPoint targetPosition = path.get(0).getPosition();
+
+        Route first = routeFinderService.findRoute(rootPosition, targetPosition);
+        long searchCount = statistics.getSearchCount();
+        long hitCount = statistics.getCacheHitCount();
+        Route second = routeFinderService.findRoute(rootPosition, targetPosition);
+
+        assertSame(first, second);
+        assertEquals(searchCount, statistics.getSearchCount());
+        assertEquals(hitCount + 1, statistics.getCacheHitCount());
+        assertTrue(statistics.getCacheSize() > 0);
+    }
+
+    @Test(expected = ServiceException.class)
+    public void testFindUnreachableRoute() throws Exception {
+        LOG.trace("testFindUnreachableRoute");
+
+        List<Place> path = buildExpectedRoute();
+        GeoPoint rootPosition = path.get(path.size() - 1).getPosition();
+        GeoPoint isolatedPosition = new GeoPoint();
+        isolatedPosition.setLatitude(19.0541523130611);
+        isolatedPosition.setLongitude(-98.2812398672104);
+
+        List<RouteResult> results = routeFinderService.findRouteBatch(Arrays.asList(newRouteQuery(isolatedPosition, rootPosition)));
+
+        assertNull(results.get(0).getRoute());
+        assertEquals(new ServiceException("routeFinderService.target.unreachable").getMessage(), results.get(0).getError());
+
+        routeFinderService.findRoute(rootPosition, isolatedPosition);
+    }
+
+    @Test
+    public void testFindRoutes() throws Exception {
+        LOG.trace("testFindRoutes");
+
+        List<Place> path = buildExpectedRoute();
+        Place root = path.get(path.size() - 1);
+        Place target = path.get(0);
+
+        List<Route> routes = routeFinderService.findRoutes(root.getPosition(), target.getPosition(), 3);
+
+        assertEquals(3, routes.size());
+        assertEquals(159.2452279695584, routes.get(0).getDistance(), 0d);
+        assertArrayEquals(path.toArray(), routes.get(0).getPath().toArray());
+
+        for (int i = 1; i < routes.size(); i++) {
+            Route route = routes.get(i);
+
+            assertTrue(route.getDistance() >= routes.get(i - 1).getDistance());
+            assertFalse(route.getPath().equals(routes.get(i - 1).getPath()));
+            assertEquals(target, route.getPath().get(0));
+            assertEquals(root, route.getPath().get(route.getPath().size() - 1));
+            assertEquals(route.getPath().size(), new HashSet<>(route.getPath()).size());
+        }
+    }
+
+    @Test
+    public void testFindIsochrone() throws Exception {
+        LOG.trace("testFindIsochrone");
+
+        List<Place> path = buildExpectedRoute();
+        Place root = path.get(path.size() - 1);
+        Place target = path.get(0);
+        double maxDistance = 159.2452279695584;
+
+        List<ReachablePlace> places = routeFinderService.findIsochrone(root.getPosition(), maxDistance);
+
+        assertEquals(root, places.get(0).getPlace());
+        assertEquals(0.0, places.get(0).getDistance(), 0d);
+        Set<Place> reached = new HashSet<>();
+
+        for (int i = 0; i < places.size(); i++) {
+            ReachablePlace place = places.get(i);
+
+            assertTrue(reached.add(place.getPlace()));
+            assertTrue(place.getDistance() <= maxDistance);
+            assertTrue(i == 0 || place.getDistance() >= places.get(i - 1).getDistance());
+            assertEquals(routeFinderService.findRoute(root.getPosition(), place.getPlace().getPosition()).getDistance(), place.getDistance());
+        }
+
+        assertTrue(reached.contains(target));
+        assertEquals(1, routeFinderService.findIsochrone(root.getPosition(), 0).size());
+    }
+
+    @Test
+    public void testFindDistanceMatrix() throws Exception {
+        LOG.trace("testFindDistanceMatrix");
+
+        List<Place> path = buildExpectedRoute();
+        Place root = path.get(path.size() - 1);
+        Place target = path.get(0);
+        GeoPoint nowhere = new GeoPoint();
+        nowhere.setLatitude(0.0);
+        nowhere.setLongitude(0.0);
+
+        DistanceMatrix matrix = routeFinderService.findDistanceMatrix(
+                Arrays.asList(root.getPosition(), nowhere),
+                Arrays.asList(target.getPosition(), root.getPosition(), nowhere));
+
+        assertNotNull(matrix);
+        assertEquals(Arrays.asList(root, null), matrix.getSources());
+        assertEquals(Arrays.asList(target, root, null), matrix.getTargets());
+        assertEquals(Arrays.asList(159.2452279695584, 0.0, null), matrix.getDistances().get(0));
+        assertEquals(Arrays.asList(null, null, null), matrix.getDistances().get(1));
+    }
+
+    @Test
+    public void testFindTour() throws Exception {
+        LOG.trace("testFindTour");
+
+        List<Place> path = buildExpectedRoute();
+        Place root = path.get(path.size() - 1);
+        Place middle = path.get(1);
+        Place target = path.get(0);
+
+        RouteFinderStatistics statistics = (RouteFinderStatistics) routeFinderService;
+        long searchCount = statistics.getSearchCount();
+        Route tour = routeFinderService.findTour(Arrays.asList(root.getPosition(), target.getPosition(), middle.getPosition()), false);
+
+        // A single search per stop, the legs are taken from those searches
+        assertEquals(searchCount + 3, statistics.getSearchCount());
+
+        assertEquals(159.2452279695584, tour.getDistance(), 1e-9);
+        assertArrayEquals(path.toArray(), tour.getPath().toArray());
+
+        Route roundTrip = routeFinderService.findTour(Arrays.asList(root.getPosition(), target.getPosition()), true);
+        Route back = routeFinderService.findRoute(target.getPosition(), root.getPosition());
+
+        assertEquals(159.2452279695584 + back.getDistance(), roundTrip.getDistance(), 1e-9);
+        assertEquals(root, roundTrip.getPath().get(0));
+        assertEquals(root, roundTrip.getPath().get(roundTrip.getPath().size() - 1));
+        assertEquals(path.size() + back.getPath().size() - 1, roundTrip.getPath().size());
+    }
+
+    @Test
+    public void testFindUnreachableTour() throws Exception {
+        LOG.trace("testFindUnreachableTour");
+
+        List<Place> path = buildExpectedRoute();
+        GeoPoint rootPosition = path.get(path.size() - 1).getPosition();
+        GeoPoint isolatedPosition = new GeoPoint();
+        isolatedPosition.setLatitude(19.0541523130611);
+        isolatedPosition.setLongitude(-98.2812398672104);
+
+        try {
+            routeFinderService.findTour(Arrays.asList(rootPosition, path.get(0).getPosition(), isolatedPosition), false);
+            fail("The tour should be rejected");
+        } catch (ServiceException ex) {
+            assertEquals(new ServiceException.Builder()
+                    .setMessageResource("routeFinderService.stop.unreachable")
+                    .addResourceFormatArg(3)
+                    .build()
+                    .getMessage(), ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testFindRouteBatch() throws Exception {
+        LOG.trace("testFindRouteBatch");
+
+        List<Place> path = buildExpectedRoute();
+        GeoPoint rootPosition = path.get(path.size() - 1).getPosition();
+        GeoPoint targetPosition = path.get(0).getPosition();
+        GeoPoint nowhere = new GeoPoint();
+        nowhere.setLatitude(0.0);
+        nowhere.setLongitude(0.0);
+
+        List<RouteResult> results = routeFinderService.findRouteBatch(Arrays.asList(
+                newRouteQuery(rootPosition, targetPosition),
+                newRouteQuery(nowhere, targetPosition),
+                newRouteQuery(targetPosition, rootPosition)));
+
+        assertEquals(3, results.size());
+        assertEquals(159.2452279695584, results.get(0).getRoute().getDistance(), 0d);
+        assertArrayEquals(path.toArray(), results.get(0).getRoute().getPath().toArray());
+        assertNull(results.get(0).getError());
+        assertNull(results.get(1).getRoute());
+        assertNotNull(results.get(1).getError());
+        assertEquals(path.get(path.size() - 1), results.get(2).getRoute().getPath().get(0));
+    }
+
+    private RouteQuery newRouteQuery(GeoPoint root, GeoPoint target) {
+        RouteQuery query = new RouteQuery();
+        query.setRoot(root);
+        query.setTarget(target);
+        return query;
+    }
+
     private List<Place> buildExpectedRoute() {
         Place p9 = new Place();
         p9.setId(9l);
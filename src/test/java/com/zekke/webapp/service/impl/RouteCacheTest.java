@@ -0,0 +1,185 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zekke.webapp.data.GeoPoint;
+import com.zekke.webapp.data.Path;
+import com.zekke.webapp.data.Place;
+import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.graph.Graph;
+import com.zekke.webapp.data.graph.GraphDelta;
+
+public class RouteCacheTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RouteCacheTest.class);
+
+    @Test
+    public void testEviction() throws Exception {
+        LOG.trace("testEviction");
+
+        Graph graph = newGraph();
+        RouteCache cache = new RouteCache(2);
+        Route route12 = new Route();
+        Route route13 = new Route();
+        Route route14 = new Route();
+
+        cache.put(graph, 1L, 2L, route12);
+        cache.put(graph, 1L, 3L, route13);
+        assertSame(route12, cache.get(graph, 1L, 2L));
+        cache.put(graph, 1L, 4L, route14);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(route12, cache.get(graph, 1L, 2L));
+        assertNull(cache.get(graph, 1L, 3L));
+        assertSame(route14, cache.get(graph, 1L, 4L));
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testSegments() throws Exception {
+        LOG.trace("testSegments");
+
+        Graph graph = newGraph();
+        int maxSize = RouteCache.MAX_SEGMENTS * RouteCache.MIN_SEGMENT_SIZE + 5;
+        RouteCache cache = new RouteCache(maxSize);
+
+        for (long id = 1; id <= 4 * maxSize; id++) {
+            cache.put(graph, id, id + 1, new Route());
+        }
+
+        // Every segment evicts on its own but together they stay bounded
+        assertEquals(maxSize, cache.getMaxSize());
+        assertTrue(cache.size() <= maxSize);
+        assertTrue(cache.size() > maxSize / 2);
+        assertEquals(4 * maxSize - cache.size(), cache.getEvictionCount());
+        assertNull(cache.get(newGraph(), 1L, 2L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testVersionChange() throws Exception {
+        LOG.trace("testVersionChange");
+
+        RouteCache cache = new RouteCache(2);
+        cache.put(newGraph(), 1L, 2L, new Route());
+
+        assertNull(cache.get(newGraph(), 1L, 2L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        LOG.trace("testDisabled");
+
+        Graph graph = newGraph();
+        RouteCache cache = new RouteCache(0);
+        cache.put(graph, 1L, 2L, new Route());
+
+        assertNull(cache.get(graph, 1L, 2L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSelectiveInvalidation() throws Exception {
+        LOG.trace("testSelectiveInvalidation");
+
+        List<Place> places = new ArrayList<>();
+
+        // Places about 105 m apart in a line
+        for (long id = 1; id <= 5; id++) {
+            Place place = new Place();
+            place.setId(id);
+            GeoPoint position = new GeoPoint();
+            position.setLatitude(19.05);
+            position.setLongitude(-98.28 + 0.001 * id);
+            place.setPosition(position);
+            places.add(place);
+        }
+
+        List<Path> paths = new ArrayList<>();
+
+        for (int i = 0; i + 1 < places.size(); i++) {
+            paths.add(newPath(places.get(i), places.get(i + 1), 110.0));
+        }
+
+        Graph graph = Graph.build(places, paths);
+        RouteCache cache = new RouteCache(10);
+        Route route12 = newRoute(places.subList(0, 2), 110.0);
+        Route route13 = newRoute(places.subList(0, 3), 220.0);
+        Route route45 = newRoute(places.subList(3, 5), 110.0);
+        cache.put(graph, 1L, 2L, route12);
+        cache.put(graph, 1L, 3L, route13);
+        cache.put(graph, 4L, 5L, route45);
+
+        // Longer 2 -> 3 only affects the route using it
+        Graph longer = graph.apply(new GraphDelta().updatePath(newPath(places.get(1), places.get(2), 150.0)));
+
+        assertSame(route12, cache.get(longer, 1L, 2L));
+        assertNull(cache.get(longer, 1L, 3L));
+        assertSame(route45, cache.get(longer, 4L, 5L));
+        assertEquals(1, cache.getInvalidationCount());
+
+        // A shortcut from 1 to 3 can't beat 1 -> 2 nor reach 4 -> 5
+        Graph shortcut = longer.apply(new GraphDelta().addPath(newPath(places.get(0), places.get(2), 215.0)));
+
+        assertSame(route12, cache.get(shortcut, 1L, 2L));
+        assertSame(route45, cache.get(shortcut, 4L, 5L));
+
+        // Removing place 5 removes the routes to it
+        Graph removed = shortcut.apply(new GraphDelta().removePlace(places.get(4)));
+
+        assertSame(route12, cache.get(removed, 1L, 2L));
+        assertNull(cache.get(removed, 4L, 5L));
+        assertEquals(2, cache.getInvalidationCount());
+    }
+
+    private Graph newGraph() {
+        return Graph.build(Collections.<Place>emptyList(), Collections.<Path>emptyList());
+    }
+
+    private Route newRoute(List<Place> rootToTarget, double distance) {
+        List<Place> path = new ArrayList<>(rootToTarget);
+        Collections.reverse(path);
+        Route route = new Route();
+        route.setPath(path);
+        route.setDistance(distance);
+        return route;
+    }
+
+    private Path newPath(Place from, Place to, double distance) {
+        Path path = new Path();
+        path.setFromPlace(from);
+        path.setToPlace(to);
+        path.setDistance(distance);
+        return path;
+    }
+}
\ No newline at end of file
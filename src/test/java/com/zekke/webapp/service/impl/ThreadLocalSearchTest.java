@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ThreadLocalSearchTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ThreadLocalSearchTest.class);
+
+    @Test
+    public void testGet() throws Exception {
+        LOG.trace("testGet");
+
+        final AtomicInteger createCount = new AtomicInteger();
+        final ThreadLocalSearch<Object, Object> searches = new ThreadLocalSearch<Object, Object>() {
+
+            @Override
+            protected Object create(Object key) {
+                createCount.incrementAndGet();
+                return new Object();
+            }
+        };
+        Object graph = new Object();
+        Object search = searches.get(graph);
+
+        assertSame(search, searches.get(graph));
+        assertEquals(1, createCount.get());
+
+        Object newGraph = new Object();
+        Object newSearch = searches.get(newGraph);
+
+        assertNotSame(search, newSearch);
+        assertSame(newSearch, searches.get(newGraph));
+        assertEquals(2, createCount.get());
+
+        final Object key = newGraph;
+        final AtomicReference<Object> otherSearch = new AtomicReference<>();
+        Thread thread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                otherSearch.set(searches.get(key));
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertNotSame(newSearch, otherSearch.get());
+        assertEquals(3, createCount.get());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.service.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TourSolverTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TourSolverTest.class);
+
+    @Test
+    public void testSolveExactly() throws Exception {
+        LOG.trace("testSolveExactly");
+
+        Random random = new Random(42);
+
+        for (int n = 1; n <= 8; n++) {
+            double[][] distances = new double[n][n];
+
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    distances[i][j] = i == j ? 0.0 : 1 + random.nextInt(100);
+                }
+            }
+
+            for (boolean roundTrip : new boolean[]{false, true}) {
+                TourSolver solver = new TourSolver(distances, roundTrip);
+                int[] tour = solver.solve(0);
+
+                assertTour(n, tour);
+                assertEquals(bruteForceCost(solver, n, roundTrip), solver.cost(tour), 0d);
+            }
+        }
+    }
+
+    @Test
+    public void testSolveWithLocalSearch() throws Exception {
+        LOG.trace("testSolveWithLocalSearch");
+
+        Random random = new Random(42);
+        int n = 60;
+        double[][] points = new double[n][2];
+        double[][] distances = new double[n][n];
+
+        for (double[] point : points) {
+            point[0] = random.nextDouble() * 1000;
+            point[1] = random.nextDouble() * 1000;
+        }
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                distances[i][j] = Math.hypot(points[i][0] - points[j][0], points[i][1] - points[j][1]);
+            }
+        }
+
+        int[] identity = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            identity[i] = i;
+        }
+
+        for (boolean roundTrip : new boolean[]{false, true}) {
+            TourSolver solver = new TourSolver(distances, roundTrip);
+            int[] tour = solver.solve(5000);
+
+            assertTour(n, tour);
+            assertTrue(solver.cost(tour) < solver.cost(identity) / 2);
+        }
+    }
+
+    @Test
+    public void testSolveAvoidsUnreachableStops() throws Exception {
+        LOG.trace("testSolveAvoidsUnreachableStops");
+
+        double inf = Double.POSITIVE_INFINITY;
+        double[][] distances = {
+            {0.0, inf, 5.0, 9.0},
+            {1.0, 0.0, inf, 2.0},
+            {inf, 3.0, 0.0, inf},
+            {2.0, inf, 1.0, 0.0}
+        };
+
+        assertArrayEquals(new int[]{0, 2, 1, 3}, new TourSolver(distances, false).solve(0));
+        assertArrayEquals(new int[]{0, 2, 1, 3}, new TourSolver(distances, true).solve(0));
+    }
+
+    private void assertTour(int n, int[] tour) {
+        assertEquals(n, tour.length);
+
+        if (n > 0) {
+            assertEquals(0, tour[0]);
+        }
+
+        int[] sorted = tour.clone();
+        Arrays.sort(sorted);
+
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, sorted[i]);
+        }
+    }
+
+    private double bruteForceCost(TourSolver solver, int n, boolean roundTrip) {
+        int[] tour = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            tour[i] = i;
+        }
+
+        double best = solver.cost(tour);
+
+        // Next permutation of the stops after the first one
+        while (true) {
+            int i = n - 2;
+
+            while (i > 0 && tour[i] >= tour[i + 1]) {
+                i--;
+            }
+
+            if (i <= 0) {
+                return best;
+            }
+
+            int j = n - 1;
+
+            while (tour[j] <= tour[i]) {
+                j--;
+            }
+
+            int stop = tour[i];
+            tour[i] = tour[j];
+            tour[j] = stop;
+
+            for (int from = i + 1, to = n - 1; from < to; from++, to--) {
+                stop = tour[from];
+                tour[from] = tour[to];
+                tour[to] = stop;
+            }
+
+            best = Math.min(best, solver.cost(tour));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013 ZeKKe Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zekke.webapp.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class GeoUtilsTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GeoUtilsTest.class);
+
+    @Test
+    public void testDistance() throws Exception {
+        LOG.trace("testDistance");
+
+        assertEquals(0.0, GeoUtils.distance(19.05, -98.28, 19.05, -98.28), 0d);
+        // One degree of latitude
+        assertEquals(111189.577, GeoUtils.distance(19.0, -98.28, 20.0, -98.28), 0.001);
+        assertEquals(GeoUtils.distance(19.0568650105012, -98.2837209105492, 19.0564036015444, -98.2824441790581),
+                GeoUtils.distance(19.0564036015444, -98.2824441790581, 19.0568650105012, -98.2837209105492), 1e-9);
+    }
+}
\ No newline at end of file
@@ -15,6 +15,8 @@
  */
 package com.zekke.webapp.util;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -37,4 +39,16 @@ public class StringsTest {
         assertTrue(Strings.isNullOrBlank("\n"));
         assertTrue(Strings.isNullOrBlank("\r"));
     }
+
+    @Test
+    public void testToSearchKey() throws Exception {
+        LOG.trace("testToSearchKey");
+
+        assertNull(Strings.toSearchKey(null));
+        assertEquals("", Strings.toSearchKey(""));
+        assertEquals("area de esparcimiento", Strings.toSearchKey("\u00c1rea de Esparcimiento"));
+        assertEquals("cancha de beisbol", Strings.toSearchKey("CANCHA DE B\u00c9ISBOL"));
+        assertEquals("computacion y pinguinos", Strings.toSearchKey("Computaci\u00f3n y ping\u00fcinos"));
+        assertEquals("anos", Strings.toSearchKey("A\u00f1os"));
+    }
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import javax.inject.Inject;
+import javax.ws.rs.core.Response;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -37,9 +38,11 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import com.zekke.webapp.config.TestConfig;
+import com.zekke.webapp.data.DistanceMatrix;
 import com.zekke.webapp.data.GeoPoint;
 import com.zekke.webapp.data.Place;
 import com.zekke.webapp.data.Route;
+import com.zekke.webapp.data.RouteFinderReport;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = TestConfig.class)
@@ -81,6 +84,58 @@ public class RouteFinderWebServicerTest {
         assertArrayEquals(expected.getPath().toArray(), result.getPath().toArray());
     }
 
+    @Test
+    public void testFindDistanceMatrix() throws Exception {
+        LOG.trace("testFindDistanceMatrix");
+
+        List<Place> path = buildExpectedRoute();
+        Place root = path.get(path.size() - 1);
+        Place target = path.get(0);
+        DistanceMatrixRequest request = new DistanceMatrixRequest();
+        request.setSources(Arrays.asList(root.getPosition()));
+        request.setTargets(Arrays.asList(target.getPosition()));
+
+        DistanceMatrix result = routeFinderWebService.findDistanceMatrix(request);
+
+        assertNotNull(result);
+        assertEquals(1, result.getDistances().size());
+        assertEquals(Double.valueOf(159.2452279695584), result.getDistances().get(0).get(0));
+    }
+
+    @Test
+    public void testGetStatistics() throws Exception {
+        LOG.trace("testGetStatistics");
+
+        List<Place> path = buildExpectedRoute();
+        Place root = path.get(path.size() - 1);
+        Place target = path.get(0);
+        routeFinderWebService.findRoute(root.getPosition().getLatitude(), root.getPosition().getLongitude(), target.getPosition().getLatitude(), target.getPosition().getLongitude());
+
+        Response response = routeFinderWebService.getStatistics();
+        RouteFinderReport result = (RouteFinderReport) response.getEntity();
+
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertNotNull(result);
+        assertTrue(result.getSearchCount() > 0);
+        assertTrue(result.getSettledNodeCount() > 0);
+        assertTrue(result.getCacheHitCount() + result.getCacheMissCount() > 0);
+        assertTrue(result.getCacheSize() > 0);
+        assertTrue(result.getCacheSize() <= result.getCacheMaxSize());
+    }
+
+    @Test
+    public void testGetStatisticsDisabled() throws Exception {
+        LOG.trace("testGetStatisticsDisabled");
+
+        try {
+            routeFinderWebService.setStatisticsEnabled(false);
+
+            assertEquals(Response.Status.NOT_FOUND.getStatusCode(), routeFinderWebService.getStatistics().getStatus());
+        } finally {
+            routeFinderWebService.setStatisticsEnabled(true);
+        }
+    }
+
     private List<Place> buildExpectedRoute() {
         Place p9 = new Place();
         p9.setId(9l);